@@ -0,0 +1,59 @@
+package com.blog.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
+
+    // Bounded pool for CPU-heavy media work so it never competes with request threads
+    @Bean(name = "mediaTaskExecutor")
+    public ThreadPoolTaskExecutor mediaTaskExecutor(@Value("${media.worker-threads:2}") int workerThreads,
+                                                    @Value("${media.queue-capacity:200}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("media-");
+        executor.setRejectedExecutionHandler((task, pool) ->
+                logger.warn("Media task queue is full, dropping task {}", task));
+        executor.initialize();
+        return executor;
+    }
+
+    // Long-running database housekeeping (account purges), kept off the media pool and the request threads
+    @Bean(name = "maintenanceTaskExecutor")
+    public ThreadPoolTaskExecutor maintenanceTaskExecutor(@Value("${maintenance.worker-threads:1}") int workerThreads,
+                                                          @Value("${maintenance.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("maintenance-");
+        // Rejections throw, so callers know to leave the work to their pollers
+        executor.initialize();
+        return executor;
+    }
+
+    // Walks over the whole store (on-demand garbage collection, layout migration), one at a time and
+    // off the media pool, so thumbnails and transcodes keep flowing while a walk runs
+    @Bean(name = "storageTaskExecutor")
+    public ThreadPoolTaskExecutor storageTaskExecutor(@Value("${file.storage.tasks.queue-capacity:4}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("storage-");
+        // Rejections throw, so callers can clear their running flag
+        executor.initialize();
+        return executor;
+    }
+}
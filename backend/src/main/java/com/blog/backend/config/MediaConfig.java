@@ -0,0 +1,21 @@
+package com.blog.backend.config;
+
+import com.blog.backend.media.FfmpegVideoTranscoder;
+import com.blog.backend.media.VideoTranscoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class MediaConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(VideoTranscoder.class)
+    public VideoTranscoder videoTranscoder(@Value("${media.ffmpeg.path:ffmpeg}") String ffmpegPath,
+                                           @Value("${media.ffmpeg.timeout:60s}") Duration timeout) {
+        return new FfmpegVideoTranscoder(ffmpegPath, timeout);
+    }
+}
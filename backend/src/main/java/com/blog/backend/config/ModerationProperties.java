@@ -0,0 +1,85 @@
+package com.blog.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "moderation.auto")
+public class ModerationProperties {
+
+    private boolean enabled = true;
+
+    // Reports older than this no longer count towards a threshold
+    private Duration window = Duration.ofHours(1);
+
+    // Weighted distinct reporters within the window that hide a post
+    private double postThreshold = 5;
+
+    // Weighted distinct reporters within the window that restrict a user
+    private double userThreshold = 10;
+
+    private Duration restriction = Duration.ofHours(24);
+
+    // Reporters whose account is younger than this count for newAccountWeight instead of 1
+    private Duration newAccountAge = Duration.ofDays(7);
+
+    private double newAccountWeight = 0.25;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public double getPostThreshold() {
+        return postThreshold;
+    }
+
+    public void setPostThreshold(double postThreshold) {
+        this.postThreshold = postThreshold;
+    }
+
+    public double getUserThreshold() {
+        return userThreshold;
+    }
+
+    public void setUserThreshold(double userThreshold) {
+        this.userThreshold = userThreshold;
+    }
+
+    public Duration getRestriction() {
+        return restriction;
+    }
+
+    public void setRestriction(Duration restriction) {
+        this.restriction = restriction;
+    }
+
+    public Duration getNewAccountAge() {
+        return newAccountAge;
+    }
+
+    public void setNewAccountAge(Duration newAccountAge) {
+        this.newAccountAge = newAccountAge;
+    }
+
+    public double getNewAccountWeight() {
+        return newAccountWeight;
+    }
+
+    public void setNewAccountWeight(double newAccountWeight) {
+        this.newAccountWeight = newAccountWeight;
+    }
+}
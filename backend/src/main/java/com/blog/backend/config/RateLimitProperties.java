@@ -0,0 +1,139 @@
+package com.blog.backend.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.hibernate.validator.constraints.time.DurationMin;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Validated
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Use X-Real-IP / X-Forwarded-For as the client address (only safe behind the nginx proxy)
+    private boolean trustForwardedHeaders = false;
+
+    private Duration idleEviction = Duration.ofMinutes(10);
+
+    @NotNull
+    @Valid
+    private Policy defaultPolicy = new Policy("default", "/api/**", List.of(), 300, Duration.ofMinutes(1));
+
+    // Evaluated in order, the first matching policy wins
+    private List<@Valid Policy> policies = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isTrustForwardedHeaders() {
+        return trustForwardedHeaders;
+    }
+
+    public void setTrustForwardedHeaders(boolean trustForwardedHeaders) {
+        this.trustForwardedHeaders = trustForwardedHeaders;
+    }
+
+    public Duration getIdleEviction() {
+        return idleEviction;
+    }
+
+    public void setIdleEviction(Duration idleEviction) {
+        this.idleEviction = idleEviction;
+    }
+
+    public Policy getDefaultPolicy() {
+        return defaultPolicy;
+    }
+
+    public void setDefaultPolicy(Policy defaultPolicy) {
+        this.defaultPolicy = defaultPolicy;
+    }
+
+    public List<Policy> getPolicies() {
+        return policies;
+    }
+
+    public void setPolicies(List<Policy> policies) {
+        this.policies = policies;
+    }
+
+    public static class Policy {
+
+        private String name;
+        private String pattern;
+        private List<String> methods = new ArrayList<>();
+
+        // A bucket's emission interval is refillPeriod / capacity, so both must be above zero
+        @Positive
+        private long capacity;
+
+        @NotNull
+        @DurationMin(nanos = 1)
+        private Duration refillPeriod = Duration.ofMinutes(1);
+
+        public Policy() {
+        }
+
+        public Policy(String name, String pattern, List<String> methods, long capacity, Duration refillPeriod) {
+            this.name = name;
+            this.pattern = pattern;
+            this.methods = methods;
+            this.capacity = capacity;
+            this.refillPeriod = refillPeriod;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getRefillPeriod() {
+            return refillPeriod;
+        }
+
+        public void setRefillPeriod(Duration refillPeriod) {
+            this.refillPeriod = refillPeriod;
+        }
+    }
+}
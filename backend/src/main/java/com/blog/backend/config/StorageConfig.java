@@ -0,0 +1,26 @@
+package com.blog.backend.config;
+
+import com.blog.backend.storage.LocalStorageBackend;
+import com.blog.backend.storage.S3StorageBackend;
+import com.blog.backend.storage.ShardedLocalStorageBackend;
+import com.blog.backend.storage.StorageBackend;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+@Configuration
+public class StorageConfig {
+
+    @Bean
+    public StorageBackend storageBackend(StorageProperties properties,
+                                         @Value("${file.upload-dir:./uploads}") String uploadDir) {
+        return switch (properties.getBackend().toLowerCase()) {
+            case "local" -> new LocalStorageBackend(Paths.get(uploadDir));
+            case "sharded" -> new ShardedLocalStorageBackend(Paths.get(uploadDir));
+            case "s3" -> new S3StorageBackend(properties.getS3());
+            default -> throw new IllegalStateException("Unknown file.storage.backend: " + properties.getBackend());
+        };
+    }
+}
@@ -0,0 +1,113 @@
+package com.blog.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "file.storage")
+public class StorageProperties {
+
+    // local, sharded or s3
+    private String backend = "sharded";
+
+    // Lifetime of direct download URLs handed out by object store backends
+    private Duration downloadUrlTtl = Duration.ofMinutes(15);
+
+    private S3 s3 = new S3();
+
+    public String getBackend() {
+        return backend;
+    }
+
+    public void setBackend(String backend) {
+        this.backend = backend;
+    }
+
+    public Duration getDownloadUrlTtl() {
+        return downloadUrlTtl;
+    }
+
+    public void setDownloadUrlTtl(Duration downloadUrlTtl) {
+        this.downloadUrlTtl = downloadUrlTtl;
+    }
+
+    public S3 getS3() {
+        return s3;
+    }
+
+    public void setS3(S3 s3) {
+        this.s3 = s3;
+    }
+
+    public static class S3 {
+
+        private String endpoint = "http://localhost:9000";
+        private String region = "us-east-1";
+        private String bucket;
+        private String accessKey;
+        private String secretKey;
+
+        // MinIO and most self-hosted stores expect http://host/bucket/key rather than bucket subdomains
+        private boolean pathStyle = true;
+
+        private Duration requestTimeout = Duration.ofSeconds(30);
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public void setEndpoint(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        public String getRegion() {
+            return region;
+        }
+
+        public void setRegion(String region) {
+            this.region = region;
+        }
+
+        public String getBucket() {
+            return bucket;
+        }
+
+        public void setBucket(String bucket) {
+            this.bucket = bucket;
+        }
+
+        public String getAccessKey() {
+            return accessKey;
+        }
+
+        public void setAccessKey(String accessKey) {
+            this.accessKey = accessKey;
+        }
+
+        public String getSecretKey() {
+            return secretKey;
+        }
+
+        public void setSecretKey(String secretKey) {
+            this.secretKey = secretKey;
+        }
+
+        public boolean isPathStyle() {
+            return pathStyle;
+        }
+
+        public void setPathStyle(boolean pathStyle) {
+            this.pathStyle = pathStyle;
+        }
+
+        public Duration getRequestTimeout() {
+            return requestTimeout;
+        }
+
+        public void setRequestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+        }
+    }
+}
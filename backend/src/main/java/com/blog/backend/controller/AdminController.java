@@ -1,15 +1,33 @@
 package com.blog.backend.controller;
 
+import com.blog.backend.dto.admin.AdminPostFilter;
+import com.blog.backend.dto.admin.AdminReportFilter;
+import com.blog.backend.dto.admin.AdminUserFilter;
 import com.blog.backend.dto.admin.AdminUserResponse;
+import com.blog.backend.dto.admin.BulkActionRequest;
+import com.blog.backend.dto.admin.BulkActionResponse;
+import com.blog.backend.dto.admin.CounterRepairResponse;
+import com.blog.backend.dto.admin.MediaGcStatusResponse;
+import com.blog.backend.dto.admin.ReportCaseResponse;
 import com.blog.backend.dto.admin.ReportResponse;
+import com.blog.backend.dto.admin.StorageMigrationResponse;
+import com.blog.backend.dto.admin.UserDeletionResponse;
 import com.blog.backend.dto.auth.MessageResponse;
+import com.blog.backend.dto.common.CursorPageResponse;
+import com.blog.backend.dto.common.PageResponse;
 import com.blog.backend.dto.post.PostResponse;
 import com.blog.backend.service.AdminService;
+import com.blog.backend.service.BulkModerationService;
+import com.blog.backend.service.MediaGarbageCollector;
+import com.blog.backend.service.StorageMigrationService;
+import com.blog.backend.service.UserCounterRepairService;
+import com.blog.backend.service.UserDeletionService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -18,15 +36,39 @@ import java.util.List;
 public class AdminController {
 
     private final AdminService adminService;
+    private final BulkModerationService bulkModerationService;
+    private final StorageMigrationService storageMigrationService;
+    private final MediaGarbageCollector mediaGarbageCollector;
+    private final UserCounterRepairService userCounterRepairService;
+    private final UserDeletionService userDeletionService;
 
-    public AdminController(AdminService adminService) {
+    public AdminController(AdminService adminService,
+                           BulkModerationService bulkModerationService,
+                           StorageMigrationService storageMigrationService,
+                           MediaGarbageCollector mediaGarbageCollector,
+                           UserCounterRepairService userCounterRepairService,
+                           UserDeletionService userDeletionService) {
         this.adminService = adminService;
+        this.bulkModerationService = bulkModerationService;
+        this.storageMigrationService = storageMigrationService;
+        this.mediaGarbageCollector = mediaGarbageCollector;
+        this.userCounterRepairService = userCounterRepairService;
+        this.userDeletionService = userDeletionService;
     }
 
     @GetMapping("/users")
-    public ResponseEntity<List<AdminUserResponse>> getAllUsers() {
-        List<AdminUserResponse> users = adminService.getAllUsers();
-        return ResponseEntity.ok(users);
+    public ResponseEntity<PageResponse<AdminUserResponse>> getUsers(
+            AdminUserFilter filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "25") int size,
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @RequestParam(defaultValue = "desc") String direction) {
+        return ResponseEntity.ok(adminService.getUsers(filter, page, size, sort, direction));
+    }
+
+    @PostMapping("/users/counters/repair")
+    public ResponseEntity<CounterRepairResponse> repairUserCounters() {
+        return ResponseEntity.ok(userCounterRepairService.repair());
     }
 
     @PostMapping("/users/{userId}/ban")
@@ -41,16 +83,39 @@ public class AdminController {
         return ResponseEntity.ok(new MessageResponse("User unbanned successfully"));
     }
 
+    @PostMapping("/users/bulk/ban")
+    public ResponseEntity<BulkActionResponse> banUsers(@Valid @RequestBody BulkActionRequest request) {
+        return ResponseEntity.ok(bulkModerationService.banUsers(request.getIds()));
+    }
+
+    @PostMapping("/users/bulk/unban")
+    public ResponseEntity<BulkActionResponse> unbanUsers(@Valid @RequestBody BulkActionRequest request) {
+        return ResponseEntity.ok(bulkModerationService.unbanUsers(request.getIds()));
+    }
+
+    @PostMapping("/users/{userId}/unrestrict")
+    public ResponseEntity<MessageResponse> liftRestriction(@PathVariable Long userId) {
+        adminService.liftRestriction(userId);
+        return ResponseEntity.ok(new MessageResponse("User restriction lifted successfully"));
+    }
+
+    // The account is gone at once, its data is purged in the background
     @DeleteMapping("/users/{userId}")
-    public ResponseEntity<MessageResponse> deleteUser(@PathVariable Long userId) {
-        adminService.deleteUser(userId);
-        return ResponseEntity.ok(new MessageResponse("User deleted successfully"));
+    public ResponseEntity<UserDeletionResponse> deleteUser(@PathVariable Long userId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(userDeletionService.deleteUser(userId));
+    }
+
+    @GetMapping("/users/{userId}/deletion")
+    public ResponseEntity<UserDeletionResponse> getUserDeletion(@PathVariable Long userId) {
+        return ResponseEntity.ok(userDeletionService.getStatus(userId));
     }
 
     @GetMapping("/posts")
-    public ResponseEntity<List<PostResponse>> getAllPosts() {
-        List<PostResponse> posts = adminService.getAllPosts();
-        return ResponseEntity.ok(posts);
+    public ResponseEntity<CursorPageResponse<PostResponse>> getPosts(
+            AdminPostFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "25") int limit) {
+        return ResponseEntity.ok(adminService.getPosts(filter, cursor, limit));
     }
 
     @PostMapping("/posts/{postId}/hide")
@@ -71,10 +136,40 @@ public class AdminController {
         return ResponseEntity.ok(new MessageResponse("Post deleted successfully"));
     }
 
+    @PostMapping("/posts/bulk/hide")
+    public ResponseEntity<BulkActionResponse> hidePosts(@Valid @RequestBody BulkActionRequest request) {
+        return ResponseEntity.ok(bulkModerationService.hidePosts(request.getIds()));
+    }
+
+    @PostMapping("/posts/bulk/unhide")
+    public ResponseEntity<BulkActionResponse> unhidePosts(@Valid @RequestBody BulkActionRequest request) {
+        return ResponseEntity.ok(bulkModerationService.unhidePosts(request.getIds()));
+    }
+
+    @PostMapping("/posts/bulk/delete")
+    public ResponseEntity<BulkActionResponse> deletePosts(@Valid @RequestBody BulkActionRequest request) {
+        return ResponseEntity.ok(bulkModerationService.deletePosts(request.getIds()));
+    }
+
     @GetMapping("/reports")
-    public ResponseEntity<List<ReportResponse>> getAllReports() {
-        List<ReportResponse> reports = adminService.getAllReports();
-        return ResponseEntity.ok(reports);
+    public ResponseEntity<CursorPageResponse<ReportResponse>> getReports(
+            AdminReportFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "25") int limit) {
+        return ResponseEntity.ok(adminService.getReports(filter, cursor, limit));
+    }
+
+    @GetMapping("/reports/queue")
+    public ResponseEntity<CursorPageResponse<ReportCaseResponse>> getReportQueue(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "25") int limit) {
+        return ResponseEntity.ok(adminService.getReportQueue(cursor, limit));
+    }
+
+    @PostMapping("/reports/queue/{reportCaseId}/resolve")
+    public ResponseEntity<MessageResponse> resolveReportCase(@PathVariable Long reportCaseId) {
+        adminService.resolveReportCase(reportCaseId);
+        return ResponseEntity.ok(new MessageResponse("Reports resolved successfully"));
     }
 
     @DeleteMapping("/reports/{reportId}")
@@ -82,4 +177,24 @@ public class AdminController {
         adminService.deleteReport(reportId);
         return ResponseEntity.ok(new MessageResponse("Report deleted successfully"));
     }
+
+    @GetMapping("/storage/migration")
+    public ResponseEntity<StorageMigrationResponse> getStorageMigrationStatus() {
+        return ResponseEntity.ok(storageMigrationService.getStatus());
+    }
+
+    @PostMapping("/storage/migration")
+    public ResponseEntity<StorageMigrationResponse> startStorageMigration() {
+        return ResponseEntity.accepted().body(storageMigrationService.startMigration());
+    }
+
+    @GetMapping("/storage/gc")
+    public ResponseEntity<MediaGcStatusResponse> getMediaGcStatus() {
+        return ResponseEntity.ok(mediaGarbageCollector.getStatus());
+    }
+
+    @PostMapping("/storage/gc")
+    public ResponseEntity<MediaGcStatusResponse> collectOrphanedMedia(@RequestParam(defaultValue = "true") boolean dryRun) {
+        return ResponseEntity.accepted().body(mediaGarbageCollector.startCollect(dryRun));
+    }
 }
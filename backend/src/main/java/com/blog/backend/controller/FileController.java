@@ -1,56 +1,242 @@
 package com.blog.backend.controller;
 
 import com.blog.backend.dto.auth.MessageResponse;
+import com.blog.backend.dto.file.InitUploadRequest;
+import com.blog.backend.dto.file.MediaJobResponse;
+import com.blog.backend.dto.file.UploadSessionResponse;
+import com.blog.backend.service.ChunkedUploadService;
 import com.blog.backend.service.FileStorageService;
-import org.springframework.core.io.Resource;
+import com.blog.backend.service.MediaJobService;
+import com.blog.backend.service.FileStorageService.DirectDownload;
+import com.blog.backend.service.FileStorageService.StoredFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
-import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @RestController
 @RequestMapping("/api/files")
 @CrossOrigin(origins = "http://localhost:4200")
 public class FileController {
 
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+    private static final long SENDFILE_MIN_BYTES = 48 * 1024;
+    // Uploads are content-addressed and never change under the same name
+    private static final String IMMUTABLE_CACHE_CONTROL =
+            CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable().getHeaderValue();
+
     private final FileStorageService fileStorageService;
+    private final ChunkedUploadService chunkedUploadService;
+    private final MediaJobService mediaJobService;
 
-    public FileController(FileStorageService fileStorageService) {
+    public FileController(FileStorageService fileStorageService,
+                          ChunkedUploadService chunkedUploadService,
+                          MediaJobService mediaJobService) {
         this.fileStorageService = fileStorageService;
+        this.chunkedUploadService = chunkedUploadService;
+        this.mediaJobService = mediaJobService;
     }
 
     @PostMapping("/upload")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<?> uploadFile(@RequestParam("file") MultipartFile file) {
-        String filename = fileStorageService.storeFile(file);
-        String mediaType = fileStorageService.getMediaType(file);
+        StoredFile storedFile = fileStorageService.storeFile(file);
+        return ResponseEntity.ok(toUploadResponse(storedFile));
+    }
 
-        String fileDownloadUri = "/api/files/" + filename;
+    // Raw request body upload: bypasses multipart parsing so the bytes are written to disk exactly once
+    @PostMapping("/upload/stream")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> uploadStream(HttpServletRequest request) throws IOException {
+        StoredFile storedFile = fileStorageService.storeStream(request.getInputStream(), request.getContentLengthLong());
+        return ResponseEntity.ok(toUploadResponse(storedFile));
+    }
 
+    // Resumable uploads for files larger than a single request allows
+    @PostMapping("/uploads")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<UploadSessionResponse> createUpload(@Valid @RequestBody InitUploadRequest request,
+                                                              Authentication authentication) {
+        UploadSessionResponse session = chunkedUploadService.createUpload(request.getSize(), authentication);
+        return ResponseEntity.status(HttpStatus.CREATED).body(session);
+    }
+
+    @GetMapping("/uploads/{uploadId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<UploadSessionResponse> getUpload(@PathVariable String uploadId, Authentication authentication) {
+        return ResponseEntity.ok(chunkedUploadService.getUpload(uploadId, authentication));
+    }
+
+    @PutMapping("/uploads/{uploadId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<UploadSessionResponse> appendChunk(@PathVariable String uploadId,
+                                                             @RequestHeader("Upload-Offset") long offset,
+                                                             @RequestHeader(value = "Upload-Checksum", required = false) String checksum,
+                                                             HttpServletRequest request,
+                                                             Authentication authentication) throws IOException {
+        UploadSessionResponse session = chunkedUploadService.appendChunk(
+                uploadId, offset, checksum, request.getInputStream(), authentication);
+        return ResponseEntity.ok(session);
+    }
+
+    @PostMapping("/uploads/{uploadId}/complete")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> completeUpload(@PathVariable String uploadId, Authentication authentication) {
+        StoredFile storedFile = chunkedUploadService.completeUpload(uploadId, authentication);
+        return ResponseEntity.ok(toUploadResponse(storedFile));
+    }
+
+    @DeleteMapping("/uploads/{uploadId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<?> abortUpload(@PathVariable String uploadId, Authentication authentication) {
+        chunkedUploadService.abortUpload(uploadId, authentication);
+        return ResponseEntity.ok(new MessageResponse("Upload cancelled"));
+    }
+
+    private Map<String, Object> toUploadResponse(StoredFile storedFile) {
         Map<String, Object> response = new HashMap<>();
-        response.put("filename", filename);
-        response.put("fileUrl", fileDownloadUri);
-        response.put("mediaType", mediaType);
-        response.put("size", file.getSize());
+        response.put("filename", storedFile.getFilename());
+        response.put("fileUrl", "/api/files/" + storedFile.getFilename());
+        response.put("mediaType", storedFile.getMediaType());
+        response.put("size", storedFile.getSize());
+        // Videos are probed and optimised in the background; clients poll /{filename}/job for the result
+        mediaJobService.findJob(storedFile.getFilename()).ifPresent(job -> response.put("processing", job));
+        return response;
+    }
 
-        return ResponseEntity.ok(response);
+    @GetMapping("/{filename}/job")
+    public ResponseEntity<MediaJobResponse> getMediaJob(@PathVariable String filename) {
+        return ResponseEntity.ok(mediaJobService.getJob(filename));
     }
 
     @GetMapping("/{filename:.+}")
-    public ResponseEntity<Resource> downloadFile(@PathVariable String filename) {
-        Resource resource = fileStorageService.loadFileAsResource(filename);
-        String contentType = fileStorageService.getContentType(filename);
-
-        return ResponseEntity.ok()
-                .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + resource.getFilename() + "\"")
-                .body(resource);
+    public void downloadFile(@PathVariable String filename,
+                             HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        // Object store backends serve the bytes themselves; send the browser there
+        Optional<DirectDownload> direct = fileStorageService.getDirectDownload(filename);
+        if (direct.isPresent()) {
+            // The same signed URL is handed out for a whole window, so the redirect is cached until shortly before it expires
+            response.setHeader(HttpHeaders.CACHE_CONTROL,
+                    CacheControl.maxAge(direct.get().getMaxAge()).cachePublic().getHeaderValue());
+            response.sendRedirect(direct.get().getUrl().toString());
+            return;
+        }
+
+        Path file = fileStorageService.loadFile(filename);
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        // Stored files are never rewritten in place, so size + mtime identifies the exact bytes
+        String etag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        response.setContentType(fileStorageService.getContentType(filename));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + file.getFileName() + "\"");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        long start = 0;
+        long end = size - 1;
+        HttpRange range = resolveRange(request, etag, lastModified);
+        if (range != null) {
+            try {
+                start = range.getRangeStart(size);
+                end = range.getRangeEnd(size);
+            } catch (IllegalArgumentException ex) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+
+        long length = end - start + 1;
+        response.setContentLengthLong(length);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || length == 0) {
+            return;
+        }
+        writeFileRegion(file, start, length, request, response);
+    }
+
+    // Only a single byte range is honoured; for multipart ranges or a stale If-Range the full file is sent
+    private HttpRange resolveRange(HttpServletRequest request, String etag, long lastModified) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return null;
+        }
+
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+            if (ifRangeDate == -1 || lastModified / 1000 > ifRangeDate / 1000) {
+                return null;
+            }
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private void writeFileRegion(Path file, long start, long length,
+                                 HttpServletRequest request, HttpServletResponse response) throws IOException {
+        // Let Tomcat hand the region to the kernel (sendfile) when the connector supports it
+        if (length >= SENDFILE_MIN_BYTES && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTR, start);
+            request.setAttribute(SENDFILE_END_ATTR, start + length);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long written = channel.transferTo(position, remaining, out);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+                remaining -= written;
+            }
+        }
     }
 
     @DeleteMapping("/{filename:.+}")
@@ -1,18 +1,24 @@
 package com.blog.backend.controller;
 
 import com.blog.backend.dto.auth.MessageResponse;
+import com.blog.backend.dto.common.CursorPageResponse;
 import com.blog.backend.dto.post.CommentRequest;
 import com.blog.backend.dto.post.CommentResponse;
 import com.blog.backend.dto.post.PostRequest;
 import com.blog.backend.dto.post.PostResponse;
 import com.blog.backend.service.PostService;
+import com.blog.backend.service.ResponseBodyCache;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -20,9 +26,11 @@ import java.util.List;
 public class PostController {
 
     private final PostService postService;
+    private final ResponseBodyCache responseBodyCache;
 
-    public PostController(PostService postService) {
+    public PostController(PostService postService, ResponseBodyCache responseBodyCache) {
         this.postService = postService;
+        this.responseBodyCache = responseBodyCache;
     }
 
     @PostMapping
@@ -32,9 +40,13 @@ public class PostController {
     }
 
     @GetMapping("/{postId}")
-    public ResponseEntity<PostResponse> getPost(@PathVariable Long postId, Authentication authentication) {
-        PostResponse post = postService.getPost(postId, authentication);
-        return ResponseEntity.ok(post);
+    public ResponseEntity<?> getPost(
+            @PathVariable Long postId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Authentication authentication) {
+        String etag = postService.getPostETag(postId, authentication);
+        return conditionalResponse(etag, ifNoneMatch, authentication != null, "post:" + postId,
+                () -> postService.getPost(postId, authentication));
     }
 
     @PutMapping("/{postId}")
@@ -53,9 +65,13 @@ public class PostController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<PostResponse>> getUserPosts(@PathVariable Long userId, Authentication authentication) {
-        List<PostResponse> posts = postService.getUserPosts(userId, authentication);
-        return ResponseEntity.ok(posts);
+    public ResponseEntity<?> getUserPosts(
+            @PathVariable Long userId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Authentication authentication) {
+        String etag = postService.getUserPostsETag(userId, authentication);
+        return conditionalResponse(etag, ifNoneMatch, authentication != null, "user-posts:" + userId,
+                () -> postService.getUserPosts(userId, authentication));
     }
 
     @GetMapping("/feed")
@@ -80,9 +96,26 @@ public class PostController {
     }
 
     @GetMapping("/{postId}/comments")
-    public ResponseEntity<List<CommentResponse>> getComments(@PathVariable Long postId) {
-        List<CommentResponse> comments = postService.getComments(postId);
-        return ResponseEntity.ok(comments);
+    public ResponseEntity<?> getComments(
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(defaultValue = "newest") String order,
+            @RequestParam(defaultValue = "3") int replies,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = postService.getCommentsETag(postId);
+        // Comments look the same to every viewer, so signed-in readers share the cached body too
+        String cacheKey = "comments:" + postId + ":" + order + ":" + cursor + ":" + limit + ":" + replies;
+        return conditionalResponse(etag, ifNoneMatch, false, cacheKey,
+                () -> postService.getComments(postId, cursor, limit, order, replies));
+    }
+
+    @GetMapping("/comments/{commentId}/replies")
+    public ResponseEntity<CursorPageResponse<CommentResponse>> getReplies(
+            @PathVariable Long commentId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(postService.getReplies(commentId, cursor, limit));
     }
 
     @DeleteMapping("/comments/{commentId}")
@@ -90,4 +123,45 @@ public class PostController {
         postService.deleteComment(commentId, authentication);
         return ResponseEntity.ok(new MessageResponse("Comment deleted successfully"));
     }
+
+    /**
+     * Answers a matching If-None-Match with 304 before anything is rendered. Responses that
+     * don't depend on the viewer come from the shared body cache, the rest are rendered as usual.
+     */
+    private ResponseEntity<?> conditionalResponse(String etag, String ifNoneMatch, boolean personalised,
+                                                  String cacheKey, Supplier<?> renderer) {
+        CacheControl cacheControl = personalised ? CacheControl.noCache().cachePrivate() : CacheControl.noCache();
+        if (matchesETag(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.AUTHORIZATION)
+                    .build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.AUTHORIZATION);
+        if (personalised) {
+            return response.body(renderer.get());
+        }
+        return response.contentType(MediaType.APPLICATION_JSON)
+                .body(responseBodyCache.getOrRender(cacheKey, etag, renderer));
+    }
+
+    // Weak comparison, as If-None-Match requires
+    private static boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaqueTag = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(opaqueTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -13,6 +13,7 @@ public class AdminUserResponse {
     private Integer postCount;
     private Integer subscriberCount;
     private LocalDateTime createdAt;
+    private LocalDateTime restrictedUntil;
 
     public AdminUserResponse() {
     }
@@ -102,4 +103,12 @@ public class AdminUserResponse {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public LocalDateTime getRestrictedUntil() {
+        return restrictedUntil;
+    }
+
+    public void setRestrictedUntil(LocalDateTime restrictedUntil) {
+        this.restrictedUntil = restrictedUntil;
+    }
 }
@@ -0,0 +1,26 @@
+package com.blog.backend.dto.admin;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class BulkActionRequest {
+
+    @NotEmpty(message = "At least one id is required")
+    private List<Long> ids;
+
+    public BulkActionRequest() {
+    }
+
+    public BulkActionRequest(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+}
@@ -0,0 +1,43 @@
+package com.blog.backend.dto.admin;
+
+import java.util.List;
+
+public class BulkActionResponse {
+
+    private int requested;
+    private int updated;
+    private List<BulkItemResult> results;
+
+    public BulkActionResponse() {
+    }
+
+    public BulkActionResponse(int requested, int updated, List<BulkItemResult> results) {
+        this.requested = requested;
+        this.updated = updated;
+        this.results = results;
+    }
+
+    public int getRequested() {
+        return requested;
+    }
+
+    public void setRequested(int requested) {
+        this.requested = requested;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public List<BulkItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BulkItemResult> results) {
+        this.results = results;
+    }
+}
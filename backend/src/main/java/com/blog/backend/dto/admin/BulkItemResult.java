@@ -0,0 +1,33 @@
+package com.blog.backend.dto.admin;
+
+import com.blog.backend.enums.BulkItemStatus;
+
+public class BulkItemResult {
+
+    private Long id;
+    private BulkItemStatus status;
+
+    public BulkItemResult() {
+    }
+
+    public BulkItemResult(Long id, BulkItemStatus status) {
+        this.id = id;
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BulkItemStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(BulkItemStatus status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,41 @@
+package com.blog.backend.dto.admin;
+
+public class CounterRepairResponse {
+
+    private Long scannedUsers;
+    private Long repairedUsers;
+    private Long durationMs;
+
+    public CounterRepairResponse() {
+    }
+
+    public CounterRepairResponse(Long scannedUsers, Long repairedUsers, Long durationMs) {
+        this.scannedUsers = scannedUsers;
+        this.repairedUsers = repairedUsers;
+        this.durationMs = durationMs;
+    }
+
+    public Long getScannedUsers() {
+        return scannedUsers;
+    }
+
+    public void setScannedUsers(Long scannedUsers) {
+        this.scannedUsers = scannedUsers;
+    }
+
+    public Long getRepairedUsers() {
+        return repairedUsers;
+    }
+
+    public void setRepairedUsers(Long repairedUsers) {
+        this.repairedUsers = repairedUsers;
+    }
+
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
@@ -0,0 +1,61 @@
+package com.blog.backend.dto.admin;
+
+public class MediaGcResponse {
+
+    private Boolean dryRun;
+    private Long scannedFiles;
+    private Long orphanedFiles;
+    private Long reclaimedBytes;
+    private Long durationMs;
+
+    public MediaGcResponse() {
+    }
+
+    public MediaGcResponse(Boolean dryRun, Long scannedFiles, Long orphanedFiles, Long reclaimedBytes, Long durationMs) {
+        this.dryRun = dryRun;
+        this.scannedFiles = scannedFiles;
+        this.orphanedFiles = orphanedFiles;
+        this.reclaimedBytes = reclaimedBytes;
+        this.durationMs = durationMs;
+    }
+
+    public Boolean getDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(Boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public Long getScannedFiles() {
+        return scannedFiles;
+    }
+
+    public void setScannedFiles(Long scannedFiles) {
+        this.scannedFiles = scannedFiles;
+    }
+
+    public Long getOrphanedFiles() {
+        return orphanedFiles;
+    }
+
+    public void setOrphanedFiles(Long orphanedFiles) {
+        this.orphanedFiles = orphanedFiles;
+    }
+
+    public Long getReclaimedBytes() {
+        return reclaimedBytes;
+    }
+
+    public void setReclaimedBytes(Long reclaimedBytes) {
+        this.reclaimedBytes = reclaimedBytes;
+    }
+
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+}
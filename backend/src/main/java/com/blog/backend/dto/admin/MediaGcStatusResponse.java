@@ -0,0 +1,43 @@
+package com.blog.backend.dto.admin;
+
+import java.time.LocalDateTime;
+
+public class MediaGcStatusResponse {
+
+    private Boolean running;
+    private LocalDateTime startedAt;
+    private MediaGcResponse lastRun;
+
+    public MediaGcStatusResponse() {
+    }
+
+    public MediaGcStatusResponse(Boolean running, LocalDateTime startedAt, MediaGcResponse lastRun) {
+        this.running = running;
+        this.startedAt = startedAt;
+        this.lastRun = lastRun;
+    }
+
+    public Boolean getRunning() {
+        return running;
+    }
+
+    public void setRunning(Boolean running) {
+        this.running = running;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public MediaGcResponse getLastRun() {
+        return lastRun;
+    }
+
+    public void setLastRun(MediaGcResponse lastRun) {
+        this.lastRun = lastRun;
+    }
+}
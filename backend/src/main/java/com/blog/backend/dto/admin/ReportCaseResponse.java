@@ -0,0 +1,129 @@
+package com.blog.backend.dto.admin;
+
+import java.time.LocalDateTime;
+
+public class ReportCaseResponse {
+
+    private Long id;
+    private String targetType;
+    private Long targetId;
+    // Author of the post, or the reported user themselves
+    private Long ownerId;
+    private String ownerUsername;
+    // Preview of the reported post, null for user cases
+    private String postContent;
+    private Boolean postHidden;
+    private Integer reportCount;
+    private Integer reporterCount;
+    private Integer priority;
+    private String latestReason;
+    private LocalDateTime firstReportedAt;
+    private LocalDateTime lastReportedAt;
+
+    public ReportCaseResponse() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTargetType() {
+        return targetType;
+    }
+
+    public void setTargetType(String targetType) {
+        this.targetType = targetType;
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    public void setTargetId(Long targetId) {
+        this.targetId = targetId;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public String getOwnerUsername() {
+        return ownerUsername;
+    }
+
+    public void setOwnerUsername(String ownerUsername) {
+        this.ownerUsername = ownerUsername;
+    }
+
+    public String getPostContent() {
+        return postContent;
+    }
+
+    public void setPostContent(String postContent) {
+        this.postContent = postContent;
+    }
+
+    public Boolean getPostHidden() {
+        return postHidden;
+    }
+
+    public void setPostHidden(Boolean postHidden) {
+        this.postHidden = postHidden;
+    }
+
+    public Integer getReportCount() {
+        return reportCount;
+    }
+
+    public void setReportCount(Integer reportCount) {
+        this.reportCount = reportCount;
+    }
+
+    public Integer getReporterCount() {
+        return reporterCount;
+    }
+
+    public void setReporterCount(Integer reporterCount) {
+        this.reporterCount = reporterCount;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
+    public String getLatestReason() {
+        return latestReason;
+    }
+
+    public void setLatestReason(String latestReason) {
+        this.latestReason = latestReason;
+    }
+
+    public LocalDateTime getFirstReportedAt() {
+        return firstReportedAt;
+    }
+
+    public void setFirstReportedAt(LocalDateTime firstReportedAt) {
+        this.firstReportedAt = firstReportedAt;
+    }
+
+    public LocalDateTime getLastReportedAt() {
+        return lastReportedAt;
+    }
+
+    public void setLastReportedAt(LocalDateTime lastReportedAt) {
+        this.lastReportedAt = lastReportedAt;
+    }
+}
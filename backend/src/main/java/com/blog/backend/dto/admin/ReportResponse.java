@@ -13,6 +13,7 @@ public class ReportResponse {
     private Long reportedPostId;
     private String reportedPostContent;
     private LocalDateTime createdAt;
+    private Boolean resolved;
 
     public ReportResponse() {
     }
@@ -102,4 +103,12 @@ public class ReportResponse {
     public void setReportedPostContent(String reportedPostContent) {
         this.reportedPostContent = reportedPostContent;
     }
+
+    public Boolean getResolved() {
+        return resolved;
+    }
+
+    public void setResolved(Boolean resolved) {
+        this.resolved = resolved;
+    }
 }
@@ -0,0 +1,74 @@
+package com.blog.backend.dto.admin;
+
+import java.time.LocalDateTime;
+
+public class StorageMigrationResponse {
+
+    private Boolean supported;
+    private Boolean running;
+    private Long migratedFiles;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String lastError;
+
+    public StorageMigrationResponse() {
+    }
+
+    public StorageMigrationResponse(Boolean supported, Boolean running, Long migratedFiles,
+                                    LocalDateTime startedAt, LocalDateTime finishedAt, String lastError) {
+        this.supported = supported;
+        this.running = running;
+        this.migratedFiles = migratedFiles;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.lastError = lastError;
+    }
+
+    public Boolean getSupported() {
+        return supported;
+    }
+
+    public void setSupported(Boolean supported) {
+        this.supported = supported;
+    }
+
+    public Boolean getRunning() {
+        return running;
+    }
+
+    public void setRunning(Boolean running) {
+        this.running = running;
+    }
+
+    public Long getMigratedFiles() {
+        return migratedFiles;
+    }
+
+    public void setMigratedFiles(Long migratedFiles) {
+        this.migratedFiles = migratedFiles;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,86 @@
+package com.blog.backend.dto.admin;
+
+import com.blog.backend.enums.UserDeletionState;
+
+import java.time.LocalDateTime;
+
+public class UserDeletionResponse {
+
+    private Long userId;
+    private UserDeletionState state;
+    private String stage;
+    private Long processedRows;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String lastError;
+
+    public UserDeletionResponse() {
+    }
+
+    public UserDeletionResponse(Long userId, UserDeletionState state, String stage, Long processedRows,
+                                LocalDateTime startedAt, LocalDateTime finishedAt, String lastError) {
+        this.userId = userId;
+        this.state = state;
+        this.stage = stage;
+        this.processedRows = processedRows;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.lastError = lastError;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public UserDeletionState getState() {
+        return state;
+    }
+
+    public void setState(UserDeletionState state) {
+        this.state = state;
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public void setStage(String stage) {
+        this.stage = stage;
+    }
+
+    public Long getProcessedRows() {
+        return processedRows;
+    }
+
+    public void setProcessedRows(Long processedRows) {
+        this.processedRows = processedRows;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
@@ -0,0 +1,44 @@
+package com.blog.backend.dto.common;
+
+import java.util.List;
+
+public class CursorPageResponse<T> {
+
+    private List<T> items;
+    // Opaque cursor for the following page, null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+
+    public CursorPageResponse() {
+    }
+
+    public CursorPageResponse(List<T> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -0,0 +1,26 @@
+package com.blog.backend.dto.file;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+public class InitUploadRequest {
+
+    @NotNull(message = "Size is required")
+    @Positive(message = "Size must be positive")
+    private Long size;
+
+    public InitUploadRequest() {
+    }
+
+    public InitUploadRequest(Long size) {
+        this.size = size;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+}
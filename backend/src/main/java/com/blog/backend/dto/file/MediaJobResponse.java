@@ -0,0 +1,113 @@
+package com.blog.backend.dto.file;
+
+public class MediaJobResponse {
+
+    private String filename;
+    // The processed file, which posts should link once the job has completed
+    private String fileUrl;
+    private String status;
+    private Integer attempts;
+    private Long durationMs;
+    private Integer width;
+    private Integer height;
+    private String posterUrl;
+    private Boolean faststart;
+    private String error;
+
+    public MediaJobResponse() {
+    }
+
+    public MediaJobResponse(String filename, String fileUrl, String status, Integer attempts, Long durationMs,
+                            Integer width, Integer height, String posterUrl, Boolean faststart, String error) {
+        this.filename = filename;
+        this.fileUrl = fileUrl;
+        this.status = status;
+        this.attempts = attempts;
+        this.durationMs = durationMs;
+        this.width = width;
+        this.height = height;
+        this.posterUrl = posterUrl;
+        this.faststart = faststart;
+        this.error = error;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public String getFileUrl() {
+        return fileUrl;
+    }
+
+    public void setFileUrl(String fileUrl) {
+        this.fileUrl = fileUrl;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    public String getPosterUrl() {
+        return posterUrl;
+    }
+
+    public void setPosterUrl(String posterUrl) {
+        this.posterUrl = posterUrl;
+    }
+
+    public Boolean getFaststart() {
+        return faststart;
+    }
+
+    public void setFaststart(Boolean faststart) {
+        this.faststart = faststart;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
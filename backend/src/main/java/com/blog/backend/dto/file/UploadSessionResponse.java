@@ -0,0 +1,51 @@
+package com.blog.backend.dto.file;
+
+public class UploadSessionResponse {
+
+    private String uploadId;
+    private Long offset;
+    private Long size;
+    private Long maxChunkSize;
+
+    public UploadSessionResponse() {
+    }
+
+    public UploadSessionResponse(String uploadId, Long offset, Long size, Long maxChunkSize) {
+        this.uploadId = uploadId;
+        this.offset = offset;
+        this.size = size;
+        this.maxChunkSize = maxChunkSize;
+    }
+
+    public String getUploadId() {
+        return uploadId;
+    }
+
+    public void setUploadId(String uploadId) {
+        this.uploadId = uploadId;
+    }
+
+    public Long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(Long offset) {
+        this.offset = offset;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(Long size) {
+        this.size = size;
+    }
+
+    public Long getMaxChunkSize() {
+        return maxChunkSize;
+    }
+
+    public void setMaxChunkSize(Long maxChunkSize) {
+        this.maxChunkSize = maxChunkSize;
+    }
+}
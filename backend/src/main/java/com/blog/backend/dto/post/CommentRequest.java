@@ -9,6 +9,9 @@ public class CommentRequest {
     @Size(max = 1000, message = "Comment must not exceed 1000 characters")
     private String content;
 
+    // Comment being replied to, null for a top-level comment
+    private Long parentId;
+
     public CommentRequest() {
     }
 
@@ -23,4 +26,12 @@ public class CommentRequest {
     public void setContent(String content) {
         this.content = content;
     }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
 }
@@ -1,6 +1,7 @@
 package com.blog.backend.dto.post;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class CommentResponse {
 
@@ -9,7 +10,13 @@ public class CommentResponse {
     private Long userId;
     private String username;
     private String userDisplayName;
+    private String userAvatarUrl;
     private LocalDateTime createdAt;
+    private Long parentId;
+    private int depth;
+    private int replyCount;
+    // First replies of a top-level comment in thread order, null when not requested
+    private List<CommentResponse> replies;
 
     public CommentResponse() {
     }
@@ -64,6 +71,14 @@ public class CommentResponse {
         this.userDisplayName = userDisplayName;
     }
 
+    public String getUserAvatarUrl() {
+        return userAvatarUrl;
+    }
+
+    public void setUserAvatarUrl(String userAvatarUrl) {
+        this.userAvatarUrl = userAvatarUrl;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -71,4 +86,36 @@ public class CommentResponse {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public int getReplyCount() {
+        return replyCount;
+    }
+
+    public void setReplyCount(int replyCount) {
+        this.replyCount = replyCount;
+    }
+
+    public List<CommentResponse> getReplies() {
+        return replies;
+    }
+
+    public void setReplies(List<CommentResponse> replies) {
+        this.replies = replies;
+    }
 }
@@ -1,6 +1,8 @@
 package com.blog.backend.dto.post;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class PostResponse {
 
@@ -11,12 +13,16 @@ public class PostResponse {
     private Long userId;
     private String username;
     private String userDisplayName;
+    private String userAvatarUrl;
     private Integer likeCount;
     private Integer commentCount;
     private Boolean likedByCurrentUser;
     private Boolean hidden;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Map<Integer, String> mediaVariants = new LinkedHashMap<>();
+    // Unresolved reports against the post, only filled in for the admin queue
+    private Long openReportCount;
 
     public PostResponse() {
     }
@@ -96,6 +102,14 @@ public class PostResponse {
         this.userDisplayName = userDisplayName;
     }
 
+    public String getUserAvatarUrl() {
+        return userAvatarUrl;
+    }
+
+    public void setUserAvatarUrl(String userAvatarUrl) {
+        this.userAvatarUrl = userAvatarUrl;
+    }
+
     public Integer getLikeCount() {
         return likeCount;
     }
@@ -143,4 +157,20 @@ public class PostResponse {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Map<Integer, String> getMediaVariants() {
+        return mediaVariants;
+    }
+
+    public void setMediaVariants(Map<Integer, String> mediaVariants) {
+        this.mediaVariants = mediaVariants;
+    }
+
+    public Long getOpenReportCount() {
+        return openReportCount;
+    }
+
+    public void setOpenReportCount(Long openReportCount) {
+        this.openReportCount = openReportCount;
+    }
 }
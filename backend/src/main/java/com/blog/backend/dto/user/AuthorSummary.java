@@ -0,0 +1,60 @@
+package com.blog.backend.dto.user;
+
+import com.blog.backend.entity.User;
+
+import java.util.Objects;
+
+// The author fields embedded in post and comment responses
+public class AuthorSummary {
+
+    private final Long id;
+    private final String username;
+    private final String displayName;
+    private final String avatarUrl;
+
+    public AuthorSummary(Long id, String username, String displayName, String avatarUrl) {
+        this.id = id;
+        this.username = username;
+        this.displayName = displayName;
+        this.avatarUrl = avatarUrl;
+    }
+
+    public static AuthorSummary from(User user) {
+        return new AuthorSummary(user.getId(), user.getUsername(), user.getDisplayName(), user.getAvatarUrl());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public String getAvatarUrl() {
+        return avatarUrl;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AuthorSummary that)) {
+            return false;
+        }
+        return Objects.equals(id, that.id)
+                && Objects.equals(username, that.username)
+                && Objects.equals(displayName, that.displayName)
+                && Objects.equals(avatarUrl, that.avatarUrl);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, username, displayName, avatarUrl);
+    }
+}
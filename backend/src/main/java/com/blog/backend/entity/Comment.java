@@ -7,11 +7,24 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        // Keyset pagination walks a post's top-level comments by id
+        @Index(name = "idx_comments_post_parent_id", columnList = "post_id, parent_id, id"),
+        // Whole threads and reply previews are range reads in path order
+        @Index(name = "idx_comments_root_path", columnList = "root_id, path"),
+        // Profile edits and account purges find a user's comments by author
+        @Index(name = "idx_comments_user_id", columnList = "user_id"),
+        @Index(name = "idx_comments_deleted_at", columnList = "deleted_at")
+})
+// Deleted comments stay as tombstones until compaction; every entity read skips them
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -38,6 +51,28 @@ public class Comment {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // Threading is stored as plain ids plus a materialized path, no self association to load
+    @Column(name = "parent_id")
+    private Long parentId;
+
+    @Column(name = "root_id")
+    private Long rootId;
+
+    // Fixed-width ids from the root down to this comment, e.g. "000000000012/000000000045/"
+    @Column(length = 255)
+    private String path;
+
+    @Column(nullable = false)
+    private Integer depth = 0;
+
+    // Number of replies anywhere below this comment, kept up to date on add and delete
+    @Column(nullable = false)
+    private Integer replyCount = 0;
+
+    // Written only by the tombstoning update in CommentRepository
+    @Column(updatable = false)
+    private LocalDateTime deletedAt;
+
     // Explicit getters and setters
     public Long getId() {
         return id;
@@ -78,4 +113,69 @@ public class Comment {
     public void setUser(User user) {
         this.user = user;
     }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public Long getRootId() {
+        return rootId;
+    }
+
+    public void setRootId(Long rootId) {
+        this.rootId = rootId;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+    public void setDepth(Integer depth) {
+        this.depth = depth;
+    }
+
+    public Integer getReplyCount() {
+        return replyCount;
+    }
+
+    public void setReplyCount(Integer replyCount) {
+        this.replyCount = replyCount;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
+
+    // Ids above this comment on its path, root first; empty for a root or a comment without a path
+    public List<Long> ancestorIds() {
+        if (path == null) {
+            return new ArrayList<>();
+        }
+        String[] segments = path.split("/");
+        List<Long> ids = new ArrayList<>(segments.length - 1);
+        for (int i = 0; i < segments.length - 1; i++) {
+            ids.add(Long.parseLong(segments[i]));
+        }
+        return ids;
+    }
 }
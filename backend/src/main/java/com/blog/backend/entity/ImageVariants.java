@@ -0,0 +1,76 @@
+package com.blog.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// Responsive variants generated for a stored image, one row per original file
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "image_variants")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImageVariants {
+
+    @Id
+    private String filename;
+
+    // Generated widths in ascending order, comma separated; empty when the image is already small
+    @Column(nullable = false, length = 100)
+    private String widths;
+
+    // Variants of images with transparency are PNG instead of JPEG
+    @Column(nullable = false)
+    private Boolean alpha = false;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public ImageVariants(String filename, String widths, Boolean alpha) {
+        this.filename = filename;
+        this.widths = widths;
+        this.alpha = alpha;
+    }
+
+    // Explicit getters and setters
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public String getWidths() {
+        return widths;
+    }
+
+    public void setWidths(String widths) {
+        this.widths = widths;
+    }
+
+    public Boolean getAlpha() {
+        return alpha;
+    }
+
+    public void setAlpha(Boolean alpha) {
+        this.alpha = alpha;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
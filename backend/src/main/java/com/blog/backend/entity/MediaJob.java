@@ -0,0 +1,179 @@
+package com.blog.backend.entity;
+
+import com.blog.backend.enums.MediaJobStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+// Background processing of an uploaded video, one row per stored file
+@Entity
+@Table(name = "media_jobs", indexes = {
+        @Index(name = "idx_media_jobs_status_created", columnList = "status, createdAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MediaJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String filename;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private MediaJobStatus status = MediaJobStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    private Long durationMs;
+
+    private Integer width;
+
+    private Integer height;
+
+    private String posterFilename;
+
+    // Where the processed video was stored, when processing produced a new file (e.g. moov moved to the front)
+    private String outputFilename;
+
+    // Whether the moov box sits in front of the media data after processing
+    private Boolean faststart;
+
+    @Column(length = 1000)
+    private String error;
+
+    private LocalDateTime startedAt;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    public MediaJob(String filename) {
+        this.filename = filename;
+    }
+
+    // Explicit getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public MediaJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(MediaJobStatus status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    public String getPosterFilename() {
+        return posterFilename;
+    }
+
+    public void setPosterFilename(String posterFilename) {
+        this.posterFilename = posterFilename;
+    }
+
+    public String getOutputFilename() {
+        return outputFilename;
+    }
+
+    public void setOutputFilename(String outputFilename) {
+        this.outputFilename = outputFilename;
+    }
+
+    public Boolean getFaststart() {
+        return faststart;
+    }
+
+    public void setFaststart(Boolean faststart) {
+        this.faststart = faststart;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
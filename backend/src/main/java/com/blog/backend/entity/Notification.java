@@ -11,7 +11,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // Compaction clears the notifications of deleted posts by this column
+        @Index(name = "idx_notifications_related_post", columnList = "related_post_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
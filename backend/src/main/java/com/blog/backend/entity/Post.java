@@ -6,7 +6,10 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
@@ -14,7 +17,14 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "posts")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "posts", indexes = {
+        // Lets the compaction job find tombstones without scanning live posts
+        @Index(name = "idx_posts_deleted_at", columnList = "deleted_at")
+})
+// Deleted posts stay as tombstones until compaction; every entity read skips them
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -45,17 +55,26 @@ public class Post {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Written only by the tombstoning update in PostRepository
+    @Column(updatable = false)
+    private LocalDateTime deletedAt;
+
+    // Bumped in the database when a commenter's profile changes, never written from the entity
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long commentsVersion;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
+    // No cascades: posts are tombstoned, and compaction removes the child rows in batches
+    @OneToMany(mappedBy = "post")
     private List<Comment> comments = new ArrayList<>();
 
-    @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "post")
     private List<Like> likes = new ArrayList<>();
 
-    @OneToMany(mappedBy = "relatedPost", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "relatedPost")
     private List<Notification> notifications = new ArrayList<>();
 
     // Explicit getters and setters
@@ -107,6 +126,22 @@ public class Post {
         this.updatedAt = updatedAt;
     }
 
+    public Long getCommentsVersion() {
+        return commentsVersion;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
+
     public User getUser() {
         return user;
     }
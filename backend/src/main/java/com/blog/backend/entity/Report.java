@@ -11,7 +11,12 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reports")
+@Table(name = "reports", indexes = {
+        // Open-report lookups per post from the admin post queue
+        @Index(name = "idx_reports_post_resolved", columnList = "reported_post_id, resolved"),
+        // Open report of a reporter within a case, for deduplication
+        @Index(name = "idx_reports_case_reporter", columnList = "report_case_id, reporter_id, resolved")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -45,6 +50,15 @@ public class Report {
     @JoinColumn(name = "reporter_id", nullable = false)
     private User reporter;
 
+    // Null for reports filed before cases existed
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "report_case_id")
+    private ReportCase reportCase;
+
+    // Times the reporter filed against the same target while this report stayed open
+    @Column(nullable = false)
+    private Integer repeatCount = 1;
+
     // Explicit getters and setters
     public Long getId() {
         return id;
@@ -101,4 +115,20 @@ public class Report {
     public void setReportedPost(Post reportedPost) {
         this.reportedPost = reportedPost;
     }
+
+    public ReportCase getReportCase() {
+        return reportCase;
+    }
+
+    public void setReportCase(ReportCase reportCase) {
+        this.reportCase = reportCase;
+    }
+
+    public Integer getRepeatCount() {
+        return repeatCount;
+    }
+
+    public void setRepeatCount(Integer repeatCount) {
+        this.repeatCount = repeatCount;
+    }
 }
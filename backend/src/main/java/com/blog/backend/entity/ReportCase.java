@@ -0,0 +1,148 @@
+package com.blog.backend.entity;
+
+import com.blog.backend.enums.ReportTargetType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Every open report against one post or user, folded into a single moderation queue entry
+@Entity
+@Table(name = "report_cases", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_report_cases_target", columnNames = {"target_type", "target_id"})
+}, indexes = {
+        @Index(name = "idx_report_cases_queue", columnList = "resolved, priority, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportCase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private ReportTargetType targetType;
+
+    // Post or user id, no foreign key so the case outlives a deleted target
+    @Column(nullable = false)
+    private Long targetId;
+
+    // Reports received since the case was last opened, repeats by the same reporter included
+    @Column(nullable = false)
+    private Integer reportCount = 0;
+
+    @Column(nullable = false)
+    private Integer reporterCount = 0;
+
+    // Queue order, recomputed in the database whenever the counts change
+    @Column(nullable = false)
+    private Integer priority = 0;
+
+    @Column(nullable = false)
+    private Boolean resolved = false;
+
+    @Column(length = 1000)
+    private String latestReason;
+
+    @Column(nullable = false)
+    private LocalDateTime firstReportedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime lastReportedAt;
+
+    private LocalDateTime resolvedAt;
+
+    // Explicit getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public ReportTargetType getTargetType() {
+        return targetType;
+    }
+
+    public void setTargetType(ReportTargetType targetType) {
+        this.targetType = targetType;
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    public void setTargetId(Long targetId) {
+        this.targetId = targetId;
+    }
+
+    public Integer getReportCount() {
+        return reportCount;
+    }
+
+    public void setReportCount(Integer reportCount) {
+        this.reportCount = reportCount;
+    }
+
+    public Integer getReporterCount() {
+        return reporterCount;
+    }
+
+    public void setReporterCount(Integer reporterCount) {
+        this.reporterCount = reporterCount;
+    }
+
+    public Integer getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Integer priority) {
+        this.priority = priority;
+    }
+
+    public Boolean getResolved() {
+        return resolved;
+    }
+
+    public void setResolved(Boolean resolved) {
+        this.resolved = resolved;
+    }
+
+    public String getLatestReason() {
+        return latestReason;
+    }
+
+    public void setLatestReason(String latestReason) {
+        this.latestReason = latestReason;
+    }
+
+    public LocalDateTime getFirstReportedAt() {
+        return firstReportedAt;
+    }
+
+    public void setFirstReportedAt(LocalDateTime firstReportedAt) {
+        this.firstReportedAt = firstReportedAt;
+    }
+
+    public LocalDateTime getLastReportedAt() {
+        return lastReportedAt;
+    }
+
+    public void setLastReportedAt(LocalDateTime lastReportedAt) {
+        this.lastReportedAt = lastReportedAt;
+    }
+
+    public LocalDateTime getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public void setResolvedAt(LocalDateTime resolvedAt) {
+        this.resolvedAt = resolvedAt;
+    }
+}
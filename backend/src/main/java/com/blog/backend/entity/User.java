@@ -7,6 +7,8 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -15,7 +17,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "users", indexes = {
+        // Default ordering and date-range filter of the admin user listing
+        @Index(name = "idx_users_created_at", columnList = "createdAt")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
@@ -57,6 +64,14 @@ public class User {
     @Column(nullable = false)
     private Boolean banned = false;
 
+    // Temporary posting ban set by the moderation rules, written only through UserRepository
+    @Column(updatable = false)
+    private LocalDateTime restrictedUntil;
+
+    // Set when an admin deletes the account; the row stays until the purge job has removed its data
+    @Column(updatable = false)
+    private LocalDateTime deletedAt;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -177,6 +192,30 @@ public class User {
         this.updatedAt = updatedAt;
     }
 
+    public LocalDateTime getRestrictedUntil() {
+        return restrictedUntil;
+    }
+
+    public void setRestrictedUntil(LocalDateTime restrictedUntil) {
+        this.restrictedUntil = restrictedUntil;
+    }
+
+    public boolean isRestrictedAt(LocalDateTime time) {
+        return restrictedUntil != null && restrictedUntil.isAfter(time);
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+
+    public boolean isDeleted() {
+        return deletedAt != null;
+    }
+
     public List<Post> getPosts() {
         return posts;
     }
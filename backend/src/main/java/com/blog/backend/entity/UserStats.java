@@ -0,0 +1,68 @@
+package com.blog.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Denormalized per-user counters, kept out of the users row so their frequent atomic updates
+// never touch the User second-level cache region. Deliberately not cached itself.
+@Entity
+@Table(name = "user_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStats {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // Only ever changed by the atomic updates in UserStatsRepository, so saving a loaded row
+    // can't write back a stale value
+    @Column(nullable = false, updatable = false)
+    private Integer postCount = 0;
+
+    @Column(nullable = false, updatable = false)
+    private Integer followerCount = 0;
+
+    @Column(nullable = false, updatable = false)
+    private Integer followingCount = 0;
+
+    public UserStats(Long userId) {
+        this.userId = userId;
+    }
+
+    // Explicit getters and setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Integer getPostCount() {
+        return postCount;
+    }
+
+    public void setPostCount(Integer postCount) {
+        this.postCount = postCount;
+    }
+
+    public Integer getFollowerCount() {
+        return followerCount;
+    }
+
+    public void setFollowerCount(Integer followerCount) {
+        this.followerCount = followerCount;
+    }
+
+    public Integer getFollowingCount() {
+        return followingCount;
+    }
+
+    public void setFollowingCount(Integer followingCount) {
+        this.followingCount = followingCount;
+    }
+}
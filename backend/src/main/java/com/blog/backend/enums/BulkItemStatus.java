@@ -0,0 +1,10 @@
+package com.blog.backend.enums;
+
+public enum BulkItemStatus {
+    UPDATED,
+    UNCHANGED,
+    NOT_FOUND,
+    SKIPPED,
+    // The item's chunk rolled back; nothing was changed for it
+    FAILED
+}
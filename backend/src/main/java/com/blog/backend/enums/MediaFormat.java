@@ -0,0 +1,88 @@
+package com.blog.backend.enums;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+public enum MediaFormat {
+    JPEG("image/jpeg", ".jpg", "IMAGE"),
+    PNG("image/png", ".png", "IMAGE"),
+    GIF("image/gif", ".gif", "IMAGE"),
+    WEBP("image/webp", ".webp", "IMAGE"),
+    MP4("video/mp4", ".mp4", "VIDEO"),
+    QUICKTIME("video/quicktime", ".mov", "VIDEO"),
+    WEBM("video/webm", ".webm", "VIDEO");
+
+    // Enough bytes to recognise every supported container
+    public static final int HEADER_BYTES = 64;
+
+    // Major brands of ISO base media files that are MP4 video. The same ftyp box also heads HEIC/AVIF
+    // stills and M4A audio, which must not be stored as video
+    private static final Set<String> MP4_BRANDS = Set.of(
+            "isom", "iso2", "iso3", "iso4", "iso5", "iso6", "mp41", "mp42", "avc1", "dash", "M4V ", "mmp4", "msnv");
+
+    private final String contentType;
+    private final String extension;
+    private final String mediaType;
+
+    MediaFormat(String contentType, String extension, String mediaType) {
+        this.contentType = contentType;
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    // Identifies the format from the leading bytes of the file, ignoring whatever the client claimed
+    public static MediaFormat detect(byte[] header, int length) {
+        if (startsWith(header, length, 0, 0xFF, 0xD8, 0xFF)) {
+            return JPEG;
+        }
+        if (startsWith(header, length, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return PNG;
+        }
+        if (startsWith(header, length, 0, 'G', 'I', 'F', '8') && length >= 6
+                && (header[4] == '7' || header[4] == '9') && header[5] == 'a') {
+            return GIF;
+        }
+        if (startsWith(header, length, 0, 'R', 'I', 'F', 'F') && startsWith(header, length, 8, 'W', 'E', 'B', 'P')) {
+            return WEBP;
+        }
+        if (startsWith(header, length, 4, 'f', 't', 'y', 'p') && length >= 12) {
+            String majorBrand = new String(header, 8, 4, StandardCharsets.ISO_8859_1);
+            if (majorBrand.equals("qt  ")) {
+                return QUICKTIME;
+            }
+            return MP4_BRANDS.contains(majorBrand) ? MP4 : null;
+        }
+        if (startsWith(header, length, 4, 'm', 'o', 'o', 'v') || startsWith(header, length, 4, 'w', 'i', 'd', 'e')) {
+            return QUICKTIME;
+        }
+        if (startsWith(header, length, 0, 0x1A, 0x45, 0xDF, 0xA3)
+                && new String(header, 0, length, StandardCharsets.ISO_8859_1).contains("webm")) {
+            return WEBM;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] header, int length, int offset, int... expected) {
+        if (length < offset + expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if ((header[offset + i] & 0xFF) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,8 @@
+package com.blog.backend.enums;
+
+public enum MediaJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,6 @@
+package com.blog.backend.enums;
+
+public enum ReportTargetType {
+    POST,
+    USER
+}
@@ -0,0 +1,8 @@
+package com.blog.backend.enums;
+
+public enum UserDeletionState {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,22 @@
+package com.blog.backend.event;
+
+import com.blog.backend.enums.MediaFormat;
+
+public class FileStoredEvent {
+
+    private final String filename;
+    private final MediaFormat format;
+
+    public FileStoredEvent(String filename, MediaFormat format) {
+        this.filename = filename;
+        this.format = format;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public MediaFormat getFormat() {
+        return format;
+    }
+}
@@ -0,0 +1,15 @@
+package com.blog.backend.event;
+
+// Published whenever anything shown in a post's response changes: content, counts or visibility
+public class PostChangedEvent {
+
+    private final Long postId;
+
+    public PostChangedEvent(Long postId) {
+        this.postId = postId;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+}
@@ -0,0 +1,37 @@
+package com.blog.backend.event;
+
+import com.blog.backend.enums.ReportTargetType;
+
+import java.time.LocalDateTime;
+
+// Published for every report a user files, repeats against the same target included
+public class ReportFiledEvent {
+
+    private final ReportTargetType targetType;
+    private final Long targetId;
+    private final Long reporterId;
+    private final LocalDateTime reporterCreatedAt;
+
+    public ReportFiledEvent(ReportTargetType targetType, Long targetId, Long reporterId, LocalDateTime reporterCreatedAt) {
+        this.targetType = targetType;
+        this.targetId = targetId;
+        this.reporterId = reporterId;
+        this.reporterCreatedAt = reporterCreatedAt;
+    }
+
+    public ReportTargetType getTargetType() {
+        return targetType;
+    }
+
+    public Long getTargetId() {
+        return targetId;
+    }
+
+    public Long getReporterId() {
+        return reporterId;
+    }
+
+    public LocalDateTime getReporterCreatedAt() {
+        return reporterCreatedAt;
+    }
+}
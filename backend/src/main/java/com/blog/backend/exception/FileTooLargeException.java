@@ -0,0 +1,11 @@
+package com.blog.backend.exception;
+
+public class FileTooLargeException extends RuntimeException {
+    public FileTooLargeException(String message) {
+        super(message);
+    }
+
+    public FileTooLargeException(long maxBytes) {
+        super("File exceeds the maximum allowed size of " + maxBytes + " bytes");
+    }
+}
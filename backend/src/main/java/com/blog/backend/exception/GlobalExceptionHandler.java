@@ -12,6 +12,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -72,6 +73,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(ReportCaseNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleReportCaseNotFoundException(
+            ReportCaseNotFoundException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                "REPORT_CASE_NOT_FOUND",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
     // 401 Unauthorized Exceptions
     @ExceptionHandler(UnauthorizedException.class)
     public ResponseEntity<ErrorResponse> handleUnauthorizedException(
@@ -140,6 +152,17 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
     }
 
+    @ExceptionHandler(RestrictedUserException.class)
+    public ResponseEntity<ErrorResponse> handleRestrictedUserException(
+            RestrictedUserException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                "USER_RESTRICTED",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+    }
+
     // 400 Bad Request Exceptions
     @ExceptionHandler(UserAlreadyExistsException.class)
     public ResponseEntity<ErrorResponse> handleUserAlreadyExistsException(
@@ -185,6 +208,88 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequestException(
+            InvalidRequestException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                "INVALID_REQUEST",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(MediaJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleMediaJobNotFoundException(
+            MediaJobNotFoundException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                "MEDIA_JOB_NOT_FOUND",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(UploadNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleUploadNotFoundException(
+            UploadNotFoundException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                "UPLOAD_NOT_FOUND",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    // 429 Too Many Requests: finished or aborted sessions free their slot
+    @ExceptionHandler(TooManyUploadsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyUploadsException(
+            TooManyUploadsException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                "TOO_MANY_UPLOADS",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(error);
+    }
+
+    // 409 Conflict: the client resumes from the offset in Upload-Offset
+    @ExceptionHandler(UploadOffsetMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleUploadOffsetMismatchException(
+            UploadOffsetMismatchException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                "UPLOAD_OFFSET_MISMATCH",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header("Upload-Offset", Long.toString(ex.getExpectedOffset()))
+                .body(error);
+    }
+
+    // 413 Payload Too Large
+    @ExceptionHandler(FileTooLargeException.class)
+    public ResponseEntity<ErrorResponse> handleFileTooLargeException(
+            FileTooLargeException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                "FILE_TOO_LARGE",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(error);
+    }
+
+    @ExceptionHandler(MaxUploadSizeExceededException.class)
+    public ResponseEntity<ErrorResponse> handleMaxUploadSizeExceededException(
+            MaxUploadSizeExceededException ex, HttpServletRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                "FILE_TOO_LARGE",
+                "File exceeds the maximum allowed upload size",
+                request.getRequestURI()
+        );
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(error);
+    }
+
     // Validation Errors (400)
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ValidationErrorResponse> handleValidationException(
@@ -0,0 +1,7 @@
+package com.blog.backend.exception;
+
+public class MediaJobNotFoundException extends RuntimeException {
+    public MediaJobNotFoundException(String filename) {
+        super("No processing job for file: " + filename);
+    }
+}
@@ -0,0 +1,7 @@
+package com.blog.backend.exception;
+
+public class ReportCaseNotFoundException extends RuntimeException {
+    public ReportCaseNotFoundException(Long reportCaseId) {
+        super("Report case not found with ID: " + reportCaseId);
+    }
+}
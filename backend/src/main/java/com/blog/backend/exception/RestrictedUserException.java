@@ -0,0 +1,7 @@
+package com.blog.backend.exception;
+
+public class RestrictedUserException extends RuntimeException {
+    public RestrictedUserException(String message) {
+        super(message);
+    }
+}
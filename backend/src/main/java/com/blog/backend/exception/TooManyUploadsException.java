@@ -0,0 +1,7 @@
+package com.blog.backend.exception;
+
+public class TooManyUploadsException extends RuntimeException {
+    public TooManyUploadsException(int maxOpenUploads) {
+        super("Too many unfinished uploads, complete or abort one first (at most " + maxOpenUploads + ")");
+    }
+}
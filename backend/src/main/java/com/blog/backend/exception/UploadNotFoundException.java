@@ -0,0 +1,7 @@
+package com.blog.backend.exception;
+
+public class UploadNotFoundException extends RuntimeException {
+    public UploadNotFoundException(String uploadId) {
+        super("Upload not found or expired: " + uploadId);
+    }
+}
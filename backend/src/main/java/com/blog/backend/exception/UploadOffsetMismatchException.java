@@ -0,0 +1,15 @@
+package com.blog.backend.exception;
+
+public class UploadOffsetMismatchException extends RuntimeException {
+
+    private final long expectedOffset;
+
+    public UploadOffsetMismatchException(long expectedOffset, long actualOffset) {
+        super("Chunk offset " + actualOffset + " does not match the upload offset " + expectedOffset);
+        this.expectedOffset = expectedOffset;
+    }
+
+    public long getExpectedOffset() {
+        return expectedOffset;
+    }
+}
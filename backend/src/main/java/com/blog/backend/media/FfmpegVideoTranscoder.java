@@ -0,0 +1,71 @@
+package com.blog.backend.media;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Shells out to ffmpeg; when the binary is missing, posters are simply skipped
+public class FfmpegVideoTranscoder implements VideoTranscoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(FfmpegVideoTranscoder.class);
+
+    private final String executable;
+    private final Duration timeout;
+    private volatile Boolean available;
+
+    public FfmpegVideoTranscoder(String executable, Duration timeout) {
+        this.executable = executable;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public boolean isAvailable() {
+        if (available == null) {
+            try {
+                available = run(List.of(executable, "-hide_banner", "-version"), Duration.ofSeconds(10)) == 0;
+            } catch (IOException ex) {
+                available = false;
+            }
+            if (!available) {
+                logger.info("{} is not available, video posters will not be generated", executable);
+            }
+        }
+        return available;
+    }
+
+    @Override
+    public void extractPoster(Path video, Path target, long atMillis) throws IOException {
+        String position = String.format(Locale.ROOT, "%.3f", atMillis / 1000.0);
+        int exitCode = run(List.of(executable, "-hide_banner", "-loglevel", "error", "-y",
+                "-ss", position, "-i", video.toString(),
+                "-frames:v", "1", "-vf", "scale='min(1280,iw)':-2", "-q:v", "3",
+                target.toString()), timeout);
+        if (exitCode != 0) {
+            throw new IOException("ffmpeg exited with status " + exitCode);
+        }
+    }
+
+    private int run(List<String> command, Duration limit) throws IOException {
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            if (!process.waitFor(limit.toMillis(), TimeUnit.MILLISECONDS)) {
+                process.destroyForcibly();
+                throw new IOException("ffmpeg timed out after " + limit.toSeconds() + "s");
+            }
+            return process.exitValue();
+        } catch (InterruptedException ex) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for ffmpeg", ex);
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.blog.backend.media;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Minimal ISO base media (MP4/MOV) box reader: enough to read the duration and frame size, and to
+ * move the moov box in front of the media data ("faststart") so playback can start before the
+ * whole file has been downloaded.
+ */
+public final class IsoMediaFile {
+
+    // moov only holds sample tables; anything bigger than this is not a file we want to rewrite
+    private static final int MAX_MOOV_BYTES = 64 * 1024 * 1024;
+    private static final Set<String> CONTAINER_BOXES = Set.of("moov", "trak", "mdia", "minf", "stbl");
+
+    private IsoMediaFile() {
+    }
+
+    public static VideoMetadata inspect(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<Box> boxes = readTopLevelBoxes(channel);
+            Box moov = find(boxes, "moov");
+            if (moov == null) {
+                throw new IOException("No moov box in " + file.getFileName());
+            }
+            Box mdat = find(boxes, "mdat");
+
+            VideoMetadata metadata = new VideoMetadata();
+            ByteBuffer moovData = readBox(channel, moov);
+            collectMetadata(moovData, moov.headerSize, moovData.limit(), metadata);
+            metadata.setFaststart(mdat == null || moov.offset < mdat.offset);
+            return metadata;
+        }
+    }
+
+    /**
+     * Writes a copy of source with the moov box placed before the first mdat box, rewriting the
+     * stco/co64 chunk offsets that point into the shifted region. Returns false, without writing
+     * anything, when the file is already laid out that way.
+     */
+    public static boolean relocateMoovToFront(Path source, Path target) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ)) {
+            List<Box> boxes = readTopLevelBoxes(in);
+            Box moov = find(boxes, "moov");
+            Box mdat = find(boxes, "mdat");
+            if (moov == null || mdat == null || moov.offset < mdat.offset) {
+                return false;
+            }
+
+            ByteBuffer moovData = readBox(in, moov);
+            if (moov.extendsToEnd) {
+                // A size of 0 means "until end of file", which stops being true once moov moves
+                moovData.putInt(0, (int) moov.size);
+            }
+            long insertAt = mdat.offset;
+            shiftChunkOffsets(moovData, moov.headerSize, moovData.limit(), insertAt, moov.offset, moov.size);
+
+            try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                transfer(in, 0, insertAt, out);
+                moovData.rewind();
+                while (moovData.hasRemaining()) {
+                    out.write(moovData);
+                }
+                transfer(in, insertAt, moov.offset - insertAt, out);
+                long afterMoov = moov.offset + moov.size;
+                transfer(in, afterMoov, in.size() - afterMoov, out);
+            }
+            return true;
+        }
+    }
+
+    private static void collectMetadata(ByteBuffer data, int start, int end, VideoMetadata metadata) throws IOException {
+        visitChildren(data, start, end, (type, offset, headerSize, size) -> {
+            int body = offset + headerSize;
+            int boxEnd = offset + size;
+            if ("mvhd".equals(type)) {
+                readMovieHeader(data, body, boxEnd, metadata);
+            } else if ("tkhd".equals(type)) {
+                readTrackHeader(data, body, boxEnd, metadata);
+            } else if (CONTAINER_BOXES.contains(type)) {
+                collectMetadata(data, body, boxEnd, metadata);
+            }
+        });
+    }
+
+    private static void readMovieHeader(ByteBuffer data, int body, int end, VideoMetadata metadata) {
+        boolean version1 = data.get(body) == 1;
+        int fields = body + 4;
+        if (fields + (version1 ? 28 : 16) > end) {
+            return;
+        }
+        long timescale = Integer.toUnsignedLong(data.getInt(fields + (version1 ? 16 : 8)));
+        long duration = version1 ? data.getLong(fields + 20) : Integer.toUnsignedLong(data.getInt(fields + 12));
+        if (timescale > 0 && duration > 0 && duration != 0xFFFFFFFFL) {
+            metadata.setDurationMs(duration / timescale * 1000 + duration % timescale * 1000 / timescale);
+        }
+    }
+
+    // Width and height are 16.16 fixed point at the end of the header; audio tracks report 0
+    private static void readTrackHeader(ByteBuffer data, int body, int end, VideoMetadata metadata) {
+        boolean version1 = data.get(body) == 1;
+        int dimensions = body + 4 + (version1 ? 32 : 20) + 16 + 36;
+        if (dimensions + 8 > end || metadata.getWidth() != null) {
+            return;
+        }
+        int width = data.getInt(dimensions) >>> 16;
+        int height = data.getInt(dimensions + 4) >>> 16;
+        if (width > 0 && height > 0) {
+            metadata.setWidth(width);
+            metadata.setHeight(height);
+        }
+    }
+
+    private static void shiftChunkOffsets(ByteBuffer data, int start, int end,
+                                          long insertAt, long moovOffset, long shift) throws IOException {
+        visitChildren(data, start, end, (type, offset, headerSize, size) -> {
+            int body = offset + headerSize;
+            if (CONTAINER_BOXES.contains(type)) {
+                shiftChunkOffsets(data, body, offset + size, insertAt, moovOffset, shift);
+                return;
+            }
+            boolean wide = "co64".equals(type);
+            if (!wide && !"stco".equals(type)) {
+                return;
+            }
+
+            long entries = Integer.toUnsignedLong(data.getInt(body + 4));
+            int entrySize = wide ? 8 : 4;
+            if (body + 8 + entries * entrySize > offset + size) {
+                throw new IOException("Truncated " + type + " box");
+            }
+            for (int i = 0; i < entries; i++) {
+                int position = body + 8 + i * entrySize;
+                long chunkOffset = wide ? data.getLong(position) : Integer.toUnsignedLong(data.getInt(position));
+                // Only data between the insertion point and the old moov position moves
+                if (chunkOffset < insertAt || chunkOffset >= moovOffset) {
+                    continue;
+                }
+                long shifted = chunkOffset + shift;
+                if (wide) {
+                    data.putLong(position, shifted);
+                } else if (shifted > 0xFFFFFFFFL) {
+                    throw new IOException("Chunk offset no longer fits in stco");
+                } else {
+                    data.putInt(position, (int) shifted);
+                }
+            }
+        });
+    }
+
+    private static void visitChildren(ByteBuffer data, int start, int end, BoxVisitor visitor) throws IOException {
+        int position = start;
+        while (position + 8 <= end) {
+            long size = Integer.toUnsignedLong(data.getInt(position));
+            String type = typeAt(data, position + 4);
+            int headerSize = 8;
+            if (size == 1) {
+                size = data.getLong(position + 8);
+                headerSize = 16;
+            } else if (size == 0) {
+                size = end - position;
+            }
+            if (size < headerSize || position + size > end) {
+                throw new IOException("Malformed " + type + " box");
+            }
+            visitor.visit(type, position, headerSize, (int) size);
+            position += (int) size;
+        }
+    }
+
+    private static List<Box> readTopLevelBoxes(FileChannel channel) throws IOException {
+        List<Box> boxes = new ArrayList<>();
+        long fileSize = channel.size();
+        ByteBuffer header = ByteBuffer.allocate(16);
+        long position = 0;
+
+        while (position + 8 <= fileSize) {
+            header.clear();
+            header.limit((int) Math.min(16, fileSize - position));
+            readFully(channel, header, position);
+
+            long size = Integer.toUnsignedLong(header.getInt(0));
+            String type = typeAt(header, 4);
+            int headerSize = 8;
+            boolean extendsToEnd = false;
+            if (size == 1) {
+                if (header.limit() < 16) {
+                    throw new IOException("Truncated " + type + " box header");
+                }
+                size = header.getLong(8);
+                headerSize = 16;
+            } else if (size == 0) {
+                size = fileSize - position;
+                extendsToEnd = true;
+            }
+            if (size < headerSize || position + size > fileSize) {
+                throw new IOException("Malformed " + type + " box at offset " + position);
+            }
+            boxes.add(new Box(type, position, size, headerSize, extendsToEnd));
+            position += size;
+        }
+        return boxes;
+    }
+
+    private static ByteBuffer readBox(FileChannel channel, Box box) throws IOException {
+        if (box.size > MAX_MOOV_BYTES) {
+            throw new IOException(box.type + " box is too large: " + box.size + " bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) box.size);
+        readFully(channel, buffer, box.offset);
+        return buffer;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long current = position;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, current);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of file");
+            }
+            current += read;
+        }
+        buffer.flip();
+    }
+
+    private static void transfer(FileChannel in, long position, long count, FileChannel out) throws IOException {
+        long remaining = count;
+        long current = position;
+        while (remaining > 0) {
+            long transferred = in.transferTo(current, remaining, out);
+            if (transferred <= 0) {
+                throw new EOFException("Unexpected end of file");
+            }
+            current += transferred;
+            remaining -= transferred;
+        }
+    }
+
+    private static String typeAt(ByteBuffer data, int position) {
+        byte[] type = new byte[4];
+        for (int i = 0; i < 4; i++) {
+            type[i] = data.get(position + i);
+        }
+        return new String(type, StandardCharsets.ISO_8859_1);
+    }
+
+    private static Box find(List<Box> boxes, String type) {
+        return boxes.stream().filter(box -> box.type.equals(type)).findFirst().orElse(null);
+    }
+
+    @FunctionalInterface
+    private interface BoxVisitor {
+        void visit(String type, int offset, int headerSize, int size) throws IOException;
+    }
+
+    private static final class Box {
+
+        private final String type;
+        private final long offset;
+        private final long size;
+        private final int headerSize;
+        private final boolean extendsToEnd;
+
+        private Box(String type, long offset, long size, int headerSize, boolean extendsToEnd) {
+            this.type = type;
+            this.offset = offset;
+            this.size = size;
+            this.headerSize = headerSize;
+            this.extendsToEnd = extendsToEnd;
+        }
+    }
+}
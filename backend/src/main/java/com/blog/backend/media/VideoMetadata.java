@@ -0,0 +1,42 @@
+package com.blog.backend.media;
+
+public class VideoMetadata {
+
+    private Long durationMs;
+    private Integer width;
+    private Integer height;
+    // True when the moov box already precedes the media data
+    private boolean faststart;
+
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    public boolean isFaststart() {
+        return faststart;
+    }
+
+    public void setFaststart(boolean faststart) {
+        this.faststart = faststart;
+    }
+}
@@ -0,0 +1,16 @@
+package com.blog.backend.media;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * External tool for the work pure Java cannot do (decoding frames). Register a bean of this type
+ * to replace the ffmpeg-based default.
+ */
+public interface VideoTranscoder {
+
+    boolean isAvailable();
+
+    // Writes a JPEG still taken roughly atMillis into the video
+    void extractPoster(Path video, Path target, long atMillis) throws IOException;
+}
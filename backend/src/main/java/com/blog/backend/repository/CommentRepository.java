@@ -2,11 +2,21 @@ package com.blog.backend.repository;
 
 import com.blog.backend.entity.Comment;
 import com.blog.backend.entity.Post;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
@@ -15,4 +25,71 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByPostIdOrderByCreatedAtDesc(Long postId);
 
     List<Comment> findByUserIdOrderByCreatedAtDesc(Long userId);
+
+    // Keyset pages of top-level comments with the author fetched in the same query; the page size comes from the Pageable
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.post.id = :postId AND c.parentId IS NULL " +
+            "AND c.id < :before ORDER BY c.id DESC")
+    List<Comment> findRootPageNewestFirst(@Param("postId") Long postId, @Param("before") Long before, Pageable pageable);
+
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.post.id = :postId AND c.parentId IS NULL " +
+            "AND c.id > :after ORDER BY c.id ASC")
+    List<Comment> findRootPageOldestFirst(@Param("postId") Long postId, @Param("after") Long after, Pageable pageable);
+
+    // First replies of each thread in path order, ranked per root so one query serves a whole page
+    @Query(value = "SELECT c.* FROM comments c WHERE c.id IN (" +
+            "SELECT ranked.id FROM (SELECT r.id, ROW_NUMBER() OVER (PARTITION BY r.root_id ORDER BY r.path) AS rn " +
+            "FROM comments r WHERE r.root_id IN (:rootIds) AND r.parent_id IS NOT NULL AND r.deleted_at IS NULL) ranked " +
+            "WHERE ranked.rn <= :perThread) ORDER BY c.path", nativeQuery = true)
+    List<Comment> findReplyPreviews(@Param("rootIds") Collection<Long> rootIds, @Param("perThread") int perThread);
+
+    // The subtree below a comment in depth-first order; the comment itself is skipped by starting after its path
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.rootId = :rootId AND c.path LIKE :prefix " +
+            "AND c.path > :after ORDER BY c.path ASC")
+    List<Comment> findSubtreePage(@Param("rootId") Long rootId, @Param("prefix") String prefix,
+                                  @Param("after") String after, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.replyCount = c.replyCount + :delta WHERE c.id IN :ids")
+    void adjustReplyCounts(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+
+    // Tombstones stay in the table until compaction, invisible to every entity query
+    @Modifying
+    @Query("UPDATE Comment c SET c.deletedAt = :now WHERE c.rootId = :rootId AND c.path LIKE :prefix " +
+            "AND c.deletedAt IS NULL")
+    int markSubtreeDeleted(@Param("rootId") Long rootId, @Param("prefix") String prefix,
+                           @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Comment c SET c.deletedAt = :now WHERE c.id = :id AND c.deletedAt IS NULL")
+    int markDeleted(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // The native queries below see tombstoned rows too, which the entity restriction hides
+
+    @Query(value = "SELECT c.id FROM comments c WHERE c.user_id = :userId", nativeQuery = true)
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = "SELECT c.id FROM comments c JOIN posts p ON p.id = c.post_id WHERE p.user_id = :userId",
+            nativeQuery = true)
+    List<Long> findIdsOnPostsOf(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = "SELECT c.id FROM comments c WHERE c.post_id IN (:postIds)", nativeQuery = true)
+    List<Long> findIdsByPostIds(@Param("postIds") Collection<Long> postIds, Pageable pageable);
+
+    @Query(value = "SELECT c.id FROM comments c WHERE c.deleted_at < :cutoff ORDER BY c.id", nativeQuery = true)
+    List<Long> findIdsDeletedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "comments"))
+    @Query(value = "DELETE FROM comments WHERE id IN (:ids)", nativeQuery = true)
+    int purgeByIds(@Param("ids") Collection<Long> ids);
+
+    // Comments are never edited, so the count and newest id change with every add or delete
+    @Query("SELECT COUNT(c) AS count, MAX(c.id) AS lastId FROM Comment c WHERE c.post.id = :postId")
+    CommentsVersion findVersionByPostId(@Param("postId") Long postId);
+
+    interface CommentsVersion {
+        Long getCount();
+
+        Long getLastId();
+    }
 }
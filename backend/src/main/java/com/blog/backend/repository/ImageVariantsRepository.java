@@ -0,0 +1,9 @@
+package com.blog.backend.repository;
+
+import com.blog.backend.entity.ImageVariants;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImageVariantsRepository extends JpaRepository<ImageVariants, String> {
+}
@@ -3,9 +3,13 @@ package com.blog.backend.repository;
 import com.blog.backend.entity.Like;
 import com.blog.backend.entity.Post;
 import com.blog.backend.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,4 +33,18 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     void deleteByPostIdAndUserId(Long postId, Long userId);
 
     void deleteByUserIdAndPostId(Long userId, Long postId);
+
+    @Query("SELECT l.id FROM Like l WHERE l.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Native so likes on tombstoned posts are found too, a join on the entity would skip them
+    @Query(value = "SELECT l.id FROM likes l JOIN posts p ON p.id = l.post_id WHERE p.user_id = :userId",
+            nativeQuery = true)
+    List<Long> findIdsOnPostsOf(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT l.post.id FROM Like l WHERE l.user.id = :userId AND l.post.id IN :postIds")
+    List<Long> findPostIdsLikedBy(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT l.id FROM Like l WHERE l.post.id IN :postIds")
+    List<Long> findIdsByPostIds(@Param("postIds") Collection<Long> postIds, Pageable pageable);
 }
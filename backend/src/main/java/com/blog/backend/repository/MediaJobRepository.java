@@ -0,0 +1,40 @@
+package com.blog.backend.repository;
+
+import com.blog.backend.entity.MediaJob;
+import com.blog.backend.enums.MediaJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MediaJobRepository extends JpaRepository<MediaJob, Long> {
+
+    Optional<MediaJob> findByFilename(String filename);
+
+    List<MediaJob> findTop50ByStatusOrderByCreatedAtAsc(MediaJobStatus status);
+
+    // Conditional update, so only one worker can move a job out of PENDING
+    @Modifying
+    @Transactional
+    @Query("UPDATE MediaJob j SET j.status = :running, j.attempts = j.attempts + 1, j.startedAt = :now " +
+            "WHERE j.id = :id AND j.status = :pending")
+    int claim(@Param("id") Long id,
+              @Param("pending") MediaJobStatus pending,
+              @Param("running") MediaJobStatus running,
+              @Param("now") LocalDateTime now);
+
+    // Jobs left RUNNING by a worker that died (e.g. a restart) go back to the queue
+    @Modifying
+    @Transactional
+    @Query("UPDATE MediaJob j SET j.status = :pending WHERE j.status = :running AND j.startedAt < :cutoff")
+    int requeueStale(@Param("pending") MediaJobStatus pending,
+                     @Param("running") MediaJobStatus running,
+                     @Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,30 +1,63 @@
 package com.blog.backend.repository;
 
 import com.blog.backend.entity.Notification;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
     List<Notification> findByUserId(Long userId);
 
-    List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
+    // Notifications about a deleted post wait for compaction out of sight, the post can't be loaded anymore
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId " +
+            "AND (fk(n.relatedPost) IS NULL OR EXISTS (SELECT p.id FROM Post p WHERE p.id = fk(n.relatedPost))) " +
+            "ORDER BY n.createdAt DESC")
+    List<Notification> findByUserIdOrderByCreatedAtDesc(@Param("userId") Long userId);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.read = :read " +
+            "AND (fk(n.relatedPost) IS NULL OR EXISTS (SELECT p.id FROM Post p WHERE p.id = fk(n.relatedPost)))")
+    List<Notification> findByUserIdAndRead(@Param("userId") Long userId, @Param("read") Boolean read);
 
-    List<Notification> findByUserIdAndRead(Long userId, Boolean read);
+    @Query("SELECT COUNT(n) FROM Notification n WHERE n.user.id = :userId AND n.read = :read " +
+            "AND (fk(n.relatedPost) IS NULL OR EXISTS (SELECT p.id FROM Post p WHERE p.id = fk(n.relatedPost)))")
+    Long countByUserIdAndRead(@Param("userId") Long userId, @Param("read") Boolean read);
 
-    Long countByUserIdAndRead(Long userId, Boolean read);
+    // Notifications a user received or that point at one of their posts, tombstoned ones included
+    @Query(value = "SELECT n.id FROM notifications n LEFT JOIN posts p ON p.id = n.related_post_id " +
+            "WHERE n.user_id = :userId OR p.user_id = :userId", nativeQuery = true)
+    List<Long> findIdsOwnedOrAboutPostsOf(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT n.id FROM Notification n WHERE n.relatedUser.id = :userId")
+    List<Long> findIdsByRelatedUserId(@Param("userId") Long userId, Pageable pageable);
 
     @Modifying
-    @Query("UPDATE Notification n SET n.relatedUser = NULL WHERE n.relatedUser.id = :userId")
-    void nullifyRelatedUser(@Param("userId") Long userId);
+    @Query("UPDATE Notification n SET n.relatedUser = NULL WHERE n.id IN :ids")
+    void nullifyRelatedUser(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT n.id FROM Notification n WHERE fk(n.relatedPost) IN :postIds")
+    List<Long> findIdsByRelatedPostIds(@Param("postIds") Collection<Long> postIds, Pageable pageable);
 
+    // One row per recipient that still exists and is not deleted, ids of purged or deleted accounts
+    // are skipped instead of failing the insert. The query space keeps the second-level cache intact
     @Modifying
-    @Query("DELETE FROM Notification n WHERE n.relatedPost.id IN (SELECT p.id FROM Post p WHERE p.user.id = :userId)")
-    void deleteByRelatedPostUserId(@Param("userId") Long userId);
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "notifications"))
+    @Query(value = "INSERT INTO notifications (message, type, read, created_at, user_id, related_post_id, related_user_id) " +
+            "SELECT :message, :type, false, :now, u.id, :relatedPostId, :relatedUserId FROM users u " +
+            "WHERE u.id IN (:userIds) AND u.deleted_at IS NULL", nativeQuery = true)
+    int insertForUsers(@Param("userIds") Collection<Long> userIds, @Param("message") String message,
+                       @Param("type") String type, @Param("relatedPostId") Long relatedPostId,
+                       @Param("relatedUserId") Long relatedUserId, @Param("now") LocalDateTime now);
 }
@@ -2,10 +2,23 @@ package com.blog.backend.repository;
 
 import com.blog.backend.entity.Post;
 import com.blog.backend.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
@@ -16,7 +29,175 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
     List<Post> findByUserIdInOrderByCreatedAtDesc(List<Long> userIds);
 
+    // A profile page in id order, the same order its validator is built in
+    @Query("SELECT p FROM Post p WHERE p.user.id = :userId AND (:includeHidden = true OR p.hidden = false) ORDER BY p.id")
+    List<Post> findProfilePosts(@Param("userId") Long userId, @Param("includeHidden") boolean includeHidden);
+
+    // Like and comment counts for a page of posts in one statement instead of loading both collections per post
+    @Query("SELECT p.id AS id, SIZE(p.likes) AS likeCount, SIZE(p.comments) AS commentCount FROM Post p WHERE p.id IN :ids")
+    List<PostCounts> findCountsByIds(@Param("ids") Collection<Long> ids);
+
     List<Post> findAllByOrderByCreatedAtDesc();
 
     List<Post> findByUserInOrderByCreatedAtDesc(List<User> users);
+
+    @Query("SELECT p.mediaUrl FROM Post p WHERE p.mediaUrl IN :urls")
+    List<String> findMediaUrlsIn(@Param("urls") Collection<String> urls);
+
+    List<Post> findAllByMediaUrl(String mediaUrl);
+
+    @Query("SELECT p.id AS id, p.user.id AS userId, p.mediaUrl AS mediaUrl, p.mediaType AS mediaType, " +
+           "p.hidden AS hidden, p.updatedAt AS updatedAt, SIZE(p.likes) AS likeCount, SIZE(p.comments) AS commentCount " +
+           "FROM Post p WHERE p.id = :postId")
+    Optional<PostVersion> findVersionById(@Param("postId") Long postId);
+
+    @Query("SELECT p.commentsVersion FROM Post p WHERE p.id = :postId")
+    Optional<Long> findCommentsVersionById(@Param("postId") Long postId);
+
+    // Comment pages embed their authors' profiles, so every post the user commented on gets a new
+    // comments validator. Runs on the rare profile edit instead of on every page revalidation
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "posts"))
+    @Query(value = "UPDATE posts SET comments_version = comments_version + 1 " +
+            "WHERE id IN (SELECT c.post_id FROM comments c WHERE c.user_id = :userId)", nativeQuery = true)
+    int bumpCommentsVersionsOfCommenter(@Param("userId") Long userId);
+
+    @Query("SELECT p.id AS id, p.user.id AS userId, p.mediaUrl AS mediaUrl, p.mediaType AS mediaType, " +
+           "p.hidden AS hidden, p.updatedAt AS updatedAt, SIZE(p.likes) AS likeCount, SIZE(p.comments) AS commentCount " +
+           "FROM Post p WHERE p.user.id = :userId ORDER BY p.id")
+    List<PostVersion> findVersionsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT p.id FROM Post p JOIN p.likes l WHERE p.user.id = :authorId AND l.user.id = :userId")
+    List<Long> findIdsLikedByUser(@Param("authorId") Long authorId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.hidden = true WHERE p.id = :postId AND p.hidden = false")
+    int hideIfVisible(@Param("postId") Long postId);
+
+    @Query("SELECT p.id AS id, p.user.id AS userId, p.hidden AS hidden FROM Post p WHERE p.id IN :ids")
+    List<ModerationState> findModerationStates(@Param("ids") Collection<Long> ids);
+
+    // Same rows locked until commit; a post tombstoned concurrently is waited for and then left out,
+    // so the caller can tombstone exactly these and count them per author
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id AS id, p.user.id AS userId, p.hidden AS hidden FROM Post p WHERE p.id IN :ids")
+    List<ModerationState> lockModerationStates(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.hidden = :hidden WHERE p.id IN :ids AND p.hidden <> :hidden")
+    int updateHidden(@Param("ids") Collection<Long> ids, @Param("hidden") Boolean hidden);
+
+    @Query("SELECT p.id FROM Post p WHERE p.user.id = :userId AND p.hidden = false")
+    List<Long> findVisibleIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    // Deleting only stamps the row; it drops out of every entity query and is purged later by compaction.
+    // Returns the rows actually stamped, a post already deleted by a concurrent request is not counted
+    @Modifying
+    @Query("UPDATE Post p SET p.deletedAt = :now WHERE p.id IN :ids AND p.deletedAt IS NULL")
+    int markDeleted(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // The native queries below see tombstoned rows too, which the entity restriction hides
+
+    @Query(value = "SELECT p.id FROM posts p WHERE p.user_id = :userId", nativeQuery = true)
+    List<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = "SELECT p.id FROM posts p WHERE p.deleted_at < :cutoff ORDER BY p.id", nativeQuery = true)
+    List<Long> findIdsDeletedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // Bypasses the cascades, the caller removes the child rows first. The query space keeps
+    // Hibernate from clearing every second-level cache region after a native statement
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "posts"))
+    @Query(value = "DELETE FROM posts WHERE id IN (:ids)", nativeQuery = true)
+    int purgeByIds(@Param("ids") Collection<Long> ids);
+
+    // One row per post with its author and counts, newest first from the keyset position. Date bounds
+    // are always bound (open ranges use far-off sentinels) so only the optional filters take nulls
+    @Query("SELECT p.id AS id, p.content AS content, p.mediaUrl AS mediaUrl, p.mediaType AS mediaType, " +
+           "p.hidden AS hidden, p.createdAt AS createdAt, p.updatedAt AS updatedAt, " +
+           "u.id AS userId, u.username AS username, u.displayName AS userDisplayName, u.avatarUrl AS userAvatarUrl, " +
+           "SIZE(p.likes) AS likeCount, SIZE(p.comments) AS commentCount, " +
+           "(SELECT COUNT(r) FROM Report r WHERE r.reportedPost = p AND r.resolved = false) AS openReportCount " +
+           "FROM Post p JOIN p.user u " +
+           "WHERE p.id < :before " +
+           "AND (:hidden IS NULL OR p.hidden = :hidden) " +
+           "AND (:authorId IS NULL OR u.id = :authorId) " +
+           "AND p.createdAt >= :from AND p.createdAt < :to " +
+           "AND (:reported IS NULL " +
+           "OR (:reported = true AND EXISTS (SELECT r.id FROM Report r WHERE r.reportedPost = p AND r.resolved = false)) " +
+           "OR (:reported = false AND NOT EXISTS (SELECT r.id FROM Report r WHERE r.reportedPost = p AND r.resolved = false))) " +
+           "ORDER BY p.id DESC")
+    List<AdminPostRow> findAdminPage(@Param("before") Long before,
+                                     @Param("hidden") Boolean hidden,
+                                     @Param("authorId") Long authorId,
+                                     @Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     @Param("reported") Boolean reported,
+                                     Pageable pageable);
+
+    interface AdminPostRow {
+        Long getId();
+
+        String getContent();
+
+        String getMediaUrl();
+
+        String getMediaType();
+
+        Boolean getHidden();
+
+        LocalDateTime getCreatedAt();
+
+        LocalDateTime getUpdatedAt();
+
+        Long getUserId();
+
+        String getUsername();
+
+        String getUserDisplayName();
+
+        String getUserAvatarUrl();
+
+        Integer getLikeCount();
+
+        Integer getCommentCount();
+
+        Long getOpenReportCount();
+    }
+
+    // Id, author and hidden flag for the bulk moderation chunks
+    interface ModerationState {
+        Long getId();
+
+        Long getUserId();
+
+        Boolean getHidden();
+    }
+
+    interface PostCounts {
+        Long getId();
+
+        Integer getLikeCount();
+
+        Integer getCommentCount();
+    }
+
+    // Everything a rendered PostResponse depends on, without loading the post or its collections
+    interface PostVersion {
+        Long getId();
+
+        Long getUserId();
+
+        String getMediaUrl();
+
+        String getMediaType();
+
+        Boolean getHidden();
+
+        LocalDateTime getUpdatedAt();
+
+        Integer getLikeCount();
+
+        Integer getCommentCount();
+    }
 }
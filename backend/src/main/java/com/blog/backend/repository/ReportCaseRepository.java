@@ -0,0 +1,128 @@
+package com.blog.backend.repository;
+
+import com.blog.backend.entity.ReportCase;
+import com.blog.backend.enums.ReportTargetType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReportCaseRepository extends JpaRepository<ReportCase, Long> {
+
+    Optional<ReportCase> findByTargetTypeAndTargetId(ReportTargetType targetType, Long targetId);
+
+    // Concurrent first reports against the same target race on the unique key instead of
+    // failing the transaction, the loser simply finds the winner's row afterwards
+    @Modifying
+    @Query(value = "INSERT INTO report_cases (target_type, target_id, report_count, reporter_count, priority, " +
+            "resolved, first_reported_at, last_reported_at) " +
+            "VALUES (:targetType, :targetId, 0, 0, 0, false, :now, :now) " +
+            "ON CONFLICT (target_type, target_id) DO NOTHING", nativeQuery = true)
+    void insertIfAbsent(@Param("targetType") String targetType,
+                        @Param("targetId") Long targetId,
+                        @Param("now") LocalDateTime now);
+
+    // Only the first of several racing reporters resets a resolved case
+    @Modifying
+    @Query("UPDATE ReportCase c SET c.resolved = false, c.resolvedAt = null, c.reportCount = 0, " +
+            "c.reporterCount = 0, c.priority = 0, c.firstReportedAt = :now " +
+            "WHERE c.id = :id AND c.resolved = true")
+    int reopen(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Counts and score move together in the database, so concurrent reports never lose an increment
+    @Modifying
+    @Query("UPDATE ReportCase c SET c.reportCount = c.reportCount + 1, " +
+            "c.reporterCount = c.reporterCount + :newReporter, " +
+            "c.priority = (c.reporterCount + :newReporter) * :reporterWeight + c.reportCount + 1, " +
+            "c.latestReason = :reason, c.lastReportedAt = :now " +
+            "WHERE c.id = :id")
+    void recordReport(@Param("id") Long id,
+                      @Param("newReporter") int newReporter,
+                      @Param("reason") String reason,
+                      @Param("now") LocalDateTime now,
+                      @Param("reporterWeight") int reporterWeight);
+
+    // Rebuilds the counts from the open reports after one of them is removed
+    @Modifying
+    @Query("UPDATE ReportCase c SET " +
+            "c.reportCount = (SELECT COALESCE(SUM(r.repeatCount), 0) FROM Report r " +
+            "WHERE r.reportCase = c AND r.resolved = false), " +
+            "c.reporterCount = (SELECT COUNT(r) FROM Report r WHERE r.reportCase = c AND r.resolved = false), " +
+            "c.priority = (SELECT COUNT(r) FROM Report r WHERE r.reportCase = c AND r.resolved = false) * :reporterWeight " +
+            "+ (SELECT COALESCE(SUM(r.repeatCount), 0) FROM Report r WHERE r.reportCase = c AND r.resolved = false) " +
+            "WHERE c.id = :id")
+    void recount(@Param("id") Long id, @Param("reporterWeight") int reporterWeight);
+
+    // Touches only the resolution columns, so counts recorded by a concurrent report are kept
+    @Modifying
+    @Query("UPDATE ReportCase c SET c.resolved = true, c.resolvedAt = :now WHERE c.id = :id AND c.resolved = false")
+    int resolve(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Deleting a target settles its cases, there is nothing left to moderate
+    @Modifying
+    @Query("UPDATE ReportCase c SET c.resolved = true, c.resolvedAt = :now " +
+            "WHERE c.targetType = :targetType AND c.targetId IN :targetIds AND c.resolved = false")
+    int resolveByTargets(@Param("targetType") ReportTargetType targetType,
+                         @Param("targetIds") Collection<Long> targetIds,
+                         @Param("now") LocalDateTime now);
+
+    // Cases of targets that no longer exist, once their reports are gone
+    @Modifying
+    @Query("DELETE FROM ReportCase c WHERE c.targetType = :targetType AND c.targetId IN :targetIds")
+    int deleteByTargets(@Param("targetType") ReportTargetType targetType,
+                        @Param("targetIds") Collection<Long> targetIds);
+
+    // Open cases, highest priority first, from the (priority, id) keyset position
+    @Query("SELECT c.id AS id, c.targetType AS targetType, c.targetId AS targetId, " +
+            "c.reportCount AS reportCount, c.reporterCount AS reporterCount, c.priority AS priority, " +
+            "c.latestReason AS latestReason, c.firstReportedAt AS firstReportedAt, c.lastReportedAt AS lastReportedAt, " +
+            "SUBSTRING(p.content, 1, :previewLength) AS postContent, p.hidden AS postHidden, " +
+            "COALESCE(pu.id, u.id) AS ownerId, COALESCE(pu.username, u.username) AS ownerUsername " +
+            "FROM ReportCase c " +
+            "LEFT JOIN Post p ON c.targetType = com.blog.backend.enums.ReportTargetType.POST AND p.id = c.targetId " +
+            "LEFT JOIN p.user pu " +
+            "LEFT JOIN User u ON c.targetType = com.blog.backend.enums.ReportTargetType.USER AND u.id = c.targetId " +
+            "WHERE c.resolved = false " +
+            "AND (c.priority < :priority OR (c.priority = :priority AND c.id < :before)) " +
+            "ORDER BY c.priority DESC, c.id DESC")
+    List<QueueRow> findQueuePage(@Param("priority") Integer priority,
+                                 @Param("before") Long before,
+                                 @Param("previewLength") int previewLength,
+                                 Pageable pageable);
+
+    interface QueueRow {
+        Long getId();
+
+        ReportTargetType getTargetType();
+
+        Long getTargetId();
+
+        Integer getReportCount();
+
+        Integer getReporterCount();
+
+        Integer getPriority();
+
+        String getLatestReason();
+
+        LocalDateTime getFirstReportedAt();
+
+        LocalDateTime getLastReportedAt();
+
+        String getPostContent();
+
+        Boolean getPostHidden();
+
+        Long getOwnerId();
+
+        String getOwnerUsername();
+    }
+}
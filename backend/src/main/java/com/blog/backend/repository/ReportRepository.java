@@ -1,10 +1,17 @@
 package com.blog.backend.repository;
 
 import com.blog.backend.entity.Report;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReportRepository extends JpaRepository<Report, Long> {
@@ -16,4 +23,70 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
     List<Report> findByResolved(Boolean resolved);
 
     List<Report> findAllByOrderByCreatedAtDesc();
+
+    Optional<Report> findFirstByReportCaseIdAndReporterIdAndResolvedFalse(Long reportCaseId, Long reporterId);
+
+    @Modifying
+    @Query("UPDATE Report r SET r.repeatCount = r.repeatCount + 1 WHERE r.id = :id")
+    void incrementRepeatCount(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Report r SET r.resolved = true WHERE r.reportCase.id = :reportCaseId AND r.resolved = false")
+    int resolveByReportCase(@Param("reportCaseId") Long reportCaseId);
+
+    // Reports filed by a user, against them or against one of their posts, tombstoned ones included
+    @Query(value = "SELECT r.id FROM reports r LEFT JOIN posts p ON p.id = r.reported_post_id " +
+            "WHERE r.reporter_id = :userId OR r.reported_user_id = :userId OR p.user_id = :userId",
+            nativeQuery = true)
+    List<Long> findIdsInvolvingUser(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT DISTINCT r.reportCase.id FROM Report r WHERE r.id IN :ids AND r.reportCase IS NOT NULL")
+    List<Long> findReportCaseIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.id FROM Report r WHERE fk(r.reportedPost) IN :postIds")
+    List<Long> findIdsByReportedPostIds(@Param("postIds") Collection<Long> postIds, Pageable pageable);
+
+    // Moderation queue page with reporter and target resolved in the same query; post content is
+    // cut in the database since the listing only shows a preview
+    @Query("SELECT r.id AS id, r.reason AS reason, r.resolved AS resolved, r.createdAt AS createdAt, " +
+           "reporter.id AS reporterId, reporter.username AS reporterUsername, " +
+           "ru.id AS reportedUserId, ru.username AS reportedUsername, " +
+           "rp.id AS reportedPostId, SUBSTRING(rp.content, 1, :previewLength) AS reportedPostContent " +
+           "FROM Report r JOIN r.reporter reporter LEFT JOIN r.reportedUser ru LEFT JOIN r.reportedPost rp " +
+           "WHERE r.id < :before " +
+           "AND (:resolved IS NULL OR r.resolved = :resolved) " +
+           "AND (:postReports IS NULL " +
+           "OR (:postReports = true AND rp.id IS NOT NULL) " +
+           "OR (:postReports = false AND rp.id IS NULL)) " +
+           "AND r.createdAt >= :from AND r.createdAt < :to " +
+           "ORDER BY r.id DESC")
+    List<AdminReportRow> findAdminPage(@Param("before") Long before,
+                                       @Param("resolved") Boolean resolved,
+                                       @Param("postReports") Boolean postReports,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("previewLength") int previewLength,
+                                       Pageable pageable);
+
+    interface AdminReportRow {
+        Long getId();
+
+        String getReason();
+
+        Boolean getResolved();
+
+        LocalDateTime getCreatedAt();
+
+        Long getReporterId();
+
+        String getReporterUsername();
+
+        Long getReportedUserId();
+
+        String getReportedUsername();
+
+        Long getReportedPostId();
+
+        String getReportedPostContent();
+    }
 }
@@ -2,12 +2,20 @@ package com.blog.backend.repository;
 
 import com.blog.backend.entity.Subscription;
 import com.blog.backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+
 @Repository
 public interface SubscriptionRepository extends JpaRepository<Subscription, Long> {
 
@@ -17,15 +25,48 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
 
     List<Subscription> findBySubscriber(User subscriber);
 
+    // Read on every feed request and rarely written, so worth the query cache
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Subscription> findBySubscriberId(Long subscriberId);
 
     List<Subscription> findBySubscribedTo(User subscribedTo);
 
     List<Subscription> findBySubscribedToId(Long subscribedToId);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Boolean existsBySubscriberIdAndSubscribedToId(Long subscriberId, Long subscribedToId);
 
-    void deleteBySubscriberIdAndSubscribedToId(Long subscriberId, Long subscribedToId);
+    long deleteBySubscriberIdAndSubscribedToId(Long subscriberId, Long subscribedToId);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Long countBySubscribedToId(Long subscribedToId);
+
+    @Query("SELECT s.id FROM Subscription s WHERE s.subscriber.id = :userId")
+    List<Long> findIdsBySubscriberId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT s.id FROM Subscription s WHERE s.subscribedTo.id = :userId")
+    List<Long> findIdsBySubscribedToId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT s.subscribedTo.id FROM Subscription s WHERE s.subscriber.id = :userId")
+    List<Long> findSubscribedToIds(@Param("userId") Long userId);
+
+    @Query("SELECT s.subscriber.id FROM Subscription s WHERE s.subscribedTo.id = :userId")
+    List<Long> findSubscriberIds(@Param("userId") Long userId);
+
+    // Every edge of the graph as plain ids, walked by id so loading never needs an offset scan
+    @Query("SELECT s.id AS id, s.subscriber.id AS subscriberId, s.subscribedTo.id AS subscribedToId " +
+            "FROM Subscription s WHERE s.id > :after ORDER BY s.id")
+    List<Edge> findEdgesAfter(@Param("after") Long after, Pageable pageable);
+
+    @Query("SELECT s.id AS id, s.subscriber.id AS subscriberId, s.subscribedTo.id AS subscribedToId " +
+            "FROM Subscription s WHERE s.id IN :ids")
+    List<Edge> findEdgesByIds(@Param("ids") Collection<Long> ids);
+
+    interface Edge {
+        Long getId();
+
+        Long getSubscriberId();
+
+        Long getSubscribedToId();
+    }
 }
@@ -2,14 +2,22 @@ package com.blog.backend.repository;
 
 import com.blog.backend.entity.User;
 import com.blog.backend.enums.Role;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
     Optional<User> findByUsername(String username);
 
@@ -24,4 +32,52 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByRole(Role role);
 
     List<User> findByBanned(Boolean banned);
+
+    @Query("SELECT u.avatarUrl FROM User u WHERE u.avatarUrl IN :urls")
+    List<String> findAvatarUrlsIn(@Param("urls") Collection<String> urls);
+
+    // Only ever extends an existing restriction
+    @Modifying
+    @Query("UPDATE User u SET u.restrictedUntil = :until " +
+            "WHERE u.id = :userId AND (u.restrictedUntil IS NULL OR u.restrictedUntil < :until)")
+    int restrictUntil(@Param("userId") Long userId, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("UPDATE User u SET u.restrictedUntil = null WHERE u.id = :userId")
+    int clearRestriction(@Param("userId") Long userId);
+
+    @Query("SELECT u.id AS id, u.role AS role, u.banned AS banned, u.deletedAt AS deletedAt " +
+            "FROM User u WHERE u.id IN :ids")
+    List<ModerationState> findModerationStates(@Param("ids") Collection<Long> ids);
+
+    // Rows already in the target state are left alone, so the count is exactly what changed.
+    // Deleted accounts are never touched, unbanning one would let it sign in again
+    @Modifying
+    @Query("UPDATE User u SET u.banned = :banned " +
+            "WHERE u.id IN :ids AND u.banned <> :banned AND u.deletedAt IS NULL")
+    int updateBanned(@Param("ids") Collection<Long> ids, @Param("banned") Boolean banned);
+
+    // Soft delete: the account disappears and can no longer sign in before its data is purged
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.deletedAt = :now, u.banned = true WHERE u.id = :userId AND u.deletedAt IS NULL")
+    int markDeleted(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT u.id FROM User u WHERE u.deletedAt IS NOT NULL ORDER BY u.deletedAt")
+    List<Long> findIdsPendingDeletion(Pageable pageable);
+
+    // Last step of the purge, once nothing references the row any more
+    @Modifying
+    @Query("DELETE FROM User u WHERE u.id = :userId AND u.deletedAt IS NOT NULL")
+    int deleteSoftDeleted(@Param("userId") Long userId);
+
+    interface ModerationState {
+        Long getId();
+
+        Role getRole();
+
+        Boolean getBanned();
+
+        LocalDateTime getDeletedAt();
+    }
 }
@@ -0,0 +1,72 @@
+package com.blog.backend.repository;
+
+import com.blog.backend.entity.User;
+import com.blog.backend.entity.UserStats;
+import com.blog.backend.enums.Role;
+import org.hibernate.query.criteria.JpaEntityJoin;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.query.sqm.tree.SqmJoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for the admin user listing. Each returns null when its value is absent, which
+ * Specification.where/and simply skip.
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    // Accounts waiting for their purge are gone as far as the listing is concerned
+    public static Specification<User> notDeleted() {
+        return (root, query, cb) -> cb.isNull(root.get("deletedAt"));
+    }
+
+    public static Specification<User> hasRole(Role role) {
+        return role == null ? null : (root, query, cb) -> cb.equal(root.get("role"), role);
+    }
+
+    public static Specification<User> isBanned(Boolean banned) {
+        return banned == null ? null : (root, query, cb) -> cb.equal(root.get("banned"), banned);
+    }
+
+    public static Specification<User> createdFrom(LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    public static Specification<User> createdBefore(LocalDateTime before) {
+        return before == null ? null : (root, query, cb) -> cb.lessThan(root.get("createdAt"), before);
+    }
+
+    public static Specification<User> nameStartsWith(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        String pattern = escapeLike(prefix.trim().toLowerCase()) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("username")), pattern, '\\'),
+                cb.like(cb.lower(root.get("displayName")), pattern, '\\'));
+    }
+
+    // Counters live in user_stats with no association from User, so sorting by one joins the
+    // table by id. Id breaks ties so pages never overlap
+    public static Specification<User> orderedByStat(String property, boolean ascending) {
+        return (root, query, cb) -> {
+            // The page's count query reuses the spec but needs neither the join nor the order
+            if (Long.class.equals(query.getResultType())) {
+                return null;
+            }
+            JpaEntityJoin<UserStats> stats = ((JpaRoot<User>) root).join(UserStats.class, SqmJoinType.LEFT);
+            stats.on(cb.equal(stats.get("userId"), root.get("id")));
+            query.orderBy(ascending ? cb.asc(stats.get(property)) : cb.desc(stats.get(property)),
+                    ascending ? cb.asc(root.get("id")) : cb.desc(root.get("id")));
+            return null;
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
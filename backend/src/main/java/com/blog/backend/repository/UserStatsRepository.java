@@ -0,0 +1,90 @@
+package com.blog.backend.repository;
+
+import com.blog.backend.entity.UserStats;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+@Repository
+public interface UserStatsRepository extends JpaRepository<UserStats, Long> {
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "user_stats"))
+    @Query(value = "INSERT INTO user_stats (user_id, post_count, follower_count, following_count) " +
+            "VALUES (:userId, 0, 0, 0) ON CONFLICT (user_id) DO NOTHING", nativeQuery = true)
+    void createFor(@Param("userId") Long userId);
+
+    // Counters are adjusted in the database so concurrent writers never lose an increment
+
+    @Modifying
+    @Query("UPDATE UserStats s SET s.postCount = s.postCount + :delta WHERE s.userId = :userId")
+    void adjustPostCount(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE UserStats s SET s.followerCount = s.followerCount + :delta WHERE s.userId = :userId")
+    void adjustFollowerCount(@Param("userId") Long userId, @Param("delta") int delta);
+
+    @Modifying
+    @Query("UPDATE UserStats s SET s.followingCount = s.followingCount + :delta WHERE s.userId = :userId")
+    void adjustFollowingCount(@Param("userId") Long userId, @Param("delta") int delta);
+
+    // Run before a batch of subscriptions is deleted, while the rows still exist
+    @Modifying
+    @Query("UPDATE UserStats s SET s.followerCount = s.followerCount - 1 " +
+            "WHERE s.userId IN (SELECT sub.subscribedTo.id FROM Subscription sub WHERE sub.id IN :subscriptionIds)")
+    void decrementFollowerCountsOf(@Param("subscriptionIds") Collection<Long> subscriptionIds);
+
+    @Modifying
+    @Query("UPDATE UserStats s SET s.followingCount = s.followingCount - 1 " +
+            "WHERE s.userId IN (SELECT sub.subscriber.id FROM Subscription sub WHERE sub.id IN :subscriptionIds)")
+    void decrementFollowingCountsOf(@Param("subscriptionIds") Collection<Long> subscriptionIds);
+
+    @Modifying
+    @Query("DELETE FROM UserStats s WHERE s.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    // Stored counters next to the real counts, for the repair job
+    @Query("SELECT s.userId AS id, s.postCount AS postCount, s.followerCount AS followerCount, " +
+            "s.followingCount AS followingCount, " +
+            "(SELECT COUNT(p) FROM Post p WHERE p.user.id = s.userId) AS actualPostCount, " +
+            "(SELECT COUNT(sub) FROM Subscription sub WHERE sub.subscribedTo.id = s.userId) AS actualFollowerCount, " +
+            "(SELECT COUNT(sub) FROM Subscription sub WHERE sub.subscriber.id = s.userId) AS actualFollowingCount " +
+            "FROM UserStats s WHERE s.userId > :afterId ORDER BY s.userId")
+    List<CounterCheck> findCounterChecks(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE UserStats s SET " +
+            "s.postCount = (SELECT COUNT(p) FROM Post p WHERE p.user.id = s.userId), " +
+            "s.followerCount = (SELECT COUNT(sub) FROM Subscription sub WHERE sub.subscribedTo.id = s.userId), " +
+            "s.followingCount = (SELECT COUNT(sub) FROM Subscription sub WHERE sub.subscriber.id = s.userId) " +
+            "WHERE s.userId IN :ids")
+    int recomputeCounters(@Param("ids") Collection<Long> ids);
+
+    interface CounterCheck {
+        Long getId();
+
+        Integer getPostCount();
+
+        Integer getFollowerCount();
+
+        Integer getFollowingCount();
+
+        Long getActualPostCount();
+
+        Long getActualFollowerCount();
+
+        Long getActualFollowingCount();
+    }
+}
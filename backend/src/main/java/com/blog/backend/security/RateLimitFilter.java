@@ -0,0 +1,97 @@
+package com.blog.backend.security;
+
+import com.blog.backend.config.RateLimitProperties;
+import com.blog.backend.config.RateLimitProperties.Policy;
+import com.blog.backend.dto.error.ErrorResponse;
+import com.blog.backend.service.RateLimitService;
+import com.blog.backend.service.RateLimitService.Decision;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitService rateLimitService;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitService rateLimitService,
+                           RateLimitProperties properties,
+                           ObjectMapper objectMapper) {
+        this.rateLimitService = rateLimitService;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || "OPTIONS".equalsIgnoreCase(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Policy policy = rateLimitService.resolvePolicy(request.getMethod(), request.getRequestURI());
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Decision decision = rateLimitService.tryConsume(policy, resolveClientKey(request));
+
+        response.setHeader("RateLimit-Policy", policy.getCapacity() + ";w=" + policy.getRefillPeriod().toSeconds());
+        response.setHeader("RateLimit-Limit", Long.toString(decision.getLimit()));
+        response.setHeader("RateLimit-Remaining", Long.toString(decision.getRemaining()));
+        response.setHeader("RateLimit-Reset", Long.toString(decision.getResetSeconds()));
+
+        if (!decision.isAllowed()) {
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(decision.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            ErrorResponse error = new ErrorResponse(
+                    "RATE_LIMITED",
+                    "Too many requests, retry after " + decision.getRetryAfterSeconds() + " seconds",
+                    request.getRequestURI()
+            );
+            objectMapper.writeValue(response.getOutputStream(), error);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String resolveClientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return "user:" + principal.getId();
+        }
+        return "ip:" + resolveClientIp(request);
+    }
+
+    private String resolveClientIp(HttpServletRequest request) {
+        if (properties.isTrustForwardedHeaders()) {
+            String realIp = request.getHeader("X-Real-IP");
+            if (StringUtils.hasText(realIp)) {
+                return realIp.trim();
+            }
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (StringUtils.hasText(forwardedFor)) {
+                return forwardedFor.split(",")[0].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
@@ -5,6 +5,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.Collections;
 
@@ -16,15 +17,19 @@ public class UserPrincipal implements UserDetails {
     private String password;
     private Collection<? extends GrantedAuthority> authorities;
     private Boolean banned;
+    // Set once an admin deletes the account; it must never sign in again, whatever banned says
+    private LocalDateTime deletedAt;
 
     public UserPrincipal(Long id, String username, String email, String password,
-                         Collection<? extends GrantedAuthority> authorities, Boolean banned) {
+                         Collection<? extends GrantedAuthority> authorities, Boolean banned,
+                         LocalDateTime deletedAt) {
         this.id = id;
         this.username = username;
         this.email = email;
         this.password = password;
         this.authorities = authorities;
         this.banned = banned;
+        this.deletedAt = deletedAt;
     }
 
     public Long getId() {
@@ -46,7 +51,8 @@ public class UserPrincipal implements UserDetails {
                 user.getEmail(),
                 user.getPassword(),
                 authorities,
-                user.getBanned()
+                user.getBanned(),
+                user.getDeletedAt()
         );
     }
 
@@ -72,7 +78,7 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public boolean isAccountNonLocked() {
-        return !banned;
+        return !banned && deletedAt == null;
     }
 
     @Override
@@ -82,6 +88,6 @@ public class UserPrincipal implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return !banned;
+        return !banned && deletedAt == null;
     }
 }
@@ -1,73 +1,160 @@
 package com.blog.backend.service;
 
+import com.blog.backend.dto.admin.AdminPostFilter;
+import com.blog.backend.dto.admin.AdminReportFilter;
+import com.blog.backend.dto.admin.AdminUserFilter;
 import com.blog.backend.dto.admin.AdminUserResponse;
 import com.blog.backend.dto.admin.CreateReportRequest;
+import com.blog.backend.dto.admin.ReportCaseResponse;
 import com.blog.backend.dto.admin.ReportResponse;
+import com.blog.backend.dto.common.CursorPageResponse;
+import com.blog.backend.dto.common.PageResponse;
 import com.blog.backend.dto.post.PostResponse;
 import com.blog.backend.entity.Post;
 import com.blog.backend.entity.Report;
+import com.blog.backend.entity.ReportCase;
 import com.blog.backend.entity.User;
+import com.blog.backend.entity.UserStats;
+import com.blog.backend.enums.ReportTargetType;
+import com.blog.backend.enums.Role;
+import com.blog.backend.event.PostChangedEvent;
+import com.blog.backend.event.ReportFiledEvent;
 import com.blog.backend.exception.ForbiddenException;
+import com.blog.backend.exception.InvalidRequestException;
 import com.blog.backend.exception.PostNotFoundException;
+import com.blog.backend.exception.ReportCaseNotFoundException;
 import com.blog.backend.exception.ReportNotFoundException;
 import com.blog.backend.exception.UserNotFoundException;
 import com.blog.backend.repository.LikeRepository;
-import com.blog.backend.repository.NotificationRepository;
 import com.blog.backend.repository.PostRepository;
+import com.blog.backend.repository.ReportCaseRepository;
 import com.blog.backend.repository.ReportRepository;
-import com.blog.backend.repository.SubscriptionRepository;
 import com.blog.backend.repository.UserRepository;
+import com.blog.backend.repository.UserSpecifications;
+import com.blog.backend.repository.UserStatsRepository;
 import com.blog.backend.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class AdminService {
 
+    private static final int MAX_USER_PAGE_SIZE = 100;
+    private static final int MAX_QUEUE_PAGE_SIZE = 100;
+    private static final int REPORT_PREVIEW_LENGTH = 100;
+
+    // Stand-ins for an open end of a date filter, so the queue queries always bind both bounds
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    // Sortable columns of the user listing, all backed by stored values
+    private static final Map<String, String> USER_SORT_PROPERTIES = Map.of(
+            "createdAt", "createdAt",
+            "username", "username"
+    );
+    // Sortable counters, which live on UserStats rather than on the user row
+    private static final Map<String, String> USER_STAT_SORT_PROPERTIES = Map.of(
+            "postCount", "postCount",
+            "followerCount", "followerCount"
+    );
+
     private final UserRepository userRepository;
+    private final UserStatsRepository userStatsRepository;
     private final PostRepository postRepository;
     private final ReportRepository reportRepository;
+    private final ReportCaseRepository reportCaseRepository;
     private final LikeRepository likeRepository;
-    private final NotificationRepository notificationRepository;
-    private final SubscriptionRepository subscriptionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // How much more a distinct reporter counts towards queue priority than a repeat report
+    @Value("${moderation.queue.reporter-weight:10}")
+    private int reporterWeight;
 
     public AdminService(UserRepository userRepository,
+                       UserStatsRepository userStatsRepository,
                        PostRepository postRepository,
                        ReportRepository reportRepository,
+                       ReportCaseRepository reportCaseRepository,
                        LikeRepository likeRepository,
-                       NotificationRepository notificationRepository,
-                       SubscriptionRepository subscriptionRepository) {
+                       ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.userStatsRepository = userStatsRepository;
         this.postRepository = postRepository;
         this.reportRepository = reportRepository;
+        this.reportCaseRepository = reportCaseRepository;
         this.likeRepository = likeRepository;
-        this.notificationRepository = notificationRepository;
-        this.subscriptionRepository = subscriptionRepository;
-    }
-
-    public List<AdminUserResponse> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(user -> new AdminUserResponse(
-                        user.getId(),
-                        user.getUsername(),
-                        user.getEmail(),
-                        user.getDisplayName(),
-                        user.getRole().name(),
-                        user.getBanned(),
-                        user.getPosts().size(),
-                        subscriptionRepository.countBySubscribedToId(user.getId()).intValue(),
-                        user.getCreatedAt()
-                ))
+        this.eventPublisher = eventPublisher;
+    }
+
+    public PageResponse<AdminUserResponse> getUsers(AdminUserFilter filter, int page, int size,
+                                                    String sort, String direction) {
+        Specification<User> spec = Specification.where(UserSpecifications.hasRole(parseRole(filter.getRole())))
+                .and(UserSpecifications.notDeleted())
+                .and(UserSpecifications.isBanned(filter.getBanned()))
+                .and(UserSpecifications.createdFrom(
+                        filter.getCreatedFrom() != null ? filter.getCreatedFrom().atStartOfDay() : null))
+                .and(UserSpecifications.createdBefore(
+                        filter.getCreatedTo() != null ? filter.getCreatedTo().plusDays(1).atStartOfDay() : null))
+                .and(UserSpecifications.nameStartsWith(filter.getName()));
+
+        // Counts are stored, so the page is a select plus its count and one lookup of the page's counters
+        boolean ascending = "asc".equalsIgnoreCase(direction);
+        String statProperty = USER_STAT_SORT_PROPERTIES.get(sort);
+        Sort order = Sort.unsorted();
+        if (statProperty != null) {
+            spec = spec.and(UserSpecifications.orderedByStat(statProperty, ascending));
+        } else {
+            order = userSort(sort, ascending);
+        }
+        Pageable pageable = PageRequest.of(Math.max(0, page), Math.max(1, Math.min(size, MAX_USER_PAGE_SIZE)), order);
+        Page<User> users = userRepository.findAll(spec, pageable);
+        Map<Long, UserStats> stats = userStatsRepository.findAllById(
+                        users.getContent().stream().map(User::getId).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(UserStats::getUserId, Function.identity()));
+
+        List<AdminUserResponse> items = users.getContent().stream()
+                .map(user -> {
+                    UserStats userStats = stats.getOrDefault(user.getId(), new UserStats(user.getId()));
+                    AdminUserResponse response = new AdminUserResponse(
+                            user.getId(),
+                            user.getUsername(),
+                            user.getEmail(),
+                            user.getDisplayName(),
+                            user.getRole().name(),
+                            user.getBanned(),
+                            userStats.getPostCount(),
+                            userStats.getFollowerCount(),
+                            user.getCreatedAt()
+                    );
+                    response.setRestrictedUntil(user.getRestrictedUntil());
+                    return response;
+                })
                 .collect(Collectors.toList());
+
+        return new PageResponse<>(items, users.getNumber(), users.getSize(),
+                users.getTotalElements(), users.getTotalPages());
     }
 
     @Transactional
     public void banUser(Long userId) {
         User user = userRepository.findById(userId)
+                .filter(found -> !found.isDeleted())
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
         user.setBanned(true);
@@ -76,7 +163,9 @@ public class AdminService {
 
     @Transactional
     public void unbanUser(Long userId) {
+        // A deleted account is gone; unbanning it must not let it sign in again
         User user = userRepository.findById(userId)
+                .filter(found -> !found.isDeleted())
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
         user.setBanned(false);
@@ -84,35 +173,54 @@ public class AdminService {
     }
 
     @Transactional
-    public void deleteUser(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
+    public void liftRestriction(Long userId) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        userRepository.clearRestriction(userId);
+    }
 
-        // Clear notification FK references to this user before deletion
-        notificationRepository.deleteByRelatedPostUserId(userId);
-        notificationRepository.nullifyRelatedUser(userId);
-
-        userRepository.delete(user);
-    }
-
-    public List<PostResponse> getAllPosts() {
-        return postRepository.findAll().stream()
-                .map(post -> new PostResponse(
-                        post.getId(),
-                        post.getContent(),
-                        post.getMediaUrl(),
-                        post.getMediaType(),
-                        post.getUser().getId(),
-                        post.getUser().getUsername(),
-                        post.getUser().getDisplayName(),
-                        post.getLikes().size(),
-                        post.getComments().size(),
-                        false,
-                        post.getHidden(),
-                        post.getCreatedAt(),
-                        post.getUpdatedAt()
-                ))
+    public CursorPageResponse<PostResponse> getPosts(AdminPostFilter filter, String cursor, int limit) {
+        int pageSize = queuePageSize(limit);
+        Long before = Cursors.decodeId(cursor);
+
+        // Author and counts come back with each row, so a page is one query however large the queue
+        List<PostRepository.AdminPostRow> rows = postRepository.findAdminPage(
+                before != null ? before : Long.MAX_VALUE,
+                filter.getHidden(),
+                filter.getAuthorId(),
+                rangeStart(filter.getCreatedFrom()),
+                rangeEnd(filter.getCreatedTo()),
+                filter.getReported(),
+                PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<PostResponse> items = rows.stream()
+                .limit(pageSize)
+                .map(row -> {
+                    PostResponse response = new PostResponse(
+                            row.getId(),
+                            row.getContent(),
+                            row.getMediaUrl(),
+                            row.getMediaType(),
+                            row.getUserId(),
+                            row.getUsername(),
+                            row.getUserDisplayName(),
+                            row.getLikeCount(),
+                            row.getCommentCount(),
+                            false,
+                            row.getHidden(),
+                            row.getCreatedAt(),
+                            row.getUpdatedAt()
+                    );
+                    response.setUserAvatarUrl(row.getUserAvatarUrl());
+                    response.setOpenReportCount(row.getOpenReportCount());
+                    return response;
+                })
                 .collect(Collectors.toList());
+
+        String nextCursor = hasMore ? Cursors.encode(items.get(items.size() - 1).getId()) : null;
+        return new CursorPageResponse<>(items, nextCursor, hasMore);
     }
 
     @Transactional
@@ -122,6 +230,7 @@ public class AdminService {
 
         post.setHidden(true);
         postRepository.save(post);
+        eventPublisher.publishEvent(new PostChangedEvent(postId));
     }
 
     @Transactional
@@ -131,6 +240,7 @@ public class AdminService {
 
         post.setHidden(false);
         postRepository.save(post);
+        eventPublisher.publishEvent(new PostChangedEvent(postId));
     }
 
     @Transactional
@@ -138,23 +248,51 @@ public class AdminService {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new PostNotFoundException(postId));
 
-        postRepository.delete(post);
-    }
-
-    public List<ReportResponse> getAllReports() {
-        return reportRepository.findAll().stream()
-                .map(report -> new ReportResponse(
-                        report.getId(),
-                        report.getReason(),
-                        report.getReporter().getId(),
-                        report.getReporter().getUsername(),
-                        report.getReportedUser() != null ? report.getReportedUser().getId() : null,
-                        report.getReportedUser() != null ? report.getReportedUser().getUsername() : null,
-                        report.getReportedPost() != null ? report.getReportedPost().getId() : null,
-                        report.getReportedPost() != null ? truncateContent(report.getReportedPost().getContent(), 100) : null,
-                        report.getCreatedAt()
-                ))
+        LocalDateTime now = LocalDateTime.now();
+        if (postRepository.markDeleted(List.of(postId), now) == 0) {
+            return;
+        }
+        reportCaseRepository.resolveByTargets(ReportTargetType.POST, List.of(postId), now);
+        userStatsRepository.adjustPostCount(post.getUser().getId(), -1);
+        eventPublisher.publishEvent(new PostChangedEvent(postId));
+    }
+
+    public CursorPageResponse<ReportResponse> getReports(AdminReportFilter filter, String cursor, int limit) {
+        int pageSize = queuePageSize(limit);
+        Long before = Cursors.decodeId(cursor);
+
+        // One character past the preview so truncateContent can tell when to add the ellipsis
+        List<ReportRepository.AdminReportRow> rows = reportRepository.findAdminPage(
+                before != null ? before : Long.MAX_VALUE,
+                filter.getResolved(),
+                parseReportType(filter.getType()),
+                rangeStart(filter.getCreatedFrom()),
+                rangeEnd(filter.getCreatedTo()),
+                REPORT_PREVIEW_LENGTH + 1,
+                PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ReportResponse> items = rows.stream()
+                .limit(pageSize)
+                .map(row -> {
+                    ReportResponse response = new ReportResponse(
+                            row.getId(),
+                            row.getReason(),
+                            row.getReporterId(),
+                            row.getReporterUsername(),
+                            row.getReportedUserId(),
+                            row.getReportedUsername(),
+                            row.getReportedPostId(),
+                            truncateContent(row.getReportedPostContent(), REPORT_PREVIEW_LENGTH),
+                            row.getCreatedAt()
+                    );
+                    response.setResolved(row.getResolved());
+                    return response;
+                })
                 .collect(Collectors.toList());
+
+        String nextCursor = hasMore ? Cursors.encode(items.get(items.size() - 1).getId()) : null;
+        return new CursorPageResponse<>(items, nextCursor, hasMore);
     }
 
     @Transactional
@@ -170,6 +308,8 @@ public class AdminService {
 
         User reportedUser = null;
         Post reportedPost = null;
+        ReportTargetType targetType;
+        Long targetId;
 
         if (request.getReportedPostId() != null) {
             reportedPost = postRepository.findById(request.getReportedPostId())
@@ -179,6 +319,8 @@ public class AdminService {
             if (reporter.getId().equals(reportedPost.getUser().getId())) {
                 throw new ForbiddenException("You cannot report your own post");
             }
+            targetType = ReportTargetType.POST;
+            targetId = reportedPost.getId();
         } else if (request.getReportedUserId() != null) {
             reportedUser = userRepository.findById(request.getReportedUserId())
                     .orElseThrow(() -> new UserNotFoundException(request.getReportedUserId()));
@@ -187,23 +329,55 @@ public class AdminService {
             if (reporter.getId().equals(reportedUser.getId())) {
                 throw new ForbiddenException("You cannot report yourself");
             }
+            targetType = ReportTargetType.USER;
+            targetId = reportedUser.getId();
         } else {
             throw new IllegalArgumentException("Either reportedUserId or reportedPostId must be provided");
         }
 
-        Report savedReport = reportRepository.save(report);
+        LocalDateTime now = LocalDateTime.now();
+        ReportCase reportCase = openReportCase(targetType, targetId, now);
 
-        return new ReportResponse(
+        // A reporter repeating themselves adds to the case, not another row in the queue
+        Optional<Report> existing = reportRepository.findFirstByReportCaseIdAndReporterIdAndResolvedFalse(
+                reportCase.getId(), reporter.getId());
+        Report savedReport;
+        if (existing.isPresent()) {
+            savedReport = existing.get();
+            reportRepository.incrementRepeatCount(savedReport.getId());
+        } else {
+            report.setReportCase(reportCase);
+            savedReport = reportRepository.save(report);
+        }
+        reportCaseRepository.recordReport(reportCase.getId(), existing.isPresent() ? 0 : 1,
+                request.getReason(), now, reporterWeight);
+        eventPublisher.publishEvent(new ReportFiledEvent(targetType, targetId, reporter.getId(), reporter.getCreatedAt()));
+
+        ReportResponse response = new ReportResponse(
                 savedReport.getId(),
-                savedReport.getReason(),
+                request.getReason(),
                 reporter.getId(),
                 reporter.getUsername(),
                 reportedUser != null ? reportedUser.getId() : null,
                 reportedUser != null ? reportedUser.getUsername() : null,
                 reportedPost != null ? reportedPost.getId() : null,
-                reportedPost != null ? truncateContent(reportedPost.getContent(), 100) : null,
+                reportedPost != null ? truncateContent(reportedPost.getContent(), REPORT_PREVIEW_LENGTH) : null,
                 savedReport.getCreatedAt()
         );
+        response.setResolved(savedReport.getResolved());
+        return response;
+    }
+
+    private ReportCase openReportCase(ReportTargetType targetType, Long targetId, LocalDateTime now) {
+        reportCaseRepository.insertIfAbsent(targetType.name(), targetId, now);
+        ReportCase reportCase = reportCaseRepository.findByTargetTypeAndTargetId(targetType, targetId)
+                .orElseThrow(() -> new IllegalStateException("Report case missing for " + targetType + " " + targetId));
+
+        if (reportCase.getResolved()) {
+            // New reports after a resolution start a fresh round of counting
+            reportCaseRepository.reopen(reportCase.getId(), now);
+        }
+        return reportCase;
     }
 
     private String truncateContent(String content, int maxLength) {
@@ -219,5 +393,117 @@ public class AdminService {
                 .orElseThrow(() -> new ReportNotFoundException(reportId));
 
         reportRepository.delete(report);
+        if (report.getReportCase() != null && !report.getResolved()) {
+            reportRepository.flush();
+            reportCaseRepository.recount(report.getReportCase().getId(), reporterWeight);
+        }
+    }
+
+    public CursorPageResponse<ReportCaseResponse> getReportQueue(String cursor, int limit) {
+        int pageSize = queuePageSize(limit);
+        int priority = Integer.MAX_VALUE;
+        long before = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            // "priority:id" of the last case served
+            String[] key = Cursors.decode(cursor).split(":", 2);
+            try {
+                priority = Integer.parseInt(key[0]);
+                before = Long.parseLong(key[1]);
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException ex) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+        }
+
+        List<ReportCaseRepository.QueueRow> rows = reportCaseRepository.findQueuePage(
+                priority, before, REPORT_PREVIEW_LENGTH + 1, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = rows.size() > pageSize;
+        List<ReportCaseResponse> items = rows.stream()
+                .limit(pageSize)
+                .map(row -> {
+                    ReportCaseResponse response = new ReportCaseResponse();
+                    response.setId(row.getId());
+                    response.setTargetType(row.getTargetType().name());
+                    response.setTargetId(row.getTargetId());
+                    response.setOwnerId(row.getOwnerId());
+                    response.setOwnerUsername(row.getOwnerUsername());
+                    response.setPostContent(truncateContent(row.getPostContent(), REPORT_PREVIEW_LENGTH));
+                    response.setPostHidden(row.getPostHidden());
+                    response.setReportCount(row.getReportCount());
+                    response.setReporterCount(row.getReporterCount());
+                    response.setPriority(row.getPriority());
+                    response.setLatestReason(row.getLatestReason());
+                    response.setFirstReportedAt(row.getFirstReportedAt());
+                    response.setLastReportedAt(row.getLastReportedAt());
+                    return response;
+                })
+                .collect(Collectors.toList());
+
+        String nextCursor = null;
+        if (hasMore) {
+            ReportCaseResponse last = items.get(items.size() - 1);
+            nextCursor = Cursors.encode(last.getPriority() + ":" + last.getId());
+        }
+        return new CursorPageResponse<>(items, nextCursor, hasMore);
+    }
+
+    @Transactional
+    public void resolveReportCase(Long reportCaseId) {
+        if (reportCaseRepository.resolve(reportCaseId, LocalDateTime.now()) == 0
+                && !reportCaseRepository.existsById(reportCaseId)) {
+            throw new ReportCaseNotFoundException(reportCaseId);
+        }
+
+        // Resolving the case closes every report in it, which is what takes it off the queue
+        reportRepository.resolveByReportCase(reportCaseId);
+    }
+
+    private static Role parseRole(String role) {
+        if (role == null || role.isBlank()) {
+            return null;
+        }
+        try {
+            return Role.valueOf(role.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Unknown role: " + role);
+        }
+    }
+
+    private static int queuePageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_QUEUE_PAGE_SIZE));
+    }
+
+    private static LocalDateTime rangeStart(LocalDate from) {
+        return from != null ? from.atStartOfDay() : EARLIEST;
+    }
+
+    // The "to" day is inclusive
+    private static LocalDateTime rangeEnd(LocalDate to) {
+        return to != null ? to.plusDays(1).atStartOfDay() : LATEST;
+    }
+
+    // Post reports (true), user reports (false) or both (null)
+    private static Boolean parseReportType(String type) {
+        if (type == null || type.isBlank()) {
+            return null;
+        }
+        switch (type.trim().toLowerCase()) {
+            case "post":
+                return true;
+            case "user":
+                return false;
+            default:
+                throw new InvalidRequestException("Unknown report type: " + type);
+        }
+    }
+
+    private static Sort userSort(String sort, boolean ascending) {
+        String property = USER_SORT_PROPERTIES.get(sort == null ? "createdAt" : sort);
+        if (property == null) {
+            throw new InvalidRequestException("Cannot sort users by " + sort);
+        }
+        Sort.Direction order = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        // Id breaks ties so pages never overlap
+        return Sort.by(order, property).and(Sort.by(order, "id"));
     }
 }
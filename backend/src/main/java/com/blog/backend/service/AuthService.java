@@ -9,6 +9,7 @@ import com.blog.backend.exception.BannedUserException;
 import com.blog.backend.exception.UserAlreadyExistsException;
 import com.blog.backend.exception.UserNotFoundException;
 import com.blog.backend.repository.UserRepository;
+import com.blog.backend.repository.UserStatsRepository;
 import com.blog.backend.security.JwtTokenProvider;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -22,15 +23,18 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthService {
 
     private final UserRepository userRepository;
+    private final UserStatsRepository userStatsRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
 
     public AuthService(UserRepository userRepository,
+                      UserStatsRepository userStatsRepository,
                       PasswordEncoder passwordEncoder,
                       AuthenticationManager authenticationManager,
                       JwtTokenProvider jwtTokenProvider) {
         this.userRepository = userRepository;
+        this.userStatsRepository = userStatsRepository;
         this.passwordEncoder = passwordEncoder;
         this.authenticationManager = authenticationManager;
         this.jwtTokenProvider = jwtTokenProvider;
@@ -56,6 +60,7 @@ public class AuthService {
         user.setBanned(false);
 
         User savedUser = userRepository.save(user);
+        userStatsRepository.createFor(savedUser.getId());
 
         String token = jwtTokenProvider.generateToken(savedUser.getId(), savedUser.getUsername(), savedUser.getRole().name());
 
@@ -79,6 +84,7 @@ public class AuthService {
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
         User user = userRepository.findByUsernameOrEmail(request.getUsernameOrEmail(), request.getUsernameOrEmail())
+                .filter(found -> !found.isDeleted())
                 .orElseThrow(() -> new UserNotFoundException("User not found with username/email: " + request.getUsernameOrEmail()));
 
         if (user.getBanned()) {
@@ -0,0 +1,164 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.user.AuthorSummary;
+import com.blog.backend.entity.User;
+import com.blog.backend.repository.UserRepository;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Author id to username, display name and avatar, shared by every response mapper. Mappers only
+ * need the author id from a post or comment, so lazy author proxies are never initialised row by
+ * row: misses are loaded in one query per request. Profile updates write through, and the TTL
+ * bounds staleness for changes made on other instances.
+ */
+@Service
+public class AuthorSummaryCache {
+
+    private final UserRepository userRepository;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    @Value("${author-cache.ttl:10m}")
+    private Duration ttl;
+
+    @Value("${author-cache.max-entries:10000}")
+    private int maxEntries;
+
+    public AuthorSummaryCache(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    public AuthorSummary get(User user) {
+        return getAll(List.of(user)).get(user.getId());
+    }
+
+    public Map<Long, AuthorSummary> getAll(Collection<User> users) {
+        long now = System.nanoTime();
+        Map<Long, AuthorSummary> summaries = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        for (User user : users) {
+            Long userId = user.getId();
+            if (summaries.containsKey(userId)) {
+                continue;
+            }
+            Entry entry = entries.get(userId);
+            if (entry != null && !entry.isExpired(now)) {
+                summaries.put(userId, entry.summary);
+            } else if (Hibernate.isInitialized(user)) {
+                // Already loaded in this session, no query needed
+                summaries.put(userId, cache(AuthorSummary.from(user), now));
+            } else {
+                missing.add(userId);
+            }
+        }
+
+        loadMissing(missing, summaries, now);
+        return summaries;
+    }
+
+    // Null when the user no longer exists
+    public AuthorSummary get(Long userId) {
+        return getAllByIds(List.of(userId)).get(userId);
+    }
+
+    public Map<Long, AuthorSummary> getAllByIds(Collection<Long> userIds) {
+        long now = System.nanoTime();
+        Map<Long, AuthorSummary> summaries = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+
+        for (Long userId : userIds) {
+            Entry entry = entries.get(userId);
+            if (entry != null && !entry.isExpired(now)) {
+                summaries.put(userId, entry.summary);
+            } else if (!missing.contains(userId)) {
+                missing.add(userId);
+            }
+        }
+
+        loadMissing(missing, summaries, now);
+        return summaries;
+    }
+
+    // Write-through from profile updates, replacing whatever a concurrent reader cached
+    public void put(User user) {
+        AuthorSummary summary = AuthorSummary.from(user);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            store(summary);
+            return;
+        }
+        // Only publish the change once it is visible to other transactions
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                store(summary);
+            }
+        });
+    }
+
+    public void evict(Long userId) {
+        entries.remove(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${author-cache.eviction-interval:60000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void store(AuthorSummary summary) {
+        entries.put(summary.getId(), new Entry(summary, System.nanoTime() + ttl.toNanos()));
+    }
+
+    private void loadMissing(List<Long> missing, Map<Long, AuthorSummary> summaries, long now) {
+        if (missing.isEmpty()) {
+            return;
+        }
+        for (User user : userRepository.findAllById(missing)) {
+            summaries.put(user.getId(), cache(AuthorSummary.from(user), now));
+        }
+    }
+
+    private AuthorSummary cache(AuthorSummary summary, long now) {
+        if (entries.size() >= maxEntries) {
+            return summary;
+        }
+        Entry loaded = new Entry(summary, now + ttl.toNanos());
+        // A reader may have loaded the user before a concurrent profile update committed; keep
+        // the write-through entry instead of overwriting it with what the reader saw
+        Entry current = entries.compute(summary.getId(), (userId, existing) ->
+                existing != null && !existing.isExpired(now) ? existing : loaded);
+        return current.summary;
+    }
+
+    private static class Entry {
+
+        private final AuthorSummary summary;
+        private final long expiresAtNanos;
+
+        Entry(AuthorSummary summary, long expiresAtNanos) {
+            this.summary = summary;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.admin.BulkActionResponse;
+import com.blog.backend.dto.admin.BulkItemResult;
+import com.blog.backend.enums.BulkItemStatus;
+import com.blog.backend.enums.ReportTargetType;
+import com.blog.backend.enums.Role;
+import com.blog.backend.event.PostChangedEvent;
+import com.blog.backend.exception.InvalidRequestException;
+import com.blog.backend.repository.PostRepository;
+import com.blog.backend.repository.ReportCaseRepository;
+import com.blog.backend.repository.UserRepository;
+import com.blog.backend.repository.UserStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moderation actions over id lists. Each chunk is read and written with a handful of set-based
+ * statements in its own transaction, so a large batch never holds locks on every row at once
+ * and a failing chunk only rolls back itself.
+ */
+@Service
+public class BulkModerationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkModerationService.class);
+
+    private final UserRepository userRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final PostRepository postRepository;
+    private final ReportCaseRepository reportCaseRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${admin.bulk.chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${admin.bulk.max-ids:5000}")
+    private int maxIds;
+
+    public BulkModerationService(UserRepository userRepository,
+                                 UserStatsRepository userStatsRepository,
+                                 PostRepository postRepository,
+                                 ReportCaseRepository reportCaseRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 TransactionTemplate transactionTemplate) {
+        this.userRepository = userRepository;
+        this.userStatsRepository = userStatsRepository;
+        this.postRepository = postRepository;
+        this.reportCaseRepository = reportCaseRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public BulkActionResponse banUsers(List<Long> userIds) {
+        return run("ban", userIds, chunk -> setBanned(chunk, true));
+    }
+
+    public BulkActionResponse unbanUsers(List<Long> userIds) {
+        return run("unban", userIds, chunk -> setBanned(chunk, false));
+    }
+
+    public BulkActionResponse hidePosts(List<Long> postIds) {
+        return run("hide", postIds, chunk -> setHidden(chunk, true));
+    }
+
+    public BulkActionResponse unhidePosts(List<Long> postIds) {
+        return run("unhide", postIds, chunk -> setHidden(chunk, false));
+    }
+
+    public BulkActionResponse deletePosts(List<Long> postIds) {
+        return run("delete", postIds, this::deletePostChunk);
+    }
+
+    private BulkActionResponse run(String action, List<Long> ids,
+                                   Function<List<Long>, Map<Long, BulkItemStatus>> chunkAction) {
+        List<Long> distinct = distinctIds(ids);
+        List<BulkItemResult> results = new ArrayList<>(distinct.size());
+        int updated = 0;
+        int failed = 0;
+
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            Map<Long, BulkItemStatus> statuses;
+            try {
+                statuses = transactionTemplate.execute(status -> chunkAction.apply(chunk));
+            } catch (RuntimeException ex) {
+                // Earlier chunks stay committed and later ones still run, only this one is reported as failed
+                logger.error("Bulk {} failed for {} ids from {}", action, chunk.size(), chunk.get(0), ex);
+                statuses = withStatus(chunk, BulkItemStatus.FAILED);
+            }
+            for (Long id : chunk) {
+                BulkItemStatus itemStatus = statuses.get(id);
+                if (itemStatus == BulkItemStatus.UPDATED) {
+                    updated++;
+                } else if (itemStatus == BulkItemStatus.FAILED) {
+                    failed++;
+                }
+                results.add(new BulkItemResult(id, itemStatus));
+            }
+        }
+
+        logger.info("Bulk {} on {} ids changed {}, failed {}", action, distinct.size(), updated, failed);
+        return new BulkActionResponse(distinct.size(), updated, results);
+    }
+
+    private List<Long> distinctIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidRequestException("At least one id is required");
+        }
+        List<Long> distinct = new ArrayList<>(ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        if (distinct.isEmpty()) {
+            throw new InvalidRequestException("At least one id is required");
+        }
+        if (distinct.size() > maxIds) {
+            throw new InvalidRequestException("At most " + maxIds + " ids can be processed per request");
+        }
+        return distinct;
+    }
+
+    private Map<Long, BulkItemStatus> setBanned(List<Long> chunk, boolean banned) {
+        Map<Long, BulkItemStatus> statuses = notFound(chunk);
+        List<Long> changed = new ArrayList<>();
+        for (UserRepository.ModerationState state : userRepository.findModerationStates(chunk)) {
+            if (state.getDeletedAt() != null || (banned && state.getRole() == Role.ADMIN)) {
+                statuses.put(state.getId(), BulkItemStatus.SKIPPED);
+            } else if (Objects.equals(state.getBanned(), banned)) {
+                statuses.put(state.getId(), BulkItemStatus.UNCHANGED);
+            } else {
+                statuses.put(state.getId(), BulkItemStatus.UPDATED);
+                changed.add(state.getId());
+            }
+        }
+        if (!changed.isEmpty()) {
+            userRepository.updateBanned(changed, banned);
+        }
+        return statuses;
+    }
+
+    private Map<Long, BulkItemStatus> setHidden(List<Long> chunk, boolean hidden) {
+        Map<Long, BulkItemStatus> statuses = notFound(chunk);
+        List<Long> changed = new ArrayList<>();
+        for (PostRepository.ModerationState state : postRepository.findModerationStates(chunk)) {
+            if (Objects.equals(state.getHidden(), hidden)) {
+                statuses.put(state.getId(), BulkItemStatus.UNCHANGED);
+            } else {
+                statuses.put(state.getId(), BulkItemStatus.UPDATED);
+                changed.add(state.getId());
+            }
+        }
+        if (!changed.isEmpty()) {
+            postRepository.updateHidden(changed, hidden);
+            changed.forEach(postId -> eventPublisher.publishEvent(new PostChangedEvent(postId)));
+        }
+        return statuses;
+    }
+
+    private Map<Long, BulkItemStatus> deletePostChunk(List<Long> chunk) {
+        Map<Long, BulkItemStatus> statuses = notFound(chunk);
+        // Locked, so every post counted per author below is one this chunk tombstones
+        List<PostRepository.ModerationState> states = postRepository.lockModerationStates(chunk);
+        if (states.isEmpty()) {
+            return statuses;
+        }
+
+        List<Long> postIds = states.stream().map(PostRepository.ModerationState::getId).collect(Collectors.toList());
+        // Tombstoned here, the child rows are left for compaction
+        LocalDateTime now = LocalDateTime.now();
+        postRepository.markDeleted(postIds, now);
+        reportCaseRepository.resolveByTargets(ReportTargetType.POST, postIds, now);
+
+        Map<Long, Long> deletedPerAuthor = states.stream()
+                .collect(Collectors.groupingBy(PostRepository.ModerationState::getUserId, Collectors.counting()));
+        deletedPerAuthor.forEach((authorId, count) -> userStatsRepository.adjustPostCount(authorId, -count.intValue()));
+
+        postIds.forEach(postId -> {
+            statuses.put(postId, BulkItemStatus.UPDATED);
+            eventPublisher.publishEvent(new PostChangedEvent(postId));
+        });
+        return statuses;
+    }
+
+    private static Map<Long, BulkItemStatus> notFound(List<Long> chunk) {
+        return withStatus(chunk, BulkItemStatus.NOT_FOUND);
+    }
+
+    private static Map<Long, BulkItemStatus> withStatus(List<Long> chunk, BulkItemStatus itemStatus) {
+        Map<Long, BulkItemStatus> statuses = new HashMap<>();
+        chunk.forEach(id -> statuses.put(id, itemStatus));
+        return statuses;
+    }
+}
@@ -0,0 +1,416 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.file.UploadSessionResponse;
+import com.blog.backend.enums.MediaFormat;
+import com.blog.backend.exception.FileTooLargeException;
+import com.blog.backend.exception.ForbiddenException;
+import com.blog.backend.exception.InvalidFileException;
+import com.blog.backend.exception.TooManyUploadsException;
+import com.blog.backend.exception.UploadNotFoundException;
+import com.blog.backend.exception.UploadOffsetMismatchException;
+import com.blog.backend.security.UserPrincipal;
+import com.blog.backend.service.FileStorageService.StoredFile;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resumable uploads: the client creates a session, appends chunks at the offset the server
+ * reports (each with a SHA-256 checksum), and completes once every byte has arrived. Chunks are
+ * written in place with positional FileChannel writes, and the session state lives next to the
+ * part file so an upload can resume after a restart.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String PART_SUFFIX = ".part";
+    private static final String META_SUFFIX = ".meta";
+    private static final String CHECKSUM_ALGORITHM = "sha256";
+
+    private final FileStorageService fileStorageService;
+    private final Map<String, Object> sessionLocks = new ConcurrentHashMap<>();
+    private final Map<Long, Object> ownerLocks = new ConcurrentHashMap<>();
+
+    private Path sessionDirectory;
+
+    @Value("${file.resumable.max-size:2GB}")
+    private DataSize maxUploadSize;
+
+    @Value("${file.resumable.max-chunk-size:16MB}")
+    private DataSize maxChunkSize;
+
+    // Sessions with no chunk for this long are discarded
+    @Value("${file.resumable.expiry:24h}")
+    private Duration expiry;
+
+    // Each open session reserves up to max-size of disk until it completes or expires
+    @Value("${file.resumable.max-open-per-user:5}")
+    private int maxOpenUploadsPerUser;
+
+    public ChunkedUploadService(FileStorageService fileStorageService) {
+        this.fileStorageService = fileStorageService;
+    }
+
+    @PostConstruct
+    public void init() {
+        this.sessionDirectory = fileStorageService.getStagingDirectory().resolve(".chunks");
+        try {
+            Files.createDirectories(sessionDirectory);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create upload session directory: " + sessionDirectory, ex);
+        }
+    }
+
+    public UploadSessionResponse createUpload(long size, Authentication authentication) {
+        if (size <= 0) {
+            throw new InvalidFileException("File is empty or null");
+        }
+        if (size > maxUploadSize.toBytes()) {
+            throw new FileTooLargeException(maxUploadSize.toBytes());
+        }
+
+        Long ownerId = currentUserId(authentication);
+        // Counting and creating under the owner's lock keeps concurrent creates from both fitting under the cap
+        synchronized (ownerLocks.computeIfAbsent(ownerId, id -> new Object())) {
+            if (countOpenUploads(ownerId) >= maxOpenUploadsPerUser) {
+                throw new TooManyUploadsException(maxOpenUploadsPerUser);
+            }
+
+            UploadSession session = new UploadSession(UUID.randomUUID().toString(), ownerId, size, 0);
+            try {
+                Files.createFile(partFile(session.id));
+                saveSession(session);
+            } catch (IOException ex) {
+                throw new RuntimeException("Could not create upload session", ex);
+            }
+            return toResponse(session);
+        }
+    }
+
+    public UploadSessionResponse getUpload(String uploadId, Authentication authentication) {
+        return toResponse(loadOwnedSession(uploadId, authentication));
+    }
+
+    public UploadSessionResponse appendChunk(String uploadId, long offset, String checksum,
+                                             InputStream content, Authentication authentication) {
+        byte[] expectedDigest = parseChecksum(checksum);
+
+        synchronized (lockFor(uploadId)) {
+            UploadSession session = loadOwnedSession(uploadId, authentication);
+            if (offset != session.offset) {
+                throw new UploadOffsetMismatchException(session.offset, offset);
+            }
+
+            if (session.offset == 0) {
+                content = checkLeadingBytes(session, content);
+            }
+            long maxBytes = Math.min(maxChunkSize.toBytes(), session.size - session.offset);
+            long written = writeChunk(session, content, maxBytes, expectedDigest);
+            session.offset += written;
+            try {
+                saveSession(session);
+            } catch (IOException ex) {
+                throw new RuntimeException("Could not update upload session " + uploadId, ex);
+            }
+            return toResponse(session);
+        }
+    }
+
+    public StoredFile completeUpload(String uploadId, Authentication authentication) {
+        synchronized (lockFor(uploadId)) {
+            UploadSession session = loadOwnedSession(uploadId, authentication);
+            if (session.offset != session.size) {
+                throw new InvalidFileException("Upload is incomplete: " + session.offset + " of " + session.size + " bytes received");
+            }
+
+            try {
+                StoredFile storedFile = fileStorageService.storeAssembledFile(partFile(uploadId), maxUploadSize.toBytes());
+                deleteSession(uploadId);
+                return storedFile;
+            } catch (InvalidFileException | FileTooLargeException ex) {
+                // Retrying cannot fix the content, so the session is dropped
+                deleteSession(uploadId);
+                throw ex;
+            }
+        }
+    }
+
+    public void abortUpload(String uploadId, Authentication authentication) {
+        synchronized (lockFor(uploadId)) {
+            loadOwnedSession(uploadId, authentication);
+            deleteSession(uploadId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${file.resumable.cleanup-interval:3600000}")
+    public void purgeExpiredUploads() {
+        Instant cutoff = Instant.now().minus(expiry);
+        purgeExpired(META_SUFFIX, cutoff);
+        // A part file whose metadata never got written (a crash during create) belongs to no session
+        purgeExpired(PART_SUFFIX, cutoff);
+    }
+
+    private void purgeExpired(String suffix, Instant cutoff) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(sessionDirectory, "*" + suffix)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String uploadId = name.substring(0, name.length() - suffix.length());
+                // Checked again under the session lock, a chunk may have arrived since the listing
+                synchronized (lockFor(uploadId)) {
+                    if (isExpired(file, cutoff) && (suffix.equals(META_SUFFIX) || !Files.exists(metaFile(uploadId)))) {
+                        deleteSession(uploadId);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            logger.warn("Could not purge expired upload sessions", ex);
+        }
+    }
+
+    private boolean isExpired(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException ex) {
+            // Already deleted by a completion or abort
+            return false;
+        }
+    }
+
+    // Sessions that have not expired yet; expired ones free their slot even before the next purge
+    private int countOpenUploads(Long ownerId) {
+        Instant cutoff = Instant.now().minus(expiry);
+        int count = 0;
+        try (DirectoryStream<Path> metaFiles = Files.newDirectoryStream(sessionDirectory, "*" + META_SUFFIX)) {
+            for (Path metaFile : metaFiles) {
+                String name = metaFile.getFileName().toString();
+                String uploadId = name.substring(0, name.length() - META_SUFFIX.length());
+                if (isExpired(metaFile, cutoff)) {
+                    continue;
+                }
+                try {
+                    if (ownerId.equals(loadSession(uploadId).ownerId)) {
+                        count++;
+                    }
+                } catch (UploadNotFoundException ex) {
+                    // Completed or aborted since the listing
+                }
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not list upload sessions", ex);
+        }
+        return count;
+    }
+
+    // Images can't use resumable uploads to get past file.max-size, so the type is known before the
+    // first byte is written rather than after the whole file has arrived
+    private InputStream checkLeadingBytes(UploadSession session, InputStream content) {
+        byte[] header = new byte[MediaFormat.HEADER_BYTES];
+        int length;
+        try {
+            length = content.readNBytes(header, 0, header.length);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not read chunk for upload " + session.id, ex);
+        }
+
+        // A first chunk shorter than the header can't be judged yet; completion checks the file anyway
+        if (length == Math.min(header.length, session.size)) {
+            try {
+                fileStorageService.checkHeader(header, length, session.size, maxUploadSize.toBytes());
+            } catch (InvalidFileException | FileTooLargeException ex) {
+                // Retrying cannot fix the content, so the session is dropped
+                deleteSession(session.id);
+                throw ex;
+            }
+        }
+        return new SequenceInputStream(new ByteArrayInputStream(header, 0, length), content);
+    }
+
+    // Streams the chunk straight to its position in the part file; a bad chunk is truncated away again
+    private long writeChunk(UploadSession session, InputStream content, long maxBytes, byte[] expectedDigest) {
+        MessageDigest digest = newSha256Digest();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long position = session.offset;
+
+        try (FileChannel channel = FileChannel.open(partFile(session.id), StandardOpenOption.WRITE)) {
+            try {
+                int read;
+                while ((read = content.read(buffer)) != -1) {
+                    if (position - session.offset + read > maxBytes) {
+                        throw new FileTooLargeException("Chunk exceeds the allowed size of " + maxBytes + " bytes");
+                    }
+                    digest.update(buffer, 0, read);
+                    ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+                    while (chunk.hasRemaining()) {
+                        position += channel.write(chunk, position);
+                    }
+                }
+                if (!MessageDigest.isEqual(expectedDigest, digest.digest())) {
+                    throw new InvalidFileException("Chunk checksum mismatch");
+                }
+                channel.force(false);
+                return position - session.offset;
+            } catch (RuntimeException | IOException ex) {
+                channel.truncate(session.offset);
+                throw ex;
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not write chunk for upload " + session.id, ex);
+        }
+    }
+
+    // Upload-Checksum header in the form "sha256 <base64 digest>"
+    private byte[] parseChecksum(String checksum) {
+        if (checksum == null) {
+            throw new InvalidFileException("Upload-Checksum header is required");
+        }
+        String[] parts = checksum.trim().split(" ", 2);
+        if (parts.length != 2 || !CHECKSUM_ALGORITHM.equalsIgnoreCase(parts[0])) {
+            throw new InvalidFileException("Upload-Checksum must be 'sha256 <base64 digest>'");
+        }
+        try {
+            return Base64.getDecoder().decode(parts[1].trim());
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidFileException("Upload-Checksum is not valid base64");
+        }
+    }
+
+    private UploadSession loadOwnedSession(String uploadId, Authentication authentication) {
+        UploadSession session = loadSession(uploadId);
+        if (!session.ownerId.equals(currentUserId(authentication))) {
+            throw new ForbiddenException("You can only access your own uploads");
+        }
+        return session;
+    }
+
+    private UploadSession loadSession(String uploadId) {
+        if (!isValidUploadId(uploadId)) {
+            throw new UploadNotFoundException(uploadId);
+        }
+        Path metaFile = metaFile(uploadId);
+        if (!Files.exists(metaFile)) {
+            throw new UploadNotFoundException(uploadId);
+        }
+
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(metaFile)) {
+            properties.load(inputStream);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not read upload session " + uploadId, ex);
+        }
+        return new UploadSession(uploadId,
+                Long.valueOf(properties.getProperty("owner")),
+                Long.parseLong(properties.getProperty("size")),
+                Long.parseLong(properties.getProperty("offset")));
+    }
+
+    // Written after the chunk is flushed, so the stored offset never runs ahead of the data
+    private void saveSession(UploadSession session) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("owner", session.ownerId.toString());
+        properties.setProperty("size", Long.toString(session.size));
+        properties.setProperty("offset", Long.toString(session.offset));
+
+        Path tempFile = Files.createTempFile(sessionDirectory, ".meta-", ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                properties.store(outputStream, null);
+            }
+            Files.move(tempFile, metaFile(session.id), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private void deleteSession(String uploadId) {
+        try {
+            Files.deleteIfExists(metaFile(uploadId));
+            Files.deleteIfExists(partFile(uploadId));
+        } catch (IOException ex) {
+            logger.warn("Could not delete upload session {}", uploadId, ex);
+        } finally {
+            sessionLocks.remove(uploadId);
+        }
+    }
+
+    private Object lockFor(String uploadId) {
+        return sessionLocks.computeIfAbsent(uploadId, id -> new Object());
+    }
+
+    private boolean isValidUploadId(String uploadId) {
+        try {
+            return uploadId != null && UUID.fromString(uploadId).toString().equals(uploadId);
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    private Path partFile(String uploadId) {
+        return sessionDirectory.resolve(uploadId + PART_SUFFIX);
+    }
+
+    private Path metaFile(String uploadId) {
+        return sessionDirectory.resolve(uploadId + META_SUFFIX);
+    }
+
+    private Long currentUserId(Authentication authentication) {
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+        return principal.getId();
+    }
+
+    private UploadSessionResponse toResponse(UploadSession session) {
+        return new UploadSessionResponse(session.id, session.offset, session.size, maxChunkSize.toBytes());
+    }
+
+    private MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static class UploadSession {
+
+        private final String id;
+        private final Long ownerId;
+        private final long size;
+        private long offset;
+
+        UploadSession(String id, Long ownerId, long size, long offset) {
+            this.id = id;
+            this.ownerId = ownerId;
+            this.size = size;
+            this.offset = offset;
+        }
+    }
+}
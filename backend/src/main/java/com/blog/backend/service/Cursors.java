@@ -0,0 +1,45 @@
+package com.blog.backend.service;
+
+import com.blog.backend.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursors: the url-safe base64 of the last key served. Clients only ever echo
+ * them back, so the key format can change without breaking anyone.
+ */
+final class Cursors {
+
+    private Cursors() {
+    }
+
+    static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String encode(Long id) {
+        return encode(id.toString());
+    }
+
+    static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+
+    // Null when there is no cursor, i.e. the first page
+    static Long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(decode(cursor));
+        } catch (NumberFormatException ex) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+}
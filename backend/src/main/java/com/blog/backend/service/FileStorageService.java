@@ -1,26 +1,47 @@
 package com.blog.backend.service;
 
+import com.blog.backend.enums.MediaFormat;
+import com.blog.backend.event.FileStoredEvent;
+import com.blog.backend.exception.FileTooLargeException;
 import com.blog.backend.exception.InvalidFileException;
+import com.blog.backend.storage.StorageBackend;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
+import java.util.regex.Pattern;
 
 @Service
 public class FileStorageService {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern SAFE_FILENAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]*");
+    private static final Duration DOWNLOAD_URL_SLACK = Duration.ofMinutes(1);
+
+    private final StorageBackend storageBackend;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Uploads are staged here while they are hashed, then handed to the storage backend
     private Path fileStorageLocation;
 
     @Value("${file.upload-dir:./uploads}")
@@ -32,6 +53,21 @@ public class FileStorageService {
     @Value("${file.allowed-video-types:video/mp4,video/webm,video/quicktime}")
     private String allowedVideoTypes;
 
+    @Value("${file.max-size:10MB}")
+    private DataSize maxFileSize;
+
+    @Value("${file.storage.download-url-ttl:15m}")
+    private Duration downloadUrlTtl;
+
+    // Requests within one window get the same signed URL; must be well below the TTL
+    @Value("${file.storage.download-url-window:5m}")
+    private Duration downloadUrlWindow;
+
+    public FileStorageService(StorageBackend storageBackend, ApplicationEventPublisher eventPublisher) {
+        this.storageBackend = storageBackend;
+        this.eventPublisher = eventPublisher;
+    }
+
     @PostConstruct
     public void init() {
         this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
@@ -42,73 +78,238 @@ public class FileStorageService {
         }
     }
 
-    public String storeFile(MultipartFile file) {
+    public StoredFile storeFile(MultipartFile file) {
         validateFile(file);
 
-        String originalFilename = file.getOriginalFilename();
-        String fileExtension = getFileExtension(originalFilename);
-        String uniqueFilename = UUID.randomUUID().toString() + fileExtension;
+        try (InputStream inputStream = file.getInputStream()) {
+            return storeStream(inputStream, file.getSize());
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + file.getOriginalFilename(), ex);
+        }
+    }
+
+    // Single pass from the request body to the final directory: sniff, hash, size-check and write together
+    public StoredFile storeStream(InputStream inputStream, long declaredLength) {
+        long maxBytes = maxFileSize.toBytes();
+        if (declaredLength > maxBytes) {
+            throw new FileTooLargeException(maxBytes);
+        }
 
         try {
-            Path targetLocation = this.fileStorageLocation.resolve(uniqueFilename);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-            return uniqueFilename;
+            return storeContentAddressed(inputStream, maxBytes);
         } catch (IOException ex) {
-            throw new RuntimeException("Could not store file " + originalFilename, ex);
+            throw new RuntimeException("Could not store uploaded file", ex);
         }
     }
 
-    public Resource loadFileAsResource(String filename) {
+    // Names the file after the SHA-256 of its bytes, so identical uploads share one file on disk
+    private StoredFile storeContentAddressed(InputStream inputStream, long maxBytes) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int headerLength = inputStream.readNBytes(buffer, 0, MediaFormat.HEADER_BYTES);
+        if (headerLength == 0) {
+            throw new InvalidFileException("File is empty or null");
+        }
+        MediaFormat format = detectAllowedFormat(buffer, headerLength);
+
+        MessageDigest digest = newSha256Digest();
+        Path tempFile = Files.createTempFile(this.fileStorageLocation, ".upload-", ".tmp");
+
         try {
-            Path filePath = this.fileStorageLocation.resolve(filename).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
+            long size = headerLength;
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                digest.update(buffer, 0, headerLength);
+                outputStream.write(buffer, 0, headerLength);
 
-            if (resource.exists() && resource.isReadable()) {
-                return resource;
-            } else {
-                throw new InvalidFileException("File not found: " + filename);
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxBytes) {
+                        throw new FileTooLargeException(maxBytes);
+                    }
+                    digest.update(buffer, 0, read);
+                    outputStream.write(buffer, 0, read);
+                }
             }
-        } catch (MalformedURLException ex) {
+
+            return commit(tempFile, format, digest, size);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    // Adopts a file assembled in the staging directory (chunked uploads); videos may exceed file.max-size
+    public StoredFile storeAssembledFile(Path assembled, long maxVideoBytes) {
+        try {
+            long size = Files.size(assembled);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            MessageDigest digest = newSha256Digest();
+            MediaFormat format;
+
+            try (InputStream inputStream = Files.newInputStream(assembled)) {
+                int headerLength = inputStream.readNBytes(buffer, 0, MediaFormat.HEADER_BYTES);
+                if (headerLength == 0) {
+                    throw new InvalidFileException("File is empty or null");
+                }
+                format = checkHeader(buffer, headerLength, size, maxVideoBytes);
+
+                digest.update(buffer, 0, headerLength);
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            return commit(assembled, format, digest, size);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store uploaded file", ex);
+        }
+    }
+
+    // A processed copy of a stored file (e.g. a faststart MP4) gets the hash of its own bytes as its name
+    public StoredFile storeRewritten(Path rewritten, MediaFormat format) {
+        try {
+            MessageDigest digest = newSha256Digest();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            try (InputStream inputStream = Files.newInputStream(rewritten)) {
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            }
+            long size = Files.size(rewritten);
+            String filename = HexFormat.of().formatHex(digest.digest()) + format.getExtension();
+            // No FileStoredEvent: the copy is the output of processing, not a new upload to process
+            if (!storageBackend.touch(filename, format.getContentType())) {
+                storageBackend.putFile(filename, rewritten, format.getContentType());
+            }
+            return new StoredFile(filename, format, size);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store rewritten file", ex);
+        }
+    }
+
+    // Type and size check from the leading bytes alone, so a resumable upload can be refused on its first chunk
+    public MediaFormat checkHeader(byte[] header, int length, long size, long maxVideoBytes) {
+        MediaFormat format = detectAllowedFormat(header, length);
+        long maxBytes = "VIDEO".equals(format.getMediaType()) ? maxVideoBytes : maxFileSize.toBytes();
+        if (size > maxBytes) {
+            throw new FileTooLargeException(maxBytes);
+        }
+        return format;
+    }
+
+    private StoredFile commit(Path stagedFile, MediaFormat format, MessageDigest digest, long size) throws IOException {
+        String filename = HexFormat.of().formatHex(digest.digest()) + format.getExtension();
+        // A duplicate restarts the garbage collector's grace period, so the post about to use it keeps it
+        if (!storageBackend.touch(filename, format.getContentType())) {
+            storageBackend.putFile(filename, stagedFile, format.getContentType());
+            eventPublisher.publishEvent(new FileStoredEvent(filename, format));
+        }
+        return new StoredFile(filename, format, size);
+    }
+
+    public Path getStagingDirectory() {
+        return fileStorageLocation;
+    }
+
+    private MediaFormat detectAllowedFormat(byte[] header, int length) {
+        MediaFormat format = MediaFormat.detect(header, length);
+        if (format == null || (!isImageType(format.getContentType()) && !isVideoType(format.getContentType()))) {
+            throw new InvalidFileException("File type not allowed. Supported types: images (jpeg, png, gif, webp) and videos (mp4, webm, mov)");
+        }
+        return format;
+    }
+
+    private MessageDigest newSha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    // Only available on filesystem backends; object stores serve through getDirectDownload instead
+    public Path loadFile(String filename) {
+        validateFilename(filename);
+        return storageBackend.localPath(filename)
+                .filter(Files::isReadable)
+                .orElseThrow(() -> new InvalidFileException("File not found: " + filename));
+    }
+
+    public Optional<Path> findLocalFile(String filename) {
+        validateFilename(filename);
+        return storageBackend.localPath(filename);
+    }
+
+    // Signing time is rounded down to the window, so the URL repeats and the redirect to it can be cached
+    public Optional<DirectDownload> getDirectDownload(String filename) {
+        validateFilename(filename);
+        long window = downloadUrlWindow.toMillis();
+        Instant now = Instant.now();
+        Instant signedAt = Instant.ofEpochMilli(now.toEpochMilli() / window * window);
+        Duration remaining = Duration.between(now, signedAt.plus(downloadUrlTtl)).minus(DOWNLOAD_URL_SLACK);
+        return storageBackend.presignedDownloadUrl(filename, signedAt, downloadUrlTtl)
+                .map(url -> new DirectDownload(url, remaining.isNegative() ? Duration.ZERO : remaining));
+    }
+
+    public InputStream openFile(String filename) {
+        validateFilename(filename);
+        try {
+            return storageBackend.get(filename);
+        } catch (NoSuchFileException ex) {
             throw new InvalidFileException("File not found: " + filename);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not read file " + filename, ex);
         }
     }
 
-    public void deleteFile(String filename) {
+    public boolean exists(String filename) {
+        validateFilename(filename);
         try {
-            Path filePath = this.fileStorageLocation.resolve(filename).normalize();
-            Files.deleteIfExists(filePath);
+            return storageBackend.exists(filename);
         } catch (IOException ex) {
-            throw new RuntimeException("Could not delete file: " + filename, ex);
+            throw new RuntimeException("Could not check file " + filename, ex);
         }
     }
 
-    public String getMediaType(MultipartFile file) {
-        String contentType = file.getContentType();
-        if (contentType == null) {
-            throw new InvalidFileException("Could not determine file type");
+    // Derived files (resized images, posters) are stored next to their original
+    public void storeDerivative(String filename, byte[] content) {
+        validateFilename(filename);
+        try {
+            storageBackend.put(filename, new ByteArrayInputStream(content), content.length, getContentType(filename));
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + filename, ex);
         }
+    }
 
-        if (isImageType(contentType)) {
-            return "IMAGE";
-        } else if (isVideoType(contentType)) {
-            return "VIDEO";
-        } else {
-            throw new InvalidFileException("Unsupported file type: " + contentType);
+    // Large derived files (posters) are staged on disk first; local backends move them into place
+    public void storeDerivative(String filename, Path stagedFile) {
+        validateFilename(filename);
+        try {
+            storageBackend.putFile(filename, stagedFile, getContentType(filename));
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not store file " + filename, ex);
         }
     }
 
-    private void validateFile(MultipartFile file) {
-        if (file == null || file.isEmpty()) {
-            throw new InvalidFileException("File is empty or null");
+    public void deleteFile(String filename) {
+        validateFilename(filename);
+        try {
+            storageBackend.delete(filename);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not delete file: " + filename, ex);
         }
+    }
 
-        String contentType = file.getContentType();
-        if (contentType == null) {
-            throw new InvalidFileException("Could not determine file type");
+    // Stored names are generated by us, so anything path-like is rejected outright
+    private void validateFilename(String filename) {
+        if (filename == null || !SAFE_FILENAME.matcher(filename).matches() || filename.contains("..")) {
+            throw new InvalidFileException("Invalid filename: " + filename);
         }
+    }
 
-        if (!isImageType(contentType) && !isVideoType(contentType)) {
-            throw new InvalidFileException("File type not allowed. Supported types: images (jpeg, png, gif, webp) and videos (mp4, webm, mov)");
+    private void validateFile(MultipartFile file) {
+        if (file == null || file.isEmpty()) {
+            throw new InvalidFileException("File is empty or null");
         }
 
         String originalFilename = file.getOriginalFilename();
@@ -147,4 +348,53 @@ public class FileStorageService {
             default -> "application/octet-stream";
         };
     }
+
+    public static class DirectDownload {
+
+        private final URI url;
+        private final Duration maxAge;
+
+        public DirectDownload(URI url, Duration maxAge) {
+            this.url = url;
+            this.maxAge = maxAge;
+        }
+
+        public URI getUrl() {
+            return url;
+        }
+
+        // How long the URL may be reused, short of its expiry by a margin for clock skew
+        public Duration getMaxAge() {
+            return maxAge;
+        }
+    }
+
+    public static class StoredFile {
+
+        private final String filename;
+        private final MediaFormat format;
+        private final long size;
+
+        public StoredFile(String filename, MediaFormat format, long size) {
+            this.filename = filename;
+            this.format = format;
+            this.size = size;
+        }
+
+        public String getFilename() {
+            return filename;
+        }
+
+        public MediaFormat getFormat() {
+            return format;
+        }
+
+        public String getMediaType() {
+            return format.getMediaType();
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
 }
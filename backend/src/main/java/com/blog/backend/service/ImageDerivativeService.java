@@ -0,0 +1,199 @@
+package com.blog.backend.service;
+
+import com.blog.backend.entity.ImageVariants;
+import com.blog.backend.enums.MediaFormat;
+import com.blog.backend.event.FileStoredEvent;
+import com.blog.backend.repository.ImageVariantsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class ImageDerivativeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageDerivativeService.class);
+
+    private static final String FILES_URL_PREFIX = "/api/files/";
+    // GIFs may be animated and the JDK has no WebP codec, so only these are resized
+    private static final Set<MediaFormat> RESIZABLE_FORMATS = EnumSet.of(MediaFormat.JPEG, MediaFormat.PNG);
+
+    private final FileStorageService fileStorageService;
+    private final ImageVariantsRepository imageVariantsRepository;
+
+    @Value("${file.image-variant-widths:320,640,1280}")
+    private int[] variantWidths;
+
+    @Value("${file.image-variant-quality:0.82}")
+    private float jpegQuality;
+
+    public ImageDerivativeService(FileStorageService fileStorageService,
+                                  ImageVariantsRepository imageVariantsRepository) {
+        this.fileStorageService = fileStorageService;
+        this.imageVariantsRepository = imageVariantsRepository;
+    }
+
+    @Async("mediaTaskExecutor")
+    @EventListener
+    public void onFileStored(FileStoredEvent event) {
+        if (!RESIZABLE_FORMATS.contains(event.getFormat())) {
+            return;
+        }
+        try {
+            generateVariants(event.getFilename());
+        } catch (Exception ex) {
+            logger.warn("Could not generate image variants for {}", event.getFilename(), ex);
+        }
+    }
+
+    public void generateVariants(String filename) throws IOException {
+        int[] widths = Arrays.stream(variantWidths).sorted().toArray();
+        BufferedImage source = readForMaxWidth(filename, widths[widths.length - 1]);
+        if (source == null) {
+            return;
+        }
+
+        boolean alpha = source.getColorModel().hasAlpha();
+        List<Integer> generated = new ArrayList<>();
+        for (int width : widths) {
+            if (width >= source.getWidth()) {
+                continue;
+            }
+            String variantName = variantFilename(filename, width, alpha);
+            if (!fileStorageService.exists(variantName)) {
+                BufferedImage resized = resize(source, width, alpha);
+                fileStorageService.storeDerivative(variantName, alpha ? encodePng(resized) : encodeJpeg(resized));
+            }
+            generated.add(width);
+        }
+
+        // Recorded even when empty, so renders never have to look at the store to find out
+        String widthList = generated.stream().map(String::valueOf).collect(Collectors.joining(","));
+        imageVariantsRepository.save(new ImageVariants(filename, widthList, alpha));
+    }
+
+    // Responsive variants keyed by width, as recorded once generation finished. The row is served
+    // from the second-level cache, so rendering a post never touches the store
+    public Map<Integer, String> findVariants(String mediaUrl) {
+        if (mediaUrl == null || !mediaUrl.startsWith(FILES_URL_PREFIX) || !isResizable(mediaUrl)) {
+            return Collections.emptyMap();
+        }
+
+        String filename = mediaUrl.substring(FILES_URL_PREFIX.length());
+        Optional<ImageVariants> recorded = imageVariantsRepository.findById(filename);
+        if (recorded.isEmpty() || recorded.get().getWidths().isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        Map<Integer, String> variants = new LinkedHashMap<>();
+        for (String width : recorded.get().getWidths().split(",")) {
+            int pixels = Integer.parseInt(width);
+            variants.put(pixels, FILES_URL_PREFIX + variantFilename(filename, pixels, recorded.get().getAlpha()));
+        }
+        return variants;
+    }
+
+    private static boolean isResizable(String mediaUrl) {
+        return RESIZABLE_FORMATS.stream().anyMatch(format -> mediaUrl.endsWith(format.getExtension()));
+    }
+
+    static String variantFilename(String filename, int width, boolean alpha) {
+        int dot = filename.lastIndexOf('.');
+        String base = dot > 0 ? filename.substring(0, dot) : filename;
+        return base + "_w" + width + (alpha ? ".png" : ".jpg");
+    }
+
+    // Decodes with source subsampling so a large photo is never fully materialised in memory
+    private BufferedImage readForMaxWidth(String filename, int maxWidth) throws IOException {
+        try (InputStream content = fileStorageService.openFile(filename);
+             ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int subsampling = Math.max(1, reader.getWidth(0) / (maxWidth * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halves the image until close to the target, then finishes with one bilinear pass
+    private BufferedImage resize(BufferedImage source, int targetWidth, boolean alpha) {
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage step = new BufferedImage(width, height,
+                    alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(current, 0, 0, width, height, null);
+            graphics.dispose();
+            current = step;
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
+
+    private byte[] encodePng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,209 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.admin.MediaGcResponse;
+import com.blog.backend.dto.admin.MediaGcStatusResponse;
+import com.blog.backend.enums.MediaFormat;
+import com.blog.backend.repository.PostRepository;
+import com.blog.backend.repository.UserRepository;
+import com.blog.backend.storage.StorageBackend;
+import com.blog.backend.storage.StoredObject;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Mark-and-sweep for uploads: walks the store in batches and removes files that no post or
+ * avatar points at. Derived files (image variants, posters) live as long as their original.
+ * At most one sweep runs at a time; on-demand sweeps run on the storage task pool, never on the
+ * request thread.
+ */
+@Service
+public class MediaGarbageCollector {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaGarbageCollector.class);
+
+    private static final String FILES_URL_PREFIX = "/api/files/";
+    private static final Pattern CONTENT_HASH_PREFIX = Pattern.compile("^([0-9a-f]{64})");
+
+    private final StorageBackend storageBackend;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final TaskExecutor taskExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile LocalDateTime startedAt;
+    private volatile MediaGcResponse lastRun;
+
+    @Value("${media.gc.enabled:true}")
+    private boolean enabled;
+
+    @Value("${media.gc.dry-run:false}")
+    private boolean dryRun;
+
+    // Uploads younger than this may still be attached to a post that is being written
+    @Value("${media.gc.grace-period:24h}")
+    private Duration gracePeriod;
+
+    @Value("${media.gc.batch-size:200}")
+    private int batchSize;
+
+    public MediaGarbageCollector(StorageBackend storageBackend,
+                                 PostRepository postRepository,
+                                 UserRepository userRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Qualifier("storageTaskExecutor") TaskExecutor taskExecutor) {
+        this.storageBackend = storageBackend;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Scheduled(cron = "${media.gc.cron:0 30 3 * * *}")
+    public void scheduledCollect() {
+        if (enabled && start()) {
+            run(dryRun);
+        }
+    }
+
+    // Queues a sweep unless one is already running; the status tells which
+    public MediaGcStatusResponse startCollect(boolean dryRun) {
+        if (start()) {
+            try {
+                taskExecutor.execute(() -> run(dryRun));
+            } catch (TaskRejectedException ex) {
+                running.set(false);
+                logger.warn("Storage task queue is full, media garbage collection not started");
+            }
+        }
+        return getStatus();
+    }
+
+    public MediaGcStatusResponse getStatus() {
+        return new MediaGcStatusResponse(running.get(), startedAt, lastRun);
+    }
+
+    private boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        startedAt = LocalDateTime.now();
+        return true;
+    }
+
+    private void run(boolean dryRun) {
+        try {
+            lastRun = collect(dryRun);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    MediaGcResponse collect(boolean dryRun) {
+        long startedAt = System.currentTimeMillis();
+        Instant cutoff = Instant.now().minus(gracePeriod);
+        Sweep sweep = new Sweep(dryRun);
+
+        try {
+            storageBackend.forEachObject(object -> {
+                sweep.scanned++;
+                if (object.getLastModified().isBefore(cutoff)) {
+                    sweep.batch.add(object);
+                    if (sweep.batch.size() >= batchSize) {
+                        sweepBatch(sweep);
+                    }
+                }
+            });
+            sweepBatch(sweep);
+        } catch (IOException ex) {
+            logger.error("Media garbage collection aborted after scanning {} files", sweep.scanned, ex);
+        }
+
+        String mode = Boolean.toString(dryRun);
+        meterRegistry.counter("media.gc.scanned.files", "dry_run", mode).increment(sweep.scanned);
+        meterRegistry.counter("media.gc.orphaned.files", "dry_run", mode).increment(sweep.orphaned);
+        meterRegistry.counter("media.gc.reclaimed.bytes", "dry_run", mode).increment(sweep.reclaimedBytes);
+        logger.info("Media garbage collection{}: scanned {}, orphaned {}, reclaimed {} bytes",
+                dryRun ? " (dry run)" : "", sweep.scanned, sweep.orphaned, sweep.reclaimedBytes);
+
+        return new MediaGcResponse(dryRun, sweep.scanned, sweep.orphaned, sweep.reclaimedBytes,
+                System.currentTimeMillis() - startedAt);
+    }
+
+    private void sweepBatch(Sweep sweep) {
+        if (sweep.batch.isEmpty()) {
+            return;
+        }
+
+        Set<String> candidateUrls = new HashSet<>();
+        for (StoredObject object : sweep.batch) {
+            candidateUrls.addAll(referenceUrls(object.getKey()));
+        }
+        Set<String> referenced = new HashSet<>(postRepository.findMediaUrlsIn(candidateUrls));
+        referenced.addAll(userRepository.findAvatarUrlsIn(candidateUrls));
+
+        for (StoredObject object : sweep.batch) {
+            if (referenceUrls(object.getKey()).stream().anyMatch(referenced::contains)) {
+                continue;
+            }
+            sweep.orphaned++;
+            if (sweep.dryRun) {
+                sweep.reclaimedBytes += object.getSize();
+                continue;
+            }
+            try {
+                storageBackend.delete(object.getKey());
+                sweep.reclaimedBytes += object.getSize();
+            } catch (IOException ex) {
+                logger.warn("Could not delete orphaned file {}", object.getKey(), ex);
+            }
+        }
+        sweep.batch.clear();
+    }
+
+    // URLs that keep a stored file alive: its own, and for derived files those of the original upload
+    static Set<String> referenceUrls(String key) {
+        Set<String> urls = new LinkedHashSet<>();
+        urls.add(FILES_URL_PREFIX + key);
+        Matcher matcher = CONTENT_HASH_PREFIX.matcher(key);
+        if (matcher.find()) {
+            for (MediaFormat format : MediaFormat.values()) {
+                urls.add(FILES_URL_PREFIX + matcher.group(1) + format.getExtension());
+            }
+        }
+        return urls;
+    }
+
+    private static class Sweep {
+
+        private final boolean dryRun;
+        private final List<StoredObject> batch = new ArrayList<>();
+        private long scanned;
+        private long orphaned;
+        private long reclaimedBytes;
+
+        Sweep(boolean dryRun) {
+            this.dryRun = dryRun;
+        }
+    }
+}
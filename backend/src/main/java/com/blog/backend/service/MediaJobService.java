@@ -0,0 +1,277 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.file.MediaJobResponse;
+import com.blog.backend.entity.MediaJob;
+import com.blog.backend.entity.Post;
+import com.blog.backend.enums.MediaFormat;
+import com.blog.backend.enums.MediaJobStatus;
+import com.blog.backend.event.FileStoredEvent;
+import com.blog.backend.event.PostChangedEvent;
+import com.blog.backend.exception.MediaJobNotFoundException;
+import com.blog.backend.media.IsoMediaFile;
+import com.blog.backend.media.VideoMetadata;
+import com.blog.backend.media.VideoTranscoder;
+import com.blog.backend.repository.MediaJobRepository;
+import com.blog.backend.repository.PostRepository;
+import com.blog.backend.service.FileStorageService.StoredFile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Persisted queue of video processing jobs. Jobs are handed to the bounded media worker pool as
+ * soon as they are created; a poller re-dispatches anything left behind by a full queue, a failed
+ * attempt or a restart.
+ */
+@Service
+public class MediaJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaJobService.class);
+
+    private static final String FILES_URL_PREFIX = "/api/files/";
+    private static final Set<MediaFormat> ISO_MEDIA_FORMATS = EnumSet.of(MediaFormat.MP4, MediaFormat.QUICKTIME);
+
+    private final MediaJobRepository mediaJobRepository;
+    private final PostRepository postRepository;
+    private final FileStorageService fileStorageService;
+    private final VideoTranscoder videoTranscoder;
+    private final TaskExecutor taskExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${media.jobs.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${media.jobs.stale-after:30m}")
+    private Duration staleAfter;
+
+    public MediaJobService(MediaJobRepository mediaJobRepository,
+                           PostRepository postRepository,
+                           FileStorageService fileStorageService,
+                           VideoTranscoder videoTranscoder,
+                           @Qualifier("mediaTaskExecutor") TaskExecutor taskExecutor,
+                           ApplicationEventPublisher eventPublisher) {
+        this.mediaJobRepository = mediaJobRepository;
+        this.postRepository = postRepository;
+        this.fileStorageService = fileStorageService;
+        this.videoTranscoder = videoTranscoder;
+        this.taskExecutor = taskExecutor;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @EventListener
+    public void onFileStored(FileStoredEvent event) {
+        if ("VIDEO".equals(event.getFormat().getMediaType())) {
+            enqueue(event.getFilename());
+        }
+    }
+
+    public MediaJob enqueue(String filename) {
+        MediaJob job = mediaJobRepository.findByFilename(filename).orElse(null);
+        if (job == null) {
+            try {
+                job = mediaJobRepository.save(new MediaJob(filename));
+            } catch (DataIntegrityViolationException ex) {
+                // The same bytes were uploaded concurrently and the other request created the job
+                return mediaJobRepository.findByFilename(filename).orElseThrow(() -> ex);
+            }
+        }
+        if (job.getStatus() == MediaJobStatus.PENDING) {
+            Long jobId = job.getId();
+            taskExecutor.execute(() -> processJob(jobId));
+        }
+        return job;
+    }
+
+    public Optional<MediaJobResponse> findJob(String filename) {
+        return mediaJobRepository.findByFilename(filename).map(this::mapToResponse);
+    }
+
+    public MediaJobResponse getJob(String filename) {
+        return findJob(filename).orElseThrow(() -> new MediaJobNotFoundException(filename));
+    }
+
+    // Posts written after processing finished link the processed file rather than the upload
+    public String resolveMediaUrl(String mediaUrl) {
+        if (mediaUrl == null || !mediaUrl.startsWith(FILES_URL_PREFIX)) {
+            return mediaUrl;
+        }
+        return mediaJobRepository.findByFilename(mediaUrl.substring(FILES_URL_PREFIX.length()))
+                .map(MediaJob::getOutputFilename)
+                .map(outputFilename -> FILES_URL_PREFIX + outputFilename)
+                .orElse(mediaUrl);
+    }
+
+    @Scheduled(fixedDelayString = "${media.jobs.poll-interval:60000}")
+    public void dispatchPendingJobs() {
+        int requeued = mediaJobRepository.requeueStale(MediaJobStatus.PENDING, MediaJobStatus.RUNNING,
+                LocalDateTime.now().minus(staleAfter));
+        if (requeued > 0) {
+            logger.warn("Requeued {} media jobs that were stuck in RUNNING", requeued);
+        }
+        for (MediaJob job : mediaJobRepository.findTop50ByStatusOrderByCreatedAtAsc(MediaJobStatus.PENDING)) {
+            Long jobId = job.getId();
+            taskExecutor.execute(() -> processJob(jobId));
+        }
+    }
+
+    public void processJob(Long jobId) {
+        if (mediaJobRepository.claim(jobId, MediaJobStatus.PENDING, MediaJobStatus.RUNNING, LocalDateTime.now()) == 0) {
+            return;
+        }
+        MediaJob job = mediaJobRepository.findById(jobId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        if (job.getAttempts() > maxAttempts) {
+            job.setStatus(MediaJobStatus.FAILED);
+            job.setError("Gave up after " + maxAttempts + " attempts");
+            mediaJobRepository.save(job);
+            return;
+        }
+
+        try {
+            process(job);
+            job.setStatus(MediaJobStatus.COMPLETED);
+            job.setError(null);
+        } catch (Exception ex) {
+            logger.warn("Media job {} for {} failed (attempt {})", jobId, job.getFilename(), job.getAttempts(), ex);
+            job.setStatus(job.getAttempts() >= maxAttempts ? MediaJobStatus.FAILED : MediaJobStatus.PENDING);
+            String message = String.valueOf(ex.getMessage());
+            job.setError(message.length() > 1000 ? message.substring(0, 1000) : message);
+        }
+        mediaJobRepository.save(job);
+
+        // Saved first, so posts created from now on resolve to the output; earlier ones are moved here
+        if (job.getStatus() == MediaJobStatus.COMPLETED && job.getOutputFilename() != null) {
+            repointPosts(job.getFilename(), job.getOutputFilename());
+        }
+    }
+
+    // Through the managed entities, so only these posts leave the second-level cache. The upload
+    // itself is left for the garbage collector once nothing points at it
+    private void repointPosts(String filename, String outputFilename) {
+        List<Post> posts = postRepository.findAllByMediaUrl(FILES_URL_PREFIX + filename);
+        if (posts.isEmpty()) {
+            return;
+        }
+        posts.forEach(post -> post.setMediaUrl(FILES_URL_PREFIX + outputFilename));
+        postRepository.saveAll(posts);
+        posts.forEach(post -> eventPublisher.publishEvent(new PostChangedEvent(post.getId())));
+    }
+
+    private void process(MediaJob job) throws IOException {
+        String filename = job.getFilename();
+        Path stagingDirectory = fileStorageService.getStagingDirectory();
+        Optional<Path> localFile = fileStorageService.findLocalFile(filename);
+        Path source = localFile.isPresent() ? localFile.get() : downloadToStaging(filename, stagingDirectory);
+
+        try {
+            MediaFormat format = formatOf(filename);
+            if (ISO_MEDIA_FORMATS.contains(format)) {
+                VideoMetadata metadata = IsoMediaFile.inspect(source);
+                job.setDurationMs(metadata.getDurationMs());
+                job.setWidth(metadata.getWidth());
+                job.setHeight(metadata.getHeight());
+                if (!metadata.isFaststart()) {
+                    relocateMoov(source, format, stagingDirectory).ifPresent(job::setOutputFilename);
+                }
+                job.setFaststart(metadata.isFaststart() || job.getOutputFilename() != null);
+            }
+
+            if (videoTranscoder.isAvailable()) {
+                // Named after the file posts will link, so the collector keeps it alive along with that file
+                String posterFilename = posterFilename(job.getOutputFilename() != null ? job.getOutputFilename() : filename);
+                if (!fileStorageService.exists(posterFilename)) {
+                    Path poster = Files.createTempFile(stagingDirectory, ".poster-", ".jpg");
+                    try {
+                        long position = job.getDurationMs() == null ? 1000 : Math.min(1000, job.getDurationMs() / 10);
+                        videoTranscoder.extractPoster(source, poster, position);
+                        fileStorageService.storeDerivative(posterFilename, poster);
+                    } finally {
+                        Files.deleteIfExists(poster);
+                    }
+                }
+                job.setPosterFilename(posterFilename);
+            }
+        } finally {
+            if (localFile.isEmpty()) {
+                Files.deleteIfExists(source);
+            }
+        }
+    }
+
+    /**
+     * Stores a copy with moov in front under the hash of its own bytes. The upload keeps its name
+     * and bytes: it is already served as immutable, so it can never be rewritten in place.
+     */
+    private Optional<String> relocateMoov(Path source, MediaFormat format, Path stagingDirectory) throws IOException {
+        Path relocated = Files.createTempFile(stagingDirectory, ".faststart-", ".tmp");
+        try {
+            if (!IsoMediaFile.relocateMoovToFront(source, relocated)) {
+                return Optional.empty();
+            }
+            StoredFile stored = fileStorageService.storeRewritten(relocated, format);
+            return Optional.of(stored.getFilename());
+        } finally {
+            Files.deleteIfExists(relocated);
+        }
+    }
+
+    private Path downloadToStaging(String filename, Path stagingDirectory) throws IOException {
+        Path copy = Files.createTempFile(stagingDirectory, ".media-", ".tmp");
+        try (InputStream content = fileStorageService.openFile(filename)) {
+            Files.copy(content, copy, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return copy;
+    }
+
+    private MediaFormat formatOf(String filename) {
+        String contentType = fileStorageService.getContentType(filename);
+        for (MediaFormat format : MediaFormat.values()) {
+            if (format.getContentType().equals(contentType)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    static String posterFilename(String filename) {
+        int dot = filename.lastIndexOf('.');
+        return (dot > 0 ? filename.substring(0, dot) : filename) + "_poster.jpg";
+    }
+
+    private MediaJobResponse mapToResponse(MediaJob job) {
+        String servedFilename = job.getOutputFilename() != null ? job.getOutputFilename() : job.getFilename();
+        return new MediaJobResponse(
+                job.getFilename(),
+                FILES_URL_PREFIX + servedFilename,
+                job.getStatus().name(),
+                job.getAttempts(),
+                job.getDurationMs(),
+                job.getWidth(),
+                job.getHeight(),
+                job.getPosterFilename() != null ? FILES_URL_PREFIX + job.getPosterFilename() : null,
+                job.getFaststart(),
+                job.getError()
+        );
+    }
+}
@@ -0,0 +1,191 @@
+package com.blog.backend.service;
+
+import com.blog.backend.config.ModerationProperties;
+import com.blog.backend.enums.ReportTargetType;
+import com.blog.backend.event.PostChangedEvent;
+import com.blog.backend.event.ReportFiledEvent;
+import com.blog.backend.repository.PostRepository;
+import com.blog.backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Automatic moderation driven by the stream of filed reports. Each reported target keeps a sliding
+ * window of its recent reporters in memory, so crossing a threshold is detected on the report that
+ * crosses it without ever reading the reports table. State is per node and starts empty on restart,
+ * which only delays an automatic action; the report queue remains the record.
+ */
+@Service
+public class ModerationRuleEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ModerationRuleEngine.class);
+
+    private final ModerationProperties properties;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, ReportWindow> windows = new ConcurrentHashMap<>();
+
+    public ModerationRuleEngine(ModerationProperties properties,
+                                PostRepository postRepository,
+                                UserRepository userRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("moderation.auto.windows", Tags.empty(), windows);
+    }
+
+    // Only reports that actually committed count, and the automatic action runs in its own short
+    // transaction so its row locks are never held by the reporting request
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onReportFiled(ReportFiledEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            evaluate(event, System.nanoTime(), LocalDateTime.now());
+        } catch (RuntimeException ex) {
+            // The report is already committed and stays in the queue for a moderator
+            logger.error("Automatic moderation of {} {} failed", event.getTargetType(), event.getTargetId(), ex);
+        }
+    }
+
+    void evaluate(ReportFiledEvent event, long nowNanos, LocalDateTime now) {
+        String key = event.getTargetType() + ":" + event.getTargetId();
+        double threshold = event.getTargetType() == ReportTargetType.POST
+                ? properties.getPostThreshold()
+                : properties.getUserThreshold();
+        double weight = trustWeight(event.getReporterCreatedAt(), now);
+
+        // Recorded inside compute so an eviction of the same key waits for it, rather than dropping a
+        // window this report was just added to
+        boolean[] crossed = new boolean[1];
+        windows.compute(key, (k, window) -> {
+            ReportWindow current = window != null ? window : new ReportWindow();
+            crossed[0] = current.record(event.getReporterId(), weight, nowNanos,
+                    properties.getWindow().toNanos(), threshold);
+            return current;
+        });
+        if (!crossed[0]) {
+            return;
+        }
+
+        if (event.getTargetType() == ReportTargetType.POST) {
+            if (postRepository.hideIfVisible(event.getTargetId()) > 0) {
+                logger.info("Post {} hidden automatically after crossing the report threshold", event.getTargetId());
+                eventPublisher.publishEvent(new PostChangedEvent(event.getTargetId()));
+                meterRegistry.counter("moderation.auto.actions", "action", "hide-post").increment();
+            }
+        } else {
+            LocalDateTime until = now.plus(properties.getRestriction());
+            if (userRepository.restrictUntil(event.getTargetId(), until) > 0) {
+                logger.info("User {} restricted until {} after crossing the report threshold", event.getTargetId(), until);
+                meterRegistry.counter("moderation.auto.actions", "action", "restrict-user").increment();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${moderation.auto.eviction-interval:60000}")
+    public void evictIdleWindows() {
+        long now = System.nanoTime();
+        long windowNanos = properties.getWindow().toNanos();
+        for (String key : windows.keySet()) {
+            windows.computeIfPresent(key, (k, window) -> window.isIdle(now, windowNanos) ? null : window);
+        }
+    }
+
+    int windowCount() {
+        return windows.size();
+    }
+
+    private double trustWeight(LocalDateTime reporterCreatedAt, LocalDateTime now) {
+        if (reporterCreatedAt != null && reporterCreatedAt.plus(properties.getNewAccountAge()).isBefore(now)) {
+            return 1.0;
+        }
+        return properties.getNewAccountWeight();
+    }
+
+    /**
+     * Reports against one target within the window. The deque holds every report in arrival order;
+     * only the latest report of each reporter counts, so the weight is a sum over distinct reporters
+     * that is kept up to date as reports arrive and expire.
+     */
+    static class ReportWindow {
+
+        private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+        private final Map<Long, Entry> latestByReporter = new HashMap<>();
+        private double weight;
+        private long lastReportNanos;
+
+        // True when this report takes the target over the threshold; the window then starts over
+        synchronized boolean record(Long reporterId, double reporterWeight, long now, long windowNanos, double threshold) {
+            expire(now - windowNanos);
+
+            Entry entry = new Entry(reporterId, reporterWeight, now);
+            Entry previous = latestByReporter.put(reporterId, entry);
+            if (previous != null) {
+                weight -= previous.weight;
+            }
+            entries.addLast(entry);
+            weight += reporterWeight;
+            lastReportNanos = now;
+
+            if (weight < threshold) {
+                return false;
+            }
+            entries.clear();
+            latestByReporter.clear();
+            weight = 0;
+            return true;
+        }
+
+        synchronized boolean isIdle(long now, long windowNanos) {
+            return now - lastReportNanos > windowNanos;
+        }
+
+        private void expire(long cutoff) {
+            while (!entries.isEmpty() && entries.peekFirst().at - cutoff < 0) {
+                Entry expired = entries.pollFirst();
+                // A reporter who reported again since is still counted through the newer entry
+                if (latestByReporter.get(expired.reporterId) == expired) {
+                    latestByReporter.remove(expired.reporterId);
+                    weight -= expired.weight;
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final Long reporterId;
+        private final double weight;
+        private final long at;
+
+        private Entry(Long reporterId, double weight, long at) {
+            this.reporterId = reporterId;
+            this.weight = weight;
+            this.at = at;
+        }
+    }
+}
@@ -3,34 +3,32 @@ package com.blog.backend.service;
 import com.blog.backend.dto.notification.NotificationResponse;
 import com.blog.backend.entity.Notification;
 import com.blog.backend.entity.Post;
-import com.blog.backend.entity.Subscription;
 import com.blog.backend.entity.User;
 import com.blog.backend.exception.ForbiddenException;
 import com.blog.backend.exception.NotificationNotFoundException;
 import com.blog.backend.repository.NotificationRepository;
-import com.blog.backend.repository.SubscriptionRepository;
-import com.blog.backend.repository.UserRepository;
 import com.blog.backend.security.UserPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 public class NotificationService {
 
+    private static final int FAN_OUT_BATCH_SIZE = 1000;
+
     private final NotificationRepository notificationRepository;
-    private final UserRepository userRepository;
-    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriptionGraph subscriptionGraph;
 
     public NotificationService(NotificationRepository notificationRepository,
-                               UserRepository userRepository,
-                               SubscriptionRepository subscriptionRepository) {
+                               SubscriptionGraph subscriptionGraph) {
         this.notificationRepository = notificationRepository;
-        this.userRepository = userRepository;
-        this.subscriptionRepository = subscriptionRepository;
+        this.subscriptionGraph = subscriptionGraph;
     }
 
     public List<NotificationResponse> getUserNotifications(Authentication authentication) {
@@ -151,12 +149,16 @@ public class NotificationService {
     // Helper method to create notifications for new post (to all subscribers)
     @Transactional
     public void notifyNewPost(User postAuthor, Post post) {
-        List<Subscription> subscriptions = subscriptionRepository.findBySubscribedToId(postAuthor.getId());
-
-        for (Subscription subscription : subscriptions) {
-            User subscriber = subscription.getSubscriber();
-            String message = postAuthor.getUsername() + " published a new post";
-            createNotification(subscriber, message, "NEW_POST", post, postAuthor);
+        String message = postAuthor.getUsername() + " published a new post";
+        long[] followers = subscriptionGraph.getFollowers(postAuthor.getId());
+        LocalDateTime now = LocalDateTime.now();
+        // The graph can still hold an account that is deleted or being purged, the insert joins
+        // against users and leaves those out. Batched to stay under the bind parameter limit
+        for (int from = 0; from < followers.length; from += FAN_OUT_BATCH_SIZE) {
+            List<Long> recipientIds = Arrays.stream(followers, from, Math.min(from + FAN_OUT_BATCH_SIZE, followers.length))
+                    .boxed()
+                    .collect(Collectors.toList());
+            notificationRepository.insertForUsers(recipientIds, message, "NEW_POST", post.getId(), postAuthor.getId(), now);
         }
     }
 
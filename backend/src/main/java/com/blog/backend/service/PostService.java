@@ -1,49 +1,96 @@
 package com.blog.backend.service;
 
+import com.blog.backend.dto.common.CursorPageResponse;
 import com.blog.backend.dto.post.CommentRequest;
 import com.blog.backend.dto.post.CommentResponse;
 import com.blog.backend.dto.post.PostRequest;
 import com.blog.backend.dto.post.PostResponse;
+import com.blog.backend.dto.user.AuthorSummary;
 import com.blog.backend.entity.Comment;
 import com.blog.backend.entity.Like;
 import com.blog.backend.entity.Post;
 import com.blog.backend.entity.User;
+import com.blog.backend.enums.ReportTargetType;
+import com.blog.backend.event.PostChangedEvent;
 import com.blog.backend.exception.BannedUserException;
 import com.blog.backend.exception.CommentNotFoundException;
 import com.blog.backend.exception.ForbiddenException;
+import com.blog.backend.exception.InvalidRequestException;
 import com.blog.backend.exception.PostNotFoundException;
+import com.blog.backend.exception.RestrictedUserException;
 import com.blog.backend.exception.UserNotFoundException;
 import com.blog.backend.repository.*;
+import com.blog.backend.repository.CommentRepository.CommentsVersion;
+import com.blog.backend.repository.PostRepository.PostCounts;
+import com.blog.backend.repository.PostRepository.PostVersion;
 import com.blog.backend.security.UserPrincipal;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class PostService {
 
+    private static final int MAX_COMMENT_PAGE_SIZE = 100;
+    private static final int MAX_PREVIEW_REPLIES = 20;
+    private static final int MAX_REPLY_DEPTH = 8;
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
+    private final UserStatsRepository userStatsRepository;
     private final LikeRepository likeRepository;
     private final CommentRepository commentRepository;
-    private final SubscriptionRepository subscriptionRepository;
+    private final SubscriptionGraph subscriptionGraph;
+    private final ReportCaseRepository reportCaseRepository;
     private final NotificationService notificationService;
+    private final ImageDerivativeService imageDerivativeService;
+    private final MediaJobService mediaJobService;
+    private final AuthorSummaryCache authorSummaryCache;
+    private final PostSummaryCache postSummaryCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     public PostService(PostRepository postRepository,
                       UserRepository userRepository,
+                      UserStatsRepository userStatsRepository,
                       LikeRepository likeRepository,
                       CommentRepository commentRepository,
-                      SubscriptionRepository subscriptionRepository,
-                      NotificationService notificationService) {
+                      SubscriptionGraph subscriptionGraph,
+                      ReportCaseRepository reportCaseRepository,
+                      NotificationService notificationService,
+                      ImageDerivativeService imageDerivativeService,
+                      MediaJobService mediaJobService,
+                      AuthorSummaryCache authorSummaryCache,
+                      PostSummaryCache postSummaryCache,
+                      ApplicationEventPublisher eventPublisher) {
         this.postRepository = postRepository;
         this.userRepository = userRepository;
+        this.userStatsRepository = userStatsRepository;
         this.likeRepository = likeRepository;
         this.commentRepository = commentRepository;
-        this.subscriptionRepository = subscriptionRepository;
+        this.subscriptionGraph = subscriptionGraph;
+        this.reportCaseRepository = reportCaseRepository;
         this.notificationService = notificationService;
+        this.imageDerivativeService = imageDerivativeService;
+        this.mediaJobService = mediaJobService;
+        this.authorSummaryCache = authorSummaryCache;
+        this.postSummaryCache = postSummaryCache;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -55,14 +102,18 @@ public class PostService {
         if (user.getBanned()) {
             throw new BannedUserException("Banned users cannot create posts");
         }
+        if (user.isRestrictedAt(LocalDateTime.now())) {
+            throw new RestrictedUserException("Posting is restricted until " + user.getRestrictedUntil());
+        }
 
         Post post = new Post();
         post.setContent(request.getContent());
-        post.setMediaUrl(request.getMediaUrl());
+        post.setMediaUrl(mediaJobService.resolveMediaUrl(request.getMediaUrl()));
         post.setMediaType(request.getMediaType());
         post.setUser(user);
 
         Post savedPost = postRepository.save(post);
+        userStatsRepository.adjustPostCount(user.getId(), 1);
 
         // Notify subscribers about the new post
         notificationService.notifyNewPost(user, savedPost);
@@ -71,16 +122,18 @@ public class PostService {
     }
 
     public PostResponse getPost(Long postId, Authentication authentication) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new PostNotFoundException(postId));
-
-        Long currentUserId = null;
-        if (authentication != null && authentication.isAuthenticated()) {
-            UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
-            currentUserId = principal.getId();
-        }
-
-        return mapToPostResponse(post, currentUserId);
+        // Everything but the viewer's own like comes from the shared summary
+        PostResponse summary = postSummaryCache.get(postId, this::isCurrent, () -> {
+            Post post = postRepository.findById(postId)
+                    .orElseThrow(() -> new PostNotFoundException(postId));
+            return mapToPostResponse(post, null);
+        });
+
+        Long currentUserId = getCurrentUserId(authentication);
+        PostResponse response = copyOf(summary);
+        response.setLikedByCurrentUser(currentUserId != null
+                && likeRepository.existsByUserIdAndPostId(currentUserId, postId));
+        return response;
     }
 
     @Transactional
@@ -94,10 +147,11 @@ public class PostService {
         }
 
         post.setContent(request.getContent());
-        post.setMediaUrl(request.getMediaUrl());
+        post.setMediaUrl(mediaJobService.resolveMediaUrl(request.getMediaUrl()));
         post.setMediaType(request.getMediaType());
 
         Post updatedPost = postRepository.save(post);
+        eventPublisher.publishEvent(new PostChangedEvent(postId));
 
         return mapToPostResponse(updatedPost, principal.getId());
     }
@@ -112,44 +166,44 @@ public class PostService {
             throw new ForbiddenException("You can only delete your own posts");
         }
 
-        postRepository.delete(post);
+        // A tombstone keeps the request to two single-row updates; likes, comments and
+        // notifications are removed later by TombstoneCompactionService
+        LocalDateTime now = LocalDateTime.now();
+        if (postRepository.markDeleted(List.of(postId), now) == 0) {
+            // A concurrent delete got there first and already did the rest
+            return;
+        }
+        reportCaseRepository.resolveByTargets(ReportTargetType.POST, List.of(postId), now);
+        userStatsRepository.adjustPostCount(post.getUser().getId(), -1);
+        eventPublisher.publishEvent(new PostChangedEvent(postId));
     }
 
     public List<PostResponse> getUserPosts(Long userId, Authentication authentication) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new UserNotFoundException(userId));
-
-        Long currentUserId = null;
-        if (authentication != null && authentication.isAuthenticated()) {
-            UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
-            currentUserId = principal.getId();
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
         }
 
-        final Long finalCurrentUserId = currentUserId;
-
-        return user.getPosts().stream()
-                .filter(post -> !post.getHidden() || userId.equals(finalCurrentUserId))
-                .map(post -> mapToPostResponse(post, finalCurrentUserId))
-                .collect(Collectors.toList());
+        Long currentUserId = getCurrentUserId(authentication);
+        List<Post> posts = postRepository.findProfilePosts(userId, userId.equals(currentUserId));
+        return mapToPostResponses(posts, currentUserId);
     }
 
     public List<PostResponse> getFeed(Authentication authentication) {
         UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
 
-        List<Long> subscribedUserIds = subscriptionRepository
-                .findBySubscriberId(principal.getId())
-                .stream()
-                .map(sub -> sub.getSubscribedTo().getId())
-                .collect(Collectors.toList());
-
-        subscribedUserIds.add(principal.getId());
+        long[] following = subscriptionGraph.getFollowing(principal.getId());
+        List<Long> authorIds = new ArrayList<>(following.length + 1);
+        for (long userId : following) {
+            authorIds.add(userId);
+        }
+        authorIds.add(principal.getId());
 
-        List<Post> posts = postRepository.findByUserIdInOrderByCreatedAtDesc(subscribedUserIds);
+        List<Post> posts = postRepository.findByUserIdInOrderByCreatedAtDesc(authorIds);
 
-        return posts.stream()
+        List<Post> visiblePosts = posts.stream()
                 .filter(post -> !post.getHidden() || post.getUser().getId().equals(principal.getId()))
-                .map(post -> mapToPostResponse(post, principal.getId()))
                 .collect(Collectors.toList());
+        return mapToPostResponses(visiblePosts, principal.getId());
     }
 
     @Transactional
@@ -173,6 +227,8 @@ public class PostService {
             notificationService.notifyNewLike(post.getUser(), user, post);
         }
 
+        eventPublisher.publishEvent(new PostChangedEvent(postId));
+
         // Re-fetch to get updated counts
         Post updatedPost = postRepository.findById(postId)
                 .orElseThrow(() -> new PostNotFoundException(postId));
@@ -191,41 +247,125 @@ public class PostService {
         if (user.getBanned()) {
             throw new BannedUserException("Banned users cannot comment");
         }
+        if (user.isRestrictedAt(LocalDateTime.now())) {
+            throw new RestrictedUserException("Commenting is restricted until " + user.getRestrictedUntil());
+        }
+
+        Comment parent = null;
+        if (request.getParentId() != null) {
+            parent = findReplyParent(request.getParentId(), postId);
+        }
 
         Comment comment = new Comment();
         comment.setContent(request.getContent());
         comment.setUser(user);
         comment.setPost(post);
+        comment.setParentId(parent != null ? parent.getId() : null);
+        comment.setDepth(parent != null ? parent.getDepth() + 1 : 0);
 
         Comment savedComment = commentRepository.save(comment);
 
+        // The path ends with the generated id, so it is filled in once the row exists
+        String parentPath = parent != null ? parent.getPath() : "";
+        savedComment.setPath(parentPath + pathSegment(savedComment.getId()));
+        savedComment.setRootId(parent != null ? parent.getRootId() : savedComment.getId());
+        if (parent != null) {
+            commentRepository.adjustReplyCounts(savedComment.ancestorIds(), 1);
+        }
+
         // Create notification for post owner
         notificationService.notifyNewComment(post.getUser(), user, post);
+        eventPublisher.publishEvent(new PostChangedEvent(postId));
 
-        return new CommentResponse(
-                savedComment.getId(),
-                savedComment.getContent(),
-                user.getId(),
-                user.getUsername(),
-                user.getDisplayName(),
-                savedComment.getCreatedAt()
-        );
+        return mapToCommentResponse(savedComment, authorSummaryCache.get(user));
     }
 
-    public List<CommentResponse> getComments(Long postId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new PostNotFoundException(postId));
+    public CursorPageResponse<CommentResponse> getComments(Long postId, String cursor, int limit, String order,
+                                                           int replies) {
+        if (!postRepository.existsById(postId)) {
+            throw new PostNotFoundException(postId);
+        }
+
+        boolean oldestFirst = parseCommentOrder(order);
+        int pageSize = Math.max(1, Math.min(limit, MAX_COMMENT_PAGE_SIZE));
+        int previewSize = Math.max(0, Math.min(replies, MAX_PREVIEW_REPLIES));
+        Long position = Cursors.decodeId(cursor);
+        // One extra row tells whether another page follows
+        PageRequest page = PageRequest.of(0, pageSize + 1);
 
-        return post.getComments().stream()
-                .map(comment -> new CommentResponse(
-                        comment.getId(),
-                        comment.getContent(),
-                        comment.getUser().getId(),
-                        comment.getUser().getUsername(),
-                        comment.getUser().getDisplayName(),
-                        comment.getCreatedAt()
-                ))
+        List<Comment> roots = oldestFirst
+                ? commentRepository.findRootPageOldestFirst(postId, position != null ? position : 0L, page)
+                : commentRepository.findRootPageNewestFirst(postId, position != null ? position : Long.MAX_VALUE, page);
+
+        boolean hasMore = roots.size() > pageSize;
+        if (hasMore) {
+            roots = roots.subList(0, pageSize);
+        }
+
+        // Top-level comments are their own thread roots, so one ranked query brings the first replies of each
+        List<Long> threadIds = roots.stream()
+                .filter(root -> root.getReplyCount() > 0)
+                .map(Comment::getId)
+                .collect(Collectors.toList());
+        List<Comment> previews = previewSize > 0 && !threadIds.isEmpty()
+                ? commentRepository.findReplyPreviews(threadIds, previewSize)
+                : List.of();
+
+        List<User> users = new ArrayList<>();
+        roots.forEach(root -> users.add(root.getUser()));
+        previews.forEach(reply -> users.add(reply.getUser()));
+        Map<Long, AuthorSummary> authors = authorSummaryCache.getAll(users);
+
+        Map<Long, List<CommentResponse>> repliesByThread = new HashMap<>();
+        for (Comment reply : previews) {
+            repliesByThread.computeIfAbsent(reply.getRootId(), id -> new ArrayList<>())
+                    .add(mapToCommentResponse(reply, authors.get(reply.getUser().getId())));
+        }
+
+        List<CommentResponse> items = new ArrayList<>();
+        for (Comment root : roots) {
+            CommentResponse response = mapToCommentResponse(root, authors.get(root.getUser().getId()));
+            if (previewSize > 0) {
+                response.setReplies(repliesByThread.getOrDefault(root.getId(), new ArrayList<>()));
+            }
+            items.add(response);
+        }
+
+        String nextCursor = hasMore ? Cursors.encode(roots.get(roots.size() - 1).getId()) : null;
+        return new CursorPageResponse<>(items, nextCursor, hasMore);
+    }
+
+    public CursorPageResponse<CommentResponse> getReplies(Long commentId, String cursor, int limit) {
+        Comment comment = commentRepository.findById(commentId)
+                .orElseThrow(() -> new CommentNotFoundException(commentId));
+
+        // Comments from before threading have no path and can't have replies yet
+        if (comment.getPath() == null) {
+            return new CursorPageResponse<>(new ArrayList<>(), null, false);
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_COMMENT_PAGE_SIZE));
+        String after = cursor != null && !cursor.isBlank() ? Cursors.decode(cursor) : comment.getPath();
+        if (!after.startsWith(comment.getPath())) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+
+        List<Comment> replies = commentRepository.findSubtreePage(
+                comment.getRootId(), comment.getPath() + "%", after, PageRequest.of(0, pageSize + 1));
+
+        boolean hasMore = replies.size() > pageSize;
+        if (hasMore) {
+            replies = replies.subList(0, pageSize);
+        }
+
+        Map<Long, AuthorSummary> authors = authorSummaryCache.getAll(
+                replies.stream().map(Comment::getUser).collect(Collectors.toList()));
+        List<CommentResponse> items = replies.stream()
+                .map(reply -> mapToCommentResponse(reply, authors.get(reply.getUser().getId())))
                 .collect(Collectors.toList());
+
+        String nextCursor = hasMore ? Cursors.encode(replies.get(replies.size() - 1).getPath()) : null;
+        return new CursorPageResponse<>(items, nextCursor, hasMore);
     }
 
     @Transactional
@@ -238,29 +378,219 @@ public class PostService {
             throw new ForbiddenException("You can only delete your own comments");
         }
 
-        commentRepository.delete(comment);
+        LocalDateTime now = LocalDateTime.now();
+        if (comment.getPath() == null) {
+            commentRepository.markDeleted(commentId, now);
+        } else {
+            // Replies go with the comment they answer, and every ancestor loses the whole subtree
+            int removed = commentRepository.markSubtreeDeleted(comment.getRootId(), comment.getPath() + "%", now);
+            List<Long> ancestors = comment.ancestorIds();
+            if (!ancestors.isEmpty() && removed > 0) {
+                commentRepository.adjustReplyCounts(ancestors, -removed);
+            }
+        }
+        eventPublisher.publishEvent(new PostChangedEvent(comment.getPost().getId()));
     }
 
-    private PostResponse mapToPostResponse(Post post, Long currentUserId) {
-        Boolean isLiked = false;
-        if (currentUserId != null) {
-            isLiked = likeRepository.existsByUserIdAndPostId(currentUserId, post.getId());
+    // Weak validators for the public read endpoints, built from version columns and counts only
+
+    public String getPostETag(Long postId, Authentication authentication) {
+        PostVersion version = postRepository.findVersionById(postId)
+                .orElseThrow(() -> new PostNotFoundException(postId));
+
+        Long currentUserId = getCurrentUserId(authentication);
+        Set<Long> likedIds = currentUserId != null && likeRepository.existsByUserIdAndPostId(currentUserId, postId)
+                ? Set.of(postId) : Set.of();
+        return postsETag("post", currentUserId, List.of(version), likedIds);
+    }
+
+    public String getUserPostsETag(Long userId, Authentication authentication) {
+        if (!userRepository.existsById(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+
+        Long currentUserId = getCurrentUserId(authentication);
+        Set<Long> likedIds = currentUserId != null
+                ? new HashSet<>(postRepository.findIdsLikedByUser(userId, currentUserId)) : Set.of();
+        return postsETag("user-posts", currentUserId, postRepository.findVersionsByUserId(userId), likedIds);
+    }
+
+    // Two index lookups whatever the thread size; commenter profile edits bump the post's comments version
+    public String getCommentsETag(Long postId) {
+        Long commentsVersion = postRepository.findCommentsVersionById(postId)
+                .orElseThrow(() -> new PostNotFoundException(postId));
+
+        CommentsVersion version = commentRepository.findVersionByPostId(postId);
+        return weakETag("comments:" + postId + ':' + version.getCount() + ':' + version.getLastId()
+                + ':' + commentsVersion);
+    }
+
+    private String postsETag(String kind, Long currentUserId, List<PostVersion> versions, Set<Long> likedIds) {
+        StringBuilder fingerprint = new StringBuilder(kind)
+                .append(':').append(currentUserId);
+        Map<Long, AuthorSummary> authors = authorSummaryCache.getAllByIds(
+                versions.stream().map(PostVersion::getUserId).collect(Collectors.toSet()));
+        for (PostVersion version : versions) {
+            fingerprint.append('|').append(version.getId())
+                    .append(',').append(version.getUpdatedAt())
+                    .append(',').append(version.getHidden())
+                    .append(',').append(version.getLikeCount())
+                    .append(',').append(version.getCommentCount())
+                    .append(',').append(likedIds.contains(version.getId()))
+                    .append(',').append(Objects.hashCode(authors.get(version.getUserId())));
+            if ("IMAGE".equals(version.getMediaType())) {
+                fingerprint.append(',').append(imageDerivativeService.findVariants(version.getMediaUrl()).keySet());
+            }
+        }
+        return weakETag(fingerprint.toString());
+    }
+
+    private static String weakETag(String fingerprint) {
+        return "W/\"" + DigestUtils.md5DigestAsHex(fingerprint.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // A cached summary embeds its author's details and its image variants, stale once either changes
+    private boolean isCurrent(PostResponse summary) {
+        AuthorSummary embedded = new AuthorSummary(summary.getUserId(), summary.getUsername(),
+                summary.getUserDisplayName(), summary.getUserAvatarUrl());
+        if (!embedded.equals(authorSummaryCache.get(summary.getUserId()))) {
+            return false;
         }
+        return !"IMAGE".equals(summary.getMediaType())
+                || imageDerivativeService.findVariants(summary.getMediaUrl()).equals(summary.getMediaVariants());
+    }
+
+    private PostResponse copyOf(PostResponse summary) {
+        PostResponse response = new PostResponse(
+                summary.getId(),
+                summary.getContent(),
+                summary.getMediaUrl(),
+                summary.getMediaType(),
+                summary.getUserId(),
+                summary.getUsername(),
+                summary.getUserDisplayName(),
+                summary.getLikeCount(),
+                summary.getCommentCount(),
+                summary.getLikedByCurrentUser(),
+                summary.getHidden(),
+                summary.getCreatedAt(),
+                summary.getUpdatedAt()
+        );
+        response.setUserAvatarUrl(summary.getUserAvatarUrl());
+        response.setMediaVariants(new LinkedHashMap<>(summary.getMediaVariants()));
+        return response;
+    }
+
+    private Long getCurrentUserId(Authentication authentication) {
+        if (authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    private List<PostResponse> mapToPostResponses(List<Post> posts, Long currentUserId) {
+        if (posts.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // Resolve authors, counts and the viewer's likes up front so rows don't each initialise their
+        // lazy user and collections or check their own like
+        Map<Long, AuthorSummary> authors = authorSummaryCache.getAll(
+                posts.stream().map(Post::getUser).collect(Collectors.toList()));
+        List<Long> postIds = posts.stream().map(Post::getId).collect(Collectors.toList());
+        Map<Long, PostCounts> counts = findCounts(postIds);
+        Set<Long> likedIds = currentUserId != null
+                ? new HashSet<>(likeRepository.findPostIdsLikedBy(currentUserId, postIds)) : Set.of();
 
-        return new PostResponse(
+        return posts.stream()
+                .map(post -> mapToPostResponse(post, authors.get(post.getUser().getId()),
+                        counts.get(post.getId()), likedIds.contains(post.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private PostResponse mapToPostResponse(Post post, Long currentUserId) {
+        boolean isLiked = currentUserId != null
+                && likeRepository.existsByUserIdAndPostId(currentUserId, post.getId());
+        return mapToPostResponse(post, authorSummaryCache.get(post.getUser()),
+                findCounts(List.of(post.getId())).get(post.getId()), isLiked);
+    }
+
+    private Map<Long, PostCounts> findCounts(List<Long> postIds) {
+        return postRepository.findCountsByIds(postIds).stream()
+                .collect(Collectors.toMap(PostCounts::getId, Function.identity()));
+    }
+
+    private PostResponse mapToPostResponse(Post post, AuthorSummary author, PostCounts counts, boolean isLiked) {
+        PostResponse response = new PostResponse(
                 post.getId(),
                 post.getContent(),
                 post.getMediaUrl(),
                 post.getMediaType(),
-                post.getUser().getId(),
-                post.getUser().getUsername(),
-                post.getUser().getDisplayName(),
-                post.getLikes().size(),
-                post.getComments().size(),
+                author.getId(),
+                author.getUsername(),
+                author.getDisplayName(),
+                counts != null ? counts.getLikeCount() : 0,
+                counts != null ? counts.getCommentCount() : 0,
                 isLiked,
                 post.getHidden(),
                 post.getCreatedAt(),
                 post.getUpdatedAt()
         );
+        response.setUserAvatarUrl(author.getAvatarUrl());
+
+        if ("IMAGE".equals(post.getMediaType())) {
+            response.setMediaVariants(imageDerivativeService.findVariants(post.getMediaUrl()));
+        }
+        return response;
+    }
+
+    private boolean parseCommentOrder(String order) {
+        if (order == null || order.isBlank() || "newest".equalsIgnoreCase(order)) {
+            return false;
+        }
+        if ("oldest".equalsIgnoreCase(order)) {
+            return true;
+        }
+        throw new InvalidRequestException("Unknown comment order: " + order);
+    }
+
+    private Comment findReplyParent(Long parentId, Long postId) {
+        Comment parent = commentRepository.findById(parentId)
+                .orElseThrow(() -> new CommentNotFoundException(parentId));
+
+        if (!parent.getPost().getId().equals(postId)) {
+            throw new InvalidRequestException("Replies must be on the same post as their parent comment");
+        }
+        if (parent.getDepth() >= MAX_REPLY_DEPTH) {
+            throw new InvalidRequestException("Replies can be nested at most " + MAX_REPLY_DEPTH + " levels deep");
+        }
+        // Comments from before threading become roots the first time someone replies
+        if (parent.getPath() == null) {
+            parent.setPath(pathSegment(parent.getId()));
+            parent.setRootId(parent.getId());
+        }
+        return parent;
+    }
+
+    // Fixed-width segments keep path order equal to thread order under any collation
+    private static String pathSegment(Long id) {
+        return String.format("%012d/", id);
+    }
+
+    private CommentResponse mapToCommentResponse(Comment comment, AuthorSummary author) {
+        CommentResponse response = new CommentResponse(
+                comment.getId(),
+                comment.getContent(),
+                author.getId(),
+                author.getUsername(),
+                author.getDisplayName(),
+                comment.getCreatedAt()
+        );
+        response.setUserAvatarUrl(author.getAvatarUrl());
+        response.setParentId(comment.getParentId());
+        response.setDepth(comment.getDepth());
+        response.setReplyCount(comment.getReplyCount());
+        return response;
     }
 }
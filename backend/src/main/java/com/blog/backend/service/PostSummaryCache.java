@@ -0,0 +1,173 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.post.PostResponse;
+import com.blog.backend.event.PostChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the viewer-independent part of a post's response, keyed by post id.
+ * Concurrent misses for the same post share a single load, and entries are refreshed a little
+ * before they expire with a probability that grows towards expiry (XFetch), so a hot post never
+ * has all its readers miss at once. Changes evict the entry once their transaction commits.
+ */
+@Service
+public class PostSummaryCache {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Load> loads = new ConcurrentHashMap<>();
+
+    @Value("${post-cache.ttl:30s}")
+    private Duration ttl;
+
+    @Value("${post-cache.max-entries:10000}")
+    private int maxEntries;
+
+    // Higher values refresh earlier; 1.0 is the usual XFetch setting
+    @Value("${post-cache.early-refresh-beta:1.0}")
+    private double earlyRefreshBeta;
+
+    public PostSummaryCache(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("post.cache.entries", Tags.empty(), entries);
+    }
+
+    /**
+     * Returns the cached summary, shared between callers and not to be modified. Entries whose
+     * embedded author details or image variants no longer pass isCurrent count as misses.
+     */
+    public PostResponse get(Long postId, Predicate<PostResponse> isCurrent, Supplier<PostResponse> loader) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(postId);
+
+        if (entry != null && entry.isFresh(now) && isCurrent.test(entry.value)) {
+            if (!shouldRefreshEarly(entry, now)) {
+                record("hit");
+                return entry.value;
+            }
+            Load refresh = new Load();
+            if (loads.putIfAbsent(postId, refresh) != null) {
+                // Someone else is already refreshing, keep serving the current value
+                record("hit");
+                return entry.value;
+            }
+            record("early_refresh");
+            return load(postId, refresh, loader);
+        }
+
+        Load load = new Load();
+        Load inFlight = loads.putIfAbsent(postId, load);
+        if (inFlight != null) {
+            record("coalesced");
+            return await(inFlight);
+        }
+        record("miss");
+        return load(postId, load, loader);
+    }
+
+    public void invalidate(Long postId) {
+        Load inFlight = loads.remove(postId);
+        if (inFlight != null) {
+            // A load that started before the change must not repopulate the entry
+            inFlight.obsolete = true;
+        }
+        entries.remove(postId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        invalidate(event.getPostId());
+    }
+
+    @Scheduled(fixedDelayString = "${post-cache.eviction-interval:60000}")
+    public void evictExpired() {
+        long now = System.nanoTime();
+        entries.values().removeIf(entry -> now - entry.expiresAtNanos >= 0);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private PostResponse load(Long postId, Load load, Supplier<PostResponse> loader) {
+        long start = System.nanoTime();
+        try {
+            PostResponse value = loader.get();
+            long end = System.nanoTime();
+            if (!load.obsolete && (entries.size() < maxEntries || entries.containsKey(postId))) {
+                Entry entry = new Entry(value, end + ttl.toNanos(), end - start);
+                entries.put(postId, entry);
+                // Checked after the put so an invalidation racing with it can't be lost
+                if (load.obsolete) {
+                    entries.remove(postId, entry);
+                }
+            }
+            load.result.complete(value);
+            return value;
+        } catch (RuntimeException ex) {
+            load.result.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loads.remove(postId, load);
+        }
+    }
+
+    private boolean shouldRefreshEarly(Entry entry, long now) {
+        double random = ThreadLocalRandom.current().nextDouble();
+        // -ln(random) is exponentially distributed, so the chance rises sharply near expiry
+        double headStartNanos = -entry.loadNanos * earlyRefreshBeta * Math.log(random);
+        return now + headStartNanos >= entry.expiresAtNanos;
+    }
+
+    private PostResponse await(Load load) {
+        try {
+            return load.result.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void record(String outcome) {
+        meterRegistry.counter("post.cache.requests", "outcome", outcome).increment();
+    }
+
+    private static class Entry {
+
+        private final PostResponse value;
+        private final long expiresAtNanos;
+        private final long loadNanos;
+
+        Entry(PostResponse value, long expiresAtNanos, long loadNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+            this.loadNanos = loadNanos;
+        }
+
+        boolean isFresh(long now) {
+            return now - expiresAtNanos < 0;
+        }
+    }
+
+    private static class Load {
+
+        private final CompletableFuture<PostResponse> result = new CompletableFuture<>();
+        private volatile boolean obsolete;
+    }
+}
@@ -0,0 +1,164 @@
+package com.blog.backend.service;
+
+import com.blog.backend.config.RateLimitProperties;
+import com.blog.backend.config.RateLimitProperties.Policy;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class RateLimitService {
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimitService(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("ratelimit.buckets", Tags.empty(), buckets);
+    }
+
+    public Policy resolvePolicy(String method, String path) {
+        for (Policy policy : properties.getPolicies()) {
+            if (matches(policy, method, path)) {
+                return policy;
+            }
+        }
+        Policy defaultPolicy = properties.getDefaultPolicy();
+        if (defaultPolicy != null && matches(defaultPolicy, method, path)) {
+            return defaultPolicy;
+        }
+        return null;
+    }
+
+    public Decision tryConsume(Policy policy, String clientKey) {
+        return tryConsume(policy, clientKey, System.nanoTime());
+    }
+
+    Decision tryConsume(Policy policy, String clientKey, long nowNanos) {
+        TokenBucket bucket = buckets.computeIfAbsent(policy.getName() + ":" + clientKey,
+                key -> new TokenBucket(policy.getCapacity(), policy.getRefillPeriod().toNanos()));
+        Decision decision = bucket.tryConsume(nowNanos);
+
+        meterRegistry.counter("ratelimit.requests",
+                "policy", policy.getName(),
+                "outcome", decision.isAllowed() ? "allowed" : "rejected").increment();
+
+        return decision;
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        long idleNanos = properties.getIdleEviction().toNanos();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private boolean matches(Policy policy, String method, String path) {
+        if (!policy.getMethods().isEmpty() && policy.getMethods().stream().noneMatch(method::equalsIgnoreCase)) {
+            return false;
+        }
+        return pathMatcher.match(policy.getPattern(), path);
+    }
+
+    /**
+     * Token bucket expressed as a generic cell rate algorithm: the whole bucket state is the
+     * "theoretical arrival time" of the next token, so a single CAS on one long is enough.
+     */
+    static class TokenBucket {
+
+        private final long capacity;
+        private final long emissionIntervalNanos;
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+        TokenBucket(long capacity, long refillPeriodNanos) {
+            this.capacity = capacity;
+            this.emissionIntervalNanos = Math.max(1, refillPeriodNanos / capacity);
+        }
+
+        Decision tryConsume(long now) {
+            long burstNanos = capacity * emissionIntervalNanos;
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long base = tat == Long.MIN_VALUE || tat < now ? now : tat;
+                long newTat = base + emissionIntervalNanos;
+                long allowAt = newTat - burstNanos;
+
+                if (now < allowAt) {
+                    long resetNanos = (tat == Long.MIN_VALUE ? now : tat) - now;
+                    return Decision.rejected(capacity, resetNanos, allowAt - now);
+                }
+                if (theoreticalArrival.compareAndSet(tat, newTat)) {
+                    long remaining = (now - allowAt) / emissionIntervalNanos;
+                    return Decision.allowed(capacity, remaining, newTat - now);
+                }
+            }
+        }
+
+        boolean isIdle(long now, long idleNanos) {
+            long tat = theoreticalArrival.get();
+            return tat == Long.MIN_VALUE || now - tat > idleNanos;
+        }
+    }
+
+    public static class Decision {
+
+        private final boolean allowed;
+        private final long limit;
+        private final long remaining;
+        private final long resetNanos;
+        private final long retryAfterNanos;
+
+        private Decision(boolean allowed, long limit, long remaining, long resetNanos, long retryAfterNanos) {
+            this.allowed = allowed;
+            this.limit = limit;
+            this.remaining = remaining;
+            this.resetNanos = resetNanos;
+            this.retryAfterNanos = retryAfterNanos;
+        }
+
+        static Decision allowed(long limit, long remaining, long resetNanos) {
+            return new Decision(true, limit, remaining, resetNanos, 0);
+        }
+
+        static Decision rejected(long limit, long resetNanos, long retryAfterNanos) {
+            return new Decision(false, limit, 0, resetNanos, retryAfterNanos);
+        }
+
+        public boolean isAllowed() {
+            return allowed;
+        }
+
+        public long getLimit() {
+            return limit;
+        }
+
+        public long getRemaining() {
+            return remaining;
+        }
+
+        public long getResetSeconds() {
+            return toCeilSeconds(resetNanos);
+        }
+
+        public long getRetryAfterSeconds() {
+            return toCeilSeconds(retryAfterNanos);
+        }
+
+        private static long toCeilSeconds(long nanos) {
+            return (nanos + 999_999_999L) / 1_000_000_000L;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.blog.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Rendered JSON for anonymous reads, keyed by resource and only served while its ETag is
+ * current. Least recently used entries are dropped once the total size passes the limit.
+ */
+@Service
+public class ResponseBodyCache {
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long totalBytes;
+
+    @Value("${response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${response-cache.max-size:16MB}")
+    private DataSize maxSize;
+
+    public ResponseBodyCache(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("response.cache.bytes", this, cache -> cache.size());
+    }
+
+    public byte[] getOrRender(String key, String etag, Supplier<?> renderer) {
+        if (enabled) {
+            synchronized (this) {
+                Entry entry = entries.get(key);
+                if (entry != null && entry.etag.equals(etag)) {
+                    meterRegistry.counter("response.cache.requests", "outcome", "hit").increment();
+                    return entry.body;
+                }
+            }
+        }
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(renderer.get());
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (enabled) {
+            meterRegistry.counter("response.cache.requests", "outcome", "miss").increment();
+            store(key, new Entry(etag, body));
+        }
+        return body;
+    }
+
+    synchronized long size() {
+        return totalBytes;
+    }
+
+    private synchronized void store(String key, Entry entry) {
+        long limit = maxSize.toBytes();
+        if (entry.body.length > limit) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        totalBytes += entry.body.length - (previous != null ? previous.body.length : 0);
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (totalBytes > limit && eldest.hasNext()) {
+            totalBytes -= eldest.next().body.length;
+            eldest.remove();
+        }
+    }
+
+    private static class Entry {
+
+        private final String etag;
+        private final byte[] body;
+
+        Entry(String etag, byte[] body) {
+            this.etag = etag;
+            this.body = body;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.admin.StorageMigrationResponse;
+import com.blog.backend.storage.ShardedLocalStorageBackend;
+import com.blog.backend.storage.StorageBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Moves files from the old flat uploads directory into shard directories, one batch at a time, on the
+// storage task pool so the media workers stay free for thumbnails and transcodes
+@Service
+public class StorageMigrationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StorageMigrationService.class);
+
+    private final StorageBackend storageBackend;
+    private final TaskExecutor taskExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong migratedFiles = new AtomicLong();
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String lastError;
+
+    @Value("${file.storage.migration.batch-size:500}")
+    private int batchSize;
+
+    // Pause between batches so a large migration does not saturate the disk
+    @Value("${file.storage.migration.batch-pause-ms:200}")
+    private long batchPauseMillis;
+
+    public StorageMigrationService(StorageBackend storageBackend,
+                                   @Qualifier("storageTaskExecutor") TaskExecutor taskExecutor) {
+        this.storageBackend = storageBackend;
+        this.taskExecutor = taskExecutor;
+    }
+
+    public StorageMigrationResponse startMigration() {
+        if (storageBackend instanceof ShardedLocalStorageBackend && running.compareAndSet(false, true)) {
+            migratedFiles.set(0);
+            startedAt = LocalDateTime.now();
+            finishedAt = null;
+            lastError = null;
+            try {
+                taskExecutor.execute(this::runMigration);
+            } catch (TaskRejectedException ex) {
+                // Otherwise the flag would stay set and block every later start until a restart
+                logger.warn("Storage task queue is full, migration not started");
+                lastError = "Storage task queue is full";
+                finishedAt = LocalDateTime.now();
+                running.set(false);
+            }
+        }
+        return getStatus();
+    }
+
+    public StorageMigrationResponse getStatus() {
+        return new StorageMigrationResponse(
+                storageBackend instanceof ShardedLocalStorageBackend,
+                running.get(),
+                migratedFiles.get(),
+                startedAt,
+                finishedAt,
+                lastError
+        );
+    }
+
+    void runMigration() {
+        ShardedLocalStorageBackend sharded = (ShardedLocalStorageBackend) storageBackend;
+        try {
+            int moved;
+            do {
+                moved = sharded.migrateLegacyFiles(batchSize);
+                migratedFiles.addAndGet(moved);
+                if (moved > 0 && batchPauseMillis > 0) {
+                    Thread.sleep(batchPauseMillis);
+                }
+            } while (moved > 0);
+            logger.info("Storage migration finished, {} files moved into shard directories", migratedFiles.get());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            lastError = "Interrupted";
+        } catch (Exception ex) {
+            logger.error("Storage migration failed after {} files", migratedFiles.get(), ex);
+            lastError = ex.getMessage();
+        } finally {
+            finishedAt = LocalDateTime.now();
+            running.set(false);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.blog.backend.service;
+
+import com.blog.backend.repository.SubscriptionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The whole follower graph in memory as two adjacency maps, user id to a sorted array of the ids
+ * they follow and of the ids following them. Membership is a binary search and fan-out walks a
+ * single array, so feeds, post notifications and subscribe buttons never query the subscriptions
+ * table. Arrays are copy-on-write under one writer lock and readers take no lock at all.
+ * Subscribes and unsubscribes apply after commit; a periodic rebuild from the table bounds the
+ * drift from changes made on other instances. Until the first load finishes, reads go to the
+ * database.
+ */
+@Service
+public class SubscriptionGraph {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubscriptionGraph.class);
+
+    private static final long[] EMPTY = new long[0];
+
+    private final SubscriptionRepository subscriptionRepository;
+    private final Object writeLock = new Object();
+
+    private volatile Adjacency current;
+    // Edits committed while a rebuild reads the table, replayed onto the new graph; guarded by writeLock
+    private List<Edit> pendingEdits;
+
+    @Value("${subscription-graph.enabled:true}")
+    private boolean enabled;
+
+    @Value("${subscription-graph.load-batch-size:10000}")
+    private int loadBatchSize;
+
+    public SubscriptionGraph(SubscriptionRepository subscriptionRepository, MeterRegistry meterRegistry) {
+        this.subscriptionRepository = subscriptionRepository;
+        meterRegistry.gauge("subscription.graph.edges", this, graph -> graph.edgeCount());
+    }
+
+    public boolean isSubscribed(Long subscriberId, Long subscribedToId) {
+        Adjacency adjacency = current;
+        if (adjacency == null) {
+            return subscriptionRepository.existsBySubscriberIdAndSubscribedToId(subscriberId, subscribedToId);
+        }
+        return Arrays.binarySearch(adjacency.following.getOrDefault(subscriberId, EMPTY), subscribedToId) >= 0;
+    }
+
+    // Ids the user follows, ascending. The array is shared and must not be modified
+    public long[] getFollowing(Long userId) {
+        Adjacency adjacency = current;
+        if (adjacency == null) {
+            return toSortedArray(subscriptionRepository.findSubscribedToIds(userId));
+        }
+        return adjacency.following.getOrDefault(userId, EMPTY);
+    }
+
+    // Ids following the user, ascending. The array is shared and must not be modified
+    public long[] getFollowers(Long userId) {
+        Adjacency adjacency = current;
+        if (adjacency == null) {
+            return toSortedArray(subscriptionRepository.findSubscriberIds(userId));
+        }
+        return adjacency.followers.getOrDefault(userId, EMPTY);
+    }
+
+    public void onSubscribed(Long subscriberId, Long subscribedToId) {
+        afterCommit(new Edit(subscriberId, subscribedToId, true));
+    }
+
+    public void onUnsubscribed(Long subscriberId, Long subscribedToId) {
+        afterCommit(new Edit(subscriberId, subscribedToId, false));
+    }
+
+    // Called once a purged account's subscription rows are gone
+    public void removeUser(Long userId) {
+        synchronized (writeLock) {
+            Adjacency adjacency = current;
+            if (adjacency == null) {
+                return;
+            }
+            for (long subscribedToId : adjacency.following.getOrDefault(userId, EMPTY)) {
+                apply(new Edit(userId, subscribedToId, false));
+            }
+            for (long subscriberId : adjacency.followers.getOrDefault(userId, EMPTY)) {
+                apply(new Edit(subscriberId, userId, false));
+            }
+        }
+    }
+
+    // Runs once at startup, then rebuilds the graph from the table at a fixed delay
+    @Scheduled(initialDelayString = "${subscription-graph.initial-delay:0}",
+            fixedDelayString = "${subscription-graph.refresh-interval:900000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        synchronized (writeLock) {
+            pendingEdits = new ArrayList<>();
+        }
+        try {
+            Adjacency loaded = load();
+            synchronized (writeLock) {
+                pendingEdits.forEach(loaded::apply);
+                current = loaded;
+            }
+            logger.info("Subscription graph loaded, {} edges over {} users in {} ms", loaded.edges.get(),
+                    loaded.following.size(), System.currentTimeMillis() - startedAt);
+        } catch (RuntimeException ex) {
+            // The previous graph, or the database when there is none, keeps serving reads
+            logger.error("Subscription graph refresh failed", ex);
+        } finally {
+            synchronized (writeLock) {
+                pendingEdits = null;
+            }
+        }
+    }
+
+    long edgeCount() {
+        Adjacency adjacency = current;
+        return adjacency != null ? adjacency.edges.get() : 0;
+    }
+
+    private Adjacency load() {
+        Map<Long, IdList> following = new HashMap<>();
+        Map<Long, IdList> followers = new HashMap<>();
+        Pageable batch = PageRequest.of(0, loadBatchSize);
+        long after = 0;
+        long edges = 0;
+
+        while (true) {
+            List<SubscriptionRepository.Edge> page = subscriptionRepository.findEdgesAfter(after, batch);
+            for (SubscriptionRepository.Edge edge : page) {
+                following.computeIfAbsent(edge.getSubscriberId(), id -> new IdList()).add(edge.getSubscribedToId());
+                followers.computeIfAbsent(edge.getSubscribedToId(), id -> new IdList()).add(edge.getSubscriberId());
+            }
+            edges += page.size();
+            if (page.size() < loadBatchSize) {
+                break;
+            }
+            after = page.get(page.size() - 1).getId();
+        }
+        return new Adjacency(freeze(following), freeze(followers), edges);
+    }
+
+    private void afterCommit(Edit edit) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyLocked(edit);
+            return;
+        }
+        // A rolled back subscribe must never show up in the graph
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyLocked(edit);
+            }
+        });
+    }
+
+    private void applyLocked(Edit edit) {
+        synchronized (writeLock) {
+            apply(edit);
+        }
+    }
+
+    private void apply(Edit edit) {
+        Adjacency adjacency = current;
+        if (adjacency != null) {
+            adjacency.apply(edit);
+        }
+        if (pendingEdits != null) {
+            pendingEdits.add(edit);
+        }
+    }
+
+    private static Map<Long, long[]> freeze(Map<Long, IdList> lists) {
+        Map<Long, long[]> frozen = new ConcurrentHashMap<>(Math.max(16, lists.size() * 4 / 3 + 1));
+        lists.forEach((userId, ids) -> frozen.put(userId, ids.toSortedArray()));
+        return frozen;
+    }
+
+    private static long[] toSortedArray(List<Long> ids) {
+        long[] array = ids.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(array);
+        return array;
+    }
+
+    private static class Adjacency {
+
+        private final Map<Long, long[]> following;
+        private final Map<Long, long[]> followers;
+        private final AtomicLong edges;
+
+        Adjacency(Map<Long, long[]> following, Map<Long, long[]> followers, long edges) {
+            this.following = following;
+            this.followers = followers;
+            this.edges = new AtomicLong(edges);
+        }
+
+        // Only ever called under the writer lock, so a read-modify-write per key is safe
+        void apply(Edit edit) {
+            if (edit.added) {
+                if (insert(following, edit.subscriberId, edit.subscribedToId)) {
+                    insert(followers, edit.subscribedToId, edit.subscriberId);
+                    edges.incrementAndGet();
+                }
+            } else if (remove(following, edit.subscriberId, edit.subscribedToId)) {
+                remove(followers, edit.subscribedToId, edit.subscriberId);
+                edges.decrementAndGet();
+            }
+        }
+
+        private static boolean insert(Map<Long, long[]> lists, Long userId, long id) {
+            long[] ids = lists.getOrDefault(userId, EMPTY);
+            int position = Arrays.binarySearch(ids, id);
+            if (position >= 0) {
+                return false;
+            }
+            int insertAt = -position - 1;
+            long[] updated = new long[ids.length + 1];
+            System.arraycopy(ids, 0, updated, 0, insertAt);
+            updated[insertAt] = id;
+            System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+            lists.put(userId, updated);
+            return true;
+        }
+
+        private static boolean remove(Map<Long, long[]> lists, Long userId, long id) {
+            long[] ids = lists.getOrDefault(userId, EMPTY);
+            int position = Arrays.binarySearch(ids, id);
+            if (position < 0) {
+                return false;
+            }
+            if (ids.length == 1) {
+                lists.remove(userId);
+                return true;
+            }
+            long[] updated = new long[ids.length - 1];
+            System.arraycopy(ids, 0, updated, 0, position);
+            System.arraycopy(ids, position + 1, updated, position, ids.length - position - 1);
+            lists.put(userId, updated);
+            return true;
+        }
+    }
+
+    private static class Edit {
+
+        private final Long subscriberId;
+        private final Long subscribedToId;
+        private final boolean added;
+
+        Edit(Long subscriberId, Long subscribedToId, boolean added) {
+            this.subscriberId = subscriberId;
+            this.subscribedToId = subscribedToId;
+            this.added = added;
+        }
+    }
+
+    // Growable primitive list, avoids boxing every id while the graph is loaded
+    private static class IdList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        long[] toSortedArray() {
+            long[] sorted = Arrays.copyOf(ids, size);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
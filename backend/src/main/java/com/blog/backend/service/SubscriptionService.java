@@ -9,6 +9,7 @@ import com.blog.backend.exception.NotSubscribedException;
 import com.blog.backend.exception.UserNotFoundException;
 import com.blog.backend.repository.SubscriptionRepository;
 import com.blog.backend.repository.UserRepository;
+import com.blog.backend.repository.UserStatsRepository;
 import com.blog.backend.security.UserPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
@@ -19,14 +20,20 @@ public class SubscriptionService {
 
     private final SubscriptionRepository subscriptionRepository;
     private final UserRepository userRepository;
+    private final UserStatsRepository userStatsRepository;
     private final NotificationService notificationService;
+    private final SubscriptionGraph subscriptionGraph;
 
     public SubscriptionService(SubscriptionRepository subscriptionRepository,
                                UserRepository userRepository,
-                               NotificationService notificationService) {
+                               UserStatsRepository userStatsRepository,
+                               NotificationService notificationService,
+                               SubscriptionGraph subscriptionGraph) {
         this.subscriptionRepository = subscriptionRepository;
         this.userRepository = userRepository;
+        this.userStatsRepository = userStatsRepository;
         this.notificationService = notificationService;
+        this.subscriptionGraph = subscriptionGraph;
     }
 
     @Transactional
@@ -57,6 +64,9 @@ public class SubscriptionService {
         subscription.setSubscribedTo(subscribedTo);
 
         subscriptionRepository.save(subscription);
+        userStatsRepository.adjustFollowingCount(currentUserId, 1);
+        userStatsRepository.adjustFollowerCount(userIdToSubscribe, 1);
+        subscriptionGraph.onSubscribed(currentUserId, userIdToSubscribe);
 
         // Create notification for the user being subscribed to
         notificationService.notifyNewSubscriber(subscribedTo, subscriber);
@@ -71,13 +81,19 @@ public class SubscriptionService {
             throw new NotSubscribedException();
         }
 
-        subscriptionRepository.deleteBySubscriberIdAndSubscribedToId(currentUserId, userIdToUnsubscribe);
+        long deleted = subscriptionRepository.deleteBySubscriberIdAndSubscribedToId(currentUserId, userIdToUnsubscribe);
+        // A concurrent unsubscribe may have removed the row first, only the one that did adjusts the counters
+        if (deleted > 0) {
+            userStatsRepository.adjustFollowingCount(currentUserId, -1);
+            userStatsRepository.adjustFollowerCount(userIdToUnsubscribe, -1);
+            subscriptionGraph.onUnsubscribed(currentUserId, userIdToUnsubscribe);
+        }
     }
 
     public Boolean isSubscribed(Long userIdToCheck, Authentication authentication) {
         UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
         Long currentUserId = principal.getId();
 
-        return subscriptionRepository.existsBySubscriberIdAndSubscribedToId(currentUserId, userIdToCheck);
+        return subscriptionGraph.isSubscribed(currentUserId, userIdToCheck);
     }
 }
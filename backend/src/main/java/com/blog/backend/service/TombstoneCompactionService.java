@@ -0,0 +1,166 @@
+package com.blog.backend.service;
+
+import com.blog.backend.enums.ReportTargetType;
+import com.blog.backend.repository.CommentRepository;
+import com.blog.backend.repository.LikeRepository;
+import com.blog.backend.repository.NotificationRepository;
+import com.blog.backend.repository.PostRepository;
+import com.blog.backend.repository.ReportCaseRepository;
+import com.blog.backend.repository.ReportRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Physically removes posts and comments that were deleted by tombstoning. Rows are taken in
+ * bounded batches, each batch a select of ids plus one set-based delete in its own short
+ * transaction, so a post with a large following never turns into one long cascade. Posts go
+ * last, after their notifications, likes, comments and reports.
+ */
+@Service
+public class TombstoneCompactionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TombstoneCompactionService.class);
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final LikeRepository likeRepository;
+    private final NotificationRepository notificationRepository;
+    private final ReportRepository reportRepository;
+    private final ReportCaseRepository reportCaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${compaction.enabled:true}")
+    private boolean enabled;
+
+    // Requests that loaded a row just before it was tombstoned have long finished by then
+    @Value("${compaction.grace-period:1h}")
+    private Duration gracePeriod;
+
+    @Value("${compaction.batch-size:500}")
+    private int batchSize;
+
+    @Value("${compaction.batch-pause-ms:50}")
+    private long batchPauseMillis;
+
+    public TombstoneCompactionService(PostRepository postRepository,
+                                      CommentRepository commentRepository,
+                                      LikeRepository likeRepository,
+                                      NotificationRepository notificationRepository,
+                                      ReportRepository reportRepository,
+                                      ReportCaseRepository reportCaseRepository,
+                                      TransactionTemplate transactionTemplate,
+                                      MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.likeRepository = likeRepository;
+        this.notificationRepository = notificationRepository;
+        this.reportRepository = reportRepository;
+        this.reportCaseRepository = reportCaseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(fixedDelayString = "${compaction.interval:300000}")
+    public void scheduledCompact() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            compact();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            // Whatever was committed stays purged, the rest is picked up by the next run
+            logger.error("Tombstone compaction failed", ex);
+        }
+    }
+
+    public synchronized long compact() throws InterruptedException {
+        LocalDateTime cutoff = LocalDateTime.now().minus(gracePeriod);
+        long purged = 0;
+
+        // Comments deleted on their own have no rows hanging off them
+        purged += drain("comments", pageable -> commentRepository.findIdsDeletedBefore(cutoff, pageable),
+                commentRepository::purgeByIds);
+
+        Pageable firstBatch = PageRequest.of(0, batchSize);
+        while (true) {
+            List<Long> postIds = postRepository.findIdsDeletedBefore(cutoff, firstBatch);
+            if (postIds.isEmpty()) {
+                break;
+            }
+            purged += drain("notifications", pageable -> notificationRepository.findIdsByRelatedPostIds(postIds, pageable),
+                    notificationRepository::deleteAllByIdInBatch);
+            purged += drain("likes", pageable -> likeRepository.findIdsByPostIds(postIds, pageable),
+                    likeRepository::deleteAllByIdInBatch);
+            purged += drain("comments", pageable -> commentRepository.findIdsByPostIds(postIds, pageable),
+                    commentRepository::purgeByIds);
+            purged += drain("reports", pageable -> reportRepository.findIdsByReportedPostIds(postIds, pageable),
+                    reportRepository::deleteAllByIdInBatch);
+            transactionTemplate.execute(status -> {
+                reportCaseRepository.deleteByTargets(ReportTargetType.POST, postIds);
+                return postRepository.purgeByIds(postIds);
+            });
+            count("posts", postIds.size());
+            purged += postIds.size();
+
+            if (postIds.size() < batchSize) {
+                break;
+            }
+            pause();
+        }
+
+        if (purged > 0) {
+            logger.info("Compaction purged {} rows of content deleted before {}", purged, cutoff);
+        }
+        return purged;
+    }
+
+    // Repeats one batch at a time until a batch comes back short, every batch committed on its own
+    private long drain(String table, Function<Pageable, List<Long>> selectBatch,
+                       Consumer<List<Long>> deleteBatch) throws InterruptedException {
+        Pageable firstBatch = PageRequest.of(0, batchSize);
+        long total = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = selectBatch.apply(firstBatch);
+                if (!ids.isEmpty()) {
+                    deleteBatch.accept(ids);
+                }
+                return ids.size();
+            });
+            count(table, deleted);
+            total += deleted;
+            if (deleted < batchSize) {
+                return total;
+            }
+            pause();
+        }
+    }
+
+    private void count(String table, int rows) {
+        if (rows > 0) {
+            meterRegistry.counter("compaction.purged.rows", "table", table).increment(rows);
+        }
+    }
+
+    private void pause() throws InterruptedException {
+        if (batchPauseMillis > 0) {
+            Thread.sleep(batchPauseMillis);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.admin.CounterRepairResponse;
+import com.blog.backend.repository.UserStatsRepository;
+import com.blog.backend.repository.UserStatsRepository.CounterCheck;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Safety net for the denormalized user counters: walks users in id order, compares the stored
+ * post/follower/following counts with the real ones and recomputes only the rows that drifted.
+ */
+@Service
+public class UserCounterRepairService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCounterRepairService.class);
+
+    private final UserStatsRepository userStatsRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${user-counters.repair.enabled:true}")
+    private boolean enabled;
+
+    @Value("${user-counters.repair.batch-size:500}")
+    private int batchSize;
+
+    public UserCounterRepairService(UserStatsRepository userStatsRepository, MeterRegistry meterRegistry) {
+        this.userStatsRepository = userStatsRepository;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Scheduled(cron = "${user-counters.repair.cron:0 0 4 * * *}")
+    public void scheduledRepair() {
+        if (enabled) {
+            repair();
+        }
+    }
+
+    public synchronized CounterRepairResponse repair() {
+        long startedAt = System.currentTimeMillis();
+        long scanned = 0;
+        long repaired = 0;
+        long afterId = 0;
+
+        while (true) {
+            List<CounterCheck> checks = userStatsRepository.findCounterChecks(afterId, PageRequest.of(0, batchSize));
+            if (checks.isEmpty()) {
+                break;
+            }
+
+            List<Long> drifted = new ArrayList<>();
+            for (CounterCheck check : checks) {
+                if (hasDrifted(check)) {
+                    drifted.add(check.getId());
+                }
+            }
+            // Recomputed in the database rather than written from the values read above,
+            // so increments that landed in between are not overwritten
+            if (!drifted.isEmpty()) {
+                repaired += userStatsRepository.recomputeCounters(drifted);
+            }
+
+            scanned += checks.size();
+            afterId = checks.get(checks.size() - 1).getId();
+            if (checks.size() < batchSize) {
+                break;
+            }
+        }
+
+        meterRegistry.counter("user.counters.repaired").increment(repaired);
+        if (repaired > 0) {
+            logger.warn("Repaired counters of {} out of {} users", repaired, scanned);
+        } else {
+            logger.info("User counters consistent across {} users", scanned);
+        }
+
+        return new CounterRepairResponse(scanned, repaired, System.currentTimeMillis() - startedAt);
+    }
+
+    private static boolean hasDrifted(CounterCheck check) {
+        return check.getPostCount().longValue() != check.getActualPostCount()
+                || check.getFollowerCount().longValue() != check.getActualFollowerCount()
+                || check.getFollowingCount().longValue() != check.getActualFollowingCount();
+    }
+}
@@ -0,0 +1,320 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.admin.UserDeletionResponse;
+import com.blog.backend.entity.Comment;
+import com.blog.backend.entity.User;
+import com.blog.backend.enums.ReportTargetType;
+import com.blog.backend.enums.UserDeletionState;
+import com.blog.backend.event.PostChangedEvent;
+import com.blog.backend.exception.UserNotFoundException;
+import com.blog.backend.repository.CommentRepository;
+import com.blog.backend.repository.LikeRepository;
+import com.blog.backend.repository.NotificationRepository;
+import com.blog.backend.repository.PostRepository;
+import com.blog.backend.repository.ReportCaseRepository;
+import com.blog.backend.repository.ReportRepository;
+import com.blog.backend.repository.SubscriptionRepository;
+import com.blog.backend.repository.UserRepository;
+import com.blog.backend.repository.UserStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Account deletion in two phases. The request only marks the user deleted, which takes effect at
+ * once (no sign-in, no profile, out of the admin listing). A background purge then removes
+ * everything the account owns in bounded batches, each batch a select of ids plus one set-based
+ * statement in its own short transaction, and finally the user row. Soft-deleted users still in
+ * the table are picked up again by a poller, so a restart or a full queue only delays the purge.
+ */
+@Service
+public class UserDeletionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserDeletionService.class);
+
+    private final UserRepository userRepository;
+    private final UserStatsRepository userStatsRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final LikeRepository likeRepository;
+    private final NotificationRepository notificationRepository;
+    private final SubscriptionRepository subscriptionRepository;
+    private final ReportRepository reportRepository;
+    private final ReportCaseRepository reportCaseRepository;
+    private final AuthorSummaryCache authorSummaryCache;
+    private final SubscriptionGraph subscriptionGraph;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+
+    private final Map<Long, Progress> purges = new ConcurrentHashMap<>();
+
+    @Value("${user-deletion.batch-size:500}")
+    private int batchSize;
+
+    // Pause between batches so a heavy account does not monopolise the database
+    @Value("${user-deletion.batch-pause-ms:50}")
+    private long batchPauseMillis;
+
+    @Value("${user-deletion.retain-finished:1h}")
+    private Duration retainFinished;
+
+    @Value("${moderation.queue.reporter-weight:10}")
+    private int reporterWeight;
+
+    public UserDeletionService(UserRepository userRepository,
+                               UserStatsRepository userStatsRepository,
+                               PostRepository postRepository,
+                               CommentRepository commentRepository,
+                               LikeRepository likeRepository,
+                               NotificationRepository notificationRepository,
+                               SubscriptionRepository subscriptionRepository,
+                               ReportRepository reportRepository,
+                               ReportCaseRepository reportCaseRepository,
+                               AuthorSummaryCache authorSummaryCache,
+                               SubscriptionGraph subscriptionGraph,
+                               ApplicationEventPublisher eventPublisher,
+                               TransactionTemplate transactionTemplate,
+                               @Qualifier("maintenanceTaskExecutor") TaskExecutor taskExecutor) {
+        this.userRepository = userRepository;
+        this.userStatsRepository = userStatsRepository;
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.likeRepository = likeRepository;
+        this.notificationRepository = notificationRepository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.reportRepository = reportRepository;
+        this.reportCaseRepository = reportCaseRepository;
+        this.authorSummaryCache = authorSummaryCache;
+        this.subscriptionGraph = subscriptionGraph;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.taskExecutor = taskExecutor;
+    }
+
+    public UserDeletionResponse deleteUser(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+
+        if (!user.isDeleted()) {
+            userRepository.markDeleted(userId, LocalDateTime.now());
+            authorSummaryCache.evict(userId);
+        }
+        dispatch(userId);
+        return getStatus(userId);
+    }
+
+    public UserDeletionResponse getStatus(Long userId) {
+        Progress progress = purges.get(userId);
+        if (progress != null) {
+            return progress.toResponse();
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UserNotFoundException(userId));
+        if (!user.isDeleted()) {
+            throw new UserNotFoundException(userId);
+        }
+        return new UserDeletionResponse(userId, UserDeletionState.PENDING, null, 0L, null, null, null);
+    }
+
+    // Resumes purges cut short by a restart or dropped by a full queue, and forgets old results
+    @Scheduled(fixedDelayString = "${user-deletion.poll-interval:60000}")
+    public void resumePending() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retainFinished);
+        purges.values().removeIf(progress -> progress.finishedAt != null && progress.finishedAt.isBefore(cutoff));
+
+        for (Long userId : userRepository.findIdsPendingDeletion(PageRequest.of(0, 50))) {
+            dispatch(userId);
+        }
+    }
+
+    int trackedCount() {
+        return purges.size();
+    }
+
+    // At most one purge per user is queued or running; a failed one is retried by the next call
+    private void dispatch(Long userId) {
+        Progress progress = new Progress(userId);
+        Progress existing = purges.putIfAbsent(userId, progress);
+        if (existing != null
+                && (existing.state != UserDeletionState.FAILED || !purges.replace(userId, existing, progress))) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> purge(progress));
+        } catch (TaskRejectedException ex) {
+            purges.remove(userId, progress);
+            logger.warn("Maintenance queue is full, purge of user {} left to the poller", userId);
+        }
+    }
+
+    void purge(Progress progress) {
+        Long userId = progress.userId;
+        progress.start();
+        try {
+            // Content goes out of sight first, hiding is cheap and the posts are purged last
+            runStage(progress, "hide-posts", pageable -> postRepository.findVisibleIdsByUserId(userId, pageable), ids -> {
+                postRepository.updateHidden(ids, true);
+                ids.forEach(postId -> eventPublisher.publishEvent(new PostChangedEvent(postId)));
+            });
+            runStage(progress, "notifications",
+                    pageable -> notificationRepository.findIdsOwnedOrAboutPostsOf(userId, pageable),
+                    notificationRepository::deleteAllByIdInBatch);
+            runStage(progress, "notification-references",
+                    pageable -> notificationRepository.findIdsByRelatedUserId(userId, pageable),
+                    notificationRepository::nullifyRelatedUser);
+            runStage(progress, "likes-given",
+                    pageable -> likeRepository.findIdsByUserId(userId, pageable),
+                    likeRepository::deleteAllByIdInBatch);
+            runStage(progress, "likes-received",
+                    pageable -> likeRepository.findIdsOnPostsOf(userId, pageable),
+                    likeRepository::deleteAllByIdInBatch);
+            runStage(progress, "comments-written",
+                    pageable -> commentRepository.findIdsByUserId(userId, pageable),
+                    this::purgeCommentsWritten);
+            runStage(progress, "comments-received",
+                    pageable -> commentRepository.findIdsOnPostsOf(userId, pageable),
+                    commentRepository::purgeByIds);
+            // Each subscription takes a count from the user on its other side
+            runStage(progress, "following",
+                    pageable -> subscriptionRepository.findIdsBySubscriberId(userId, pageable), ids -> {
+                        userStatsRepository.decrementFollowerCountsOf(ids);
+                        deleteSubscriptions(ids);
+                    });
+            runStage(progress, "followers",
+                    pageable -> subscriptionRepository.findIdsBySubscribedToId(userId, pageable), ids -> {
+                        userStatsRepository.decrementFollowingCountsOf(ids);
+                        deleteSubscriptions(ids);
+                    });
+            // Cases against other targets lose this user's reports, so their counts are rebuilt
+            runStage(progress, "reports",
+                    pageable -> reportRepository.findIdsInvolvingUser(userId, pageable), ids -> {
+                        List<Long> reportCaseIds = reportRepository.findReportCaseIds(ids);
+                        reportRepository.deleteAllByIdInBatch(ids);
+                        reportCaseIds.forEach(id -> reportCaseRepository.recount(id, reporterWeight));
+                    });
+            runStage(progress, "posts",
+                    pageable -> postRepository.findIdsByUserId(userId, pageable), ids -> {
+                        reportCaseRepository.deleteByTargets(ReportTargetType.POST, ids);
+                        postRepository.purgeByIds(ids);
+                        ids.forEach(postId -> eventPublisher.publishEvent(new PostChangedEvent(postId)));
+                    });
+
+            progress.stage = "account";
+            transactionTemplate.execute(status -> {
+                reportCaseRepository.deleteByTargets(ReportTargetType.USER, Collections.singletonList(userId));
+                userStatsRepository.deleteByUserId(userId);
+                return userRepository.deleteSoftDeleted(userId);
+            });
+            authorSummaryCache.evict(userId);
+            subscriptionGraph.removeUser(userId);
+
+            progress.finish(UserDeletionState.COMPLETED, null);
+            logger.info("Purged user {}, {} rows processed", userId, progress.processedRows.get());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            progress.finish(UserDeletionState.FAILED, "Interrupted");
+        } catch (Exception ex) {
+            logger.error("Purge of user {} failed in stage {}", userId, progress.stage, ex);
+            progress.finish(UserDeletionState.FAILED, ex.getMessage());
+        }
+    }
+
+    // Replies by other users go with the comment they answer, tombstoned for compaction, and the
+    // ancestors in other people's threads lose the whole subtree, the same as PostService.deleteComment
+    private void purgeCommentsWritten(List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Comment comment : commentRepository.findAllById(ids)) {
+            if (comment.getPath() == null) {
+                continue;
+            }
+            int removed = commentRepository.markSubtreeDeleted(comment.getRootId(), comment.getPath() + "%", now);
+            List<Long> ancestors = comment.ancestorIds();
+            if (!ancestors.isEmpty() && removed > 0) {
+                commentRepository.adjustReplyCounts(ancestors, -removed);
+            }
+        }
+        commentRepository.purgeByIds(ids);
+    }
+
+    // Each edge leaves the graph once its batch commits, so fan-out stops reaching the account
+    // while the purge is still running instead of only after the user row is gone
+    private void deleteSubscriptions(List<Long> ids) {
+        List<SubscriptionRepository.Edge> edges = subscriptionRepository.findEdgesByIds(ids);
+        subscriptionRepository.deleteAllByIdInBatch(ids);
+        edges.forEach(edge -> subscriptionGraph.onUnsubscribed(edge.getSubscriberId(), edge.getSubscribedToId()));
+    }
+
+    // Repeats one batch at a time until a batch comes back short, every batch committed on its own
+    private void runStage(Progress progress, String stage,
+                          Function<Pageable, List<Long>> selectBatch,
+                          Consumer<List<Long>> applyBatch) throws InterruptedException {
+        progress.stage = stage;
+        Pageable firstBatch = PageRequest.of(0, batchSize);
+        while (true) {
+            Integer processed = transactionTemplate.execute(status -> {
+                List<Long> ids = selectBatch.apply(firstBatch);
+                if (!ids.isEmpty()) {
+                    applyBatch.accept(ids);
+                }
+                return ids.size();
+            });
+            progress.processedRows.addAndGet(processed);
+            if (processed < batchSize) {
+                return;
+            }
+            if (batchPauseMillis > 0) {
+                Thread.sleep(batchPauseMillis);
+            }
+        }
+    }
+
+    static class Progress {
+
+        private final Long userId;
+        private final AtomicLong processedRows = new AtomicLong();
+        private volatile UserDeletionState state = UserDeletionState.PENDING;
+        private volatile String stage;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String lastError;
+
+        Progress(Long userId) {
+            this.userId = userId;
+        }
+
+        void start() {
+            startedAt = LocalDateTime.now();
+            state = UserDeletionState.RUNNING;
+        }
+
+        void finish(UserDeletionState finalState, String error) {
+            lastError = error;
+            finishedAt = LocalDateTime.now();
+            state = finalState;
+        }
+
+        UserDeletionResponse toResponse() {
+            return new UserDeletionResponse(userId, state, stage, processedRows.get(), startedAt, finishedAt, lastError);
+        }
+    }
+}
@@ -1,33 +1,49 @@
 package com.blog.backend.service;
 
+import com.blog.backend.dto.user.AuthorSummary;
 import com.blog.backend.dto.user.UpdateProfileRequest;
 import com.blog.backend.dto.user.UserProfileResponse;
 import com.blog.backend.entity.User;
+import com.blog.backend.entity.UserStats;
 import com.blog.backend.exception.ForbiddenException;
 import com.blog.backend.exception.UserNotFoundException;
-import com.blog.backend.repository.SubscriptionRepository;
+import com.blog.backend.repository.PostRepository;
 import com.blog.backend.repository.UserRepository;
+import com.blog.backend.repository.UserStatsRepository;
 import com.blog.backend.security.UserPrincipal;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
-    private final SubscriptionRepository subscriptionRepository;
-
-    public UserService(UserRepository userRepository, SubscriptionRepository subscriptionRepository) {
+    private final UserStatsRepository userStatsRepository;
+    private final PostRepository postRepository;
+    private final SubscriptionGraph subscriptionGraph;
+    private final AuthorSummaryCache authorSummaryCache;
+
+    public UserService(UserRepository userRepository,
+                       UserStatsRepository userStatsRepository,
+                       PostRepository postRepository,
+                       SubscriptionGraph subscriptionGraph,
+                       AuthorSummaryCache authorSummaryCache) {
         this.userRepository = userRepository;
-        this.subscriptionRepository = subscriptionRepository;
+        this.userStatsRepository = userStatsRepository;
+        this.postRepository = postRepository;
+        this.subscriptionGraph = subscriptionGraph;
+        this.authorSummaryCache = authorSummaryCache;
     }
 
     public UserProfileResponse getUserProfile(Long userId, Authentication authentication) {
         User user = userRepository.findById(userId)
+                .filter(found -> !found.isDeleted())
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
         Long currentUserId = null;
@@ -38,9 +54,10 @@ public class UserService {
 
         Boolean isSubscribed = false;
         if (currentUserId != null && !currentUserId.equals(userId)) {
-            isSubscribed = subscriptionRepository.existsBySubscriberIdAndSubscribedToId(currentUserId, userId);
+            isSubscribed = subscriptionGraph.isSubscribed(currentUserId, userId);
         }
 
+        UserStats stats = statsOf(userId);
         return new UserProfileResponse(
                 user.getId(),
                 user.getUsername(),
@@ -48,9 +65,9 @@ public class UserService {
                 user.getBio(),
                 user.getAvatarUrl(),
                 user.getRole().name(),
-                user.getPosts().size(),
-                user.getSubscribers().size(),
-                user.getSubscriptions().size(),
+                stats.getPostCount(),
+                stats.getFollowerCount(),
+                stats.getFollowingCount(),
                 isSubscribed,
                 user.getCreatedAt()
         );
@@ -67,6 +84,7 @@ public class UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
 
+        AuthorSummary before = AuthorSummary.from(user);
         if (request.getDisplayName() != null) {
             user.setDisplayName(request.getDisplayName());
         }
@@ -78,7 +96,13 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        authorSummaryCache.put(updatedUser);
+        // Comment pages show the author summary, the bio is not part of it
+        if (!before.equals(AuthorSummary.from(updatedUser))) {
+            postRepository.bumpCommentsVersionsOfCommenter(userId);
+        }
 
+        UserStats stats = statsOf(userId);
         return new UserProfileResponse(
                 updatedUser.getId(),
                 updatedUser.getUsername(),
@@ -86,9 +110,9 @@ public class UserService {
                 updatedUser.getBio(),
                 updatedUser.getAvatarUrl(),
                 updatedUser.getRole().name(),
-                updatedUser.getPosts().size(),
-                updatedUser.getSubscribers().size(),
-                updatedUser.getSubscriptions().size(),
+                stats.getPostCount(),
+                stats.getFollowerCount(),
+                stats.getFollowingCount(),
                 false,
                 updatedUser.getCreatedAt()
         );
@@ -105,17 +129,22 @@ public class UserService {
 
         final Long finalCurrentUserId = currentUserId;
 
-        return users.stream()
+        List<User> matches = users.stream()
                 .filter(user -> query == null || query.isEmpty() ||
                         user.getUsername().toLowerCase().contains(query.toLowerCase()) ||
                         (user.getDisplayName() != null && user.getDisplayName().toLowerCase().contains(query.toLowerCase())))
                 .filter(user -> !user.getBanned())
+                .collect(Collectors.toList());
+        Map<Long, UserStats> statsByUserId = statsOf(matches);
+
+        return matches.stream()
                 .map(user -> {
                     Boolean isSubscribed = false;
                     if (finalCurrentUserId != null && !finalCurrentUserId.equals(user.getId())) {
-                        isSubscribed = subscriptionRepository.existsBySubscriberIdAndSubscribedToId(finalCurrentUserId, user.getId());
+                        isSubscribed = subscriptionGraph.isSubscribed(finalCurrentUserId, user.getId());
                     }
 
+                    UserStats stats = statsByUserId.getOrDefault(user.getId(), new UserStats(user.getId()));
                     return new UserProfileResponse(
                             user.getId(),
                             user.getUsername(),
@@ -123,13 +152,24 @@ public class UserService {
                             user.getBio(),
                             user.getAvatarUrl(),
                             user.getRole().name(),
-                            user.getPosts().size(),
-                            user.getSubscribers().size(),
-                            user.getSubscriptions().size(),
+                            stats.getPostCount(),
+                            stats.getFollowerCount(),
+                            stats.getFollowingCount(),
                             isSubscribed,
                             user.getCreatedAt()
                     );
                 })
                 .collect(Collectors.toList());
     }
+
+    // Counters live in their own uncached table; a missing row reads as all zeros
+    private UserStats statsOf(Long userId) {
+        return userStatsRepository.findById(userId).orElseGet(() -> new UserStats(userId));
+    }
+
+    private Map<Long, UserStats> statsOf(List<User> users) {
+        return userStatsRepository.findAllById(users.stream().map(User::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(UserStats::getUserId, Function.identity()));
+    }
 }
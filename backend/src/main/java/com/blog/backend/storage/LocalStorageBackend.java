@@ -0,0 +1,132 @@
+package com.blog.backend.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+// Every key is a file directly under the root directory
+public class LocalStorageBackend implements StorageBackend {
+
+    protected final Path root;
+
+    public LocalStorageBackend(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.root);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not create storage directory: " + this.root, ex);
+        }
+    }
+
+    // Where a key is written
+    protected Path resolve(String key) {
+        return resolveFlat(key);
+    }
+
+    // Where a key is read from; layouts with legacy locations override this
+    protected Path locate(String key) {
+        return resolve(key);
+    }
+
+    protected final Path resolveFlat(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IllegalArgumentException("Invalid storage key: " + key);
+        }
+        return path;
+    }
+
+    @Override
+    public void put(String key, InputStream content, long contentLength, String contentType) throws IOException {
+        Path tempFile = Files.createTempFile(root, ".put-", ".tmp");
+        try {
+            Files.copy(content, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            moveIntoPlace(tempFile, resolve(key));
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public void putFile(String key, Path source, String contentType) throws IOException {
+        moveIntoPlace(source, resolve(key));
+    }
+
+    private void moveIntoPlace(Path source, Path target) throws IOException {
+        Files.createDirectories(target.getParent());
+        Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        return Files.newInputStream(locate(key));
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(locate(key));
+    }
+
+    @Override
+    public boolean touch(String key, String contentType) throws IOException {
+        try {
+            Files.setLastModifiedTime(locate(key), FileTime.from(Instant.now()));
+            return true;
+        } catch (NoSuchFileException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+    }
+
+    @Override
+    public void forEachObject(Consumer<StoredObject> visitor) throws IOException {
+        try (Stream<Path> files = Files.walk(root, maxDepth())) {
+            Iterator<Path> iterator = files.iterator();
+            while (iterator.hasNext()) {
+                Path file = iterator.next();
+                if (isHidden(root.relativize(file))) {
+                    continue;
+                }
+                BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                if (attributes.isRegularFile()) {
+                    visitor.accept(new StoredObject(file.getFileName().toString(),
+                            attributes.size(), attributes.lastModifiedTime().toInstant()));
+                }
+            }
+        }
+    }
+
+    // Temp files and staging directories (chunked uploads) are dot-prefixed
+    private static boolean isHidden(Path relative) {
+        for (Path element : relative) {
+            if (element.toString().startsWith(".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected int maxDepth() {
+        return 1;
+    }
+
+    @Override
+    public Optional<Path> localPath(String key) {
+        Path path = locate(key);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+}
@@ -0,0 +1,368 @@
+package com.blog.backend.storage;
+
+import com.blog.backend.config.StorageProperties;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * S3-compatible object store (AWS S3, MinIO, ...) spoken to directly over HTTP with
+ * Signature Version 4, so no vendor SDK is needed for the handful of calls we make.
+ */
+public class S3StorageBackend implements StorageBackend {
+
+    private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+    private static final String SERVICE = "s3";
+    // Bodies are streamed, so they are not hashed up front; TLS already protects them in transit
+    private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+    private static final DateTimeFormatter AMZ_DATE =
+            DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter SCOPE_DATE =
+            DateTimeFormatter.ofPattern("yyyyMMdd").withZone(ZoneOffset.UTC);
+
+    private final URI endpoint;
+    private final String region;
+    private final String bucket;
+    private final String accessKey;
+    private final String secretKey;
+    private final boolean pathStyle;
+    private final Duration requestTimeout;
+    private final HttpClient httpClient;
+    private final Clock clock;
+
+    public S3StorageBackend(StorageProperties.S3 properties) {
+        this(properties, HttpClient.newBuilder().connectTimeout(properties.getRequestTimeout()).build(), Clock.systemUTC());
+    }
+
+    S3StorageBackend(StorageProperties.S3 properties, HttpClient httpClient, Clock clock) {
+        if (properties.getBucket() == null || properties.getAccessKey() == null || properties.getSecretKey() == null) {
+            throw new IllegalStateException("file.storage.s3.bucket, access-key and secret-key must be set");
+        }
+        this.endpoint = URI.create(properties.getEndpoint());
+        this.region = properties.getRegion();
+        this.bucket = properties.getBucket();
+        this.accessKey = properties.getAccessKey();
+        this.secretKey = properties.getSecretKey();
+        this.pathStyle = properties.isPathStyle();
+        this.requestTimeout = properties.getRequestTimeout();
+        this.httpClient = httpClient;
+        this.clock = clock;
+    }
+
+    @Override
+    public void put(String key, InputStream content, long contentLength, String contentType) throws IOException {
+        HttpRequest.BodyPublisher body = HttpRequest.BodyPublishers.fromPublisher(
+                HttpRequest.BodyPublishers.ofInputStream(() -> content), contentLength);
+        upload(key, body, contentType);
+    }
+
+    @Override
+    public void putFile(String key, Path source, String contentType) throws IOException {
+        upload(key, HttpRequest.BodyPublishers.ofFile(source), contentType);
+    }
+
+    private void upload(String key, HttpRequest.BodyPublisher body, String contentType) throws IOException {
+        HttpRequest request = signedRequest("PUT", key)
+                .header("Content-Type", contentType)
+                .PUT(body)
+                .build();
+        HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("S3 PUT " + key + " failed with status " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    @Override
+    public InputStream get(String key) throws IOException {
+        HttpRequest request = signedRequest("GET", key).GET().build();
+        HttpResponse<InputStream> response = send(request, HttpResponse.BodyHandlers.ofInputStream());
+        if (response.statusCode() == 200) {
+            return response.body();
+        }
+        response.body().close();
+        if (response.statusCode() == 404) {
+            throw new NoSuchFileException(key);
+        }
+        throw new IOException("S3 GET " + key + " failed with status " + response.statusCode());
+    }
+
+    @Override
+    public boolean exists(String key) throws IOException {
+        HttpRequest request = signedRequest("HEAD", key)
+                .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build();
+        int status = send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status == 200) {
+            return true;
+        }
+        if (status == 404) {
+            return false;
+        }
+        throw new IOException("S3 HEAD " + key + " failed with status " + status);
+    }
+
+    // S3 can only move LastModified by writing the object, so it is copied onto itself server-side
+    @Override
+    public boolean touch(String key, String contentType) throws IOException {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("x-amz-copy-source", "/" + encode(bucket, false) + "/" + encode(key, false));
+        // Copying an object onto itself is only allowed when its metadata is replaced
+        headers.put("x-amz-metadata-directive", "REPLACE");
+        HttpRequest request = signedRequest("PUT", key, Map.of(), headers)
+                .header("Content-Type", contentType)
+                .PUT(HttpRequest.BodyPublishers.noBody())
+                .build();
+        HttpResponse<String> response = send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 404) {
+            return false;
+        }
+        // A copy can fail after the 200 status line, so the body has to be checked as well
+        if (response.statusCode() != 200 || !response.body().contains("CopyObjectResult")) {
+            throw new IOException("S3 copy " + key + " failed with status " + response.statusCode() + ": " + response.body());
+        }
+        return true;
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        HttpRequest request = signedRequest("DELETE", key).DELETE().build();
+        int status = send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 204 && status != 200 && status != 404) {
+            throw new IOException("S3 DELETE " + key + " failed with status " + status);
+        }
+    }
+
+    // Query-string signed GET, so browsers can fetch the object straight from the store
+    @Override
+    public Optional<URI> presignedDownloadUrl(String key, Instant signedAt, Duration ttl) {
+        String amzDate = AMZ_DATE.format(signedAt);
+        String scope = SCOPE_DATE.format(signedAt) + "/" + region + "/" + SERVICE + "/aws4_request";
+
+        Map<String, String> query = new TreeMap<>();
+        query.put("X-Amz-Algorithm", ALGORITHM);
+        query.put("X-Amz-Credential", accessKey + "/" + scope);
+        query.put("X-Amz-Date", amzDate);
+        query.put("X-Amz-Expires", Long.toString(ttl.toSeconds()));
+        query.put("X-Amz-SignedHeaders", "host");
+        String canonicalQuery = canonicalQuery(query);
+
+        String canonicalRequest = "GET\n" + canonicalPath(key) + "\n" + canonicalQuery + "\n"
+                + "host:" + hostHeader() + "\n\n"
+                + "host\n"
+                + UNSIGNED_PAYLOAD;
+        String signature = sign(canonicalRequest, amzDate, scope, signedAt);
+
+        return Optional.of(URI.create(baseUrl() + canonicalPath(key) + "?" + canonicalQuery + "&X-Amz-Signature=" + signature));
+    }
+
+    // ListObjectsV2, one page of up to 1000 keys per request
+    @Override
+    public void forEachObject(Consumer<StoredObject> visitor) throws IOException {
+        String continuationToken = null;
+        do {
+            Map<String, String> query = new TreeMap<>();
+            query.put("list-type", "2");
+            if (continuationToken != null) {
+                query.put("continuation-token", continuationToken);
+            }
+            HttpRequest request = signedRequest("GET", "", query).GET().build();
+            HttpResponse<InputStream> response = send(request, HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() != 200) {
+                response.body().close();
+                throw new IOException("S3 list of bucket " + bucket + " failed with status " + response.statusCode());
+            }
+
+            Document page;
+            try (InputStream body = response.body()) {
+                page = parseXml(body);
+            }
+            NodeList contents = page.getElementsByTagName("Contents");
+            for (int i = 0; i < contents.getLength(); i++) {
+                Element entry = (Element) contents.item(i);
+                String key = childText(entry, "Key");
+                if (key != null && !key.startsWith(".")) {
+                    visitor.accept(new StoredObject(key, Long.parseLong(childText(entry, "Size")),
+                            Instant.parse(childText(entry, "LastModified"))));
+                }
+            }
+            continuationToken = "true".equals(childText(page.getDocumentElement(), "IsTruncated"))
+                    ? childText(page.getDocumentElement(), "NextContinuationToken")
+                    : null;
+        } while (continuationToken != null);
+    }
+
+    private static Document parseXml(InputStream body) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            factory.setExpandEntityReferences(false);
+            return factory.newDocumentBuilder().parse(body);
+        } catch (ParserConfigurationException | SAXException ex) {
+            throw new IOException("Could not parse object store response", ex);
+        }
+    }
+
+    private static String childText(Element parent, String name) {
+        NodeList children = parent.getElementsByTagName(name);
+        return children.getLength() == 0 ? null : children.item(0).getTextContent();
+    }
+
+    private HttpRequest.Builder signedRequest(String method, String key) {
+        return signedRequest(method, key, Map.of());
+    }
+
+    private HttpRequest.Builder signedRequest(String method, String key, Map<String, String> sortedQuery) {
+        return signedRequest(method, key, sortedQuery, Map.of());
+    }
+
+    // Extra x-amz-* headers must be signed too; they are passed lower-case
+    private HttpRequest.Builder signedRequest(String method, String key, Map<String, String> sortedQuery,
+                                              Map<String, String> amzHeaders) {
+        Instant now = clock.instant();
+        SortedMap<String, String> headers = new TreeMap<>(amzHeaders);
+        headers.put("host", hostHeader());
+        headers.put("x-amz-content-sha256", UNSIGNED_PAYLOAD);
+        headers.put("x-amz-date", AMZ_DATE.format(now));
+
+        String canonicalQuery = canonicalQuery(sortedQuery);
+        String url = baseUrl() + canonicalPath(key) + (canonicalQuery.isEmpty() ? "" : "?" + canonicalQuery);
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(requestTimeout)
+                .header("Authorization", authorization(method, key, sortedQuery, headers, now));
+        // Host is set by the client itself from the URL
+        headers.forEach((name, value) -> {
+            if (!name.equals("host")) {
+                builder.header(name, value);
+            }
+        });
+        return builder;
+    }
+
+    // SigV4 Authorization value. Every signed header, lower-case, goes through the one sorted map,
+    // since canonical headers and SignedHeaders must both be in code point order
+    String authorization(String method, String key, Map<String, String> sortedQuery,
+                         SortedMap<String, String> headers, Instant now) {
+        String amzDate = AMZ_DATE.format(now);
+        String scope = SCOPE_DATE.format(now) + "/" + region + "/" + SERVICE + "/aws4_request";
+        String canonicalHeaders = headers.entrySet().stream()
+                .map(entry -> entry.getKey() + ":" + entry.getValue().trim() + "\n")
+                .collect(Collectors.joining());
+        String signedHeaders = String.join(";", headers.keySet());
+
+        String canonicalRequest = method + "\n" + canonicalPath(key) + "\n" + canonicalQuery(sortedQuery) + "\n"
+                + canonicalHeaders + "\n"
+                + signedHeaders + "\n"
+                + headers.get("x-amz-content-sha256");
+        String signature = sign(canonicalRequest, amzDate, scope, now);
+        return ALGORITHM + " Credential=" + accessKey + "/" + scope
+                + ", SignedHeaders=" + signedHeaders + ", Signature=" + signature;
+    }
+
+    private String sign(String canonicalRequest, String amzDate, String scope, Instant now) {
+        String stringToSign = ALGORITHM + "\n" + amzDate + "\n" + scope + "\n" + sha256Hex(canonicalRequest);
+        byte[] signingKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), SCOPE_DATE.format(now));
+        signingKey = hmac(signingKey, region);
+        signingKey = hmac(signingKey, SERVICE);
+        signingKey = hmac(signingKey, "aws4_request");
+        return HexFormat.of().formatHex(hmac(signingKey, stringToSign));
+    }
+
+    private <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> handler) throws IOException {
+        try {
+            return httpClient.send(request, handler);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while calling object store");
+        }
+    }
+
+    private String baseUrl() {
+        return endpoint.getScheme() + "://" + hostHeader();
+    }
+
+    private String hostHeader() {
+        String host = pathStyle ? endpoint.getHost() : bucket + "." + endpoint.getHost();
+        return endpoint.getPort() == -1 ? host : host + ":" + endpoint.getPort();
+    }
+
+    // An empty key addresses the bucket itself
+    private String canonicalPath(String key) {
+        if (key.isEmpty()) {
+            return pathStyle ? "/" + encode(bucket, false) : "/";
+        }
+        String path = "/" + encode(key, false);
+        return pathStyle ? "/" + encode(bucket, false) + path : path;
+    }
+
+    private static String canonicalQuery(Map<String, String> sortedParams) {
+        return sortedParams.entrySet().stream()
+                .map(entry -> encode(entry.getKey(), true) + "=" + encode(entry.getValue(), true))
+                .collect(Collectors.joining("&"));
+    }
+
+    // RFC 3986 encoding as required by SigV4: only unreserved characters are left as-is
+    private static String encode(String value, boolean encodeSlash) {
+        StringBuilder encoded = new StringBuilder();
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            char c = (char) (b & 0xFF);
+            if ((c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')
+                    || c == '-' || c == '_' || c == '.' || c == '~' || (c == '/' && !encodeSlash)) {
+                encoded.append(c);
+            } else {
+                encoded.append('%').append(String.format("%02X", b & 0xFF));
+            }
+        }
+        return encoded.toString();
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static byte[] hmac(byte[] key, String data) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(key, "HmacSHA256"));
+            return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 is not available", ex);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.blog.backend.storage;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Spreads keys over two directory levels (ab/cd/abcd...) so no single directory grows unbounded.
+ * Files from the old flat layout are still found at the root until they are migrated.
+ */
+public class ShardedLocalStorageBackend extends LocalStorageBackend {
+
+    private static final int SHARD_WIDTH = 2;
+
+    public ShardedLocalStorageBackend(Path root) {
+        super(root);
+    }
+
+    @Override
+    protected Path resolve(String key) {
+        if (key.length() < SHARD_WIDTH * 2) {
+            return resolveFlat(key);
+        }
+        return resolveFlat(shardPath(key));
+    }
+
+    @Override
+    protected Path locate(String key) {
+        Path sharded = resolve(key);
+        if (Files.exists(sharded)) {
+            return sharded;
+        }
+        Path legacy = resolveFlat(key);
+        return Files.isRegularFile(legacy) ? legacy : sharded;
+    }
+
+    // Legacy files at the root plus two shard levels
+    @Override
+    protected int maxDepth() {
+        return 3;
+    }
+
+    // Both locations, in case a migration batch moves the file while it is being deleted
+    @Override
+    public void delete(String key) throws IOException {
+        Files.deleteIfExists(resolve(key));
+        Files.deleteIfExists(resolveFlat(key));
+    }
+
+    /**
+     * Moves up to batchSize files from the flat root into their shard directories and returns
+     * how many were moved. Each move is atomic and reads fall back to the root, so this is safe
+     * to run while the application is serving traffic.
+     */
+    public int migrateLegacyFiles(int batchSize) throws IOException {
+        int moved = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(root, this::isLegacyFile)) {
+            for (Path legacy : entries) {
+                if (moved >= batchSize) {
+                    break;
+                }
+                Path target = resolve(legacy.getFileName().toString());
+                Files.createDirectories(target.getParent());
+                if (Files.exists(target)) {
+                    // Content-addressed names: an existing target already holds the same bytes
+                    Files.deleteIfExists(legacy);
+                } else {
+                    Files.move(legacy, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    // Shard directories and in-flight temp files (dot-prefixed) are left where they are
+    private boolean isLegacyFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.length() >= SHARD_WIDTH * 2 && !name.startsWith(".") && Files.isRegularFile(path);
+    }
+
+    static String shardPath(String key) {
+        return key.substring(0, SHARD_WIDTH) + "/" + key.substring(SHARD_WIDTH, SHARD_WIDTH * 2) + "/" + key;
+    }
+}
@@ -0,0 +1,49 @@
+package com.blog.backend.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Flat key/value blob store behind FileStorageService. Keys are validated file names.
+ * A backend must either expose local paths (served with sendfile) or direct download URLs.
+ */
+public interface StorageBackend {
+
+    void put(String key, InputStream content, long contentLength, String contentType) throws IOException;
+
+    // Staged uploads are handed over as a file so local backends can move them instead of copying
+    default void putFile(String key, Path source, String contentType) throws IOException {
+        try (InputStream content = Files.newInputStream(source)) {
+            put(key, content, Files.size(source), contentType);
+        }
+    }
+
+    // Throws NoSuchFileException when the key does not exist
+    InputStream get(String key) throws IOException;
+
+    boolean exists(String key) throws IOException;
+
+    // Sets the last-modified time to now without changing the bytes; false when the key does not exist
+    boolean touch(String key, String contentType) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    // Visits every stored object in no particular order; in-flight temp objects are not included
+    void forEachObject(Consumer<StoredObject> visitor) throws IOException;
+
+    default Optional<Path> localPath(String key) {
+        return Optional.empty();
+    }
+
+    // Signed as of signedAt rather than now, so callers can hand out the same URL for a while
+    default Optional<URI> presignedDownloadUrl(String key, Instant signedAt, Duration ttl) {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,2 @@
+-- Set when an admin deletes the account; the row stays until the purge job removes it
+ALTER TABLE users ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
@@ -0,0 +1,9 @@
+-- Deleted posts and comments are stamped and purged later by TombstoneCompactionService
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMP(6);
+
+CREATE INDEX IF NOT EXISTS idx_posts_deleted_at ON posts (deleted_at);
+CREATE INDEX IF NOT EXISTS idx_comments_deleted_at ON comments (deleted_at);
+
+-- Compaction removes a purged post's notifications by related post
+CREATE INDEX IF NOT EXISTS idx_notifications_related_post ON notifications (related_post_id);
@@ -0,0 +1,5 @@
+-- Part of the comments validator, bumped when one of the post's commenters edits their profile
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS comments_version BIGINT NOT NULL DEFAULT 0;
+
+-- The bump and the account purge look comments up by author
+CREATE INDEX IF NOT EXISTS idx_comments_user_id ON comments (user_id);
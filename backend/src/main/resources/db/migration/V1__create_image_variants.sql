@@ -0,0 +1,7 @@
+-- Responsive variants recorded once generation finishes, one row per original image
+CREATE TABLE IF NOT EXISTS image_variants (
+    filename   VARCHAR(255) PRIMARY KEY,
+    widths     VARCHAR(100) NOT NULL,
+    alpha      BOOLEAN      NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP(6) NOT NULL
+);
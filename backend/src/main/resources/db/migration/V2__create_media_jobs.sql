@@ -0,0 +1,20 @@
+-- Background processing of uploaded videos, one row per stored file
+CREATE TABLE IF NOT EXISTS media_jobs (
+    id              BIGSERIAL PRIMARY KEY,
+    filename        VARCHAR(255)  NOT NULL,
+    status          VARCHAR(20)   NOT NULL,
+    attempts        INTEGER       NOT NULL DEFAULT 0,
+    duration_ms     BIGINT,
+    width           INTEGER,
+    height          INTEGER,
+    poster_filename VARCHAR(255),
+    output_filename VARCHAR(255),
+    faststart       BOOLEAN,
+    error           VARCHAR(1000),
+    started_at      TIMESTAMP(6),
+    created_at      TIMESTAMP(6)  NOT NULL,
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT uk_media_jobs_filename UNIQUE (filename)
+);
+
+CREATE INDEX IF NOT EXISTS idx_media_jobs_status_created ON media_jobs (status, created_at);
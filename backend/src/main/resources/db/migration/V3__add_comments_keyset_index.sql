@@ -0,0 +1,2 @@
+-- Keyset pagination walks a post's comments by id
+CREATE INDEX IF NOT EXISTS idx_comments_post_id_id ON comments (post_id, id);
@@ -0,0 +1,12 @@
+-- Reply threading as plain ids plus a materialized path. Comments from before threading keep a
+-- null path and become roots the first time someone replies to them
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS parent_id BIGINT;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS root_id BIGINT;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS path VARCHAR(255);
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS depth INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS reply_count INTEGER NOT NULL DEFAULT 0;
+
+-- Keyset pagination now walks a post's top-level comments, which the new index covers
+DROP INDEX IF EXISTS idx_comments_post_id_id;
+CREATE INDEX IF NOT EXISTS idx_comments_post_parent_id ON comments (post_id, parent_id, id);
+CREATE INDEX IF NOT EXISTS idx_comments_root_path ON comments (root_id, path);
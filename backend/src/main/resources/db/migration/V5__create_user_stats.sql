@@ -0,0 +1,16 @@
+-- Per-user counters, kept apart from the cached users row and only changed by atomic updates
+CREATE TABLE IF NOT EXISTS user_stats (
+    user_id         BIGINT   PRIMARY KEY REFERENCES users (id),
+    post_count      INTEGER  NOT NULL DEFAULT 0,
+    follower_count  INTEGER  NOT NULL DEFAULT 0,
+    following_count INTEGER  NOT NULL DEFAULT 0
+);
+
+-- Existing users start from their real counts
+INSERT INTO user_stats (user_id, post_count, follower_count, following_count)
+SELECT u.id,
+       (SELECT COUNT(*) FROM posts p WHERE p.user_id = u.id),
+       (SELECT COUNT(*) FROM subscriptions s WHERE s.subscribed_to_id = u.id),
+       (SELECT COUNT(*) FROM subscriptions s WHERE s.subscriber_id = u.id)
+FROM users u
+ON CONFLICT (user_id) DO NOTHING;
@@ -0,0 +1,2 @@
+-- Default ordering and date-range filter of the admin user listing
+CREATE INDEX IF NOT EXISTS idx_users_created_at ON users (created_at);
@@ -0,0 +1,2 @@
+-- Open-report lookups per post from the admin post queue
+CREATE INDEX IF NOT EXISTS idx_reports_post_resolved ON reports (reported_post_id, resolved);
@@ -0,0 +1,52 @@
+-- Every open report against one post or user, folded into a single moderation queue entry.
+-- target_id has no foreign key so a case outlives a deleted target
+CREATE TABLE IF NOT EXISTS report_cases (
+    id                BIGSERIAL     PRIMARY KEY,
+    target_type       VARCHAR(10)   NOT NULL,
+    target_id         BIGINT        NOT NULL,
+    report_count      INTEGER       NOT NULL DEFAULT 0,
+    reporter_count    INTEGER       NOT NULL DEFAULT 0,
+    priority          INTEGER       NOT NULL DEFAULT 0,
+    resolved          BOOLEAN       NOT NULL DEFAULT FALSE,
+    latest_reason     VARCHAR(1000),
+    first_reported_at TIMESTAMP(6)  NOT NULL,
+    last_reported_at  TIMESTAMP(6)  NOT NULL,
+    resolved_at       TIMESTAMP(6),
+    CONSTRAINT uk_report_cases_target UNIQUE (target_type, target_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_report_cases_queue ON report_cases (resolved, priority, id);
+
+ALTER TABLE reports ADD COLUMN IF NOT EXISTS report_case_id BIGINT REFERENCES report_cases (id);
+ALTER TABLE reports ADD COLUMN IF NOT EXISTS repeat_count INTEGER NOT NULL DEFAULT 1;
+
+-- Open report of a reporter within a case, for deduplication
+CREATE INDEX IF NOT EXISTS idx_reports_case_reporter ON reports (report_case_id, reporter_id, resolved);
+
+-- Open reports filed before cases existed get a case each, counted the way ReportCaseRepository.recount
+-- does with the default reporter weight of 10
+INSERT INTO report_cases (target_type, target_id, report_count, reporter_count, priority, resolved,
+                          latest_reason, first_reported_at, last_reported_at)
+SELECT CASE WHEN r.reported_post_id IS NOT NULL THEN 'POST' ELSE 'USER' END,
+       COALESCE(r.reported_post_id, r.reported_user_id),
+       SUM(r.repeat_count),
+       COUNT(*),
+       COUNT(*) * 10 + SUM(r.repeat_count),
+       FALSE,
+       (ARRAY_AGG(r.reason ORDER BY r.created_at DESC))[1],
+       MIN(r.created_at),
+       MAX(r.created_at)
+FROM reports r
+WHERE r.resolved = FALSE
+  AND r.report_case_id IS NULL
+  AND COALESCE(r.reported_post_id, r.reported_user_id) IS NOT NULL
+GROUP BY 1, 2
+ON CONFLICT (target_type, target_id) DO NOTHING;
+
+UPDATE reports r
+SET report_case_id = c.id
+FROM report_cases c
+WHERE r.resolved = FALSE
+  AND r.report_case_id IS NULL
+  AND c.target_type = CASE WHEN r.reported_post_id IS NOT NULL THEN 'POST' ELSE 'USER' END
+  AND c.target_id = COALESCE(r.reported_post_id, r.reported_user_id);
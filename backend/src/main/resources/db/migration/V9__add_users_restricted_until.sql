@@ -0,0 +1,2 @@
+-- Temporary posting ban set by the automatic moderation rules
+ALTER TABLE users ADD COLUMN IF NOT EXISTS restricted_until TIMESTAMP(6);
@@ -0,0 +1,75 @@
+package com.blog.backend.media;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IsoMediaFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void inspect_ReadsDurationAndFrameSize() throws Exception {
+        Path file = write("clip.mp4", Mp4TestFiles.moovAtEnd());
+
+        VideoMetadata metadata = IsoMediaFile.inspect(file);
+
+        assertEquals(2500L, metadata.getDurationMs());
+        assertEquals(Mp4TestFiles.WIDTH, metadata.getWidth());
+        assertEquals(Mp4TestFiles.HEIGHT, metadata.getHeight());
+        assertFalse(metadata.isFaststart());
+    }
+
+    @Test
+    void inspect_MoovBeforeMdat_IsFaststart() throws Exception {
+        Path file = write("clip.mp4", Mp4TestFiles.moovAtFront());
+
+        assertTrue(IsoMediaFile.inspect(file).isFaststart());
+    }
+
+    @Test
+    void inspect_NoMoov_Throws() throws Exception {
+        Path file = write("clip.mp4", Arrays.copyOf(Mp4TestFiles.moovAtEnd(), 32));
+
+        assertThrows(IOException.class, () -> IsoMediaFile.inspect(file));
+    }
+
+    @Test
+    void relocateMoovToFront_MovesMoovAndShiftsChunkOffsets() throws Exception {
+        Path source = write("clip.mp4", Mp4TestFiles.moovAtEnd());
+        Path target = dir.resolve("faststart.mp4");
+
+        assertTrue(IsoMediaFile.relocateMoovToFront(source, target));
+
+        byte[] relocated = Files.readAllBytes(target);
+        assertArrayEquals(Mp4TestFiles.moovAtFront(), relocated);
+        VideoMetadata metadata = IsoMediaFile.inspect(target);
+        assertTrue(metadata.isFaststart());
+        assertEquals(2500L, metadata.getDurationMs());
+
+        // The chunk offset must still point at the mdat payload
+        int chunkOffset = ByteBuffer.wrap(relocated, 16 + Mp4TestFiles.moovSize() - 4, 4).getInt();
+        assertEquals(1, relocated[chunkOffset]);
+    }
+
+    @Test
+    void relocateMoovToFront_AlreadyFaststart_WritesNothing() throws Exception {
+        Path source = write("clip.mp4", Mp4TestFiles.moovAtFront());
+        Path target = dir.resolve("faststart.mp4");
+
+        assertFalse(IsoMediaFile.relocateMoovToFront(source, target));
+        assertFalse(Files.exists(target));
+    }
+
+    private Path write(String name, byte[] content) throws IOException {
+        return Files.write(dir.resolve(name), content);
+    }
+}
@@ -0,0 +1,77 @@
+package com.blog.backend.media;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builds tiny but structurally valid MP4 files: ftyp, an 8 byte mdat and a moov holding one
+ * video track whose single chunk points at the mdat payload.
+ */
+public final class Mp4TestFiles {
+
+    public static final int WIDTH = 640;
+    public static final int HEIGHT = 360;
+    public static final int TIMESCALE = 1000;
+    public static final int DURATION = 2500;
+
+    private Mp4TestFiles() {
+    }
+
+    // ftyp(16) + mdat(16) + moov, the layout most cameras and phones produce
+    public static byte[] moovAtEnd() {
+        byte[] ftyp = ftyp();
+        byte[] mdat = mdat();
+        return concat(ftyp, mdat, moov(ftyp.length + 8));
+    }
+
+    public static byte[] moovAtFront() {
+        byte[] ftyp = ftyp();
+        int moovSize = moov(0).length;
+        return concat(ftyp, moov(ftyp.length + moovSize + 8), mdat());
+    }
+
+    public static int moovSize() {
+        return moov(0).length;
+    }
+
+    private static byte[] ftyp() {
+        ByteBuffer body = ByteBuffer.allocate(8);
+        body.put("isom".getBytes(StandardCharsets.ISO_8859_1)).putInt(0);
+        return box("ftyp", body.array());
+    }
+
+    private static byte[] mdat() {
+        return box("mdat", new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+    }
+
+    private static byte[] moov(int chunkOffset) {
+        ByteBuffer mvhd = ByteBuffer.allocate(100);
+        mvhd.putInt(0).putInt(0).putInt(0).putInt(TIMESCALE).putInt(DURATION);
+
+        ByteBuffer tkhd = ByteBuffer.allocate(84);
+        tkhd.putInt(0).position(4 + 20 + 16 + 36);
+        tkhd.putInt(WIDTH << 16).putInt(HEIGHT << 16);
+
+        ByteBuffer stco = ByteBuffer.allocate(12);
+        stco.putInt(0).putInt(1).putInt(chunkOffset);
+
+        byte[] stbl = box("stbl", box("stco", stco.array()));
+        byte[] trak = box("trak", concat(box("tkhd", tkhd.array()), box("mdia", box("minf", stbl))));
+        return box("moov", concat(box("mvhd", mvhd.array()), trak));
+    }
+
+    private static byte[] box(String type, byte[] body) {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + body.length);
+        buffer.putInt(8 + body.length).put(type.getBytes(StandardCharsets.ISO_8859_1)).put(body);
+        return buffer.array();
+    }
+
+    private static byte[] concat(byte[]... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] part : parts) {
+            out.writeBytes(part);
+        }
+        return out.toByteArray();
+    }
+}
@@ -1,32 +1,54 @@
 package com.blog.backend.service;
 
+import com.blog.backend.dto.admin.AdminPostFilter;
+import com.blog.backend.dto.admin.AdminReportFilter;
+import com.blog.backend.dto.admin.AdminUserFilter;
 import com.blog.backend.dto.admin.AdminUserResponse;
 import com.blog.backend.dto.admin.CreateReportRequest;
+import com.blog.backend.dto.admin.ReportCaseResponse;
 import com.blog.backend.dto.admin.ReportResponse;
+import com.blog.backend.dto.common.CursorPageResponse;
+import com.blog.backend.dto.common.PageResponse;
+import com.blog.backend.dto.post.PostResponse;
 import com.blog.backend.entity.Post;
 import com.blog.backend.entity.Report;
+import com.blog.backend.entity.ReportCase;
 import com.blog.backend.entity.User;
+import com.blog.backend.entity.UserStats;
+import com.blog.backend.enums.ReportTargetType;
 import com.blog.backend.enums.Role;
+import com.blog.backend.event.ReportFiledEvent;
 import com.blog.backend.exception.ForbiddenException;
+import com.blog.backend.exception.InvalidRequestException;
 import com.blog.backend.exception.PostNotFoundException;
+import com.blog.backend.exception.ReportCaseNotFoundException;
 import com.blog.backend.exception.ReportNotFoundException;
 import com.blog.backend.exception.UserNotFoundException;
 import com.blog.backend.repository.LikeRepository;
-import com.blog.backend.repository.NotificationRepository;
 import com.blog.backend.repository.PostRepository;
+import com.blog.backend.repository.ReportCaseRepository;
 import com.blog.backend.repository.ReportRepository;
-import com.blog.backend.repository.SubscriptionRepository;
 import com.blog.backend.repository.UserRepository;
+import com.blog.backend.repository.UserStatsRepository;
 import com.blog.backend.security.UserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -36,6 +58,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -44,6 +68,9 @@ class AdminServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
     @Mock
     private PostRepository postRepository;
 
@@ -51,13 +78,13 @@ class AdminServiceTest {
     private ReportRepository reportRepository;
 
     @Mock
-    private LikeRepository likeRepository;
+    private ReportCaseRepository reportCaseRepository;
 
     @Mock
-    private NotificationRepository notificationRepository;
+    private LikeRepository likeRepository;
 
     @Mock
-    private SubscriptionRepository subscriptionRepository;
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private AdminService adminService;
@@ -70,6 +97,7 @@ class AdminServiceTest {
     private UserPrincipal userPrincipal;
     private Post post;
     private Report report;
+    private ReportCase reportCase;
 
     @BeforeEach
     void setUp() {
@@ -100,7 +128,7 @@ class AdminServiceTest {
         reportedUser.setReportsReceived(new ArrayList<>());
 
         userPrincipal = new UserPrincipal(1L, "testuser", "test@example.com", "encodedPassword",
-                Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")), false);
+                Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")), false, null);
 
         post = new Post();
         post.setId(1L);
@@ -116,55 +144,108 @@ class AdminServiceTest {
         report.setReporter(user);
         report.setReportedUser(reportedUser);
         report.setCreatedAt(LocalDateTime.now());
+
+        reportCase = new ReportCase();
+        reportCase.setId(7L);
+        reportCase.setTargetType(ReportTargetType.USER);
+        reportCase.setTargetId(2L);
+        reportCase.setResolved(false);
     }
 
-    // getAllUsers Tests
+    // getUsers Tests
 
     @Test
-    void getAllUsers_Success() {
+    void getUsers_Success() {
         // Arrange
-        List<User> users = Arrays.asList(user, reportedUser);
-        when(userRepository.findAll()).thenReturn(users);
-        when(subscriptionRepository.countBySubscribedToId(anyLong())).thenReturn(0L);
+        Page<User> page = new PageImpl<>(Arrays.asList(user, reportedUser), PageRequest.of(0, 25), 2);
+        when(userRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(page);
 
         // Act
-        List<AdminUserResponse> results = adminService.getAllUsers();
+        PageResponse<AdminUserResponse> results = adminService.getUsers(new AdminUserFilter(), 0, 25, "createdAt", "desc");
 
         // Assert
-        assertEquals(2, results.size());
-        assertEquals("testuser", results.get(0).getUsername());
-        assertEquals("reporteduser", results.get(1).getUsername());
-        verify(userRepository).findAll();
+        assertEquals(2, results.getItems().size());
+        assertEquals("testuser", results.getItems().get(0).getUsername());
+        assertEquals("reporteduser", results.getItems().get(1).getUsername());
+        assertEquals(2, results.getTotalElements());
     }
 
     @Test
-    void getAllUsers_Empty() {
+    void getUsers_Empty() {
         // Arrange
-        when(userRepository.findAll()).thenReturn(new ArrayList<>());
+        when(userRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(Page.empty());
 
         // Act
-        List<AdminUserResponse> results = adminService.getAllUsers();
+        PageResponse<AdminUserResponse> results = adminService.getUsers(new AdminUserFilter(), 0, 25, "createdAt", "desc");
 
         // Assert
-        assertTrue(results.isEmpty());
-        verify(userRepository).findAll();
+        assertTrue(results.getItems().isEmpty());
+        assertEquals(0, results.getTotalElements());
     }
 
     @Test
-    void getAllUsers_IncludesStats() {
+    void getUsers_IncludesStoredStats() {
         // Arrange
-        user.getPosts().add(post);
-        List<User> users = Arrays.asList(user);
-        when(userRepository.findAll()).thenReturn(users);
-        when(subscriptionRepository.countBySubscribedToId(user.getId())).thenReturn(0L);
+        when(userRepository.findAll(any(Specification.class), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(user)));
+        when(userStatsRepository.findAllById(List.of(user.getId())))
+                .thenReturn(List.of(new UserStats(user.getId(), 1, 4, 0)));
 
         // Act
-        List<AdminUserResponse> results = adminService.getAllUsers();
+        PageResponse<AdminUserResponse> results = adminService.getUsers(new AdminUserFilter(), 0, 25, "createdAt", "desc");
 
         // Assert
-        assertEquals(1, results.size());
-        assertEquals(1, results.get(0).getPostCount());
-        assertEquals(0, results.get(0).getSubscriberCount());
+        assertEquals(1, results.getItems().get(0).getPostCount());
+        assertEquals(4, results.getItems().get(0).getSubscriberCount());
+    }
+
+    @Test
+    void getUsers_SortByPostCount_OrdersInTheSpecification() {
+        // Arrange
+        when(userRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(Page.empty());
+
+        // Act
+        adminService.getUsers(new AdminUserFilter(), 0, 25, "postCount", "desc");
+
+        // Assert
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(userRepository).findAll(any(Specification.class), pageable.capture());
+        assertTrue(pageable.getValue().getSort().isUnsorted());
+    }
+
+    @Test
+    void getUsers_SortsWithIdTieBreakerAndCapsPageSize() {
+        // Arrange
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        when(userRepository.findAll(any(Specification.class), pageable.capture())).thenReturn(Page.empty());
+
+        // Act
+        adminService.getUsers(new AdminUserFilter(), 3, 5000, "username", "asc");
+
+        // Assert
+        assertEquals(3, pageable.getValue().getPageNumber());
+        assertEquals(100, pageable.getValue().getPageSize());
+        assertEquals(Sort.by(Sort.Direction.ASC, "username").and(Sort.by(Sort.Direction.ASC, "id")),
+                pageable.getValue().getSort());
+    }
+
+    @Test
+    void getUsers_UnknownSort_ThrowsException() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> adminService.getUsers(new AdminUserFilter(), 0, 25, "password", "asc"));
+        verify(userRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
+    @Test
+    void getUsers_UnknownRole_ThrowsException() {
+        // Arrange
+        AdminUserFilter filter = new AdminUserFilter();
+        filter.setRole("OWNER");
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> adminService.getUsers(filter, 0, 25, "createdAt", "desc"));
     }
 
     // banUser Tests
@@ -212,6 +293,19 @@ class AdminServiceTest {
         verify(userRepository).save(user);
     }
 
+    @Test
+    void unbanUser_DeletedUser_ThrowsException() {
+        // Arrange
+        user.setBanned(true);
+        user.setDeletedAt(LocalDateTime.now());
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // Act & Assert
+        assertThrows(UserNotFoundException.class, () -> adminService.unbanUser(1L));
+        assertTrue(user.getBanned());
+        verify(userRepository, never()).save(any(User.class));
+    }
+
     @Test
     void unbanUser_UserNotFound_ThrowsException() {
         // Arrange
@@ -226,32 +320,28 @@ class AdminServiceTest {
         verify(userRepository, never()).save(any(User.class));
     }
 
-    // deleteUser Tests
+    // liftRestriction Tests
 
     @Test
-    void deleteUser_Success() {
+    void liftRestriction_Success() {
         // Arrange
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.existsById(2L)).thenReturn(true);
 
         // Act
-        adminService.deleteUser(1L);
+        adminService.liftRestriction(2L);
 
         // Assert
-        verify(userRepository).delete(user);
+        verify(userRepository).clearRestriction(2L);
     }
 
     @Test
-    void deleteUser_UserNotFound_ThrowsException() {
+    void liftRestriction_UserNotFound_ThrowsException() {
         // Arrange
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userRepository.existsById(999L)).thenReturn(false);
 
         // Act & Assert
-        assertThrows(
-                UserNotFoundException.class,
-                () -> adminService.deleteUser(999L)
-        );
-
-        verify(userRepository, never()).delete(any(User.class));
+        assertThrows(UserNotFoundException.class, () -> adminService.liftRestriction(999L));
+        verify(userRepository, never()).clearRestriction(any());
     }
 
     // deletePost Tests
@@ -260,12 +350,29 @@ class AdminServiceTest {
     void deletePost_Success() {
         // Arrange
         when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.markDeleted(eq(List.of(1L)), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        adminService.deletePost(1L);
+
+        // Assert
+        verify(postRepository).markDeleted(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(reportCaseRepository).resolveByTargets(eq(ReportTargetType.POST), eq(List.of(1L)), any(LocalDateTime.class));
+        verify(userStatsRepository).adjustPostCount(post.getUser().getId(), -1);
+    }
+
+    @Test
+    void deletePost_AlreadyTombstoned_LeavesCountsAlone() {
+        // Arrange
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.markDeleted(eq(List.of(1L)), any(LocalDateTime.class))).thenReturn(0);
 
         // Act
         adminService.deletePost(1L);
 
         // Assert
-        verify(postRepository).delete(post);
+        verify(userStatsRepository, never()).adjustPostCount(any(), anyInt());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -279,39 +386,131 @@ class AdminServiceTest {
                 () -> adminService.deletePost(999L)
         );
 
-        verify(postRepository, never()).delete(any(Post.class));
+        verify(postRepository, never()).markDeleted(any(), any());
     }
 
-    // getAllReports Tests
+    // getPosts Tests
 
     @Test
-    void getAllReports_Success() {
+    void getPosts_ReturnsPageWithCursor() {
         // Arrange
-        List<Report> reports = Arrays.asList(report);
-        when(reportRepository.findAll()).thenReturn(reports);
+        PostRepository.AdminPostRow first = postRow(30L, 2L);
+        PostRepository.AdminPostRow second = postRow(20L, 0L);
+        PostRepository.AdminPostRow extra = mock(PostRepository.AdminPostRow.class);
+        when(postRepository.findAdminPage(eq(Long.MAX_VALUE), any(), any(), any(LocalDateTime.class),
+                any(LocalDateTime.class), any(), any(Pageable.class)))
+                .thenReturn(Arrays.asList(first, second, extra));
 
         // Act
-        List<ReportResponse> results = adminService.getAllReports();
+        CursorPageResponse<PostResponse> result = adminService.getPosts(new AdminPostFilter(), null, 2);
 
         // Assert
-        assertEquals(1, results.size());
-        assertEquals("Inappropriate content", results.get(0).getReason());
-        assertEquals("testuser", results.get(0).getReporterUsername());
-        assertEquals("reporteduser", results.get(0).getReportedUsername());
-        verify(reportRepository).findAll();
+        assertEquals(2, result.getItems().size());
+        assertTrue(result.isHasMore());
+        assertNotNull(result.getNextCursor());
+        assertEquals(2L, result.getItems().get(0).getOpenReportCount());
+        assertEquals("testuser", result.getItems().get(0).getUsername());
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(postRepository).findAdminPage(any(), any(), any(), any(), any(), any(), pageable.capture());
+        assertEquals(3, pageable.getValue().getPageSize());
     }
 
     @Test
-    void getAllReports_Empty() {
+    void getPosts_PassesFiltersAndCursor() {
         // Arrange
-        when(reportRepository.findAll()).thenReturn(new ArrayList<>());
+        AdminPostFilter filter = new AdminPostFilter();
+        filter.setHidden(true);
+        filter.setAuthorId(1L);
+        filter.setReported(true);
+        filter.setCreatedFrom(LocalDate.of(2024, 1, 1));
+        filter.setCreatedTo(LocalDate.of(2024, 1, 31));
+        String cursor = Cursors.encode(50L);
 
         // Act
-        List<ReportResponse> results = adminService.getAllReports();
+        adminService.getPosts(filter, cursor, 25);
 
         // Assert
-        assertTrue(results.isEmpty());
-        verify(reportRepository).findAll();
+        verify(postRepository).findAdminPage(50L, true, 1L,
+                LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 2, 1, 0, 0), true,
+                PageRequest.of(0, 26));
+    }
+
+    @Test
+    void getPosts_InvalidCursor() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> adminService.getPosts(new AdminPostFilter(), "not-a-cursor!", 25));
+        verify(postRepository, never()).findAdminPage(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    // getReports Tests
+
+    @Test
+    void getReports_Success() {
+        // Arrange
+        ReportRepository.AdminReportRow row = mock(ReportRepository.AdminReportRow.class);
+        when(row.getId()).thenReturn(1L);
+        when(row.getReason()).thenReturn("Inappropriate content");
+        when(row.getResolved()).thenReturn(false);
+        when(row.getReporterUsername()).thenReturn("testuser");
+        when(row.getReportedPostContent()).thenReturn("x".repeat(101));
+        when(reportRepository.findAdminPage(eq(Long.MAX_VALUE), any(), any(), any(LocalDateTime.class),
+                any(LocalDateTime.class), eq(101), any(Pageable.class)))
+                .thenReturn(List.of(row));
+
+        // Act
+        CursorPageResponse<ReportResponse> result = adminService.getReports(new AdminReportFilter(), null, 25);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertFalse(result.isHasMore());
+        assertNull(result.getNextCursor());
+        ReportResponse response = result.getItems().get(0);
+        assertEquals("Inappropriate content", response.getReason());
+        assertEquals("testuser", response.getReporterUsername());
+        assertFalse(response.getResolved());
+        assertEquals("x".repeat(100) + "...", response.getReportedPostContent());
+    }
+
+    @Test
+    void getReports_Empty() {
+        // Arrange
+        when(reportRepository.findAdminPage(any(), any(), any(), any(), any(), anyInt(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
+
+        // Act
+        CursorPageResponse<ReportResponse> result = adminService.getReports(new AdminReportFilter(), null, 25);
+
+        // Assert
+        assertTrue(result.getItems().isEmpty());
+        assertFalse(result.isHasMore());
+    }
+
+    @Test
+    void getReports_FiltersByType() {
+        // Arrange
+        AdminReportFilter filter = new AdminReportFilter();
+        filter.setType("user");
+        filter.setResolved(false);
+
+        // Act
+        adminService.getReports(filter, null, 25);
+
+        // Assert
+        verify(reportRepository).findAdminPage(eq(Long.MAX_VALUE), eq(false), eq(false),
+                any(LocalDateTime.class), any(LocalDateTime.class), eq(101), any(Pageable.class));
+    }
+
+    @Test
+    void getReports_UnknownType() {
+        // Arrange
+        AdminReportFilter filter = new AdminReportFilter();
+        filter.setType("comment");
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> adminService.getReports(filter, null, 25));
+        verify(reportRepository, never()).findAdminPage(any(), any(), any(), any(), any(), anyInt(), any());
     }
 
     // createReport Tests
@@ -326,6 +525,10 @@ class AdminServiceTest {
         when(authentication.getPrincipal()).thenReturn(userPrincipal);
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
         when(userRepository.findById(2L)).thenReturn(Optional.of(reportedUser));
+        when(reportCaseRepository.findByTargetTypeAndTargetId(ReportTargetType.USER, 2L))
+                .thenReturn(Optional.of(reportCase));
+        when(reportRepository.findFirstByReportCaseIdAndReporterIdAndResolvedFalse(7L, 1L))
+                .thenReturn(Optional.empty());
         when(reportRepository.save(any(Report.class))).thenReturn(report);
 
         // Act
@@ -333,7 +536,64 @@ class AdminServiceTest {
 
         // Assert
         assertNotNull(response);
-        verify(reportRepository).save(any(Report.class));
+        ArgumentCaptor<Report> saved = ArgumentCaptor.forClass(Report.class);
+        verify(reportRepository).save(saved.capture());
+        assertSame(reportCase, saved.getValue().getReportCase());
+        verify(reportCaseRepository).insertIfAbsent(eq("USER"), eq(2L), any(LocalDateTime.class));
+        verify(reportCaseRepository).recordReport(eq(7L), eq(1), eq("Spam content"), any(LocalDateTime.class), anyInt());
+        verify(reportCaseRepository, never()).reopen(any(), any());
+        verify(eventPublisher).publishEvent(any(ReportFiledEvent.class));
+    }
+
+    @Test
+    void createReport_RepeatReporter_FoldsIntoOpenReport() {
+        // Arrange
+        CreateReportRequest request = new CreateReportRequest();
+        request.setReportedUserId(2L);
+        request.setReason("Still spamming");
+
+        when(authentication.getPrincipal()).thenReturn(userPrincipal);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(reportedUser));
+        when(reportCaseRepository.findByTargetTypeAndTargetId(ReportTargetType.USER, 2L))
+                .thenReturn(Optional.of(reportCase));
+        when(reportRepository.findFirstByReportCaseIdAndReporterIdAndResolvedFalse(7L, 1L))
+                .thenReturn(Optional.of(report));
+
+        // Act
+        ReportResponse response = adminService.createReport(request, authentication);
+
+        // Assert
+        assertEquals(report.getId(), response.getId());
+        assertEquals("Still spamming", response.getReason());
+        verify(reportRepository, never()).save(any(Report.class));
+        verify(reportRepository).incrementRepeatCount(report.getId());
+        verify(reportCaseRepository).recordReport(eq(7L), eq(0), eq("Still spamming"), any(LocalDateTime.class), anyInt());
+    }
+
+    @Test
+    void createReport_ResolvedCase_IsReopened() {
+        // Arrange
+        reportCase.setResolved(true);
+        CreateReportRequest request = new CreateReportRequest();
+        request.setReportedUserId(2L);
+        request.setReason("Back at it");
+
+        when(authentication.getPrincipal()).thenReturn(userPrincipal);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findById(2L)).thenReturn(Optional.of(reportedUser));
+        when(reportCaseRepository.findByTargetTypeAndTargetId(ReportTargetType.USER, 2L))
+                .thenReturn(Optional.of(reportCase));
+        when(reportRepository.findFirstByReportCaseIdAndReporterIdAndResolvedFalse(7L, 1L))
+                .thenReturn(Optional.empty());
+        when(reportRepository.save(any(Report.class))).thenReturn(report);
+
+        // Act
+        adminService.createReport(request, authentication);
+
+        // Assert
+        verify(reportCaseRepository).reopen(eq(7L), any(LocalDateTime.class));
+        verify(reportCaseRepository).recordReport(eq(7L), eq(1), eq("Back at it"), any(LocalDateTime.class), anyInt());
     }
 
     @Test
@@ -409,6 +669,21 @@ class AdminServiceTest {
         verify(reportRepository).delete(report);
     }
 
+    @Test
+    void deleteReport_OpenReportInCase_RecountsCase() {
+        // Arrange
+        report.setResolved(false);
+        report.setReportCase(reportCase);
+        when(reportRepository.findById(1L)).thenReturn(Optional.of(report));
+
+        // Act
+        adminService.deleteReport(1L);
+
+        // Assert
+        verify(reportRepository).delete(report);
+        verify(reportCaseRepository).recount(eq(7L), anyInt());
+    }
+
     @Test
     void deleteReport_ReportNotFound_ThrowsException() {
         // Arrange
@@ -422,4 +697,106 @@ class AdminServiceTest {
 
         verify(reportRepository, never()).delete(any(Report.class));
     }
+
+    // getReportQueue Tests
+
+    @Test
+    void getReportQueue_ReturnsCasesWithCursor() {
+        // Arrange
+        ReportCaseRepository.QueueRow first = queueRow(7L, 42);
+        ReportCaseRepository.QueueRow second = mock(ReportCaseRepository.QueueRow.class);
+        when(reportCaseRepository.findQueuePage(eq(Integer.MAX_VALUE), eq(Long.MAX_VALUE), eq(101), any(Pageable.class)))
+                .thenReturn(Arrays.asList(first, second));
+
+        // Act
+        CursorPageResponse<ReportCaseResponse> result = adminService.getReportQueue(null, 1);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertTrue(result.isHasMore());
+        assertEquals("USER", result.getItems().get(0).getTargetType());
+        assertEquals(42, result.getItems().get(0).getPriority());
+        assertEquals(Cursors.encode("42:7"), result.getNextCursor());
+    }
+
+    @Test
+    void getReportQueue_ResumesFromCursor() {
+        // Arrange
+        when(reportCaseRepository.findQueuePage(eq(42), eq(7L), anyInt(), any(Pageable.class)))
+                .thenReturn(new ArrayList<>());
+
+        // Act
+        CursorPageResponse<ReportCaseResponse> result = adminService.getReportQueue(Cursors.encode("42:7"), 25);
+
+        // Assert
+        assertTrue(result.getItems().isEmpty());
+        assertFalse(result.isHasMore());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getReportQueue_InvalidCursor() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> adminService.getReportQueue(Cursors.encode("oops"), 25));
+        verify(reportCaseRepository, never()).findQueuePage(any(), any(), anyInt(), any());
+    }
+
+    // resolveReportCase Tests
+
+    @Test
+    void resolveReportCase_Success() {
+        // Arrange
+        when(reportCaseRepository.resolve(eq(7L), any(LocalDateTime.class))).thenReturn(1);
+
+        // Act
+        adminService.resolveReportCase(7L);
+
+        // Assert
+        verify(reportRepository).resolveByReportCase(7L);
+        verify(reportCaseRepository, never()).save(any(ReportCase.class));
+    }
+
+    @Test
+    void resolveReportCase_AlreadyResolved_ClosesReportsWithoutFailing() {
+        // Arrange
+        when(reportCaseRepository.resolve(eq(7L), any(LocalDateTime.class))).thenReturn(0);
+        when(reportCaseRepository.existsById(7L)).thenReturn(true);
+
+        // Act
+        adminService.resolveReportCase(7L);
+
+        // Assert
+        verify(reportRepository).resolveByReportCase(7L);
+    }
+
+    @Test
+    void resolveReportCase_NotFound_ThrowsException() {
+        // Arrange
+        when(reportCaseRepository.resolve(eq(999L), any(LocalDateTime.class))).thenReturn(0);
+        when(reportCaseRepository.existsById(999L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ReportCaseNotFoundException.class, () -> adminService.resolveReportCase(999L));
+        verify(reportRepository, never()).resolveByReportCase(any());
+    }
+
+    private ReportCaseRepository.QueueRow queueRow(Long id, int priority) {
+        ReportCaseRepository.QueueRow row = mock(ReportCaseRepository.QueueRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getTargetType()).thenReturn(ReportTargetType.USER);
+        when(row.getPriority()).thenReturn(priority);
+        return row;
+    }
+
+    private PostRepository.AdminPostRow postRow(Long id, Long openReports) {
+        PostRepository.AdminPostRow row = mock(PostRepository.AdminPostRow.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getUserId()).thenReturn(user.getId());
+        when(row.getUsername()).thenReturn(user.getUsername());
+        when(row.getLikeCount()).thenReturn(0);
+        when(row.getCommentCount()).thenReturn(0);
+        when(row.getOpenReportCount()).thenReturn(openReports);
+        return row;
+    }
 }
@@ -9,6 +9,7 @@ import com.blog.backend.exception.BannedUserException;
 import com.blog.backend.exception.UserAlreadyExistsException;
 import com.blog.backend.exception.UserNotFoundException;
 import com.blog.backend.repository.UserRepository;
+import com.blog.backend.repository.UserStatsRepository;
 import com.blog.backend.security.JwtTokenProvider;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,6 +35,9 @@ class AuthServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
@@ -98,6 +102,7 @@ class AuthServiceTest {
         verify(userRepository).existsByEmail(registerRequest.getEmail());
         verify(passwordEncoder).encode(registerRequest.getPassword());
         verify(userRepository).save(any(User.class));
+        verify(userStatsRepository).createFor(user.getId());
         verify(jwtTokenProvider).generateToken(user.getId(), user.getUsername(), "USER");
     }
 
@@ -0,0 +1,119 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.user.AuthorSummary;
+import com.blog.backend.entity.User;
+import com.blog.backend.repository.UserRepository;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorSummaryCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AuthorSummaryCache authorSummaryCache;
+
+    @BeforeEach
+    void setUp() {
+        authorSummaryCache = new AuthorSummaryCache(userRepository);
+        ReflectionTestUtils.setField(authorSummaryCache, "ttl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(authorSummaryCache, "maxEntries", 100);
+    }
+
+    // getAll Tests
+
+    @Test
+    void getAll_LoadedUsers_NeedNoQuery() {
+        // Arrange
+        User alice = user(1L, "alice", "/api/files/a.png");
+
+        // Act
+        Map<Long, AuthorSummary> summaries = authorSummaryCache.getAll(List.of(alice, alice));
+
+        // Assert
+        assertEquals(1, summaries.size());
+        assertEquals("/api/files/a.png", summaries.get(1L).getAvatarUrl());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void getAll_LazyProxies_AreLoadedInOneQuery() {
+        // Arrange
+        User first = lazyProxy(1L);
+        User second = lazyProxy(2L);
+        when(userRepository.findAllById(List.of(1L, 2L)))
+                .thenReturn(List.of(user(1L, "alice", null), user(2L, "bob", null)));
+
+        // Act
+        Map<Long, AuthorSummary> summaries = authorSummaryCache.getAll(List.of(first, second));
+        authorSummaryCache.getAll(List.of(first, second));
+
+        // Assert
+        assertEquals("alice", summaries.get(1L).getUsername());
+        assertEquals("bob", summaries.get(2L).getUsername());
+        verify(userRepository, times(1)).findAllById(any());
+    }
+
+    // put Tests
+
+    @Test
+    void put_ReplacesCachedSummary() {
+        // Arrange
+        User stale = user(1L, "alice", "/api/files/old.png");
+        authorSummaryCache.get(stale);
+
+        // Act
+        authorSummaryCache.put(user(1L, "alice", "/api/files/new.png"));
+
+        // Assert
+        assertEquals("/api/files/new.png", authorSummaryCache.get(stale).getAvatarUrl());
+    }
+
+    // evictExpired Tests
+
+    @Test
+    void evictExpired_RemovesExpiredEntries() {
+        // Arrange
+        ReflectionTestUtils.setField(authorSummaryCache, "ttl", Duration.ZERO);
+        authorSummaryCache.get(user(1L, "alice", null));
+
+        // Act
+        authorSummaryCache.evictExpired();
+
+        // Assert
+        assertEquals(0, authorSummaryCache.size());
+    }
+
+    private User user(Long id, String username, String avatarUrl) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        user.setDisplayName(username);
+        user.setAvatarUrl(avatarUrl);
+        return user;
+    }
+
+    private User lazyProxy(Long id) {
+        User proxy = mock(User.class, withSettings().extraInterfaces(HibernateProxy.class));
+        LazyInitializer initializer = mock(LazyInitializer.class);
+        when(((HibernateProxy) proxy).asHibernateProxy()).thenReturn((HibernateProxy) proxy);
+        when(((HibernateProxy) proxy).getHibernateLazyInitializer()).thenReturn(initializer);
+        when(initializer.isUninitialized()).thenReturn(true);
+        when(proxy.getId()).thenReturn(id);
+        return proxy;
+    }
+}
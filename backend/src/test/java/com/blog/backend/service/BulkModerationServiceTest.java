@@ -0,0 +1,260 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.admin.BulkActionResponse;
+import com.blog.backend.dto.admin.BulkItemResult;
+import com.blog.backend.enums.BulkItemStatus;
+import com.blog.backend.enums.ReportTargetType;
+import com.blog.backend.enums.Role;
+import com.blog.backend.event.PostChangedEvent;
+import com.blog.backend.exception.InvalidRequestException;
+import com.blog.backend.repository.PostRepository;
+import com.blog.backend.repository.ReportCaseRepository;
+import com.blog.backend.repository.UserRepository;
+import com.blog.backend.repository.UserStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkModerationServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private ReportCaseRepository reportCaseRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private BulkModerationService bulkModerationService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(bulkModerationService, "chunkSize", 2);
+        ReflectionTestUtils.setField(bulkModerationService, "maxIds", 5);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    // banUsers Tests
+
+    @Test
+    void banUsers_MixedIds_ReportsPerItemStatus() {
+        // Arrange
+        UserRepository.ModerationState user1 = userState(1L, Role.USER, false);
+        UserRepository.ModerationState user2 = userState(2L, Role.USER, true);
+        when(userRepository.findModerationStates(Arrays.asList(1L, 2L)))
+                .thenReturn(Arrays.asList(user1, user2));
+        UserRepository.ModerationState user3 = userState(3L, Role.ADMIN, false);
+        when(userRepository.findModerationStates(Arrays.asList(3L, 4L)))
+                .thenReturn(Collections.singletonList(user3));
+
+        // Act
+        BulkActionResponse response = bulkModerationService.banUsers(Arrays.asList(1L, 2L, 3L, 4L));
+
+        // Assert
+        assertEquals(4, response.getRequested());
+        assertEquals(1, response.getUpdated());
+        assertEquals(Arrays.asList(BulkItemStatus.UPDATED, BulkItemStatus.UNCHANGED,
+                BulkItemStatus.SKIPPED, BulkItemStatus.NOT_FOUND), statuses(response));
+        verify(userRepository).updateBanned(Collections.singletonList(1L), true);
+        verify(userRepository, times(1)).updateBanned(any(), anyBoolean());
+        verify(transactionTemplate, times(2)).execute(any());
+    }
+
+    @Test
+    void banUsers_DuplicateIds_ProcessedOnce() {
+        // Arrange
+        UserRepository.ModerationState user1 = userState(1L, Role.USER, false);
+        UserRepository.ModerationState user2 = userState(2L, Role.USER, false);
+        when(userRepository.findModerationStates(Arrays.asList(1L, 2L)))
+                .thenReturn(Arrays.asList(user1, user2));
+
+        // Act
+        BulkActionResponse response = bulkModerationService.banUsers(Arrays.asList(1L, 2L, 1L, null));
+
+        // Assert
+        assertEquals(2, response.getRequested());
+        assertEquals(2, response.getUpdated());
+        verify(transactionTemplate, times(1)).execute(any());
+    }
+
+    @Test
+    void banUsers_TooManyIds_ThrowsInvalidRequestException() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> bulkModerationService.banUsers(Arrays.asList(1L, 2L, 3L, 4L, 5L, 6L)));
+        verifyNoInteractions(transactionTemplate);
+    }
+
+    @Test
+    void banUsers_EmptyIds_ThrowsInvalidRequestException() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> bulkModerationService.banUsers(Collections.emptyList()));
+    }
+
+    // unbanUsers Tests
+
+    @Test
+    void unbanUsers_BannedAdmin_IsUnbanned() {
+        // Arrange
+        UserRepository.ModerationState user1 = userState(1L, Role.ADMIN, true);
+        when(userRepository.findModerationStates(Collections.singletonList(1L)))
+                .thenReturn(Collections.singletonList(user1));
+
+        // Act
+        BulkActionResponse response = bulkModerationService.unbanUsers(Collections.singletonList(1L));
+
+        // Assert
+        assertEquals(1, response.getUpdated());
+        verify(userRepository).updateBanned(Collections.singletonList(1L), false);
+    }
+
+    @Test
+    void unbanUsers_DeletedUser_IsSkipped() {
+        // Arrange
+        UserRepository.ModerationState user1 = userState(1L, Role.USER, true);
+        when(user1.getDeletedAt()).thenReturn(LocalDateTime.now());
+        when(userRepository.findModerationStates(Collections.singletonList(1L)))
+                .thenReturn(Collections.singletonList(user1));
+
+        // Act
+        BulkActionResponse response = bulkModerationService.unbanUsers(Collections.singletonList(1L));
+
+        // Assert
+        assertEquals(List.of(BulkItemStatus.SKIPPED), statuses(response));
+        verify(userRepository, never()).updateBanned(any(), anyBoolean());
+    }
+
+    // hidePosts Tests
+
+    @Test
+    void hidePosts_PublishesEventsForChangedPostsOnly() {
+        // Arrange
+        PostRepository.ModerationState post10 = postState(10L, 1L, false);
+        PostRepository.ModerationState post11 = postState(11L, 1L, true);
+        when(postRepository.findModerationStates(Arrays.asList(10L, 11L)))
+                .thenReturn(Arrays.asList(post10, post11));
+
+        // Act
+        BulkActionResponse response = bulkModerationService.hidePosts(Arrays.asList(10L, 11L));
+
+        // Assert
+        assertEquals(Arrays.asList(BulkItemStatus.UPDATED, BulkItemStatus.UNCHANGED), statuses(response));
+        verify(postRepository).updateHidden(Collections.singletonList(10L), true);
+        verify(eventPublisher, times(1)).publishEvent(any(PostChangedEvent.class));
+    }
+
+    @Test
+    void hidePosts_ChunkFails_ReportsItsItemsAndContinues() {
+        // Arrange
+        when(postRepository.findModerationStates(Arrays.asList(10L, 11L)))
+                .thenThrow(new IllegalStateException("deadlock detected"));
+        PostRepository.ModerationState post12 = postState(12L, 1L, false);
+        when(postRepository.findModerationStates(Collections.singletonList(12L)))
+                .thenReturn(Collections.singletonList(post12));
+
+        // Act
+        BulkActionResponse response = bulkModerationService.hidePosts(Arrays.asList(10L, 11L, 12L));
+
+        // Assert
+        assertEquals(3, response.getRequested());
+        assertEquals(1, response.getUpdated());
+        assertEquals(Arrays.asList(BulkItemStatus.FAILED, BulkItemStatus.FAILED, BulkItemStatus.UPDATED),
+                statuses(response));
+        verify(postRepository).updateHidden(Collections.singletonList(12L), true);
+    }
+
+    @Test
+    void unhidePosts_NothingToChange_SkipsUpdate() {
+        // Arrange
+        PostRepository.ModerationState post10 = postState(10L, 1L, false);
+        when(postRepository.findModerationStates(Collections.singletonList(10L)))
+                .thenReturn(Collections.singletonList(post10));
+
+        // Act
+        BulkActionResponse response = bulkModerationService.unhidePosts(Collections.singletonList(10L));
+
+        // Assert
+        assertEquals(0, response.getUpdated());
+        verify(postRepository, never()).updateHidden(any(), anyBoolean());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    // deletePosts Tests
+
+    @Test
+    void deletePosts_TombstonesPostsAndAdjustsAuthorCounts() {
+        // Arrange
+        List<Long> found = Arrays.asList(10L, 11L);
+        PostRepository.ModerationState post10 = postState(10L, 1L, false);
+        PostRepository.ModerationState post11 = postState(11L, 1L, true);
+        when(postRepository.lockModerationStates(found))
+                .thenReturn(Arrays.asList(post10, post11));
+        when(postRepository.lockModerationStates(Collections.singletonList(12L)))
+                .thenReturn(Collections.emptyList());
+
+        // Act
+        BulkActionResponse response = bulkModerationService.deletePosts(Arrays.asList(10L, 11L, 12L));
+
+        // Assert
+        assertEquals(2, response.getUpdated());
+        assertEquals(Arrays.asList(BulkItemStatus.UPDATED, BulkItemStatus.UPDATED, BulkItemStatus.NOT_FOUND),
+                statuses(response));
+        verify(postRepository).markDeleted(eq(found), any(LocalDateTime.class));
+        verify(postRepository, times(1)).markDeleted(any(), any());
+        verify(reportCaseRepository).resolveByTargets(eq(ReportTargetType.POST), eq(found), any(LocalDateTime.class));
+        verify(userStatsRepository).adjustPostCount(1L, -2);
+        verify(eventPublisher, times(2)).publishEvent(any(PostChangedEvent.class));
+    }
+
+    private List<BulkItemStatus> statuses(BulkActionResponse response) {
+        return response.getResults().stream().map(BulkItemResult::getStatus).collect(Collectors.toList());
+    }
+
+    private UserRepository.ModerationState userState(Long id, Role role, boolean banned) {
+        UserRepository.ModerationState state = mock(UserRepository.ModerationState.class);
+        lenient().when(state.getId()).thenReturn(id);
+        lenient().when(state.getRole()).thenReturn(role);
+        lenient().when(state.getBanned()).thenReturn(banned);
+        return state;
+    }
+
+    private PostRepository.ModerationState postState(Long id, Long userId, boolean hidden) {
+        PostRepository.ModerationState state = mock(PostRepository.ModerationState.class);
+        lenient().when(state.getId()).thenReturn(id);
+        lenient().when(state.getUserId()).thenReturn(userId);
+        lenient().when(state.getHidden()).thenReturn(hidden);
+        return state;
+    }
+}
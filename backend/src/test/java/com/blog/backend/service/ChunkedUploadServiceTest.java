@@ -0,0 +1,230 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.file.UploadSessionResponse;
+import com.blog.backend.exception.FileTooLargeException;
+import com.blog.backend.exception.ForbiddenException;
+import com.blog.backend.exception.InvalidFileException;
+import com.blog.backend.exception.TooManyUploadsException;
+import com.blog.backend.exception.UploadNotFoundException;
+import com.blog.backend.exception.UploadOffsetMismatchException;
+import com.blog.backend.security.UserPrincipal;
+import com.blog.backend.service.FileStorageService.StoredFile;
+import com.blog.backend.storage.ShardedLocalStorageBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedUploadServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private ShardedLocalStorageBackend storageBackend;
+    private ChunkedUploadService chunkedUploadService;
+    private Authentication owner;
+    private Authentication otherUser;
+    private byte[] video;
+
+    @BeforeEach
+    void setUp() {
+        storageBackend = new ShardedLocalStorageBackend(uploadDir);
+        FileStorageService fileStorageService = new FileStorageService(storageBackend, event -> { });
+        ReflectionTestUtils.setField(fileStorageService, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(fileStorageService, "allowedImageTypes", "image/jpeg,image/png,image/gif,image/webp");
+        ReflectionTestUtils.setField(fileStorageService, "allowedVideoTypes", "video/mp4,video/webm,video/quicktime");
+        ReflectionTestUtils.setField(fileStorageService, "maxFileSize", DataSize.ofBytes(16));
+        fileStorageService.init();
+
+        chunkedUploadService = new ChunkedUploadService(fileStorageService);
+        ReflectionTestUtils.setField(chunkedUploadService, "maxUploadSize", DataSize.ofKilobytes(64));
+        ReflectionTestUtils.setField(chunkedUploadService, "maxChunkSize", DataSize.ofBytes(1024));
+        ReflectionTestUtils.setField(chunkedUploadService, "expiry", Duration.ofHours(24));
+        ReflectionTestUtils.setField(chunkedUploadService, "maxOpenUploadsPerUser", 2);
+        chunkedUploadService.init();
+
+        owner = authenticationFor(1L);
+        otherUser = authenticationFor(2L);
+
+        // ISO base media header ("ftyp" box) followed by filler, larger than the single-request limit
+        video = new byte[2500];
+        byte[] header = {0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'i', 's', 'o', 'm'};
+        System.arraycopy(header, 0, video, 0, header.length);
+        for (int i = header.length; i < video.length; i++) {
+            video[i] = (byte) i;
+        }
+    }
+
+    // Chunked upload Tests
+
+    @Test
+    void upload_InChunks_AssemblesFile() throws Exception {
+        // Arrange
+        UploadSessionResponse session = chunkedUploadService.createUpload(video.length, owner);
+
+        // Act
+        long offset = 0;
+        while (offset < video.length) {
+            int end = (int) Math.min(video.length, offset + 1000);
+            offset = append(session.getUploadId(), offset, Arrays.copyOfRange(video, (int) offset, end)).getOffset();
+        }
+        StoredFile storedFile = chunkedUploadService.completeUpload(session.getUploadId(), owner);
+
+        // Assert
+        assertEquals("VIDEO", storedFile.getMediaType());
+        assertEquals(video.length, storedFile.getSize());
+        Path stored = storageBackend.localPath(storedFile.getFilename()).orElseThrow();
+        assertArrayEquals(video, Files.readAllBytes(stored));
+        assertThrows(UploadNotFoundException.class, () -> chunkedUploadService.getUpload(session.getUploadId(), owner));
+    }
+
+    @Test
+    void appendChunk_WrongOffset_ReportsExpectedOffset() {
+        // Arrange
+        UploadSessionResponse session = chunkedUploadService.createUpload(video.length, owner);
+        append(session.getUploadId(), 0, Arrays.copyOfRange(video, 0, 500));
+
+        // Act
+        UploadOffsetMismatchException ex = assertThrows(UploadOffsetMismatchException.class,
+                () -> append(session.getUploadId(), 1000, Arrays.copyOfRange(video, 1000, 1500)));
+
+        // Assert
+        assertEquals(500, ex.getExpectedOffset());
+    }
+
+    @Test
+    void appendChunk_ChecksumMismatch_DiscardsChunk() {
+        // Arrange
+        UploadSessionResponse session = chunkedUploadService.createUpload(video.length, owner);
+        byte[] chunk = Arrays.copyOfRange(video, 0, 500);
+        String wrongChecksum = checksum(Arrays.copyOfRange(video, 1, 501));
+
+        // Act & Assert
+        assertThrows(InvalidFileException.class, () -> chunkedUploadService.appendChunk(
+                session.getUploadId(), 0, wrongChecksum, new ByteArrayInputStream(chunk), owner));
+        assertEquals(0L, chunkedUploadService.getUpload(session.getUploadId(), owner).getOffset());
+    }
+
+    @Test
+    void appendChunk_ImageAboveFileMaxSize_RejectsFirstChunk() {
+        // Arrange
+        byte[] image = new byte[2500];
+        byte[] pngHeader = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+        System.arraycopy(pngHeader, 0, image, 0, pngHeader.length);
+        UploadSessionResponse session = chunkedUploadService.createUpload(image.length, owner);
+
+        // Act & Assert
+        assertThrows(FileTooLargeException.class,
+                () -> append(session.getUploadId(), 0, Arrays.copyOfRange(image, 0, 1000)));
+        assertThrows(UploadNotFoundException.class, () -> chunkedUploadService.getUpload(session.getUploadId(), owner));
+    }
+
+    @Test
+    void appendChunk_UnknownType_RejectsFirstChunk() {
+        // Arrange
+        byte[] text = "not a media file, just some text that is longer than the header".repeat(20).getBytes();
+        UploadSessionResponse session = chunkedUploadService.createUpload(text.length, owner);
+
+        // Act & Assert
+        assertThrows(InvalidFileException.class,
+                () -> append(session.getUploadId(), 0, Arrays.copyOfRange(text, 0, 1000)));
+    }
+
+    @Test
+    void completeUpload_Incomplete_ThrowsException() {
+        // Arrange
+        UploadSessionResponse session = chunkedUploadService.createUpload(video.length, owner);
+        append(session.getUploadId(), 0, Arrays.copyOfRange(video, 0, 500));
+
+        // Act & Assert
+        assertThrows(InvalidFileException.class, () -> chunkedUploadService.completeUpload(session.getUploadId(), owner));
+    }
+
+    @Test
+    void getUpload_OtherUser_ThrowsForbidden() {
+        // Arrange
+        UploadSessionResponse session = chunkedUploadService.createUpload(video.length, owner);
+
+        // Act & Assert
+        assertThrows(ForbiddenException.class, () -> chunkedUploadService.getUpload(session.getUploadId(), otherUser));
+    }
+
+    @Test
+    void getUpload_InvalidId_ThrowsNotFound() {
+        assertThrows(UploadNotFoundException.class, () -> chunkedUploadService.getUpload("../../etc/passwd", owner));
+    }
+
+    // Session limit Tests
+
+    @Test
+    void createUpload_OverOpenLimit_ThrowsUntilOneIsAborted() {
+        // Arrange
+        UploadSessionResponse first = chunkedUploadService.createUpload(video.length, owner);
+        chunkedUploadService.createUpload(video.length, owner);
+
+        // Act & Assert
+        assertThrows(TooManyUploadsException.class, () -> chunkedUploadService.createUpload(video.length, owner));
+        assertNotNull(chunkedUploadService.createUpload(video.length, otherUser));
+        chunkedUploadService.abortUpload(first.getUploadId(), owner);
+        assertNotNull(chunkedUploadService.createUpload(video.length, owner));
+    }
+
+    // purgeExpiredUploads Tests
+
+    @Test
+    void purgeExpiredUploads_RemovesExpiredSessionsAndOrphanedParts() throws Exception {
+        // Arrange
+        Path sessionDirectory = (Path) ReflectionTestUtils.getField(chunkedUploadService, "sessionDirectory");
+        FileTime old = FileTime.from(Instant.now().minus(Duration.ofDays(2)));
+        UploadSessionResponse expired = chunkedUploadService.createUpload(video.length, owner);
+        Files.setLastModifiedTime(sessionDirectory.resolve(expired.getUploadId() + ".meta"), old);
+        UploadSessionResponse active = chunkedUploadService.createUpload(video.length, owner);
+        Path orphan = Files.createFile(sessionDirectory.resolve(UUID.randomUUID() + ".part"));
+        Files.setLastModifiedTime(orphan, old);
+        Path recentOrphan = Files.createFile(sessionDirectory.resolve(UUID.randomUUID() + ".part"));
+
+        // Act
+        chunkedUploadService.purgeExpiredUploads();
+
+        // Assert
+        assertFalse(Files.exists(sessionDirectory.resolve(expired.getUploadId() + ".part")));
+        assertFalse(Files.exists(orphan));
+        assertTrue(Files.exists(recentOrphan));
+        assertEquals(active.getUploadId(), chunkedUploadService.getUpload(active.getUploadId(), owner).getUploadId());
+    }
+
+    private UploadSessionResponse append(String uploadId, long offset, byte[] chunk) {
+        return chunkedUploadService.appendChunk(uploadId, offset, checksum(chunk), new ByteArrayInputStream(chunk), owner);
+    }
+
+    private static String checksum(byte[] chunk) {
+        try {
+            return "sha256 " + Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(chunk));
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Authentication authenticationFor(Long userId) {
+        UserPrincipal principal = new UserPrincipal(userId, "user" + userId, "user" + userId + "@example.com",
+                "encodedPassword", List.of(), false, null);
+        return new UsernamePasswordAuthenticationToken(principal, null, List.of());
+    }
+}
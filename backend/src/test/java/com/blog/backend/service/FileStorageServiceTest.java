@@ -0,0 +1,218 @@
+package com.blog.backend.service;
+
+import com.blog.backend.enums.MediaFormat;
+import com.blog.backend.exception.FileTooLargeException;
+import com.blog.backend.exception.InvalidFileException;
+import com.blog.backend.service.FileStorageService.DirectDownload;
+import com.blog.backend.service.FileStorageService.StoredFile;
+import com.blog.backend.storage.LocalStorageBackend;
+import com.blog.backend.storage.StorageBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class FileStorageServiceTest {
+
+    private static final byte[] PNG_BYTES = {
+            (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R'
+    };
+
+    @TempDir
+    Path uploadDir;
+
+    private FileStorageService fileStorageService;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = new FileStorageService(new LocalStorageBackend(uploadDir), event -> { });
+        ReflectionTestUtils.setField(fileStorageService, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(fileStorageService, "allowedImageTypes", "image/jpeg,image/png,image/gif,image/webp");
+        ReflectionTestUtils.setField(fileStorageService, "allowedVideoTypes", "video/mp4,video/webm,video/quicktime");
+        ReflectionTestUtils.setField(fileStorageService, "maxFileSize", DataSize.ofBytes(1024));
+        ReflectionTestUtils.setField(fileStorageService, "downloadUrlTtl", Duration.ofMinutes(15));
+        ReflectionTestUtils.setField(fileStorageService, "downloadUrlWindow", Duration.ofMinutes(5));
+        fileStorageService.init();
+    }
+
+    // storeFile Tests
+
+    @Test
+    void storeFile_NamesFileByContentHash() throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "photo.PNG", "image/png", PNG_BYTES);
+
+        String filename = fileStorageService.storeFile(file).getFilename();
+
+        assertTrue(filename.matches("[0-9a-f]{64}\\.png"));
+        assertArrayEquals(PNG_BYTES, Files.readAllBytes(uploadDir.resolve(filename)));
+    }
+
+    @Test
+    void storeFile_IdenticalUploads_AreDeduplicated() throws Exception {
+        String first = fileStorageService.storeFile(new MockMultipartFile("file", "a.png", "image/png", PNG_BYTES)).getFilename();
+        String second = fileStorageService.storeFile(new MockMultipartFile("file", "b.png", "image/png", PNG_BYTES)).getFilename();
+
+        assertEquals(first, second);
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void storeFile_EmptyFile_ThrowsException() {
+        MockMultipartFile file = new MockMultipartFile("file", "empty.png", "image/png", new byte[0]);
+
+        assertThrows(InvalidFileException.class, () -> fileStorageService.storeFile(file));
+    }
+
+    @Test
+    void storeFile_RenamedTextFile_ThrowsException() {
+        MockMultipartFile file = new MockMultipartFile("file", "notes.png", "image/png",
+                "just some text pretending to be an image".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidFileException.class, () -> fileStorageService.storeFile(file));
+        assertNoFilesStored();
+    }
+
+    @Test
+    void storeFile_UsesSniffedTypeOverClaimedType() {
+        MockMultipartFile file = new MockMultipartFile("file", "photo.jpg", "image/jpeg", PNG_BYTES);
+
+        StoredFile storedFile = fileStorageService.storeFile(file);
+
+        assertEquals(MediaFormat.PNG, storedFile.getFormat());
+        assertEquals("IMAGE", storedFile.getMediaType());
+        assertTrue(storedFile.getFilename().endsWith(".png"));
+    }
+
+    @Test
+    void storeFile_Mp4Brand_IsStoredAsVideo() {
+        MockMultipartFile file = new MockMultipartFile("file", "clip.mp4", "video/mp4", ftyp("isom"));
+
+        StoredFile storedFile = fileStorageService.storeFile(file);
+
+        assertEquals(MediaFormat.MP4, storedFile.getFormat());
+        assertTrue(storedFile.getFilename().endsWith(".mp4"));
+    }
+
+    @Test
+    void storeFile_HeicImage_ThrowsException() {
+        MockMultipartFile file = new MockMultipartFile("file", "photo.mp4", "video/mp4", ftyp("heic"));
+
+        assertThrows(InvalidFileException.class, () -> fileStorageService.storeFile(file));
+        assertNoFilesStored();
+    }
+
+    // storeStream Tests
+
+    @Test
+    void storeStream_Success() {
+        StoredFile storedFile = fileStorageService.storeStream(new ByteArrayInputStream(PNG_BYTES), PNG_BYTES.length);
+
+        assertEquals(PNG_BYTES.length, storedFile.getSize());
+        assertTrue(Files.exists(uploadDir.resolve(storedFile.getFilename())));
+    }
+
+    @Test
+    void storeStream_DeclaredLengthTooLarge_ThrowsException() {
+        assertThrows(FileTooLargeException.class,
+                () -> fileStorageService.storeStream(new ByteArrayInputStream(PNG_BYTES), 4096));
+    }
+
+    @Test
+    void storeStream_OversizeStream_ThrowsExceptionAndCleansUp() {
+        byte[] oversized = Arrays.copyOf(PNG_BYTES, 2048);
+
+        assertThrows(FileTooLargeException.class,
+                () -> fileStorageService.storeStream(new ByteArrayInputStream(oversized), -1));
+        assertNoFilesStored();
+    }
+
+    // loadFile Tests
+
+    @Test
+    void loadFile_Success() {
+        String filename = fileStorageService.storeFile(new MockMultipartFile("file", "a.png", "image/png", PNG_BYTES)).getFilename();
+
+        assertEquals(uploadDir.resolve(filename), fileStorageService.loadFile(filename));
+    }
+
+    @Test
+    void loadFile_PathTraversal_ThrowsException() {
+        assertThrows(InvalidFileException.class, () -> fileStorageService.loadFile("../secret.png"));
+    }
+
+    @Test
+    void loadFile_Missing_ThrowsException() {
+        assertThrows(InvalidFileException.class, () -> fileStorageService.loadFile("missing.png"));
+    }
+
+    @Test
+    void storeStream_Duplicate_RefreshesLastModified() throws IOException {
+        StoredFile stored = fileStorageService.storeStream(new ByteArrayInputStream(PNG_BYTES), PNG_BYTES.length);
+        Path file = uploadDir.resolve(stored.getFilename());
+        FileTime longAgo = FileTime.from(Instant.now().minus(Duration.ofDays(7)));
+        Files.setLastModifiedTime(file, longAgo);
+
+        fileStorageService.storeStream(new ByteArrayInputStream(PNG_BYTES), PNG_BYTES.length);
+
+        assertTrue(Files.getLastModifiedTime(file).compareTo(longAgo) > 0);
+    }
+
+    @Test
+    void getDirectDownload_LocalBackend_IsEmpty() {
+        assertTrue(fileStorageService.getDirectDownload("missing.png").isEmpty());
+    }
+
+    @Test
+    void getDirectDownload_ObjectStore_ReusesUrlWithinWindow() {
+        StorageBackend objectStore = mock(StorageBackend.class);
+        when(objectStore.presignedDownloadUrl(eq("abc.png"), any(), any())).thenAnswer(invocation ->
+                Optional.of(URI.create("https://media.example.com/abc.png?signed=" + invocation.<Instant>getArgument(1).toEpochMilli())));
+        FileStorageService service = new FileStorageService(objectStore, event -> { });
+        ReflectionTestUtils.setField(service, "downloadUrlTtl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(service, "downloadUrlWindow", Duration.ofMinutes(30));
+
+        DirectDownload first = service.getDirectDownload("abc.png").orElseThrow();
+        DirectDownload second = service.getDirectDownload("abc.png").orElseThrow();
+
+        assertEquals(first.getUrl(), second.getUrl());
+        assertTrue(first.getMaxAge().compareTo(Duration.ofMinutes(29)) >= 0);
+        assertTrue(first.getMaxAge().compareTo(Duration.ofMinutes(59)) <= 0);
+    }
+
+    // A bare ftyp box with the given major brand, padded past the sniffed header
+    private static byte[] ftyp(String majorBrand) {
+        byte[] bytes = Arrays.copyOf(new byte[] {0, 0, 0, 0x18, 'f', 't', 'y', 'p'}, MediaFormat.HEADER_BYTES);
+        System.arraycopy(majorBrand.getBytes(StandardCharsets.ISO_8859_1), 0, bytes, 8, 4);
+        return bytes;
+    }
+
+    private void assertNoFilesStored() {
+        try (Stream<Path> files = Files.list(uploadDir)) {
+            assertEquals(0, files.count());
+        } catch (IOException ex) {
+            fail(ex);
+        }
+    }
+}
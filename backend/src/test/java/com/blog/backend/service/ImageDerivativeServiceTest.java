@@ -0,0 +1,128 @@
+package com.blog.backend.service;
+
+import com.blog.backend.entity.ImageVariants;
+import com.blog.backend.repository.ImageVariantsRepository;
+import com.blog.backend.storage.LocalStorageBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ImageDerivativeServiceTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private FileStorageService fileStorageService;
+    private ImageVariantsRepository imageVariantsRepository;
+    private ImageDerivativeService imageDerivativeService;
+
+    @BeforeEach
+    void setUp() {
+        fileStorageService = new FileStorageService(new LocalStorageBackend(uploadDir), event -> { });
+        ReflectionTestUtils.setField(fileStorageService, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(fileStorageService, "allowedImageTypes", "image/jpeg,image/png,image/gif,image/webp");
+        ReflectionTestUtils.setField(fileStorageService, "allowedVideoTypes", "video/mp4,video/webm,video/quicktime");
+        ReflectionTestUtils.setField(fileStorageService, "maxFileSize", DataSize.ofMegabytes(10));
+        fileStorageService.init();
+
+        imageVariantsRepository = mock(ImageVariantsRepository.class);
+        imageDerivativeService = new ImageDerivativeService(fileStorageService, imageVariantsRepository);
+        ReflectionTestUtils.setField(imageDerivativeService, "variantWidths", new int[]{320, 640, 1280});
+        ReflectionTestUtils.setField(imageDerivativeService, "jpegQuality", 0.8f);
+    }
+
+    @Test
+    void generateVariants_CreatesSmallerWidthsOnly() throws Exception {
+        String filename = storeImage(800, 600, BufferedImage.TYPE_INT_RGB, "jpg");
+
+        imageDerivativeService.generateVariants(filename);
+
+        BufferedImage thumbnail = ImageIO.read(uploadDir.resolve(ImageDerivativeService.variantFilename(filename, 320, false)).toFile());
+        assertEquals(320, thumbnail.getWidth());
+        assertEquals(240, thumbnail.getHeight());
+        assertTrue(Files.exists(uploadDir.resolve(ImageDerivativeService.variantFilename(filename, 640, false))));
+        assertFalse(Files.exists(uploadDir.resolve(ImageDerivativeService.variantFilename(filename, 1280, false))));
+        assertEquals("320,640", recordedVariants().getWidths());
+    }
+
+    @Test
+    void generateVariants_TransparentImage_KeepsPng() throws Exception {
+        String filename = storeImage(400, 400, BufferedImage.TYPE_INT_ARGB, "png");
+
+        imageDerivativeService.generateVariants(filename);
+
+        assertTrue(Files.exists(uploadDir.resolve(ImageDerivativeService.variantFilename(filename, 320, true))));
+        assertTrue(recordedVariants().getAlpha());
+    }
+
+    @Test
+    void generateVariants_SmallImage_RecordsEmptySet() throws Exception {
+        String filename = storeImage(200, 100, BufferedImage.TYPE_INT_RGB, "jpg");
+
+        imageDerivativeService.generateVariants(filename);
+
+        assertEquals("", recordedVariants().getWidths());
+    }
+
+    @Test
+    void findVariants_ReturnsGeneratedUrls() throws Exception {
+        String filename = storeImage(800, 600, BufferedImage.TYPE_INT_RGB, "jpg");
+        imageDerivativeService.generateVariants(filename);
+        ImageVariants recorded = recordedVariants();
+        when(imageVariantsRepository.findById(filename)).thenReturn(Optional.of(recorded));
+
+        Map<Integer, String> variants = imageDerivativeService.findVariants("/api/files/" + filename);
+
+        assertEquals(2, variants.size());
+        assertEquals("/api/files/" + ImageDerivativeService.variantFilename(filename, 320, false), variants.get(320));
+    }
+
+    @Test
+    void findVariants_NotRecordedYet_ReturnsEmptyWithoutProbingStore() throws Exception {
+        String filename = storeImage(800, 600, BufferedImage.TYPE_INT_RGB, "jpg");
+        Files.write(uploadDir.resolve(ImageDerivativeService.variantFilename(filename, 320, false)), new byte[]{1});
+
+        assertTrue(imageDerivativeService.findVariants("/api/files/" + filename).isEmpty());
+    }
+
+    @Test
+    void findVariants_Video_SkipsLookup() {
+        assertTrue(imageDerivativeService.findVariants("/api/files/clip.mp4").isEmpty());
+        verifyNoInteractions(imageVariantsRepository);
+    }
+
+    @Test
+    void findVariants_ExternalUrl_ReturnsEmpty() {
+        assertTrue(imageDerivativeService.findVariants("https://example.com/image.jpg").isEmpty());
+        assertTrue(imageDerivativeService.findVariants(null).isEmpty());
+    }
+
+    private ImageVariants recordedVariants() {
+        ArgumentCaptor<ImageVariants> captor = ArgumentCaptor.forClass(ImageVariants.class);
+        verify(imageVariantsRepository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private String storeImage(int width, int height, int type, String format) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, type);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, format, output);
+        byte[] bytes = output.toByteArray();
+        return fileStorageService.storeStream(new ByteArrayInputStream(bytes), bytes.length).getFilename();
+    }
+}
@@ -0,0 +1,156 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.admin.MediaGcResponse;
+import com.blog.backend.dto.admin.MediaGcStatusResponse;
+import com.blog.backend.repository.PostRepository;
+import com.blog.backend.repository.UserRepository;
+import com.blog.backend.storage.ShardedLocalStorageBackend;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MediaGarbageCollectorTest {
+
+    private static final String HASH_A = "a".repeat(64);
+    private static final String HASH_B = "b".repeat(64);
+    private static final String HASH_C = "c".repeat(64);
+
+    @TempDir
+    Path root;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private ShardedLocalStorageBackend storageBackend;
+    private SimpleMeterRegistry meterRegistry;
+    private MediaGarbageCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        storageBackend = new ShardedLocalStorageBackend(root);
+        meterRegistry = new SimpleMeterRegistry();
+        collector = new MediaGarbageCollector(storageBackend, postRepository, userRepository, meterRegistry,
+                new SyncTaskExecutor());
+        ReflectionTestUtils.setField(collector, "gracePeriod", Duration.ofHours(24));
+        ReflectionTestUtils.setField(collector, "batchSize", 2);
+    }
+
+    // collect Tests
+
+    @Test
+    void collect_DeletesOnlyOldUnreferencedFiles() throws Exception {
+        // Arrange
+        store(HASH_A + ".jpg", 10, true);
+        store(HASH_A + "_w320.jpg", 5, true);
+        store(HASH_B + ".png", 20, true);
+        store(HASH_C + ".png", 30, false);
+        store("legacy-avatar.png", 40, true);
+        referencedBy(Set.of("/api/files/" + HASH_A + ".jpg"), Set.of("/api/files/legacy-avatar.png"));
+
+        // Act
+        MediaGcResponse result = collector.collect(false);
+
+        // Assert
+        assertEquals(5L, result.getScannedFiles());
+        assertEquals(1L, result.getOrphanedFiles());
+        assertEquals(20L, result.getReclaimedBytes());
+        assertFalse(storageBackend.exists(HASH_B + ".png"));
+        assertTrue(storageBackend.exists(HASH_A + ".jpg"));
+        assertTrue(storageBackend.exists(HASH_A + "_w320.jpg"));
+        assertTrue(storageBackend.exists(HASH_C + ".png"));
+        assertTrue(storageBackend.exists("legacy-avatar.png"));
+        assertEquals(20.0, meterRegistry.counter("media.gc.reclaimed.bytes", "dry_run", "false").count());
+    }
+
+    @Test
+    void collect_DryRun_KeepsFiles() throws Exception {
+        // Arrange
+        store(HASH_B + ".png", 20, true);
+        referencedBy(Set.of(), Set.of());
+
+        // Act
+        MediaGcResponse result = collector.collect(true);
+
+        // Assert
+        assertTrue(result.getDryRun());
+        assertEquals(1L, result.getOrphanedFiles());
+        assertEquals(20L, result.getReclaimedBytes());
+        assertTrue(storageBackend.exists(HASH_B + ".png"));
+    }
+
+    // startCollect Tests
+
+    @Test
+    void startCollect_RunsOnTheExecutorAndKeepsTheResult() throws Exception {
+        // Arrange
+        store(HASH_B + ".png", 20, true);
+        referencedBy(Set.of(), Set.of());
+
+        // Act
+        MediaGcStatusResponse status = collector.startCollect(true);
+
+        // Assert
+        assertFalse(status.getRunning());
+        assertNotNull(status.getStartedAt());
+        assertEquals(1L, status.getLastRun().getOrphanedFiles());
+        assertTrue(storageBackend.exists(HASH_B + ".png"));
+    }
+
+    @Test
+    void startCollect_QueueFull_DoesNotStayRunning() {
+        // Arrange
+        collector = new MediaGarbageCollector(storageBackend, postRepository, userRepository, meterRegistry, task -> {
+            throw new TaskRejectedException("full");
+        });
+
+        // Act
+        MediaGcStatusResponse status = collector.startCollect(true);
+
+        // Assert
+        assertFalse(status.getRunning());
+        assertNull(status.getLastRun());
+        assertFalse(collector.getStatus().getRunning());
+    }
+
+    private void store(String key, int size, boolean old) throws Exception {
+        storageBackend.put(key, new ByteArrayInputStream(new byte[size]), size, "application/octet-stream");
+        if (old) {
+            Path file = storageBackend.localPath(key).orElseThrow();
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(3))));
+        }
+    }
+
+    private void referencedBy(Set<String> mediaUrls, Set<String> avatarUrls) {
+        when(postRepository.findMediaUrlsIn(anyCollection())).thenAnswer(invocation -> matching(invocation.getArgument(0), mediaUrls));
+        when(userRepository.findAvatarUrlsIn(anyCollection())).thenAnswer(invocation -> matching(invocation.getArgument(0), avatarUrls));
+    }
+
+    private static List<String> matching(Collection<String> candidates, Set<String> stored) {
+        return candidates.stream().filter(stored::contains).toList();
+    }
+}
@@ -0,0 +1,261 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.file.MediaJobResponse;
+import com.blog.backend.entity.MediaJob;
+import com.blog.backend.entity.Post;
+import com.blog.backend.enums.MediaFormat;
+import com.blog.backend.enums.MediaJobStatus;
+import com.blog.backend.event.FileStoredEvent;
+import com.blog.backend.event.PostChangedEvent;
+import com.blog.backend.exception.MediaJobNotFoundException;
+import com.blog.backend.media.Mp4TestFiles;
+import com.blog.backend.media.VideoTranscoder;
+import com.blog.backend.repository.MediaJobRepository;
+import com.blog.backend.repository.PostRepository;
+import com.blog.backend.service.FileStorageService.StoredFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MediaJobServiceTest {
+
+    private static final String VIDEO = "a".repeat(64) + ".mp4";
+    private static final String FASTSTART_VIDEO = "f".repeat(64) + ".mp4";
+
+    @Mock
+    private MediaJobRepository mediaJobRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private FileStorageService fileStorageService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private VideoTranscoder videoTranscoder;
+
+    @TempDir
+    Path dir;
+
+    private MediaJobService mediaJobService;
+
+    @BeforeEach
+    void setUp() {
+        mediaJobService = new MediaJobService(mediaJobRepository, postRepository, fileStorageService, videoTranscoder,
+                new SyncTaskExecutor(), eventPublisher);
+        ReflectionTestUtils.setField(mediaJobService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(mediaJobService, "staleAfter", Duration.ofMinutes(30));
+    }
+
+    // onFileStored Tests
+
+    @Test
+    void onFileStored_Image_CreatesNoJob() {
+        // Act
+        mediaJobService.onFileStored(new FileStoredEvent("b".repeat(64) + ".png", MediaFormat.PNG));
+
+        // Assert
+        verifyNoInteractions(mediaJobRepository);
+    }
+
+    @Test
+    void onFileStored_Video_CreatesAndDispatchesJob() {
+        // Arrange
+        MediaJob saved = job(1L, 0);
+        when(mediaJobRepository.findByFilename(VIDEO)).thenReturn(Optional.empty());
+        when(mediaJobRepository.save(any(MediaJob.class))).thenReturn(saved);
+        when(mediaJobRepository.claim(eq(1L), eq(MediaJobStatus.PENDING), eq(MediaJobStatus.RUNNING), any()))
+                .thenReturn(0);
+
+        // Act
+        mediaJobService.onFileStored(new FileStoredEvent(VIDEO, MediaFormat.MP4));
+
+        // Assert
+        verify(mediaJobRepository).save(argThat(job -> VIDEO.equals(job.getFilename())));
+        verify(mediaJobRepository).claim(eq(1L), eq(MediaJobStatus.PENDING), eq(MediaJobStatus.RUNNING), any());
+    }
+
+    // processJob Tests
+
+    @Test
+    void processJob_MoovAtEnd_StoresFaststartCopyUnderItsOwnName() throws Exception {
+        // Arrange
+        Path video = Files.write(dir.resolve(VIDEO), Mp4TestFiles.moovAtEnd());
+        MediaJob job = job(1L, 1);
+        claimSucceeds(job);
+        when(fileStorageService.getStagingDirectory()).thenReturn(dir);
+        when(fileStorageService.findLocalFile(VIDEO)).thenReturn(Optional.of(video));
+        when(fileStorageService.getContentType(VIDEO)).thenReturn("video/mp4");
+        when(videoTranscoder.isAvailable()).thenReturn(false);
+        when(fileStorageService.storeRewritten(any(Path.class), eq(MediaFormat.MP4))).thenAnswer(invocation -> {
+            assertArrayEquals(Mp4TestFiles.moovAtFront(), Files.readAllBytes(invocation.getArgument(0, Path.class)));
+            return new StoredFile(FASTSTART_VIDEO, MediaFormat.MP4, 100);
+        });
+        Post post = new Post();
+        post.setId(7L);
+        post.setMediaUrl("/api/files/" + VIDEO);
+        when(postRepository.findAllByMediaUrl("/api/files/" + VIDEO)).thenReturn(List.of(post));
+
+        // Act
+        mediaJobService.processJob(1L);
+
+        // Assert
+        assertEquals(MediaJobStatus.COMPLETED, job.getStatus());
+        assertEquals(2500L, job.getDurationMs());
+        assertEquals(Mp4TestFiles.WIDTH, job.getWidth());
+        assertEquals(Mp4TestFiles.HEIGHT, job.getHeight());
+        assertTrue(job.getFaststart());
+        assertEquals(FASTSTART_VIDEO, job.getOutputFilename());
+        assertNull(job.getPosterFilename());
+        assertArrayEquals(Mp4TestFiles.moovAtEnd(), Files.readAllBytes(video));
+        verify(fileStorageService, never()).storeDerivative(eq(VIDEO), any(Path.class));
+        verify(mediaJobRepository).save(job);
+
+        assertEquals("/api/files/" + FASTSTART_VIDEO, post.getMediaUrl());
+        verify(postRepository).saveAll(List.of(post));
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(7L, ((PostChangedEvent) event.getValue()).getPostId());
+    }
+
+    @Test
+    void processJob_TranscoderAvailable_StoresPoster() throws Exception {
+        // Arrange
+        Path video = Files.write(dir.resolve(VIDEO), Mp4TestFiles.moovAtFront());
+        MediaJob job = job(1L, 1);
+        claimSucceeds(job);
+        when(fileStorageService.getStagingDirectory()).thenReturn(dir);
+        when(fileStorageService.findLocalFile(VIDEO)).thenReturn(Optional.of(video));
+        when(fileStorageService.getContentType(VIDEO)).thenReturn("video/mp4");
+        when(videoTranscoder.isAvailable()).thenReturn(true);
+        String poster = "a".repeat(64) + "_poster.jpg";
+        when(fileStorageService.exists(poster)).thenReturn(false);
+
+        // Act
+        mediaJobService.processJob(1L);
+
+        // Assert
+        assertEquals(MediaJobStatus.COMPLETED, job.getStatus());
+        assertEquals(poster, job.getPosterFilename());
+        verify(videoTranscoder).extractPoster(eq(video), any(Path.class), eq(250L));
+        verify(fileStorageService).storeDerivative(eq(poster), any(Path.class));
+        verify(fileStorageService, never()).storeRewritten(any(Path.class), any());
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    void processJob_FailureBelowMaxAttempts_Requeues() throws Exception {
+        // Arrange
+        MediaJob job = job(1L, 1);
+        claimSucceeds(job);
+        when(fileStorageService.getStagingDirectory()).thenReturn(dir);
+        when(fileStorageService.findLocalFile(VIDEO)).thenReturn(Optional.empty());
+        when(fileStorageService.openFile(VIDEO)).thenThrow(new RuntimeException("backend unavailable"));
+
+        // Act
+        mediaJobService.processJob(1L);
+
+        // Assert
+        assertEquals(MediaJobStatus.PENDING, job.getStatus());
+        assertEquals("backend unavailable", job.getError());
+    }
+
+    @Test
+    void processJob_AttemptsExhausted_MarksFailed() {
+        // Arrange
+        MediaJob job = job(1L, 4);
+        claimSucceeds(job);
+
+        // Act
+        mediaJobService.processJob(1L);
+
+        // Assert
+        assertEquals(MediaJobStatus.FAILED, job.getStatus());
+        verifyNoInteractions(fileStorageService);
+    }
+
+    // getJob Tests
+
+    @Test
+    void getJob_Missing_ThrowsNotFound() {
+        // Arrange
+        when(mediaJobRepository.findByFilename(VIDEO)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(MediaJobNotFoundException.class, () -> mediaJobService.getJob(VIDEO));
+    }
+
+    @Test
+    void getJob_WithPoster_ReturnsPosterUrl() {
+        // Arrange
+        MediaJob job = job(1L, 1);
+        job.setStatus(MediaJobStatus.COMPLETED);
+        job.setPosterFilename("a".repeat(64) + "_poster.jpg");
+        when(mediaJobRepository.findByFilename(VIDEO)).thenReturn(Optional.of(job));
+
+        // Act
+        MediaJobResponse response = mediaJobService.getJob(VIDEO);
+
+        // Assert
+        assertEquals("COMPLETED", response.getStatus());
+        assertEquals("/api/files/" + "a".repeat(64) + "_poster.jpg", response.getPosterUrl());
+    }
+
+    // resolveMediaUrl Tests
+
+    @Test
+    void resolveMediaUrl_Processed_ReturnsOutputUrl() {
+        // Arrange
+        MediaJob job = job(1L, 1);
+        job.setOutputFilename(FASTSTART_VIDEO);
+        when(mediaJobRepository.findByFilename(VIDEO)).thenReturn(Optional.of(job));
+
+        // Act & Assert
+        assertEquals("/api/files/" + FASTSTART_VIDEO, mediaJobService.resolveMediaUrl("/api/files/" + VIDEO));
+    }
+
+    @Test
+    void resolveMediaUrl_NoJobOrExternal_ReturnsUrlUnchanged() {
+        // Arrange
+        when(mediaJobRepository.findByFilename(VIDEO)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertEquals("/api/files/" + VIDEO, mediaJobService.resolveMediaUrl("/api/files/" + VIDEO));
+        assertEquals("https://example.com/v.mp4", mediaJobService.resolveMediaUrl("https://example.com/v.mp4"));
+        assertNull(mediaJobService.resolveMediaUrl(null));
+    }
+
+    private MediaJob job(Long id, int attempts) {
+        MediaJob job = new MediaJob(VIDEO);
+        job.setId(id);
+        job.setAttempts(attempts);
+        return job;
+    }
+
+    private void claimSucceeds(MediaJob job) {
+        when(mediaJobRepository.claim(eq(job.getId()), eq(MediaJobStatus.PENDING), eq(MediaJobStatus.RUNNING), any()))
+                .thenReturn(1);
+        when(mediaJobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+    }
+}
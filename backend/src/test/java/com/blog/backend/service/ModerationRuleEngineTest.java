@@ -0,0 +1,242 @@
+package com.blog.backend.service;
+
+import com.blog.backend.config.ModerationProperties;
+import com.blog.backend.enums.ReportTargetType;
+import com.blog.backend.event.PostChangedEvent;
+import com.blog.backend.event.ReportFiledEvent;
+import com.blog.backend.repository.PostRepository;
+import com.blog.backend.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ModerationRuleEngineTest {
+
+    private static final long MINUTE = 60_000_000_000L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+    private static final LocalDateTime ESTABLISHED = NOW.minusYears(1);
+    private static final LocalDateTime NEW_ACCOUNT = NOW.minusDays(1);
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ModerationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ModerationRuleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ModerationProperties();
+        properties.setWindow(Duration.ofMinutes(10));
+        properties.setPostThreshold(3);
+        properties.setUserThreshold(3);
+        properties.setRestriction(Duration.ofHours(24));
+        properties.setNewAccountWeight(0.5);
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new ModerationRuleEngine(properties, postRepository, userRepository, eventPublisher, meterRegistry);
+    }
+
+    // Post threshold Tests
+
+    @Test
+    void evaluate_DistinctReportersCrossThreshold_HidesPost() {
+        // Arrange
+        when(postRepository.hideIfVisible(10L)).thenReturn(1);
+
+        // Act
+        engine.evaluate(postReport(1L, ESTABLISHED), 0, NOW);
+        engine.evaluate(postReport(2L, ESTABLISHED), MINUTE, NOW);
+        verify(postRepository, never()).hideIfVisible(any());
+        engine.evaluate(postReport(3L, ESTABLISHED), 2 * MINUTE, NOW);
+
+        // Assert
+        verify(postRepository).hideIfVisible(10L);
+        verify(eventPublisher).publishEvent(any(PostChangedEvent.class));
+        assertEquals(1.0, meterRegistry.counter("moderation.auto.actions", "action", "hide-post").count());
+    }
+
+    @Test
+    void evaluate_RepeatReporter_CountsOnce() {
+        // Act
+        engine.evaluate(postReport(1L, ESTABLISHED), 0, NOW);
+        engine.evaluate(postReport(1L, ESTABLISHED), MINUTE, NOW);
+        engine.evaluate(postReport(2L, ESTABLISHED), 2 * MINUTE, NOW);
+        engine.evaluate(postReport(2L, ESTABLISHED), 3 * MINUTE, NOW);
+
+        // Assert
+        verify(postRepository, never()).hideIfVisible(any());
+    }
+
+    @Test
+    void evaluate_NewAccounts_WeighLess() {
+        // Act
+        for (long reporter = 1; reporter <= 5; reporter++) {
+            engine.evaluate(postReport(reporter, NEW_ACCOUNT), reporter * MINUTE, NOW);
+        }
+
+        // Assert
+        verify(postRepository, never()).hideIfVisible(any());
+
+        // Arrange
+        when(postRepository.hideIfVisible(10L)).thenReturn(1);
+
+        // Act
+        engine.evaluate(postReport(6L, NEW_ACCOUNT), 6 * MINUTE, NOW);
+
+        // Assert
+        verify(postRepository).hideIfVisible(10L);
+    }
+
+    @Test
+    void evaluate_ReportsOutsideWindow_Expire() {
+        // Act
+        engine.evaluate(postReport(1L, ESTABLISHED), 0, NOW);
+        engine.evaluate(postReport(2L, ESTABLISHED), MINUTE, NOW);
+        engine.evaluate(postReport(3L, ESTABLISHED), 11 * MINUTE, NOW);
+
+        // Assert
+        verify(postRepository, never()).hideIfVisible(any());
+    }
+
+    @Test
+    void evaluate_RepeatKeepsReporterInWindow() {
+        // Arrange
+        when(postRepository.hideIfVisible(10L)).thenReturn(1);
+
+        // Act
+        engine.evaluate(postReport(1L, ESTABLISHED), 0, NOW);
+        engine.evaluate(postReport(2L, ESTABLISHED), MINUTE, NOW);
+        engine.evaluate(postReport(1L, ESTABLISHED), 9 * MINUTE, NOW);
+        engine.evaluate(postReport(3L, ESTABLISHED), 11 * MINUTE + 1, NOW);
+
+        // Assert
+        verify(postRepository, never()).hideIfVisible(any());
+
+        // Act
+        engine.evaluate(postReport(4L, ESTABLISHED), 11 * MINUTE + 2, NOW);
+
+        // Assert
+        verify(postRepository).hideIfVisible(10L);
+    }
+
+    @Test
+    void evaluate_AlreadyHiddenPost_NoEvent() {
+        // Arrange
+        when(postRepository.hideIfVisible(10L)).thenReturn(0);
+
+        // Act
+        for (long reporter = 1; reporter <= 3; reporter++) {
+            engine.evaluate(postReport(reporter, ESTABLISHED), reporter, NOW);
+        }
+
+        // Assert
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void evaluate_AfterAction_WindowStartsOver() {
+        // Arrange
+        when(postRepository.hideIfVisible(10L)).thenReturn(1);
+
+        // Act
+        for (long reporter = 1; reporter <= 4; reporter++) {
+            engine.evaluate(postReport(reporter, ESTABLISHED), reporter, NOW);
+        }
+
+        // Assert
+        verify(postRepository, times(1)).hideIfVisible(10L);
+    }
+
+    // User threshold Tests
+
+    @Test
+    void evaluate_UserThresholdCrossed_RestrictsUser() {
+        // Arrange
+        when(userRepository.restrictUntil(20L, NOW.plusHours(24))).thenReturn(1);
+
+        // Act
+        for (long reporter = 1; reporter <= 3; reporter++) {
+            engine.evaluate(new ReportFiledEvent(ReportTargetType.USER, 20L, reporter, ESTABLISHED), reporter, NOW);
+        }
+
+        // Assert
+        verify(userRepository).restrictUntil(20L, NOW.plusHours(24));
+        verifyNoInteractions(postRepository);
+        assertEquals(1.0, meterRegistry.counter("moderation.auto.actions", "action", "restrict-user").count());
+    }
+
+    // evictIdleWindows Tests
+
+    @Test
+    void evictIdleWindows_RemovesQuietTargets() {
+        // Arrange
+        properties.setWindow(Duration.ofNanos(1));
+        engine.evaluate(postReport(1L, ESTABLISHED), System.nanoTime() - MINUTE, NOW);
+        assertEquals(1, engine.windowCount());
+
+        // Act
+        engine.evictIdleWindows();
+
+        // Assert
+        assertEquals(0, engine.windowCount());
+    }
+
+    @Test
+    void evictIdleWindows_KeepsTargetReportedSince() {
+        // Arrange
+        long now = System.nanoTime();
+        engine.evaluate(postReport(1L, ESTABLISHED), now - 20 * MINUTE, NOW);
+        engine.evaluate(postReport(2L, ESTABLISHED), now, NOW);
+
+        // Act
+        engine.evictIdleWindows();
+
+        // Assert
+        assertEquals(1, engine.windowCount());
+    }
+
+    @Test
+    void onReportFiled_Disabled_DoesNothing() {
+        // Arrange
+        properties.setEnabled(false);
+
+        // Act
+        engine.onReportFiled(postReport(1L, ESTABLISHED));
+
+        // Assert
+        assertEquals(0, engine.windowCount());
+    }
+
+    @Test
+    void onReportFiled_ActionFails_DoesNotPropagate() {
+        // Arrange
+        properties.setPostThreshold(1);
+        when(postRepository.hideIfVisible(10L)).thenThrow(new RuntimeException("lock timeout"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> engine.onReportFiled(postReport(1L, ESTABLISHED)));
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    private ReportFiledEvent postReport(Long reporterId, LocalDateTime reporterCreatedAt) {
+        return new ReportFiledEvent(ReportTargetType.POST, 10L, reporterId, reporterCreatedAt);
+    }
+}
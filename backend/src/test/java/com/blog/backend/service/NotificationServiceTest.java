@@ -8,7 +8,6 @@ import com.blog.backend.enums.Role;
 import com.blog.backend.exception.ForbiddenException;
 import com.blog.backend.exception.NotificationNotFoundException;
 import com.blog.backend.repository.NotificationRepository;
-import com.blog.backend.repository.UserRepository;
 import com.blog.backend.security.UserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,10 +24,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,7 +38,7 @@ class NotificationServiceTest {
     private NotificationRepository notificationRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private SubscriptionGraph subscriptionGraph;
 
     @InjectMocks
     private NotificationService notificationService;
@@ -71,7 +71,7 @@ class NotificationServiceTest {
         anotherUser.setBanned(false);
 
         userPrincipal = new UserPrincipal(1L, "testuser", "test@example.com", "encodedPassword",
-                Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")), false);
+                Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")), false, null);
 
         post = new Post();
         post.setId(1L);
@@ -394,6 +394,53 @@ class NotificationServiceTest {
         verify(notificationRepository, never()).save(any(Notification.class));
     }
 
+    // notifyNewPost Tests
+
+    @Test
+    void notifyNewPost_InsertsOneRowPerFollowerInASingleStatement() {
+        // Arrange
+        when(subscriptionGraph.getFollowers(2L)).thenReturn(new long[] {1L, 3L});
+
+        // Act
+        notificationService.notifyNewPost(anotherUser, post);
+
+        // Assert
+        verify(notificationRepository).insertForUsers(eq(Arrays.asList(1L, 3L)), eq("anotheruser published a new post"),
+                eq("NEW_POST"), eq(post.getId()), eq(2L), any(LocalDateTime.class));
+        verify(notificationRepository, never()).save(any(Notification.class));
+    }
+
+    @Test
+    void notifyNewPost_ManyFollowers_InsertsInBatches() {
+        // Arrange
+        long[] followers = LongStream.rangeClosed(1, 1500).toArray();
+        when(subscriptionGraph.getFollowers(2L)).thenReturn(followers);
+
+        // Act
+        notificationService.notifyNewPost(anotherUser, post);
+
+        // Assert
+        verify(notificationRepository).insertForUsers(
+                argThat(ids -> ids.size() == 1000 && ids.contains(1L) && ids.contains(1000L)),
+                any(), any(), any(), any(), any());
+        verify(notificationRepository).insertForUsers(
+                argThat(ids -> ids.size() == 500 && ids.contains(1001L) && ids.contains(1500L)),
+                any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void notifyNewPost_NoFollowers_NoNotification() {
+        // Arrange
+        when(subscriptionGraph.getFollowers(2L)).thenReturn(new long[0]);
+
+        // Act
+        notificationService.notifyNewPost(anotherUser, post);
+
+        // Assert
+        verify(notificationRepository, never()).insertForUsers(any(), any(), any(), any(), any(), any());
+        verify(notificationRepository, never()).save(any(Notification.class));
+    }
+
     // Content truncation test
     @Test
     void getUserNotifications_TruncatesLongContent() {
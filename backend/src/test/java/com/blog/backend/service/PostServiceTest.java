@@ -1,5 +1,6 @@
 package com.blog.backend.service;
 
+import com.blog.backend.dto.common.CursorPageResponse;
 import com.blog.backend.dto.post.CommentRequest;
 import com.blog.backend.dto.post.CommentResponse;
 import com.blog.backend.dto.post.PostRequest;
@@ -7,35 +8,50 @@ import com.blog.backend.dto.post.PostResponse;
 import com.blog.backend.entity.Comment;
 import com.blog.backend.entity.Like;
 import com.blog.backend.entity.Post;
-import com.blog.backend.entity.Subscription;
 import com.blog.backend.entity.User;
+import com.blog.backend.enums.ReportTargetType;
 import com.blog.backend.enums.Role;
+import com.blog.backend.event.PostChangedEvent;
 import com.blog.backend.exception.BannedUserException;
 import com.blog.backend.exception.CommentNotFoundException;
 import com.blog.backend.exception.ForbiddenException;
+import com.blog.backend.exception.InvalidRequestException;
 import com.blog.backend.exception.PostNotFoundException;
+import com.blog.backend.exception.RestrictedUserException;
 import com.blog.backend.exception.UserNotFoundException;
 import com.blog.backend.repository.*;
 import com.blog.backend.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,6 +63,9 @@ class PostServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
     @Mock
     private LikeRepository likeRepository;
 
@@ -54,11 +73,29 @@ class PostServiceTest {
     private CommentRepository commentRepository;
 
     @Mock
-    private SubscriptionRepository subscriptionRepository;
+    private SubscriptionGraph subscriptionGraph;
+
+    @Mock
+    private ReportCaseRepository reportCaseRepository;
 
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private ImageDerivativeService imageDerivativeService;
+
+    @Mock
+    private MediaJobService mediaJobService;
+
+    @Spy
+    private AuthorSummaryCache authorSummaryCache = new AuthorSummaryCache(mock(UserRepository.class));
+
+    @Spy
+    private PostSummaryCache postSummaryCache = new PostSummaryCache(new SimpleMeterRegistry());
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PostService postService;
 
@@ -73,6 +110,13 @@ class PostServiceTest {
 
     @BeforeEach
     void setUp() {
+        ReflectionTestUtils.setField(authorSummaryCache, "ttl", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(authorSummaryCache, "maxEntries", 100);
+        ReflectionTestUtils.setField(postSummaryCache, "ttl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(postSummaryCache, "maxEntries", 100);
+        ReflectionTestUtils.setField(postSummaryCache, "earlyRefreshBeta", 1.0);
+        lenient().when(mediaJobService.resolveMediaUrl(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
         user = new User();
         user.setId(1L);
         user.setUsername("testuser");
@@ -96,7 +140,7 @@ class PostServiceTest {
         anotherUser.setSubscriptions(new ArrayList<>());
 
         userPrincipal = new UserPrincipal(1L, "testuser", "test@example.com", "encodedPassword",
-                Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")), false);
+                Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")), false, null);
 
         post = new Post();
         post.setId(1L);
@@ -132,6 +176,7 @@ class PostServiceTest {
         assertEquals("Test post content", response.getContent());
         verify(userRepository).findById(1L);
         verify(postRepository).save(any(Post.class));
+        verify(userStatsRepository).adjustPostCount(1L, 1);
     }
 
     @Test
@@ -151,6 +196,22 @@ class PostServiceTest {
         verify(postRepository, never()).save(any(Post.class));
     }
 
+    @Test
+    void createPost_RestrictedUser_ThrowsException() {
+        // Arrange
+        user.setRestrictedUntil(LocalDateTime.now().plusHours(1));
+        when(authentication.getPrincipal()).thenReturn(userPrincipal);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // Act & Assert
+        assertThrows(
+                RestrictedUserException.class,
+                () -> postService.createPost(postRequest, authentication)
+        );
+
+        verify(postRepository, never()).save(any(Post.class));
+    }
+
     @Test
     void createPost_UserNotFound_ThrowsException() {
         // Arrange
@@ -186,6 +247,27 @@ class PostServiceTest {
         verify(postRepository).findById(1L);
     }
 
+    @Test
+    void getPost_AfterAvatarChange_ReturnsNewAvatar() {
+        // Arrange
+        user.setAvatarUrl("/api/files/old.png");
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        postService.getPost(1L, null);
+
+        User updated = new User();
+        updated.setId(1L);
+        updated.setUsername("testuser");
+        updated.setDisplayName("Test User");
+        updated.setAvatarUrl("/api/files/new.png");
+        authorSummaryCache.put(updated);
+
+        // Act
+        PostResponse response = postService.getPost(1L, null);
+
+        // Assert
+        assertEquals("/api/files/new.png", response.getUserAvatarUrl());
+    }
+
     @Test
     void getPost_Success_WithoutAuthentication() {
         // Arrange
@@ -261,12 +343,32 @@ class PostServiceTest {
         // Arrange
         when(authentication.getPrincipal()).thenReturn(userPrincipal);
         when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.markDeleted(eq(List.of(1L)), any(LocalDateTime.class))).thenReturn(1);
 
         // Act
         postService.deletePost(1L, authentication);
 
         // Assert
-        verify(postRepository).delete(post);
+        verify(postRepository).markDeleted(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(reportCaseRepository).resolveByTargets(eq(ReportTargetType.POST), eq(List.of(1L)), any(LocalDateTime.class));
+        verify(postRepository, never()).delete(any(Post.class));
+        verify(userStatsRepository).adjustPostCount(1L, -1);
+    }
+
+    @Test
+    void deletePost_AlreadyTombstoned_LeavesCountsAlone() {
+        // Arrange
+        when(authentication.getPrincipal()).thenReturn(userPrincipal);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(postRepository.markDeleted(eq(List.of(1L)), any(LocalDateTime.class))).thenReturn(0);
+
+        // Act
+        postService.deletePost(1L, authentication);
+
+        // Assert
+        verify(userStatsRepository, never()).adjustPostCount(any(), anyInt());
+        verify(reportCaseRepository, never()).resolveByTargets(any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -283,7 +385,7 @@ class PostServiceTest {
         );
 
         assertTrue(exception.getMessage().contains("your own posts"));
-        verify(postRepository, never()).delete(any(Post.class));
+        verify(postRepository, never()).markDeleted(any(), any());
     }
 
     // getUserPosts Tests
@@ -291,11 +393,12 @@ class PostServiceTest {
     @Test
     void getUserPosts_Success() {
         // Arrange
-        user.getPosts().add(post);
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.existsById(1L)).thenReturn(true);
         when(authentication.isAuthenticated()).thenReturn(true);
         when(authentication.getPrincipal()).thenReturn(userPrincipal);
-        when(likeRepository.existsByUserIdAndPostId(anyLong(), anyLong())).thenReturn(false);
+        when(postRepository.findProfilePosts(1L, true)).thenReturn(List.of(post));
+        when(postRepository.findCountsByIds(List.of(1L))).thenReturn(List.of(counts(1L, 3, 2)));
+        when(likeRepository.findPostIdsLikedBy(1L, List.of(1L))).thenReturn(List.of(1L));
 
         // Act
         List<PostResponse> results = postService.getUserPosts(1L, authentication);
@@ -303,13 +406,32 @@ class PostServiceTest {
         // Assert
         assertEquals(1, results.size());
         assertEquals(1L, results.get(0).getId());
-        verify(userRepository).findById(1L);
+        assertEquals(3, results.get(0).getLikeCount());
+        assertEquals(2, results.get(0).getCommentCount());
+        assertTrue(results.get(0).getLikedByCurrentUser());
+        verify(likeRepository, never()).existsByUserIdAndPostId(anyLong(), anyLong());
+    }
+
+    @Test
+    void getUserPosts_AnotherViewer_AsksForVisiblePostsOnly() {
+        // Arrange
+        when(userRepository.existsById(2L)).thenReturn(true);
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn(userPrincipal);
+        when(postRepository.findProfilePosts(2L, false)).thenReturn(List.of());
+
+        // Act
+        List<PostResponse> results = postService.getUserPosts(2L, authentication);
+
+        // Assert
+        assertTrue(results.isEmpty());
+        verify(postRepository, never()).findCountsByIds(any());
     }
 
     @Test
     void getUserPosts_UserNotFound_ThrowsException() {
         // Arrange
-        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+        when(userRepository.existsById(999L)).thenReturn(false);
 
         // Act & Assert
         assertThrows(
@@ -323,10 +445,6 @@ class PostServiceTest {
     @Test
     void getFeed_Success() {
         // Arrange
-        Subscription subscription = new Subscription();
-        subscription.setSubscriber(user);
-        subscription.setSubscribedTo(anotherUser);
-
         Post anotherPost = new Post();
         anotherPost.setId(2L);
         anotherPost.setContent("Another post");
@@ -337,17 +455,15 @@ class PostServiceTest {
         anotherPost.setUpdatedAt(LocalDateTime.now());
 
         when(authentication.getPrincipal()).thenReturn(userPrincipal);
-        when(subscriptionRepository.findBySubscriberId(1L)).thenReturn(Arrays.asList(subscription));
+        when(subscriptionGraph.getFollowing(1L)).thenReturn(new long[] {2L});
         when(postRepository.findByUserIdInOrderByCreatedAtDesc(any())).thenReturn(Arrays.asList(post, anotherPost));
-        when(likeRepository.existsByUserIdAndPostId(anyLong(), anyLong())).thenReturn(false);
 
         // Act
         List<PostResponse> results = postService.getFeed(authentication);
 
         // Assert
         assertEquals(2, results.size());
-        verify(subscriptionRepository).findBySubscriberId(1L);
-        verify(postRepository).findByUserIdInOrderByCreatedAtDesc(any());
+        verify(postRepository).findByUserIdInOrderByCreatedAtDesc(List.of(2L, 1L));
     }
 
     // toggleLike Tests
@@ -477,27 +593,264 @@ class PostServiceTest {
         verify(notificationService).notifyNewComment(anotherUser, user, post);
     }
 
+    @Test
+    void addComment_Reply_ExtendsParentPathAndCountsAncestors() {
+        // Arrange
+        Comment parent = createComment(5L, "Parent");
+        parent.setParentId(2L);
+        parent.setRootId(2L);
+        parent.setPath("000000000002/000000000005/");
+        parent.setDepth(1);
+        CommentRequest commentRequest = new CommentRequest("Reply");
+        commentRequest.setParentId(5L);
+
+        when(authentication.getPrincipal()).thenReturn(userPrincipal);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(commentRepository.findById(5L)).thenReturn(Optional.of(parent));
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> {
+            Comment saved = invocation.getArgument(0);
+            saved.setId(9L);
+            return saved;
+        });
+
+        // Act
+        CommentResponse response = postService.addComment(1L, commentRequest, authentication);
+
+        // Assert
+        ArgumentCaptor<Comment> captor = ArgumentCaptor.forClass(Comment.class);
+        verify(commentRepository).save(captor.capture());
+        assertEquals("000000000002/000000000005/000000000009/", captor.getValue().getPath());
+        assertEquals(2L, captor.getValue().getRootId());
+        assertEquals(5L, response.getParentId());
+        assertEquals(2, response.getDepth());
+        verify(commentRepository).adjustReplyCounts(List.of(2L, 5L), 1);
+    }
+
+    @Test
+    void addComment_TopLevel_StartsItsOwnThread() {
+        // Arrange
+        when(authentication.getPrincipal()).thenReturn(userPrincipal);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> {
+            Comment saved = invocation.getArgument(0);
+            saved.setId(12L);
+            return saved;
+        });
+
+        // Act
+        postService.addComment(1L, new CommentRequest("Root"), authentication);
+
+        // Assert
+        ArgumentCaptor<Comment> captor = ArgumentCaptor.forClass(Comment.class);
+        verify(commentRepository).save(captor.capture());
+        assertEquals("000000000012/", captor.getValue().getPath());
+        assertEquals(12L, captor.getValue().getRootId());
+        verify(commentRepository, never()).adjustReplyCounts(any(), anyInt());
+    }
+
+    @Test
+    void addComment_ReplyTooDeep_ThrowsException() {
+        // Arrange
+        Comment parent = createComment(5L, "Deep");
+        parent.setDepth(8);
+        parent.setPath("000000000005/");
+        CommentRequest commentRequest = new CommentRequest("Reply");
+        commentRequest.setParentId(5L);
+
+        when(authentication.getPrincipal()).thenReturn(userPrincipal);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(commentRepository.findById(5L)).thenReturn(Optional.of(parent));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> postService.addComment(1L, commentRequest, authentication));
+        verify(commentRepository, never()).save(any(Comment.class));
+    }
+
+    @Test
+    void addComment_ReplyOnAnotherPost_ThrowsException() {
+        // Arrange
+        Post otherPost = new Post();
+        otherPost.setId(2L);
+        Comment parent = createComment(5L, "Elsewhere");
+        parent.setPost(otherPost);
+        CommentRequest commentRequest = new CommentRequest("Reply");
+        commentRequest.setParentId(5L);
+
+        when(authentication.getPrincipal()).thenReturn(userPrincipal);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(commentRepository.findById(5L)).thenReturn(Optional.of(parent));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> postService.addComment(1L, commentRequest, authentication));
+    }
+
     // getComments Tests
 
     @Test
     void getComments_Success() {
         // Arrange
-        Comment comment = new Comment();
-        comment.setId(1L);
-        comment.setContent("Test comment");
-        comment.setUser(user);
-        comment.setPost(post);
-        comment.setCreatedAt(LocalDateTime.now());
-        post.getComments().add(comment);
+        Comment comment = createComment(1L, "Test comment");
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findRootPageNewestFirst(eq(1L), eq(Long.MAX_VALUE), any(Pageable.class)))
+                .thenReturn(List.of(comment));
 
-        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        // Act
+        CursorPageResponse<CommentResponse> result = postService.getComments(1L, null, 20, "newest", 0);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals("Test comment", result.getItems().get(0).getContent());
+        assertFalse(result.isHasMore());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getComments_MoreAvailable_ReturnsCursorForNextPage() {
+        // Arrange
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findRootPageNewestFirst(eq(1L), eq(Long.MAX_VALUE), any(Pageable.class)))
+                .thenReturn(List.of(createComment(30L, "c"), createComment(20L, "b"), createComment(10L, "a")));
+
+        CursorPageResponse<CommentResponse> firstPage = postService.getComments(1L, null, 2, "newest", 0);
+        when(commentRepository.findRootPageNewestFirst(eq(1L), eq(20L), any(Pageable.class)))
+                .thenReturn(List.of(createComment(10L, "a")));
 
         // Act
-        List<CommentResponse> results = postService.getComments(1L);
+        CursorPageResponse<CommentResponse> secondPage = postService.getComments(1L, firstPage.getNextCursor(), 2, "newest", 0);
 
         // Assert
-        assertEquals(1, results.size());
-        assertEquals("Test comment", results.get(0).getContent());
+        assertEquals(2, firstPage.getItems().size());
+        assertTrue(firstPage.isHasMore());
+        assertEquals(1, secondPage.getItems().size());
+        assertEquals(10L, secondPage.getItems().get(0).getId());
+        assertFalse(secondPage.isHasMore());
+    }
+
+    @Test
+    void getComments_OldestOrder_QueriesAscendingAndCapsLimit() {
+        // Arrange
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findRootPageOldestFirst(eq(1L), eq(0L), pageable.capture()))
+                .thenReturn(List.of(createComment(1L, "first")));
+
+        // Act
+        CursorPageResponse<CommentResponse> result = postService.getComments(1L, null, 5000, "oldest", 0);
+
+        // Assert
+        assertEquals("first", result.getItems().get(0).getContent());
+        assertEquals(101, pageable.getValue().getPageSize());
+    }
+
+    @Test
+    void getComments_InvalidCursor_ThrowsException() {
+        // Arrange
+        when(postRepository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> postService.getComments(1L, "not-a-cursor", 20, "newest", 0));
+    }
+
+    @Test
+    void getComments_InvalidOrder_ThrowsException() {
+        // Arrange
+        when(postRepository.existsById(1L)).thenReturn(true);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> postService.getComments(1L, null, 20, "popular", 0));
+    }
+
+    @Test
+    void getComments_PostNotFound_ThrowsException() {
+        // Arrange
+        when(postRepository.existsById(999L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(PostNotFoundException.class, () -> postService.getComments(999L, null, 20, "newest", 0));
+        verify(commentRepository, never()).findRootPageNewestFirst(anyLong(), anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void getComments_WithReplies_AttachesPreviewsToTheirThreads() {
+        // Arrange
+        Comment root = createComment(2L, "Root");
+        root.setRootId(2L);
+        root.setPath("000000000002/");
+        root.setReplyCount(4);
+        Comment quiet = createComment(3L, "No replies");
+        Comment reply = createComment(7L, "Reply");
+        reply.setParentId(2L);
+        reply.setRootId(2L);
+        reply.setDepth(1);
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(commentRepository.findRootPageNewestFirst(eq(1L), eq(Long.MAX_VALUE), any(Pageable.class)))
+                .thenReturn(List.of(quiet, root));
+        when(commentRepository.findReplyPreviews(List.of(2L), 3)).thenReturn(List.of(reply));
+
+        // Act
+        CursorPageResponse<CommentResponse> result = postService.getComments(1L, null, 20, "newest", 3);
+
+        // Assert
+        assertTrue(result.getItems().get(0).getReplies().isEmpty());
+        CommentResponse thread = result.getItems().get(1);
+        assertEquals(4, thread.getReplyCount());
+        assertEquals(1, thread.getReplies().size());
+        assertEquals("Reply", thread.getReplies().get(0).getContent());
+        assertEquals(2L, thread.getReplies().get(0).getParentId());
+    }
+
+    // getReplies Tests
+
+    @Test
+    void getReplies_ReadsSubtreeAfterTheComment() {
+        // Arrange
+        Comment root = createComment(2L, "Root");
+        root.setRootId(2L);
+        root.setPath("000000000002/");
+        Comment first = createComment(7L, "First");
+        first.setPath("000000000002/000000000007/");
+        Comment second = createComment(8L, "Second");
+        second.setPath("000000000002/000000000007/000000000008/");
+        when(commentRepository.findById(2L)).thenReturn(Optional.of(root));
+        when(commentRepository.findSubtreePage(eq(2L), eq("000000000002/%"), eq("000000000002/"), any(Pageable.class)))
+                .thenReturn(List.of(first, second));
+
+        // Act
+        CursorPageResponse<CommentResponse> result = postService.getReplies(2L, null, 1);
+
+        // Assert
+        assertEquals(1, result.getItems().size());
+        assertEquals("First", result.getItems().get(0).getContent());
+        assertTrue(result.isHasMore());
+        assertNotNull(result.getNextCursor());
+    }
+
+    @Test
+    void getReplies_CursorOutsideThread_ThrowsException() {
+        // Arrange
+        Comment root = createComment(2L, "Root");
+        root.setRootId(2L);
+        root.setPath("000000000002/");
+        String foreignCursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("000000000003/".getBytes(StandardCharsets.UTF_8));
+        when(commentRepository.findById(2L)).thenReturn(Optional.of(root));
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> postService.getReplies(2L, foreignCursor, 20));
+    }
+
+    private Comment createComment(Long id, String content) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setContent(content);
+        comment.setUser(user);
+        comment.setPost(post);
+        comment.setCreatedAt(LocalDateTime.now());
+        return comment;
     }
 
     // deleteComment Tests
@@ -518,7 +871,28 @@ class PostServiceTest {
         postService.deleteComment(1L, authentication);
 
         // Assert
-        verify(commentRepository).delete(comment);
+        verify(commentRepository).markDeleted(eq(1L), any(LocalDateTime.class));
+        verify(commentRepository, never()).delete(any(Comment.class));
+    }
+
+    @Test
+    void deleteComment_WithReplies_RemovesSubtreeAndUpdatesAncestors() {
+        // Arrange
+        Comment comment = createComment(5L, "Middle");
+        comment.setRootId(2L);
+        comment.setPath("000000000002/000000000005/");
+
+        when(authentication.getPrincipal()).thenReturn(userPrincipal);
+        when(commentRepository.findById(5L)).thenReturn(Optional.of(comment));
+        when(commentRepository.markSubtreeDeleted(eq(2L), eq("000000000002/000000000005/%"), any(LocalDateTime.class)))
+                .thenReturn(3);
+
+        // Act
+        postService.deleteComment(5L, authentication);
+
+        // Assert
+        verify(commentRepository).adjustReplyCounts(List.of(2L), -3);
+        verify(commentRepository, never()).delete(any(Comment.class));
     }
 
     @Test
@@ -555,4 +929,200 @@ class PostServiceTest {
                 () -> postService.deleteComment(999L, authentication)
         );
     }
+
+    // PostChangedEvent Tests
+
+    @Test
+    void toggleLike_PublishesPostChangedEvent() {
+        // Arrange
+        when(authentication.getPrincipal()).thenReturn(userPrincipal);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(likeRepository.existsByUserIdAndPostId(1L, 1L)).thenReturn(false);
+
+        // Act
+        postService.toggleLike(1L, authentication);
+
+        // Assert
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(1L, ((PostChangedEvent) event.getValue()).getPostId());
+    }
+
+    @Test
+    void getPost_SecondRead_IsServedFromSummaryCache() {
+        // Arrange
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+
+        // Act
+        PostResponse first = postService.getPost(1L, null);
+        PostResponse second = postService.getPost(1L, null);
+
+        // Assert
+        assertNotSame(first, second);
+        assertEquals(first.getContent(), second.getContent());
+        verify(postRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getPost_OtherAuthorProfileChange_KeepsCachedSummary() {
+        // Arrange
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        postService.getPost(1L, null);
+
+        // Act
+        authorSummaryCache.put(anotherUser);
+        postService.getPost(1L, null);
+
+        // Assert
+        verify(postRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getPost_NewImageVariants_ReloadsSummary() {
+        // Arrange
+        post.setMediaUrl("/api/files/photo.jpg");
+        post.setMediaType("IMAGE");
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(imageDerivativeService.findVariants("/api/files/photo.jpg"))
+                .thenReturn(Map.of())
+                .thenReturn(Map.of(320, "/api/files/photo-w320.jpg"));
+        postService.getPost(1L, null);
+
+        // Act
+        PostResponse response = postService.getPost(1L, null);
+
+        // Assert
+        assertEquals("/api/files/photo-w320.jpg", response.getMediaVariants().get(320));
+        verify(postRepository, times(2)).findById(1L);
+    }
+
+    // getPostETag Tests
+
+    @Test
+    void getPostETag_ChangesWhenLikeCountChanges() {
+        // Arrange
+        when(postRepository.findVersionById(1L))
+                .thenReturn(Optional.of(postVersion(1L, 3)))
+                .thenReturn(Optional.of(postVersion(1L, 4)));
+
+        // Act
+        String before = postService.getPostETag(1L, null);
+        String after = postService.getPostETag(1L, null);
+
+        // Assert
+        assertTrue(before.startsWith("W/\""));
+        assertNotEquals(before, after);
+    }
+
+    @Test
+    void getPostETag_DiffersBetweenViewers() {
+        // Arrange
+        when(postRepository.findVersionById(1L)).thenReturn(Optional.of(postVersion(1L, 3)));
+        when(authentication.isAuthenticated()).thenReturn(true);
+        when(authentication.getPrincipal()).thenReturn(userPrincipal);
+        when(likeRepository.existsByUserIdAndPostId(1L, 1L)).thenReturn(true);
+
+        // Act
+        String anonymous = postService.getPostETag(1L, null);
+        String signedIn = postService.getPostETag(1L, authentication);
+
+        // Assert
+        assertNotEquals(anonymous, signedIn);
+        assertEquals(anonymous, postService.getPostETag(1L, null));
+    }
+
+    @Test
+    void getPostETag_PostNotFound_ThrowsException() {
+        // Arrange
+        when(postRepository.findVersionById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(PostNotFoundException.class, () -> postService.getPostETag(999L, null));
+    }
+
+    @Test
+    void getPostETag_ChangesWhenAuthorProfileChanges() {
+        // Arrange
+        when(postRepository.findVersionById(1L)).thenReturn(Optional.of(postVersion(1L, 3)));
+        String before = postService.getPostETag(1L, null);
+
+        // Act
+        authorSummaryCache.put(user);
+
+        // Assert
+        assertNotEquals(before, postService.getPostETag(1L, null));
+    }
+
+    @Test
+    void getPostETag_UnaffectedByOtherAuthorProfile() {
+        // Arrange
+        when(postRepository.findVersionById(1L)).thenReturn(Optional.of(postVersion(1L, 3)));
+        String before = postService.getPostETag(1L, null);
+
+        // Act
+        authorSummaryCache.put(anotherUser);
+
+        // Assert
+        assertEquals(before, postService.getPostETag(1L, null));
+    }
+
+    // getCommentsETag Tests
+
+    @Test
+    void getCommentsETag_ChangesWithCommentsAndCommentsVersion() {
+        // Arrange
+        when(postRepository.findCommentsVersionById(1L)).thenReturn(Optional.of(0L), Optional.of(0L), Optional.of(1L));
+        when(commentRepository.findVersionByPostId(1L))
+                .thenReturn(commentsVersion(2L, 7L), commentsVersion(3L, 8L), commentsVersion(3L, 8L));
+
+        // Act
+        String before = postService.getCommentsETag(1L);
+        String afterComment = postService.getCommentsETag(1L);
+        String afterProfileEdit = postService.getCommentsETag(1L);
+
+        // Assert
+        assertNotEquals(before, afterComment);
+        assertNotEquals(afterComment, afterProfileEdit);
+        assertEquals(afterProfileEdit, postService.getCommentsETag(1L));
+    }
+
+    @Test
+    void getCommentsETag_PostNotFound_ThrowsException() {
+        // Arrange
+        when(postRepository.findCommentsVersionById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(PostNotFoundException.class, () -> postService.getCommentsETag(999L));
+        verify(commentRepository, never()).findVersionByPostId(anyLong());
+    }
+
+    private PostRepository.PostVersion postVersion(Long id, int likeCount) {
+        LocalDateTime updatedAt = post.getCreatedAt();
+        return new PostRepository.PostVersion() {
+            public Long getId() { return id; }
+            public Long getUserId() { return 1L; }
+            public String getMediaUrl() { return null; }
+            public String getMediaType() { return null; }
+            public Boolean getHidden() { return false; }
+            public LocalDateTime getUpdatedAt() { return updatedAt; }
+            public Integer getLikeCount() { return likeCount; }
+            public Integer getCommentCount() { return 0; }
+        };
+    }
+
+    private PostRepository.PostCounts counts(Long id, int likeCount, int commentCount) {
+        return new PostRepository.PostCounts() {
+            public Long getId() { return id; }
+            public Integer getLikeCount() { return likeCount; }
+            public Integer getCommentCount() { return commentCount; }
+        };
+    }
+
+    private CommentRepository.CommentsVersion commentsVersion(Long count, Long lastId) {
+        return new CommentRepository.CommentsVersion() {
+            public Long getCount() { return count; }
+            public Long getLastId() { return lastId; }
+        };
+    }
 }
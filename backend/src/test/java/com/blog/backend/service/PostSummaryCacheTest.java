@@ -0,0 +1,156 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.post.PostResponse;
+import com.blog.backend.event.PostChangedEvent;
+import com.blog.backend.exception.PostNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostSummaryCacheTest {
+
+    private PostSummaryCache postSummaryCache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        postSummaryCache = new PostSummaryCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(postSummaryCache, "ttl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(postSummaryCache, "maxEntries", 100);
+        ReflectionTestUtils.setField(postSummaryCache, "earlyRefreshBeta", 1.0);
+    }
+
+    // get Tests
+
+    @Test
+    void get_Cached_LoadsOnce() {
+        // Act
+        PostResponse first = postSummaryCache.get(1L, cached -> true, () -> load(1L));
+        PostResponse second = postSummaryCache.get(1L, cached -> true, () -> load(1L));
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_ConcurrentMisses_ShareOneLoad() throws Exception {
+        // Arrange
+        CountDownLatch loaderStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoader = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<PostResponse>> results = new ArrayList<>();
+
+        try {
+            // Act
+            results.add(executor.submit(() -> postSummaryCache.get(1L, cached -> true, () -> {
+                loaderStarted.countDown();
+                await(releaseLoader);
+                return load(1L);
+            })));
+            assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 7; i++) {
+                results.add(executor.submit(() -> postSummaryCache.get(1L, cached -> true, () -> load(1L))));
+            }
+            Thread.sleep(100);
+            releaseLoader.countDown();
+
+            // Assert
+            PostResponse expected = results.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<PostResponse> result : results) {
+                assertSame(expected, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_LoaderFails_NothingIsCached() {
+        // Act & Assert
+        assertThrows(PostNotFoundException.class,
+                () -> postSummaryCache.get(1L, cached -> true, () -> { throw new PostNotFoundException(1L); }));
+        postSummaryCache.get(1L, cached -> true, () -> load(1L));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void get_DependenciesNoLongerCurrent_Reloads() {
+        // Act
+        postSummaryCache.get(1L, cached -> true, () -> load(1L));
+        postSummaryCache.get(1L, cached -> false, () -> load(1L));
+        postSummaryCache.get(1L, cached -> true, () -> load(1L));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_NearExpiry_RefreshesEarly() {
+        // Arrange
+        ReflectionTestUtils.setField(postSummaryCache, "earlyRefreshBeta", 1e12);
+        postSummaryCache.get(1L, cached -> true, () -> load(1L));
+
+        // Act
+        postSummaryCache.get(1L, cached -> true, () -> load(1L));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    // onPostChanged Tests
+
+    @Test
+    void onPostChanged_EvictsEntry() {
+        // Arrange
+        postSummaryCache.get(1L, cached -> true, () -> load(1L));
+
+        // Act
+        postSummaryCache.onPostChanged(new PostChangedEvent(1L));
+
+        // Assert
+        assertEquals(0, postSummaryCache.size());
+    }
+
+    @Test
+    void onPostChanged_DuringLoad_DiscardsLoadedValue() {
+        // Act
+        PostResponse value = postSummaryCache.get(1L, cached -> true, () -> {
+            postSummaryCache.onPostChanged(new PostChangedEvent(1L));
+            return load(1L);
+        });
+
+        // Assert
+        assertNotNull(value);
+        assertEquals(0, postSummaryCache.size());
+    }
+
+    private PostResponse load(Long postId) {
+        loads.incrementAndGet();
+        PostResponse response = new PostResponse();
+        response.setId(postId);
+        return response;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
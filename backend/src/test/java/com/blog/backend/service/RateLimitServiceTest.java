@@ -0,0 +1,146 @@
+package com.blog.backend.service;
+
+import com.blog.backend.config.RateLimitProperties;
+import com.blog.backend.config.RateLimitProperties.Policy;
+import com.blog.backend.service.RateLimitService.Decision;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitServiceTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimitService rateLimitService;
+    private Policy uploadPolicy;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        uploadPolicy = new Policy("file-upload", "/api/files/upload/**", List.of("POST"), 3, Duration.ofSeconds(3));
+        properties.setPolicies(List.of(uploadPolicy));
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimitService = new RateLimitService(properties, meterRegistry);
+    }
+
+    // resolvePolicy Tests
+
+    @Test
+    void resolvePolicy_MatchesConfiguredRoute() {
+        assertSame(uploadPolicy, rateLimitService.resolvePolicy("POST", "/api/files/upload"));
+    }
+
+    @Test
+    void resolvePolicy_MethodMismatch_FallsBackToDefault() {
+        Policy policy = rateLimitService.resolvePolicy("GET", "/api/files/upload");
+
+        assertEquals("default", policy.getName());
+    }
+
+    @Test
+    void resolvePolicy_OutsideApi_ReturnsNull() {
+        assertNull(rateLimitService.resolvePolicy("GET", "/actuator/health"));
+    }
+
+    // tryConsume Tests
+
+    @Test
+    void tryConsume_AllowsBurstUpToCapacity() {
+        long now = 100 * SECOND;
+
+        Decision first = rateLimitService.tryConsume(uploadPolicy, "user:1", now);
+        Decision second = rateLimitService.tryConsume(uploadPolicy, "user:1", now);
+        Decision third = rateLimitService.tryConsume(uploadPolicy, "user:1", now);
+        Decision fourth = rateLimitService.tryConsume(uploadPolicy, "user:1", now);
+
+        assertTrue(first.isAllowed());
+        assertEquals(2, first.getRemaining());
+        assertTrue(second.isAllowed());
+        assertTrue(third.isAllowed());
+        assertEquals(0, third.getRemaining());
+        assertFalse(fourth.isAllowed());
+        assertEquals(1, fourth.getRetryAfterSeconds());
+    }
+
+    @Test
+    void tryConsume_RefillsOverTime() {
+        long now = 100 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            rateLimitService.tryConsume(uploadPolicy, "user:1", now);
+        }
+
+        assertFalse(rateLimitService.tryConsume(uploadPolicy, "user:1", now).isAllowed());
+        assertTrue(rateLimitService.tryConsume(uploadPolicy, "user:1", now + SECOND).isAllowed());
+    }
+
+    @Test
+    void tryConsume_KeysAreIsolated() {
+        long now = 100 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            rateLimitService.tryConsume(uploadPolicy, "user:1", now);
+        }
+
+        assertFalse(rateLimitService.tryConsume(uploadPolicy, "user:1", now).isAllowed());
+        assertTrue(rateLimitService.tryConsume(uploadPolicy, "user:2", now).isAllowed());
+    }
+
+    @Test
+    void tryConsume_RecordsMetrics() {
+        long now = 100 * SECOND;
+        for (int i = 0; i < 4; i++) {
+            rateLimitService.tryConsume(uploadPolicy, "ip:127.0.0.1", now);
+        }
+
+        assertEquals(3.0, meterRegistry.get("ratelimit.requests")
+                .tag("policy", "file-upload").tag("outcome", "allowed").counter().count());
+        assertEquals(1.0, meterRegistry.get("ratelimit.requests")
+                .tag("policy", "file-upload").tag("outcome", "rejected").counter().count());
+    }
+
+    // evictIdleBuckets Tests
+
+    @Test
+    void evictIdleBuckets_RemovesRefilledBuckets() {
+        properties.setIdleEviction(Duration.ZERO);
+        rateLimitService.tryConsume(uploadPolicy, "user:1", System.nanoTime() - 10 * SECOND);
+
+        rateLimitService.evictIdleBuckets();
+
+        assertEquals(0, rateLimitService.bucketCount());
+    }
+
+    // RateLimitProperties validation Tests
+
+    @Test
+    void properties_Defaults_AreValid() {
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            assertTrue(factory.getValidator().validate(properties).isEmpty());
+        }
+    }
+
+    @Test
+    void properties_ZeroCapacityOrRefill_AreRejected() {
+        properties.setPolicies(List.of(
+                new Policy("no-capacity", "/api/a/**", List.of(), 0, Duration.ofSeconds(1)),
+                new Policy("no-refill", "/api/b/**", List.of(), 5, Duration.ZERO)));
+
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Set<String> paths = factory.getValidator().validate(properties).stream()
+                    .map(violation -> violation.getPropertyPath().toString())
+                    .collect(Collectors.toSet());
+
+            assertEquals(Set.of("policies[0].capacity", "policies[1].refillPeriod"), paths);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.blog.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseBodyCacheTest {
+
+    private ResponseBodyCache responseBodyCache;
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        responseBodyCache = new ResponseBodyCache(new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(responseBodyCache, "enabled", true);
+        ReflectionTestUtils.setField(responseBodyCache, "maxSize", DataSize.ofBytes(64));
+    }
+
+    // getOrRender Tests
+
+    @Test
+    void getOrRender_SameETag_RendersOnce() {
+        // Act
+        byte[] first = responseBodyCache.getOrRender("post:1", "W/\"a\"", () -> render("hello"));
+        byte[] second = responseBodyCache.getOrRender("post:1", "W/\"a\"", () -> render("hello"));
+
+        // Assert
+        assertEquals("[\"hello\"]", new String(first, StandardCharsets.UTF_8));
+        assertSame(first, second);
+        assertEquals(1, renders.get());
+    }
+
+    @Test
+    void getOrRender_NewETag_RendersAgain() {
+        // Act
+        responseBodyCache.getOrRender("post:1", "W/\"a\"", () -> render("old"));
+        byte[] body = responseBodyCache.getOrRender("post:1", "W/\"b\"", () -> render("new"));
+
+        // Assert
+        assertEquals("[\"new\"]", new String(body, StandardCharsets.UTF_8));
+        assertEquals(2, renders.get());
+    }
+
+    @Test
+    void getOrRender_OverSizeLimit_EvictsLeastRecentlyUsed() {
+        // Arrange
+        String payload = "x".repeat(20);
+        responseBodyCache.getOrRender("post:1", "W/\"a\"", () -> render(payload));
+        responseBodyCache.getOrRender("post:2", "W/\"a\"", () -> render(payload));
+
+        // Act
+        responseBodyCache.getOrRender("post:3", "W/\"a\"", () -> render(payload));
+        responseBodyCache.getOrRender("post:1", "W/\"a\"", () -> render(payload));
+
+        // Assert
+        assertEquals(4, renders.get());
+        assertTrue(responseBodyCache.size() <= 64);
+    }
+
+    private List<String> render(String value) {
+        renders.incrementAndGet();
+        return List.of(value);
+    }
+}
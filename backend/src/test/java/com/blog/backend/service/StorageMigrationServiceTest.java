@@ -0,0 +1,85 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.admin.StorageMigrationResponse;
+import com.blog.backend.storage.LocalStorageBackend;
+import com.blog.backend.storage.ShardedLocalStorageBackend;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageMigrationServiceTest {
+
+    @TempDir
+    Path root;
+
+    // startMigration Tests
+
+    @Test
+    void startMigration_MovesAllLegacyFiles() throws Exception {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            Files.write(root.resolve("abcd" + i + ".png"), new byte[]{(byte) i});
+        }
+        StorageMigrationService service = newService(new ShardedLocalStorageBackend(root));
+
+        // Act
+        StorageMigrationResponse status = service.startMigration();
+
+        // Assert
+        assertTrue(status.getSupported());
+        assertFalse(status.getRunning());
+        assertEquals(5L, status.getMigratedFiles());
+        assertNotNull(status.getFinishedAt());
+        assertTrue(Files.exists(root.resolve("ab/cd/abcd4.png")));
+    }
+
+    @Test
+    void startMigration_FlatBackend_IsNotSupported() {
+        // Arrange
+        StorageMigrationService service = newService(new LocalStorageBackend(root));
+
+        // Act
+        StorageMigrationResponse status = service.startMigration();
+
+        // Assert
+        assertFalse(status.getSupported());
+        assertNull(status.getStartedAt());
+    }
+
+    @Test
+    void startMigration_QueueFull_CanBeStartedAgain() throws Exception {
+        // Arrange
+        Files.write(root.resolve("abcd0.png"), new byte[]{0});
+        ShardedLocalStorageBackend backend = new ShardedLocalStorageBackend(root);
+        StorageMigrationService rejecting = newService(backend, task -> {
+            throw new TaskRejectedException("full");
+        });
+
+        // Act
+        StorageMigrationResponse status = rejecting.startMigration();
+
+        // Assert
+        assertFalse(status.getRunning());
+        assertNotNull(status.getLastError());
+        assertFalse(rejecting.getStatus().getRunning());
+    }
+
+    private StorageMigrationService newService(LocalStorageBackend backend) {
+        return newService(backend, new SyncTaskExecutor());
+    }
+
+    private StorageMigrationService newService(LocalStorageBackend backend, TaskExecutor taskExecutor) {
+        StorageMigrationService service = new StorageMigrationService(backend, taskExecutor);
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "batchPauseMillis", 0L);
+        return service;
+    }
+}
@@ -0,0 +1,197 @@
+package com.blog.backend.service;
+
+import com.blog.backend.repository.SubscriptionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SubscriptionGraphTest {
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SubscriptionGraph subscriptionGraph;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        subscriptionGraph = new SubscriptionGraph(subscriptionRepository, meterRegistry);
+        ReflectionTestUtils.setField(subscriptionGraph, "enabled", true);
+        ReflectionTestUtils.setField(subscriptionGraph, "loadBatchSize", 2);
+    }
+
+    // Before load Tests
+
+    @Test
+    void isSubscribed_NotLoaded_FallsBackToRepository() {
+        // Arrange
+        when(subscriptionRepository.existsBySubscriberIdAndSubscribedToId(1L, 2L)).thenReturn(true);
+
+        // Act & Assert
+        assertTrue(subscriptionGraph.isSubscribed(1L, 2L));
+        verify(subscriptionRepository).existsBySubscriberIdAndSubscribedToId(1L, 2L);
+    }
+
+    @Test
+    void getFollowers_NotLoaded_ReturnsSortedIdsFromRepository() {
+        // Arrange
+        when(subscriptionRepository.findSubscriberIds(2L)).thenReturn(Arrays.asList(7L, 3L));
+
+        // Act & Assert
+        assertArrayEquals(new long[] {3L, 7L}, subscriptionGraph.getFollowers(2L));
+    }
+
+    // refresh Tests
+
+    @Test
+    void refresh_LoadsEdgesInBatches() {
+        // Arrange
+        List<SubscriptionRepository.Edge> firstBatch = Arrays.asList(edge(1L, 1L, 3L), edge(2L, 1L, 2L));
+        List<SubscriptionRepository.Edge> secondBatch = Collections.singletonList(edge(5L, 4L, 2L));
+        when(subscriptionRepository.findEdgesAfter(eq(0L), any())).thenReturn(firstBatch);
+        when(subscriptionRepository.findEdgesAfter(eq(2L), any())).thenReturn(secondBatch);
+
+        // Act
+        subscriptionGraph.refresh();
+
+        // Assert
+        assertTrue(subscriptionGraph.isSubscribed(1L, 2L));
+        assertFalse(subscriptionGraph.isSubscribed(2L, 1L));
+        assertArrayEquals(new long[] {2L, 3L}, subscriptionGraph.getFollowing(1L));
+        assertArrayEquals(new long[] {1L, 4L}, subscriptionGraph.getFollowers(2L));
+        assertArrayEquals(new long[0], subscriptionGraph.getFollowing(9L));
+        assertEquals(3.0, meterRegistry.get("subscription.graph.edges").gauge().value());
+        verify(subscriptionRepository, never()).existsBySubscriberIdAndSubscribedToId(anyLong(), anyLong());
+    }
+
+    @Test
+    void refresh_EditCommittedDuringLoad_IsReplayed() {
+        // Arrange
+        List<SubscriptionRepository.Edge> edges = Collections.singletonList(edge(1L, 1L, 2L));
+        when(subscriptionRepository.findEdgesAfter(eq(0L), any())).thenAnswer(invocation -> {
+            // The row was read just before a concurrent unsubscribe committed
+            subscriptionGraph.onUnsubscribed(1L, 2L);
+            return edges;
+        });
+
+        // Act
+        subscriptionGraph.refresh();
+
+        // Assert
+        assertFalse(subscriptionGraph.isSubscribed(1L, 2L));
+        assertEquals(0, subscriptionGraph.edgeCount());
+    }
+
+    @Test
+    void refresh_Disabled_KeepsUsingRepository() {
+        // Arrange
+        ReflectionTestUtils.setField(subscriptionGraph, "enabled", false);
+
+        // Act
+        subscriptionGraph.refresh();
+
+        // Assert
+        verify(subscriptionRepository, never()).findEdgesAfter(any(), any());
+        subscriptionGraph.isSubscribed(1L, 2L);
+        verify(subscriptionRepository).existsBySubscriberIdAndSubscribedToId(1L, 2L);
+    }
+
+    // onSubscribed / onUnsubscribed Tests
+
+    @Test
+    void onSubscribed_ThenUnsubscribed_UpdatesBothDirections() {
+        // Arrange
+        loadEmpty();
+
+        // Act
+        subscriptionGraph.onSubscribed(1L, 2L);
+        subscriptionGraph.onSubscribed(3L, 2L);
+        subscriptionGraph.onSubscribed(1L, 2L);
+
+        // Assert
+        assertTrue(subscriptionGraph.isSubscribed(1L, 2L));
+        assertArrayEquals(new long[] {1L, 3L}, subscriptionGraph.getFollowers(2L));
+        assertEquals(2, subscriptionGraph.edgeCount());
+
+        // Act
+        subscriptionGraph.onUnsubscribed(1L, 2L);
+
+        // Assert
+        assertFalse(subscriptionGraph.isSubscribed(1L, 2L));
+        assertArrayEquals(new long[0], subscriptionGraph.getFollowing(1L));
+        assertArrayEquals(new long[] {3L}, subscriptionGraph.getFollowers(2L));
+        assertEquals(1, subscriptionGraph.edgeCount());
+    }
+
+    @Test
+    void onSubscribed_InTransaction_AppliesAfterCommit() {
+        // Arrange
+        loadEmpty();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            subscriptionGraph.onSubscribed(1L, 2L);
+
+            // Assert
+            assertFalse(subscriptionGraph.isSubscribed(1L, 2L));
+
+            // Act
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+            // Assert
+            assertTrue(subscriptionGraph.isSubscribed(1L, 2L));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    // removeUser Tests
+
+    @Test
+    void removeUser_DropsEdgesOnBothSides() {
+        // Arrange
+        loadEmpty();
+        subscriptionGraph.onSubscribed(1L, 2L);
+        subscriptionGraph.onSubscribed(3L, 1L);
+        subscriptionGraph.onSubscribed(3L, 2L);
+
+        // Act
+        subscriptionGraph.removeUser(1L);
+
+        // Assert
+        assertArrayEquals(new long[] {3L}, subscriptionGraph.getFollowers(2L));
+        assertArrayEquals(new long[] {2L}, subscriptionGraph.getFollowing(3L));
+        assertEquals(1, subscriptionGraph.edgeCount());
+    }
+
+    private void loadEmpty() {
+        when(subscriptionRepository.findEdgesAfter(eq(0L), any())).thenReturn(Collections.emptyList());
+        subscriptionGraph.refresh();
+    }
+
+    private SubscriptionRepository.Edge edge(Long id, Long subscriberId, Long subscribedToId) {
+        SubscriptionRepository.Edge edge = mock(SubscriptionRepository.Edge.class);
+        lenient().when(edge.getId()).thenReturn(id);
+        lenient().when(edge.getSubscriberId()).thenReturn(subscriberId);
+        lenient().when(edge.getSubscribedToId()).thenReturn(subscribedToId);
+        return edge;
+    }
+}
@@ -10,6 +10,7 @@ import com.blog.backend.exception.NotSubscribedException;
 import com.blog.backend.exception.UserNotFoundException;
 import com.blog.backend.repository.SubscriptionRepository;
 import com.blog.backend.repository.UserRepository;
+import com.blog.backend.repository.UserStatsRepository;
 import com.blog.backend.security.UserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -37,9 +38,15 @@ class SubscriptionServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private SubscriptionGraph subscriptionGraph;
+
     @InjectMocks
     private SubscriptionService subscriptionService;
 
@@ -75,7 +82,7 @@ class SubscriptionServiceTest {
         subscribedTo.setSubscriptions(new ArrayList<>());
 
         userPrincipal = new UserPrincipal(1L, "subscriber", "subscriber@example.com", "encodedPassword",
-                Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")), false);
+                Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")), false, null);
     }
 
     // subscribe Tests
@@ -94,6 +101,9 @@ class SubscriptionServiceTest {
         // Assert
         verify(subscriptionRepository).save(any(Subscription.class));
         verify(notificationService).notifyNewSubscriber(subscribedTo, subscriber);
+        verify(userStatsRepository).adjustFollowingCount(1L, 1);
+        verify(userStatsRepository).adjustFollowerCount(2L, 1);
+        verify(subscriptionGraph).onSubscribed(1L, 2L);
     }
 
     @Test
@@ -199,12 +209,32 @@ class SubscriptionServiceTest {
         // Arrange
         when(authentication.getPrincipal()).thenReturn(userPrincipal);
         when(subscriptionRepository.existsBySubscriberIdAndSubscribedToId(1L, 2L)).thenReturn(true);
+        when(subscriptionRepository.deleteBySubscriberIdAndSubscribedToId(1L, 2L)).thenReturn(1L);
 
         // Act
         subscriptionService.unsubscribe(2L, authentication);
 
         // Assert
         verify(subscriptionRepository).deleteBySubscriberIdAndSubscribedToId(1L, 2L);
+        verify(userStatsRepository).adjustFollowingCount(1L, -1);
+        verify(userStatsRepository).adjustFollowerCount(2L, -1);
+        verify(subscriptionGraph).onUnsubscribed(1L, 2L);
+    }
+
+    @Test
+    void unsubscribe_AlreadyRemovedConcurrently_LeavesCountersAlone() {
+        // Arrange
+        when(authentication.getPrincipal()).thenReturn(userPrincipal);
+        when(subscriptionRepository.existsBySubscriberIdAndSubscribedToId(1L, 2L)).thenReturn(true);
+        when(subscriptionRepository.deleteBySubscriberIdAndSubscribedToId(1L, 2L)).thenReturn(0L);
+
+        // Act
+        subscriptionService.unsubscribe(2L, authentication);
+
+        // Assert
+        verify(userStatsRepository, never()).adjustFollowingCount(anyLong(), anyInt());
+        verify(userStatsRepository, never()).adjustFollowerCount(anyLong(), anyInt());
+        verify(subscriptionGraph, never()).onUnsubscribed(any(), any());
     }
 
     @Test
@@ -228,27 +258,27 @@ class SubscriptionServiceTest {
     void isSubscribed_True() {
         // Arrange
         when(authentication.getPrincipal()).thenReturn(userPrincipal);
-        when(subscriptionRepository.existsBySubscriberIdAndSubscribedToId(1L, 2L)).thenReturn(true);
+        when(subscriptionGraph.isSubscribed(1L, 2L)).thenReturn(true);
 
         // Act
         Boolean result = subscriptionService.isSubscribed(2L, authentication);
 
         // Assert
         assertTrue(result);
-        verify(subscriptionRepository).existsBySubscriberIdAndSubscribedToId(1L, 2L);
+        verify(subscriptionGraph).isSubscribed(1L, 2L);
     }
 
     @Test
     void isSubscribed_False() {
         // Arrange
         when(authentication.getPrincipal()).thenReturn(userPrincipal);
-        when(subscriptionRepository.existsBySubscriberIdAndSubscribedToId(1L, 2L)).thenReturn(false);
+        when(subscriptionGraph.isSubscribed(1L, 2L)).thenReturn(false);
 
         // Act
         Boolean result = subscriptionService.isSubscribed(2L, authentication);
 
         // Assert
         assertFalse(result);
-        verify(subscriptionRepository).existsBySubscriberIdAndSubscribedToId(1L, 2L);
+        verify(subscriptionGraph).isSubscribed(1L, 2L);
     }
 }
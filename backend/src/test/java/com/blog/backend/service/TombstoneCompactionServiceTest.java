@@ -0,0 +1,158 @@
+package com.blog.backend.service;
+
+import com.blog.backend.enums.ReportTargetType;
+import com.blog.backend.repository.CommentRepository;
+import com.blog.backend.repository.LikeRepository;
+import com.blog.backend.repository.NotificationRepository;
+import com.blog.backend.repository.PostRepository;
+import com.blog.backend.repository.ReportCaseRepository;
+import com.blog.backend.repository.ReportRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TombstoneCompactionServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @Mock
+    private ReportCaseRepository reportCaseRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TombstoneCompactionService compactionService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        compactionService = new TombstoneCompactionService(postRepository, commentRepository, likeRepository,
+                notificationRepository, reportRepository, reportCaseRepository, transactionTemplate, meterRegistry);
+        ReflectionTestUtils.setField(compactionService, "enabled", true);
+        ReflectionTestUtils.setField(compactionService, "gracePeriod", Duration.ofHours(1));
+        ReflectionTestUtils.setField(compactionService, "batchSize", 2);
+        ReflectionTestUtils.setField(compactionService, "batchPauseMillis", 0L);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    // compact Tests
+
+    @Test
+    void compact_PurgesTombstonedCommentsInBatches() throws InterruptedException {
+        // Arrange
+        when(commentRepository.findIdsDeletedBefore(any(), any()))
+                .thenReturn(Arrays.asList(1L, 2L), Collections.singletonList(3L));
+
+        // Act
+        long purged = compactionService.compact();
+
+        // Assert
+        assertEquals(3, purged);
+        verify(commentRepository).purgeByIds(Arrays.asList(1L, 2L));
+        verify(commentRepository).purgeByIds(Collections.singletonList(3L));
+        verify(postRepository, never()).purgeByIds(any());
+        assertEquals(3.0, meterRegistry.counter("compaction.purged.rows", "table", "comments").count());
+    }
+
+    @Test
+    void compact_RemovesChildRowsBeforeThePost() throws InterruptedException {
+        // Arrange
+        List<Long> postIds = Collections.singletonList(10L);
+        when(postRepository.findIdsDeletedBefore(any(), any())).thenReturn(postIds);
+        when(notificationRepository.findIdsByRelatedPostIds(eq(postIds), any())).thenReturn(Collections.singletonList(4L));
+        when(likeRepository.findIdsByPostIds(eq(postIds), any()))
+                .thenReturn(Arrays.asList(5L, 6L), Collections.singletonList(7L));
+        when(commentRepository.findIdsByPostIds(eq(postIds), any())).thenReturn(Collections.singletonList(8L));
+        when(reportRepository.findIdsByReportedPostIds(eq(postIds), any())).thenReturn(Collections.emptyList());
+
+        // Act
+        long purged = compactionService.compact();
+
+        // Assert
+        assertEquals(6, purged);
+        verify(reportRepository, never()).deleteAllByIdInBatch(any());
+
+        InOrder inOrder = inOrder(notificationRepository, likeRepository, commentRepository, reportCaseRepository,
+                postRepository);
+        inOrder.verify(notificationRepository).deleteAllByIdInBatch(Collections.singletonList(4L));
+        inOrder.verify(likeRepository).deleteAllByIdInBatch(Arrays.asList(5L, 6L));
+        inOrder.verify(likeRepository).deleteAllByIdInBatch(Collections.singletonList(7L));
+        inOrder.verify(commentRepository).purgeByIds(Collections.singletonList(8L));
+        inOrder.verify(reportCaseRepository).deleteByTargets(ReportTargetType.POST, postIds);
+        inOrder.verify(postRepository).purgeByIds(postIds);
+    }
+
+    @Test
+    void compact_FullPostBatch_ContinuesWithTheNext() throws InterruptedException {
+        // Arrange
+        when(postRepository.findIdsDeletedBefore(any(), any()))
+                .thenReturn(Arrays.asList(10L, 11L), Collections.singletonList(12L));
+
+        // Act
+        long purged = compactionService.compact();
+
+        // Assert
+        assertEquals(3, purged);
+        verify(postRepository).purgeByIds(Arrays.asList(10L, 11L));
+        verify(postRepository).purgeByIds(Collections.singletonList(12L));
+        verify(postRepository, times(2)).findIdsDeletedBefore(any(), any());
+    }
+
+    @Test
+    void compact_NothingDeleted_ReturnsZero() throws InterruptedException {
+        // Act
+        long purged = compactionService.compact();
+
+        // Assert
+        assertEquals(0, purged);
+        verify(commentRepository, never()).purgeByIds(any());
+        verify(postRepository, never()).purgeByIds(any());
+    }
+
+    // scheduledCompact Tests
+
+    @Test
+    void scheduledCompact_Disabled_DoesNothing() {
+        // Arrange
+        ReflectionTestUtils.setField(compactionService, "enabled", false);
+
+        // Act
+        compactionService.scheduledCompact();
+
+        // Assert
+        verifyNoInteractions(postRepository, commentRepository, transactionTemplate);
+    }
+}
@@ -0,0 +1,119 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.admin.CounterRepairResponse;
+import com.blog.backend.repository.UserStatsRepository;
+import com.blog.backend.repository.UserStatsRepository.CounterCheck;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCounterRepairServiceTest {
+
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserCounterRepairService repairService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        repairService = new UserCounterRepairService(userStatsRepository, meterRegistry);
+        ReflectionTestUtils.setField(repairService, "batchSize", 2);
+    }
+
+    // repair Tests
+
+    @Test
+    void repair_RecomputesOnlyDriftedUsers() {
+        // Arrange
+        when(userStatsRepository.findCounterChecks(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(check(1L, 3, 5, 2, 3, 5, 2), check(2L, 1, 0, 0, 2, 0, 0)));
+        when(userStatsRepository.findCounterChecks(eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(check(3L, 0, 4, 1, 0, 3, 1)));
+        when(userStatsRepository.recomputeCounters(List.of(2L))).thenReturn(1);
+        when(userStatsRepository.recomputeCounters(List.of(3L))).thenReturn(1);
+
+        // Act
+        CounterRepairResponse response = repairService.repair();
+
+        // Assert
+        assertEquals(3L, response.getScannedUsers());
+        assertEquals(2L, response.getRepairedUsers());
+        assertEquals(2.0, meterRegistry.counter("user.counters.repaired").count());
+    }
+
+    @Test
+    void repair_ConsistentCounters_WritesNothing() {
+        // Arrange
+        when(userStatsRepository.findCounterChecks(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(check(1L, 3, 5, 2, 3, 5, 2)));
+
+        // Act
+        CounterRepairResponse response = repairService.repair();
+
+        // Assert
+        assertEquals(1L, response.getScannedUsers());
+        assertEquals(0L, response.getRepairedUsers());
+        verify(userStatsRepository, never()).recomputeCounters(anyCollection());
+    }
+
+    @Test
+    void scheduledRepair_Disabled_DoesNothing() {
+        // Arrange
+        ReflectionTestUtils.setField(repairService, "enabled", false);
+
+        // Act
+        repairService.scheduledRepair();
+
+        // Assert
+        verifyNoInteractions(userStatsRepository);
+    }
+
+    private static CounterCheck check(Long id, int posts, int followers, int following,
+                                      long actualPosts, long actualFollowers, long actualFollowing) {
+        return new CounterCheck() {
+            public Long getId() {
+                return id;
+            }
+
+            public Integer getPostCount() {
+                return posts;
+            }
+
+            public Integer getFollowerCount() {
+                return followers;
+            }
+
+            public Integer getFollowingCount() {
+                return following;
+            }
+
+            public Long getActualPostCount() {
+                return actualPosts;
+            }
+
+            public Long getActualFollowerCount() {
+                return actualFollowers;
+            }
+
+            public Long getActualFollowingCount() {
+                return actualFollowing;
+            }
+        };
+    }
+}
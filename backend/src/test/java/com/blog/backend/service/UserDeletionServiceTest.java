@@ -0,0 +1,275 @@
+package com.blog.backend.service;
+
+import com.blog.backend.dto.admin.UserDeletionResponse;
+import com.blog.backend.entity.Comment;
+import com.blog.backend.entity.User;
+import com.blog.backend.enums.ReportTargetType;
+import com.blog.backend.enums.UserDeletionState;
+import com.blog.backend.event.PostChangedEvent;
+import com.blog.backend.exception.UserNotFoundException;
+import com.blog.backend.repository.CommentRepository;
+import com.blog.backend.repository.LikeRepository;
+import com.blog.backend.repository.NotificationRepository;
+import com.blog.backend.repository.PostRepository;
+import com.blog.backend.repository.ReportCaseRepository;
+import com.blog.backend.repository.ReportRepository;
+import com.blog.backend.repository.SubscriptionRepository;
+import com.blog.backend.repository.UserRepository;
+import com.blog.backend.repository.UserStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDeletionServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserStatsRepository userStatsRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private LikeRepository likeRepository;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private SubscriptionRepository subscriptionRepository;
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    @Mock
+    private ReportCaseRepository reportCaseRepository;
+
+    @Mock
+    private AuthorSummaryCache authorSummaryCache;
+
+    @Mock
+    private SubscriptionGraph subscriptionGraph;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private TaskExecutor taskExecutor;
+
+    private UserDeletionService userDeletionService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userDeletionService = new UserDeletionService(userRepository, userStatsRepository, postRepository, commentRepository,
+                likeRepository, notificationRepository, subscriptionRepository, reportRepository,
+                reportCaseRepository, authorSummaryCache, subscriptionGraph, eventPublisher, transactionTemplate, taskExecutor);
+        ReflectionTestUtils.setField(userDeletionService, "batchSize", 2);
+        ReflectionTestUtils.setField(userDeletionService, "batchPauseMillis", 0L);
+        ReflectionTestUtils.setField(userDeletionService, "retainFinished", Duration.ofHours(1));
+        ReflectionTestUtils.setField(userDeletionService, "reporterWeight", 10);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
+        user = new User();
+        user.setId(1L);
+        user.setUsername("doomed");
+    }
+
+    // deleteUser Tests
+
+    @Test
+    void deleteUser_SoftDeletesAndQueuesPurge() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // Act
+        UserDeletionResponse response = userDeletionService.deleteUser(1L);
+
+        // Assert
+        assertEquals(UserDeletionState.PENDING, response.getState());
+        verify(userRepository).markDeleted(eq(1L), any(LocalDateTime.class));
+        verify(authorSummaryCache).evict(1L);
+        verify(taskExecutor).execute(any(Runnable.class));
+    }
+
+    @Test
+    void deleteUser_AlreadyQueued_DispatchesOnce() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // Act
+        userDeletionService.deleteUser(1L);
+        user.setDeletedAt(LocalDateTime.now());
+        userDeletionService.deleteUser(1L);
+
+        // Assert
+        verify(userRepository, times(1)).markDeleted(any(), any());
+        verify(taskExecutor, times(1)).execute(any(Runnable.class));
+    }
+
+    @Test
+    void deleteUser_UserNotFound_ThrowsException() {
+        // Arrange
+        when(userRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UserNotFoundException.class, () -> userDeletionService.deleteUser(999L));
+        verify(userRepository, never()).markDeleted(any(), any());
+        verifyNoInteractions(taskExecutor);
+    }
+
+    // purge Tests
+
+    @Test
+    void purge_RemovesChildRowsInBatchesThenTheUser() {
+        // Arrange
+        runTasksInline();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(postRepository.findVisibleIdsByUserId(eq(1L), any())).thenReturn(Collections.singletonList(20L));
+        when(likeRepository.findIdsByUserId(eq(1L), any()))
+                .thenReturn(Arrays.asList(1L, 2L), Collections.singletonList(3L));
+        when(subscriptionRepository.findIdsBySubscriberId(eq(1L), any())).thenReturn(Collections.singletonList(5L));
+        SubscriptionRepository.Edge edge = mock(SubscriptionRepository.Edge.class);
+        when(edge.getSubscriberId()).thenReturn(1L);
+        when(edge.getSubscribedToId()).thenReturn(4L);
+        when(subscriptionRepository.findEdgesByIds(Collections.singletonList(5L))).thenReturn(Collections.singletonList(edge));
+        when(reportRepository.findIdsInvolvingUser(eq(1L), any())).thenReturn(Collections.singletonList(7L));
+        when(reportRepository.findReportCaseIds(Collections.singletonList(7L))).thenReturn(Collections.singletonList(9L));
+        when(postRepository.findIdsByUserId(eq(1L), any())).thenReturn(Collections.singletonList(20L));
+
+        // Act
+        UserDeletionResponse response = userDeletionService.deleteUser(1L);
+
+        // Assert
+        assertEquals(UserDeletionState.COMPLETED, response.getState());
+        assertEquals(7L, response.getProcessedRows());
+        verify(postRepository).updateHidden(Collections.singletonList(20L), true);
+        verify(likeRepository).deleteAllByIdInBatch(Arrays.asList(1L, 2L));
+        verify(likeRepository).deleteAllByIdInBatch(Collections.singletonList(3L));
+        verify(userStatsRepository).decrementFollowerCountsOf(Collections.singletonList(5L));
+        verify(subscriptionRepository).deleteAllByIdInBatch(Collections.singletonList(5L));
+        verify(subscriptionGraph).onUnsubscribed(1L, 4L);
+        verify(reportCaseRepository).recount(9L, 10);
+        verify(reportCaseRepository).deleteByTargets(ReportTargetType.POST, Collections.singletonList(20L));
+        verify(eventPublisher, times(2)).publishEvent(any(PostChangedEvent.class));
+
+        InOrder inOrder = inOrder(postRepository, userStatsRepository, userRepository);
+        inOrder.verify(postRepository).purgeByIds(Collections.singletonList(20L));
+        inOrder.verify(userStatsRepository).deleteByUserId(1L);
+        inOrder.verify(userRepository).deleteSoftDeleted(1L);
+        verify(subscriptionGraph).removeUser(1L);
+    }
+
+    @Test
+    void purge_CommentsWritten_TombstoneRepliesAndDecrementAncestors() {
+        // Arrange
+        runTasksInline();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        Comment reply = new Comment();
+        reply.setId(45L);
+        reply.setRootId(12L);
+        reply.setPath("000000000012/000000000045/");
+        Comment legacy = new Comment();
+        legacy.setId(46L);
+        List<Long> written = Arrays.asList(45L, 46L);
+        when(commentRepository.findIdsByUserId(eq(1L), any())).thenReturn(written, Collections.emptyList());
+        when(commentRepository.findAllById(written)).thenReturn(Arrays.asList(reply, legacy));
+        when(commentRepository.markSubtreeDeleted(eq(12L), eq("000000000012/000000000045/%"), any(LocalDateTime.class)))
+                .thenReturn(3);
+
+        // Act
+        userDeletionService.deleteUser(1L);
+
+        // Assert
+        InOrder inOrder = inOrder(commentRepository);
+        inOrder.verify(commentRepository).markSubtreeDeleted(eq(12L), eq("000000000012/000000000045/%"),
+                any(LocalDateTime.class));
+        inOrder.verify(commentRepository).adjustReplyCounts(Collections.singletonList(12L), -3);
+        inOrder.verify(commentRepository).purgeByIds(written);
+        verify(commentRepository, times(1)).markSubtreeDeleted(any(), any(), any());
+    }
+
+    @Test
+    void purge_Failure_IsRetriedByPoller() {
+        // Arrange
+        runTasksInline();
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.deleteSoftDeleted(1L)).thenThrow(new RuntimeException("constraint violation"));
+        when(userRepository.findIdsPendingDeletion(any())).thenReturn(Collections.singletonList(1L));
+
+        // Act
+        UserDeletionResponse response = userDeletionService.deleteUser(1L);
+
+        // Assert
+        assertEquals(UserDeletionState.FAILED, response.getState());
+        assertEquals("account", response.getStage());
+        assertEquals("constraint violation", response.getLastError());
+
+        // Act
+        userDeletionService.resumePending();
+
+        // Assert
+        verify(taskExecutor, times(2)).execute(any(Runnable.class));
+    }
+
+    // resumePending Tests
+
+    @Test
+    void resumePending_QueueFull_LeavesPurgeToNextPoll() {
+        // Arrange
+        when(userRepository.findIdsPendingDeletion(any())).thenReturn(Collections.singletonList(1L));
+        doThrow(new TaskRejectedException("full")).when(taskExecutor).execute(any(Runnable.class));
+
+        // Act
+        userDeletionService.resumePending();
+
+        // Assert
+        assertEquals(0, userDeletionService.trackedCount());
+    }
+
+    @Test
+    void getStatus_LiveUser_ThrowsException() {
+        // Arrange
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        // Act & Assert
+        assertThrows(UserNotFoundException.class, () -> userDeletionService.getStatus(1L));
+    }
+
+    private void runTasksInline() {
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(taskExecutor).execute(any(Runnable.class));
+    }
+}
@@ -3,11 +3,13 @@ package com.blog.backend.service;
 import com.blog.backend.dto.user.UpdateProfileRequest;
 import com.blog.backend.dto.user.UserProfileResponse;
 import com.blog.backend.entity.User;
+import com.blog.backend.entity.UserStats;
 import com.blog.backend.enums.Role;
 import com.blog.backend.exception.ForbiddenException;
 import com.blog.backend.exception.UserNotFoundException;
-import com.blog.backend.repository.SubscriptionRepository;
+import com.blog.backend.repository.PostRepository;
 import com.blog.backend.repository.UserRepository;
+import com.blog.backend.repository.UserStatsRepository;
 import com.blog.backend.security.UserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -37,7 +39,16 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private SubscriptionRepository subscriptionRepository;
+    private UserStatsRepository userStatsRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private SubscriptionGraph subscriptionGraph;
+
+    @Mock
+    private AuthorSummaryCache authorSummaryCache;
 
     @InjectMocks
     private UserService userService;
@@ -80,7 +91,7 @@ class UserServiceTest {
         anotherUser.setSubscriptions(new ArrayList<>());
 
         userPrincipal = new UserPrincipal(1L, "testuser", "test@example.com", "encodedPassword",
-                Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")), false);
+                Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")), false, null);
     }
 
     // getUserProfile Tests
@@ -91,7 +102,7 @@ class UserServiceTest {
         when(userRepository.findById(2L)).thenReturn(Optional.of(anotherUser));
         when(authentication.isAuthenticated()).thenReturn(true);
         when(authentication.getPrincipal()).thenReturn(userPrincipal);
-        when(subscriptionRepository.existsBySubscriberIdAndSubscribedToId(1L, 2L)).thenReturn(false);
+        when(subscriptionGraph.isSubscribed(1L, 2L)).thenReturn(false);
 
         // Act
         UserProfileResponse response = userService.getUserProfile(2L, authentication);
@@ -108,7 +119,25 @@ class UserServiceTest {
         assertFalse(response.getIsSubscribed());
 
         verify(userRepository).findById(2L);
-        verify(subscriptionRepository).existsBySubscriberIdAndSubscribedToId(1L, 2L);
+        verify(subscriptionGraph).isSubscribed(1L, 2L);
+    }
+
+    @Test
+    void getUserProfile_ReadsStoredCounters() {
+        // Arrange
+        user.setPosts(null);
+        user.setSubscribers(null);
+        user.setSubscriptions(null);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userStatsRepository.findById(1L)).thenReturn(Optional.of(new UserStats(1L, 7, 12, 3)));
+
+        // Act
+        UserProfileResponse response = userService.getUserProfile(1L, null);
+
+        // Assert
+        assertEquals(7, response.getPostCount());
+        assertEquals(12, response.getSubscriberCount());
+        assertEquals(3, response.getSubscribedToCount());
     }
 
     @Test
@@ -126,7 +155,7 @@ class UserServiceTest {
         assertFalse(response.getIsSubscribed());
 
         verify(userRepository).findById(1L);
-        verify(subscriptionRepository, never()).existsBySubscriberIdAndSubscribedToId(anyLong(), anyLong());
+        verify(subscriptionGraph, never()).isSubscribed(anyLong(), anyLong());
     }
 
     @Test
@@ -135,14 +164,14 @@ class UserServiceTest {
         when(userRepository.findById(2L)).thenReturn(Optional.of(anotherUser));
         when(authentication.isAuthenticated()).thenReturn(true);
         when(authentication.getPrincipal()).thenReturn(userPrincipal);
-        when(subscriptionRepository.existsBySubscriberIdAndSubscribedToId(1L, 2L)).thenReturn(true);
+        when(subscriptionGraph.isSubscribed(1L, 2L)).thenReturn(true);
 
         // Act
         UserProfileResponse response = userService.getUserProfile(2L, authentication);
 
         // Assert
         assertTrue(response.getIsSubscribed());
-        verify(subscriptionRepository).existsBySubscriberIdAndSubscribedToId(1L, 2L);
+        verify(subscriptionGraph).isSubscribed(1L, 2L);
     }
 
     @Test
@@ -157,7 +186,7 @@ class UserServiceTest {
 
         // Assert
         assertFalse(response.getIsSubscribed());
-        verify(subscriptionRepository, never()).existsBySubscriberIdAndSubscribedToId(anyLong(), anyLong());
+        verify(subscriptionGraph, never()).isSubscribed(anyLong(), anyLong());
     }
 
     @Test
@@ -196,6 +225,8 @@ class UserServiceTest {
         assertEquals("Updated Name", user.getDisplayName());
         assertEquals("Updated bio", user.getBio());
         verify(userRepository).save(user);
+        verify(authorSummaryCache).put(user);
+        verify(postRepository).bumpCommentsVersionsOfCommenter(1L);
     }
 
     @Test
@@ -234,6 +265,7 @@ class UserServiceTest {
         assertEquals("Test User", user.getDisplayName()); // Original name unchanged
         assertEquals("Updated bio", user.getBio());
         verify(userRepository).save(user);
+        verify(postRepository, never()).bumpCommentsVersionsOfCommenter(anyLong());
     }
 
     @Test
@@ -282,7 +314,7 @@ class UserServiceTest {
         when(userRepository.findAll()).thenReturn(allUsers);
         when(authentication.isAuthenticated()).thenReturn(true);
         when(authentication.getPrincipal()).thenReturn(userPrincipal);
-        when(subscriptionRepository.existsBySubscriberIdAndSubscribedToId(anyLong(), anyLong())).thenReturn(false);
+        when(subscriptionGraph.isSubscribed(anyLong(), anyLong())).thenReturn(false);
 
         // Act
         List<UserProfileResponse> results = userService.searchUsers("another", authentication);
@@ -300,7 +332,7 @@ class UserServiceTest {
         when(userRepository.findAll()).thenReturn(allUsers);
         when(authentication.isAuthenticated()).thenReturn(true);
         when(authentication.getPrincipal()).thenReturn(userPrincipal);
-        when(subscriptionRepository.existsBySubscriberIdAndSubscribedToId(anyLong(), anyLong())).thenReturn(false);
+        when(subscriptionGraph.isSubscribed(anyLong(), anyLong())).thenReturn(false);
 
         // Act
         List<UserProfileResponse> results = userService.searchUsers("Another User", authentication);
@@ -318,7 +350,7 @@ class UserServiceTest {
         when(userRepository.findAll()).thenReturn(allUsers);
         when(authentication.isAuthenticated()).thenReturn(true);
         when(authentication.getPrincipal()).thenReturn(userPrincipal);
-        when(subscriptionRepository.existsBySubscriberIdAndSubscribedToId(anyLong(), anyLong())).thenReturn(false);
+        when(subscriptionGraph.isSubscribed(anyLong(), anyLong())).thenReturn(false);
 
         // Act
         List<UserProfileResponse> results = userService.searchUsers("", authentication);
@@ -335,7 +367,7 @@ class UserServiceTest {
         when(userRepository.findAll()).thenReturn(allUsers);
         when(authentication.isAuthenticated()).thenReturn(true);
         when(authentication.getPrincipal()).thenReturn(userPrincipal);
-        when(subscriptionRepository.existsBySubscriberIdAndSubscribedToId(anyLong(), anyLong())).thenReturn(false);
+        when(subscriptionGraph.isSubscribed(anyLong(), anyLong())).thenReturn(false);
 
         // Act
         List<UserProfileResponse> results = userService.searchUsers(null, authentication);
@@ -362,7 +394,7 @@ class UserServiceTest {
         when(userRepository.findAll()).thenReturn(allUsers);
         when(authentication.isAuthenticated()).thenReturn(true);
         when(authentication.getPrincipal()).thenReturn(userPrincipal);
-        when(subscriptionRepository.existsBySubscriberIdAndSubscribedToId(anyLong(), anyLong())).thenReturn(false);
+        when(subscriptionGraph.isSubscribed(anyLong(), anyLong())).thenReturn(false);
 
         // Act
         List<UserProfileResponse> results = userService.searchUsers("", authentication);
@@ -380,7 +412,7 @@ class UserServiceTest {
         when(userRepository.findAll()).thenReturn(allUsers);
         when(authentication.isAuthenticated()).thenReturn(true);
         when(authentication.getPrincipal()).thenReturn(userPrincipal);
-        when(subscriptionRepository.existsBySubscriberIdAndSubscribedToId(1L, 2L)).thenReturn(true);
+        when(subscriptionGraph.isSubscribed(1L, 2L)).thenReturn(true);
 
         // Act
         List<UserProfileResponse> results = userService.searchUsers("", authentication);
@@ -392,7 +424,7 @@ class UserServiceTest {
                 .findFirst()
                 .orElseThrow();
         assertTrue(anotherUserResponse.getIsSubscribed());
-        verify(subscriptionRepository).existsBySubscriberIdAndSubscribedToId(1L, 2L);
+        verify(subscriptionGraph).isSubscribed(1L, 2L);
     }
 
     @Test
@@ -407,7 +439,7 @@ class UserServiceTest {
         // Assert
         assertEquals(2, results.size());
         assertTrue(results.stream().allMatch(r -> !r.getIsSubscribed()));
-        verify(subscriptionRepository, never()).existsBySubscriberIdAndSubscribedToId(anyLong(), anyLong());
+        verify(subscriptionGraph, never()).isSubscribed(anyLong(), anyLong());
     }
 
     @Test
@@ -417,7 +449,7 @@ class UserServiceTest {
         when(userRepository.findAll()).thenReturn(allUsers);
         when(authentication.isAuthenticated()).thenReturn(true);
         when(authentication.getPrincipal()).thenReturn(userPrincipal);
-        when(subscriptionRepository.existsBySubscriberIdAndSubscribedToId(anyLong(), anyLong())).thenReturn(false);
+        when(subscriptionGraph.isSubscribed(anyLong(), anyLong())).thenReturn(false);
 
         // Act
         List<UserProfileResponse> results = userService.searchUsers("ANOTHER", authentication);
@@ -0,0 +1,62 @@
+package com.blog.backend.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedLocalStorageBackendTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void put_StoresUnderTwoLevelShard() throws Exception {
+        ShardedLocalStorageBackend backend = new ShardedLocalStorageBackend(root);
+        byte[] content = {1, 2, 3};
+
+        backend.put("abcdef.png", new ByteArrayInputStream(content), content.length, "image/png");
+
+        Path expected = root.resolve("ab/cd/abcdef.png");
+        assertArrayEquals(content, Files.readAllBytes(expected));
+        assertEquals(expected, backend.localPath("abcdef.png").orElseThrow());
+    }
+
+    @Test
+    void resolve_PathTraversal_IsRejected() {
+        ShardedLocalStorageBackend backend = new ShardedLocalStorageBackend(root);
+
+        assertThrows(IllegalArgumentException.class, () -> backend.exists("../../../etc/passwd"));
+    }
+
+    @Test
+    void get_LegacyFlatFile_IsStillFound() throws Exception {
+        Files.write(root.resolve("abcdef.png"), new byte[]{7});
+        ShardedLocalStorageBackend backend = new ShardedLocalStorageBackend(root);
+
+        assertTrue(backend.exists("abcdef.png"));
+        assertEquals(root.resolve("abcdef.png"), backend.localPath("abcdef.png").orElseThrow());
+    }
+
+    @Test
+    void migrateLegacyFiles_MovesInBatches() throws Exception {
+        Files.write(root.resolve("aaaa01.png"), new byte[]{1});
+        Files.write(root.resolve("bbbb02.png"), new byte[]{2});
+        Files.write(root.resolve("cccc03.png"), new byte[]{3});
+        Files.write(root.resolve(".upload-123.tmp"), new byte[]{4});
+        ShardedLocalStorageBackend backend = new ShardedLocalStorageBackend(root);
+
+        assertEquals(2, backend.migrateLegacyFiles(2));
+        assertEquals(1, backend.migrateLegacyFiles(2));
+        assertEquals(0, backend.migrateLegacyFiles(2));
+
+        assertTrue(Files.exists(root.resolve("aa/aa/aaaa01.png")));
+        assertTrue(Files.exists(root.resolve("cc/cc/cccc03.png")));
+        assertFalse(Files.exists(root.resolve("bbbb02.png")));
+        assertTrue(Files.exists(root.resolve(".upload-123.tmp")));
+    }
+}
@@ -3,3 +3,4 @@ export * from './auth.model';
 export * from './post.model';
 export * from './notification.model';
 export * from './report.model';
+export * from './page.model';
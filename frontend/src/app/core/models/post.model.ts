@@ -8,10 +8,22 @@ export interface Post {
   userId: number;
   username: string;
   userDisplayName: string;
+  userAvatarUrl?: string;
   likeCount: number;
   commentCount: number;
   likedByCurrentUser: boolean;
   hidden?: boolean;
+  mediaVariants?: { [width: number]: string };
+  // Only set in the admin post queue
+  openReportCount?: number;
+}
+
+export interface AdminPostQuery {
+  hidden?: boolean;
+  authorId?: number;
+  createdFrom?: string;
+  createdTo?: string;
+  reported?: boolean;
 }
 
 export interface PostRequest {
@@ -27,8 +39,14 @@ export interface Comment {
   userId: number;
   username: string;
   userDisplayName: string;
+  userAvatarUrl?: string;
+  parentId?: number;
+  depth: number;
+  replyCount: number;
+  replies?: Comment[];
 }
 
 export interface CommentRequest {
   content: string;
+  parentId?: number;
 }
@@ -8,6 +8,43 @@ export interface Report {
   reportedUsername?: string;
   reportedPostId?: number;
   reportedPostContent?: string;
+  resolved?: boolean;
+}
+
+// All open reports against one post or user, as served by the moderation queue
+export interface ReportCase {
+  id: number;
+  targetType: 'POST' | 'USER';
+  targetId: number;
+  ownerId?: number;
+  ownerUsername?: string;
+  postContent?: string;
+  postHidden?: boolean;
+  reportCount: number;
+  reporterCount: number;
+  priority: number;
+  latestReason?: string;
+  firstReportedAt: string;
+  lastReportedAt: string;
+}
+
+export interface AdminReportQuery {
+  resolved?: boolean;
+  type?: 'post' | 'user';
+  createdFrom?: string;
+  createdTo?: string;
+}
+
+// Outcome of a bulk moderation action, one result per distinct requested id
+export interface BulkItemResult {
+  id: number;
+  status: 'UPDATED' | 'UNCHANGED' | 'NOT_FOUND' | 'SKIPPED' | 'FAILED';
+}
+
+export interface BulkActionResponse {
+  requested: number;
+  updated: number;
+  results: BulkItemResult[];
 }
 
 export interface CreateReportRequest {
@@ -40,4 +40,29 @@ export interface AdminUserResponse {
   createdAt: string;
   postCount: number;
   subscriberCount: number;
+  // Set while automatic moderation keeps the user from posting
+  restrictedUntil?: string;
+}
+
+// Progress of the background purge that follows an account deletion
+export interface UserDeletion {
+  userId: number;
+  state: 'PENDING' | 'RUNNING' | 'COMPLETED' | 'FAILED';
+  stage?: string;
+  processedRows: number;
+  startedAt?: string;
+  finishedAt?: string;
+  lastError?: string;
+}
+
+export interface AdminUserQuery {
+  page: number;
+  size: number;
+  sort: 'createdAt' | 'username' | 'postCount' | 'followerCount';
+  direction: 'asc' | 'desc';
+  role?: 'USER' | 'ADMIN';
+  banned?: boolean;
+  createdFrom?: string;
+  createdTo?: string;
+  name?: string;
 }
@@ -2,7 +2,7 @@ import { TestBed } from '@angular/core/testing';
 import { HttpClientTestingModule, HttpTestingController } from '@angular/common/http/testing';
 import { AdminService } from './admin.service';
 import { environment } from '../../../environments/environment';
-import { AdminUserResponse, Post, Report } from '../models';
+import { AdminUserResponse, BulkActionResponse, CursorPage, PageResponse, Post, Report, ReportCase, UserDeletion } from '../models';
 
 describe('AdminService', () => {
   let service: AdminService;
@@ -62,18 +62,43 @@ describe('AdminService', () => {
   });
 
   describe('Users Management', () => {
-    describe('getAllUsers', () => {
-      it('should return all users', () => {
-        const mockUsers: AdminUserResponse[] = [mockUser];
+    describe('getUsers', () => {
+      it('should return a page of users', () => {
+        const mockPage: PageResponse<AdminUserResponse> = {
+          items: [mockUser], page: 0, size: 25, totalElements: 1, totalPages: 1
+        };
 
-        service.getAllUsers().subscribe(users => {
-          expect(users).toEqual(mockUsers);
-          expect(users.length).toBe(1);
+        service.getUsers({ page: 0, size: 25, sort: 'createdAt', direction: 'desc' }).subscribe(page => {
+          expect(page).toEqual(mockPage);
+          expect(page.items.length).toBe(1);
         });
 
-        const req = httpMock.expectOne(`${environment.apiUrl}/admin/users`);
+        const req = httpMock.expectOne(`${environment.apiUrl}/admin/users?page=0&size=25&sort=createdAt&direction=desc`);
         expect(req.request.method).toBe('GET');
-        req.flush(mockUsers);
+        req.flush(mockPage);
+      });
+
+      it('should only send filters that are set', () => {
+        service.getUsers({
+          page: 1, size: 10, sort: 'username', direction: 'asc', banned: true, name: 'al', role: undefined
+        }).subscribe();
+
+        const req = httpMock.expectOne(
+          `${environment.apiUrl}/admin/users?page=1&size=10&sort=username&direction=asc&banned=true&name=al`);
+        expect(req.request.method).toBe('GET');
+        req.flush({ items: [], page: 1, size: 10, totalElements: 0, totalPages: 0 });
+      });
+    });
+
+    describe('liftRestriction', () => {
+      it('should lift a user restriction', () => {
+        service.liftRestriction(1).subscribe(response => {
+          expect(response).toBeNull();
+        });
+
+        const req = httpMock.expectOne(`${environment.apiUrl}/admin/users/1/unrestrict`);
+        expect(req.request.method).toBe('POST');
+        req.flush(null);
       });
     });
 
@@ -101,32 +126,86 @@ describe('AdminService', () => {
       });
     });
 
+    describe('bulkBanUsers', () => {
+      it('should post the ids and return per-item results', () => {
+        const mockResponse: BulkActionResponse = {
+          requested: 2,
+          updated: 1,
+          results: [{ id: 1, status: 'UPDATED' }, { id: 2, status: 'SKIPPED' }]
+        };
+
+        service.bulkBanUsers([1, 2]).subscribe(response => {
+          expect(response).toEqual(mockResponse);
+        });
+
+        const req = httpMock.expectOne(`${environment.apiUrl}/admin/users/bulk/ban`);
+        expect(req.request.method).toBe('POST');
+        expect(req.request.body).toEqual({ ids: [1, 2] });
+        req.flush(mockResponse);
+      });
+    });
+
     describe('deleteUser', () => {
-      it('should delete a user', () => {
+      it('should delete a user and return the purge progress', () => {
+        const mockDeletion: UserDeletion = { userId: 1, state: 'PENDING', processedRows: 0 };
+
         service.deleteUser(1).subscribe(response => {
-          expect(response).toBeNull();
+          expect(response).toEqual(mockDeletion);
         });
 
         const req = httpMock.expectOne(`${environment.apiUrl}/admin/users/1`);
         expect(req.request.method).toBe('DELETE');
-        req.flush(null);
+        req.flush(mockDeletion, { status: 202, statusText: 'Accepted' });
+      });
+    });
+
+    describe('getUserDeletion', () => {
+      it('should return the purge progress', () => {
+        service.getUserDeletion(1).subscribe(response => {
+          expect(response.state).toBe('RUNNING');
+        });
+
+        const req = httpMock.expectOne(`${environment.apiUrl}/admin/users/1/deletion`);
+        expect(req.request.method).toBe('GET');
+        req.flush({ userId: 1, state: 'RUNNING', stage: 'likes-given', processedRows: 500 });
       });
     });
   });
 
   describe('Posts Management', () => {
-    describe('getAllPosts', () => {
-      it('should return all posts', () => {
-        const mockPosts: Post[] = [mockPost];
+    describe('getPosts', () => {
+      it('should return the first page of posts', () => {
+        const mockPage: CursorPage<Post> = { items: [mockPost], nextCursor: 'abc', hasMore: true };
 
-        service.getAllPosts().subscribe(posts => {
-          expect(posts).toEqual(mockPosts);
-          expect(posts.length).toBe(1);
+        service.getPosts({}).subscribe(page => {
+          expect(page).toEqual(mockPage);
+          expect(page.items.length).toBe(1);
         });
 
         const req = httpMock.expectOne(`${environment.apiUrl}/admin/posts`);
         expect(req.request.method).toBe('GET');
-        req.flush(mockPosts);
+        req.flush(mockPage);
+      });
+
+      it('should send the filters that are set and the cursor', () => {
+        service.getPosts({ hidden: true, reported: true, authorId: undefined }, 'abc').subscribe();
+
+        const req = httpMock.expectOne(`${environment.apiUrl}/admin/posts?hidden=true&reported=true&cursor=abc`);
+        expect(req.request.method).toBe('GET');
+        req.flush({ items: [], hasMore: false });
+      });
+    });
+
+    describe('bulkDeletePosts', () => {
+      it('should post the ids to the bulk delete endpoint', () => {
+        service.bulkDeletePosts([1, 2]).subscribe(response => {
+          expect(response.updated).toBe(2);
+        });
+
+        const req = httpMock.expectOne(`${environment.apiUrl}/admin/posts/bulk/delete`);
+        expect(req.request.method).toBe('POST');
+        expect(req.request.body).toEqual({ ids: [1, 2] });
+        req.flush({ requested: 2, updated: 2, results: [] });
       });
     });
 
@@ -144,18 +223,70 @@ describe('AdminService', () => {
   });
 
   describe('Reports Management', () => {
-    describe('getAllReports', () => {
-      it('should return all reports', () => {
-        const mockReports: Report[] = [mockReport];
+    describe('getReports', () => {
+      it('should return the first page of reports', () => {
+        const mockPage: CursorPage<Report> = { items: [mockReport], hasMore: false };
 
-        service.getAllReports().subscribe(reports => {
-          expect(reports).toEqual(mockReports);
-          expect(reports.length).toBe(1);
+        service.getReports({}).subscribe(page => {
+          expect(page).toEqual(mockPage);
+          expect(page.items.length).toBe(1);
         });
 
         const req = httpMock.expectOne(`${environment.apiUrl}/admin/reports`);
         expect(req.request.method).toBe('GET');
-        req.flush(mockReports);
+        req.flush(mockPage);
+      });
+
+      it('should send the filters that are set and the cursor', () => {
+        service.getReports({ resolved: false, type: 'post' }, 'abc').subscribe();
+
+        const req = httpMock.expectOne(`${environment.apiUrl}/admin/reports?resolved=false&type=post&cursor=abc`);
+        expect(req.request.method).toBe('GET');
+        req.flush({ items: [], hasMore: false });
+      });
+    });
+
+    describe('getReportQueue', () => {
+      it('should return the highest priority cases', () => {
+        const mockCase: ReportCase = {
+          id: 7,
+          targetType: 'POST',
+          targetId: 1,
+          reportCount: 12,
+          reporterCount: 9,
+          priority: 102,
+          firstReportedAt: '2024-01-01T00:00:00Z',
+          lastReportedAt: '2024-01-02T00:00:00Z'
+        };
+        const mockPage: CursorPage<ReportCase> = { items: [mockCase], nextCursor: 'abc', hasMore: true };
+
+        service.getReportQueue().subscribe(page => {
+          expect(page).toEqual(mockPage);
+        });
+
+        const req = httpMock.expectOne(`${environment.apiUrl}/admin/reports/queue`);
+        expect(req.request.method).toBe('GET');
+        req.flush(mockPage);
+      });
+
+      it('should send the cursor', () => {
+        service.getReportQueue('abc').subscribe();
+
+        const req = httpMock.expectOne(`${environment.apiUrl}/admin/reports/queue?cursor=abc`);
+        expect(req.request.method).toBe('GET');
+        req.flush({ items: [], hasMore: false });
+      });
+    });
+
+    describe('resolveReportCase', () => {
+      it('should resolve a case', () => {
+        service.resolveReportCase(7).subscribe(response => {
+          expect(response).toBeNull();
+        });
+
+        const req = httpMock.expectOne(`${environment.apiUrl}/admin/reports/queue/7/resolve`);
+        expect(req.request.method).toBe('POST');
+        req.flush(null);
       });
     });
 
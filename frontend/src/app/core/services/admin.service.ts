@@ -1,8 +1,20 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { environment } from '../../../environments/environment';
-import { AdminUserResponse, Post, Report } from '../models';
+import {
+  AdminPostQuery,
+  AdminReportQuery,
+  AdminUserQuery,
+  AdminUserResponse,
+  BulkActionResponse,
+  CursorPage,
+  PageResponse,
+  Post,
+  Report,
+  ReportCase,
+  UserDeletion
+} from '../models';
 
 @Injectable({
   providedIn: 'root'
@@ -13,8 +25,9 @@ export class AdminService {
   constructor(private http: HttpClient) {}
 
   // Users management
-  getAllUsers(): Observable<AdminUserResponse[]> {
-    return this.http.get<AdminUserResponse[]>(`${this.apiUrl}/users`);
+  getUsers(query: AdminUserQuery): Observable<PageResponse<AdminUserResponse>> {
+    const params = this.toParams(query);
+    return this.http.get<PageResponse<AdminUserResponse>>(`${this.apiUrl}/users`, { params });
   }
 
   banUser(userId: number): Observable<void> {
@@ -25,13 +38,30 @@ export class AdminService {
     return this.http.post<void>(`${this.apiUrl}/users/${userId}/unban`, {});
   }
 
-  deleteUser(userId: number): Observable<void> {
-    return this.http.delete<void>(`${this.apiUrl}/users/${userId}`);
+  liftRestriction(userId: number): Observable<void> {
+    return this.http.post<void>(`${this.apiUrl}/users/${userId}/unrestrict`, {});
+  }
+
+  bulkBanUsers(userIds: number[]): Observable<BulkActionResponse> {
+    return this.http.post<BulkActionResponse>(`${this.apiUrl}/users/bulk/ban`, { ids: userIds });
+  }
+
+  bulkUnbanUsers(userIds: number[]): Observable<BulkActionResponse> {
+    return this.http.post<BulkActionResponse>(`${this.apiUrl}/users/bulk/unban`, { ids: userIds });
+  }
+
+  deleteUser(userId: number): Observable<UserDeletion> {
+    return this.http.delete<UserDeletion>(`${this.apiUrl}/users/${userId}`);
+  }
+
+  getUserDeletion(userId: number): Observable<UserDeletion> {
+    return this.http.get<UserDeletion>(`${this.apiUrl}/users/${userId}/deletion`);
   }
 
   // Posts management
-  getAllPosts(): Observable<Post[]> {
-    return this.http.get<Post[]>(`${this.apiUrl}/posts`);
+  getPosts(query: AdminPostQuery, cursor?: string): Observable<CursorPage<Post>> {
+    const params = this.toParams({ ...query, cursor });
+    return this.http.get<CursorPage<Post>>(`${this.apiUrl}/posts`, { params });
   }
 
   hidePost(postId: number): Observable<void> {
@@ -46,12 +76,45 @@ export class AdminService {
     return this.http.delete<void>(`${this.apiUrl}/posts/${postId}`);
   }
 
+  bulkHidePosts(postIds: number[]): Observable<BulkActionResponse> {
+    return this.http.post<BulkActionResponse>(`${this.apiUrl}/posts/bulk/hide`, { ids: postIds });
+  }
+
+  bulkUnhidePosts(postIds: number[]): Observable<BulkActionResponse> {
+    return this.http.post<BulkActionResponse>(`${this.apiUrl}/posts/bulk/unhide`, { ids: postIds });
+  }
+
+  bulkDeletePosts(postIds: number[]): Observable<BulkActionResponse> {
+    return this.http.post<BulkActionResponse>(`${this.apiUrl}/posts/bulk/delete`, { ids: postIds });
+  }
+
   // Reports management
-  getAllReports(): Observable<Report[]> {
-    return this.http.get<Report[]>(`${this.apiUrl}/reports`);
+  getReports(query: AdminReportQuery, cursor?: string): Observable<CursorPage<Report>> {
+    const params = this.toParams({ ...query, cursor });
+    return this.http.get<CursorPage<Report>>(`${this.apiUrl}/reports`, { params });
+  }
+
+  getReportQueue(cursor?: string): Observable<CursorPage<ReportCase>> {
+    const params = this.toParams({ cursor });
+    return this.http.get<CursorPage<ReportCase>>(`${this.apiUrl}/reports/queue`, { params });
+  }
+
+  resolveReportCase(reportCaseId: number): Observable<void> {
+    return this.http.post<void>(`${this.apiUrl}/reports/queue/${reportCaseId}/resolve`, {});
   }
 
   dismissReport(reportId: number): Observable<void> {
     return this.http.delete<void>(`${this.apiUrl}/reports/${reportId}`);
   }
+
+  // Unset filters are left out so the server applies no constraint for them
+  private toParams(query: object): HttpParams {
+    let params = new HttpParams();
+    Object.entries(query).forEach(([key, value]) => {
+      if (value !== undefined && value !== null && value !== '') {
+        params = params.set(key, String(value));
+      }
+    });
+    return params;
+  }
 }
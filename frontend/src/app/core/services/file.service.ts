@@ -1,6 +1,6 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpEvent, HttpEventType, HttpRequest } from '@angular/common/http';
-import { Observable, Subject } from 'rxjs';
+import { HttpClient, HttpEvent, HttpEventType, HttpHeaders, HttpRequest } from '@angular/common/http';
+import { Observable, Subject, firstValueFrom, from } from 'rxjs';
 import { map, tap } from 'rxjs/operators';
 import { environment } from '../../../environments/environment';
 
@@ -11,6 +11,13 @@ export interface FileUploadResponse {
   size: number;
 }
 
+interface UploadSession {
+  uploadId: string;
+  offset: number;
+  size: number;
+  maxChunkSize: number;
+}
+
 export interface UploadProgress {
   progress: number;
   loaded: number;
@@ -23,19 +30,27 @@ export interface UploadProgress {
 export class FileService {
   private apiUrl = `${environment.apiUrl}/files`;
 
+  // Files above this size use the resumable chunked protocol
+  private static readonly CHUNKED_UPLOAD_THRESHOLD = 8 * 1024 * 1024;
+  private static readonly CHUNK_SIZE = 8 * 1024 * 1024;
+  private static readonly MAX_CHUNK_RETRIES = 3;
+
   constructor(private http: HttpClient) {}
 
+  // Files are sent as the raw request body so the backend can stream them straight to storage
   uploadFile(file: File): Observable<FileUploadResponse> {
-    const formData = new FormData();
-    formData.append('file', file);
-    return this.http.post<FileUploadResponse>(`${this.apiUrl}/upload`, formData);
+    return this.http.post<FileUploadResponse>(`${this.apiUrl}/upload/stream`, file, {
+      headers: this.streamHeaders(file)
+    });
   }
 
   uploadFileWithProgress(file: File, progressCallback?: (progress: UploadProgress) => void): Observable<FileUploadResponse> {
-    const formData = new FormData();
-    formData.append('file', file);
+    if (file.size > FileService.CHUNKED_UPLOAD_THRESHOLD) {
+      return from(this.uploadInChunks(file, progressCallback));
+    }
 
-    const request = new HttpRequest('POST', `${this.apiUrl}/upload`, formData, {
+    const request = new HttpRequest('POST', `${this.apiUrl}/upload/stream`, file, {
+      headers: this.streamHeaders(file),
       reportProgress: true
     });
 
@@ -64,6 +79,51 @@ export class FileService {
     });
   }
 
+  private async uploadInChunks(file: File, progressCallback?: (progress: UploadProgress) => void): Promise<FileUploadResponse> {
+    let session = await firstValueFrom(this.http.post<UploadSession>(`${this.apiUrl}/uploads`, { size: file.size }));
+    const chunkSize = Math.min(FileService.CHUNK_SIZE, session.maxChunkSize);
+    let failures = 0;
+
+    while (session.offset < session.size) {
+      const chunk = await file.slice(session.offset, session.offset + chunkSize).arrayBuffer();
+      try {
+        session = await firstValueFrom(this.http.put<UploadSession>(`${this.apiUrl}/uploads/${session.uploadId}`, chunk, {
+          headers: new HttpHeaders({
+            'Content-Type': 'application/octet-stream',
+            'Upload-Offset': String(session.offset),
+            'Upload-Checksum': `sha256 ${await this.sha256Base64(chunk)}`
+          })
+        }));
+        failures = 0;
+      } catch (error) {
+        if (++failures > FileService.MAX_CHUNK_RETRIES) {
+          throw error;
+        }
+        // Resume from whatever the server has safely stored
+        session = await firstValueFrom(this.http.get<UploadSession>(`${this.apiUrl}/uploads/${session.uploadId}`));
+      }
+
+      progressCallback?.({
+        progress: Math.round((100 * session.offset) / session.size),
+        loaded: session.offset,
+        total: session.size
+      });
+    }
+
+    return firstValueFrom(this.http.post<FileUploadResponse>(`${this.apiUrl}/uploads/${session.uploadId}/complete`, {}));
+  }
+
+  private async sha256Base64(data: ArrayBuffer): Promise<string> {
+    const digest = new Uint8Array(await crypto.subtle.digest('SHA-256', data));
+    let binary = '';
+    digest.forEach(byte => binary += String.fromCharCode(byte));
+    return btoa(binary);
+  }
+
+  private streamHeaders(file: File): HttpHeaders {
+    return new HttpHeaders({ 'Content-Type': file.type || 'application/octet-stream' });
+  }
+
   getFileUrl(filename: string): string {
     return `${this.apiUrl}/${filename}`;
   }
@@ -2,7 +2,7 @@ import { TestBed } from '@angular/core/testing';
 import { HttpClientTestingModule, HttpTestingController } from '@angular/common/http/testing';
 import { PostService } from './post.service';
 import { environment } from '../../../environments/environment';
-import { Post, PostRequest, Comment, CommentRequest } from '../models';
+import { Post, PostRequest, Comment, CommentRequest, CursorPage } from '../models';
 
 describe('PostService', () => {
   let service: PostService;
@@ -29,7 +29,9 @@ describe('PostService', () => {
     createdAt: '2024-01-01T00:00:00Z',
     userId: 2,
     username: 'commenter',
-    userDisplayName: 'Commenter User'
+    userDisplayName: 'Commenter User',
+    depth: 0,
+    replyCount: 0
   };
 
   beforeEach(() => {
@@ -171,17 +173,39 @@ describe('PostService', () => {
   });
 
   describe('getComments', () => {
-    it('should return comments for a post', () => {
-      const mockComments: Comment[] = [mockComment];
+    it('should return the first page of comments for a post', () => {
+      const mockPage: CursorPage<Comment> = { items: [mockComment], nextCursor: 'MTA', hasMore: true };
 
-      service.getComments(1).subscribe(comments => {
-        expect(comments).toEqual(mockComments);
-        expect(comments.length).toBe(1);
+      service.getComments(1).subscribe(page => {
+        expect(page).toEqual(mockPage);
+        expect(page.items.length).toBe(1);
       });
 
-      const req = httpMock.expectOne(`${environment.apiUrl}/posts/1/comments`);
+      const req = httpMock.expectOne(`${environment.apiUrl}/posts/1/comments?order=newest`);
+      expect(req.request.method).toBe('GET');
+      req.flush(mockPage);
+    });
+
+    it('should pass the cursor for following pages', () => {
+      service.getComments(1, 'MTA', 'oldest').subscribe();
+
+      const req = httpMock.expectOne(`${environment.apiUrl}/posts/1/comments?order=oldest&cursor=MTA`);
+      expect(req.request.method).toBe('GET');
+      req.flush({ items: [], hasMore: false });
+    });
+  });
+
+  describe('getReplies', () => {
+    it('should return the replies below a comment', () => {
+      const reply: Comment = { ...mockComment, id: 2, parentId: 1, depth: 1 };
+
+      service.getReplies(1).subscribe(page => {
+        expect(page.items).toEqual([reply]);
+      });
+
+      const req = httpMock.expectOne(`${environment.apiUrl}/posts/comments/1/replies`);
       expect(req.request.method).toBe('GET');
-      req.flush(mockComments);
+      req.flush({ items: [reply], hasMore: false });
     });
   });
 
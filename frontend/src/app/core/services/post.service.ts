@@ -1,8 +1,8 @@
 import { Injectable } from '@angular/core';
-import { HttpClient } from '@angular/common/http';
+import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { environment } from '../../../environments/environment';
-import { Post, PostRequest, Comment, CommentRequest } from '../models';
+import { Post, PostRequest, Comment, CommentRequest, CursorPage } from '../models';
 
 @Injectable({
   providedIn: 'root'
@@ -44,8 +44,20 @@ export class PostService {
   }
 
   // Comments
-  getComments(postId: number): Observable<Comment[]> {
-    return this.http.get<Comment[]>(`${this.apiUrl}/${postId}/comments`);
+  getComments(postId: number, cursor?: string, order: 'newest' | 'oldest' = 'newest'): Observable<CursorPage<Comment>> {
+    let params = new HttpParams().set('order', order);
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.http.get<CursorPage<Comment>>(`${this.apiUrl}/${postId}/comments`, { params });
+  }
+
+  getReplies(commentId: number, cursor?: string): Observable<CursorPage<Comment>> {
+    let params = new HttpParams();
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    return this.http.get<CursorPage<Comment>>(`${this.apiUrl}/comments/${commentId}/replies`, { params });
   }
 
   addComment(postId: number, comment: CommentRequest): Observable<Comment> {
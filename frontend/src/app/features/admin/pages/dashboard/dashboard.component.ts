@@ -1,8 +1,20 @@
 import { Component, OnInit } from '@angular/core';
+import { PageEvent } from '@angular/material/paginator';
+import { Sort } from '@angular/material/sort';
 import { MatDialog } from '@angular/material/dialog';
 import { MatSnackBar } from '@angular/material/snack-bar';
+import { Observable } from 'rxjs';
 import { AdminService } from '../../../../core/services/admin.service';
-import { AdminUserResponse, Post, Report } from '../../../../core/models';
+import {
+  AdminPostQuery,
+  AdminReportQuery,
+  AdminUserQuery,
+  AdminUserResponse,
+  BulkActionResponse,
+  Post,
+  Report,
+  ReportCase
+} from '../../../../core/models';
 import { ConfirmDialogComponent } from '../../../../shared/components/confirm-dialog/confirm-dialog.component';
 
 @Component({
@@ -12,15 +24,34 @@ import { ConfirmDialogComponent } from '../../../../shared/components/confirm-di
 })
 export class DashboardComponent implements OnInit {
   users: AdminUserResponse[] = [];
+  totalUsers = 0;
+  userQuery: AdminUserQuery = { page: 0, size: 25, sort: 'createdAt', direction: 'desc' };
   posts: Post[] = [];
+  postQuery: AdminPostQuery = {};
+  postsCursor?: string;
+  postsHasMore = false;
   reports: Report[] = [];
+  reportQuery: AdminReportQuery = { resolved: false };
+  reportsCursor?: string;
+  reportsHasMore = false;
+  reportCases: ReportCase[] = [];
+  queueCursor?: string;
+  queueHasMore = false;
+  selectedUserIds = new Set<number>();
+  selectedPostIds = new Set<number>();
 
   isLoadingUsers = true;
   isLoadingPosts = true;
   isLoadingReports = true;
+  isLoadingMorePosts = false;
+  isLoadingMoreReports = false;
+  isLoadingQueue = true;
+  isLoadingMoreQueue = false;
+  isBulkRunning = false;
 
-  userDisplayedColumns = ['username', 'email', 'displayName', 'role', 'banned', 'postCount', 'createdAt', 'actions'];
-  postDisplayedColumns = ['content', 'username', 'likeCount', 'commentCount', 'hidden', 'createdAt', 'actions'];
+  userDisplayedColumns = ['select', 'username', 'email', 'displayName', 'role', 'banned', 'postCount', 'followerCount', 'createdAt', 'actions'];
+  postDisplayedColumns = ['select', 'content', 'username', 'likeCount', 'commentCount', 'openReportCount', 'hidden', 'createdAt', 'actions'];
+  queueDisplayedColumns = ['target', 'reports', 'priority', 'latestReason', 'lastReportedAt', 'actions'];
   reportDisplayedColumns = ['reporterUsername', 'type', 'reportedUsername', 'reason', 'createdAt', 'actions'];
 
   constructor(
@@ -32,15 +63,18 @@ export class DashboardComponent implements OnInit {
   ngOnInit(): void {
     this.loadUsers();
     this.loadPosts();
+    this.loadQueue();
     this.loadReports();
   }
 
   // Users
   loadUsers(): void {
     this.isLoadingUsers = true;
-    this.adminService.getAllUsers().subscribe({
-      next: (users) => {
-        this.users = users;
+    this.selectedUserIds.clear();
+    this.adminService.getUsers(this.userQuery).subscribe({
+      next: (page) => {
+        this.users = page.items;
+        this.totalUsers = page.totalElements;
         this.isLoadingUsers = false;
       },
       error: () => {
@@ -53,6 +87,32 @@ export class DashboardComponent implements OnInit {
     });
   }
 
+  applyUserFilters(): void {
+    this.userQuery = { ...this.userQuery, page: 0 };
+    this.loadUsers();
+  }
+
+  clearUserFilters(): void {
+    const { page, size, sort, direction } = this.userQuery;
+    this.userQuery = { page: 0, size, sort, direction };
+    this.loadUsers();
+  }
+
+  onUserPage(event: PageEvent): void {
+    this.userQuery = { ...this.userQuery, page: event.pageIndex, size: event.pageSize };
+    this.loadUsers();
+  }
+
+  onUserSort(sort: Sort): void {
+    this.userQuery = {
+      ...this.userQuery,
+      page: 0,
+      sort: sort.direction ? sort.active as AdminUserQuery['sort'] : 'createdAt',
+      direction: sort.direction || 'desc'
+    };
+    this.loadUsers();
+  }
+
   banUser(user: AdminUserResponse): void {
     const dialogRef = this.dialog.open(ConfirmDialogComponent, {
       width: '400px',
@@ -103,6 +163,28 @@ export class DashboardComponent implements OnInit {
     });
   }
 
+  isRestricted(user: AdminUserResponse): boolean {
+    return !!user.restrictedUntil && new Date(user.restrictedUntil) > new Date();
+  }
+
+  liftRestriction(user: AdminUserResponse): void {
+    this.adminService.liftRestriction(user.id).subscribe({
+      next: () => {
+        user.restrictedUntil = undefined;
+        this.snackBar.open(`Restriction on @${user.username} has been lifted`, 'Close', {
+          duration: 3000,
+          panelClass: ['success-snackbar']
+        });
+      },
+      error: () => {
+        this.snackBar.open('Failed to lift restriction', 'Close', {
+          duration: 5000,
+          panelClass: ['error-snackbar']
+        });
+      }
+    });
+  }
+
   deleteUser(user: AdminUserResponse): void {
     const dialogRef = this.dialog.open(ConfirmDialogComponent, {
       width: '400px',
@@ -119,7 +201,8 @@ export class DashboardComponent implements OnInit {
         this.adminService.deleteUser(user.id).subscribe({
           next: () => {
             this.users = this.users.filter(u => u.id !== user.id);
-            this.snackBar.open(`User @${user.username} has been deleted`, 'Close', {
+            this.totalUsers--;
+            this.snackBar.open(`User @${user.username} has been deleted, their content is being removed`, 'Close', {
               duration: 3000,
               panelClass: ['success-snackbar']
             });
@@ -138,9 +221,12 @@ export class DashboardComponent implements OnInit {
   // Posts
   loadPosts(): void {
     this.isLoadingPosts = true;
-    this.adminService.getAllPosts().subscribe({
-      next: (posts) => {
-        this.posts = posts;
+    this.selectedPostIds.clear();
+    this.adminService.getPosts(this.postQuery).subscribe({
+      next: (page) => {
+        this.posts = page.items;
+        this.postsCursor = page.nextCursor;
+        this.postsHasMore = page.hasMore;
         this.isLoadingPosts = false;
       },
       error: () => {
@@ -153,6 +239,36 @@ export class DashboardComponent implements OnInit {
     });
   }
 
+  loadMorePosts(): void {
+    if (!this.postsCursor || this.isLoadingMorePosts) return;
+
+    this.isLoadingMorePosts = true;
+    this.adminService.getPosts(this.postQuery, this.postsCursor).subscribe({
+      next: (page) => {
+        this.posts = [...this.posts, ...page.items];
+        this.postsCursor = page.nextCursor;
+        this.postsHasMore = page.hasMore;
+        this.isLoadingMorePosts = false;
+      },
+      error: () => {
+        this.isLoadingMorePosts = false;
+        this.snackBar.open('Failed to load more posts', 'Close', {
+          duration: 5000,
+          panelClass: ['error-snackbar']
+        });
+      }
+    });
+  }
+
+  applyPostFilters(): void {
+    this.loadPosts();
+  }
+
+  clearPostFilters(): void {
+    this.postQuery = {};
+    this.loadPosts();
+  }
+
   hidePost(post: Post): void {
     const dialogRef = this.dialog.open(ConfirmDialogComponent, {
       width: '400px',
@@ -235,12 +351,170 @@ export class DashboardComponent implements OnInit {
     });
   }
 
+  // Bulk actions
+  toggleSelection(selection: Set<number>, id: number): void {
+    if (selection.has(id)) {
+      selection.delete(id);
+    } else {
+      selection.add(id);
+    }
+  }
+
+  allSelected(rows: { id: number }[], selection: Set<number>): boolean {
+    return rows.length > 0 && rows.every(row => selection.has(row.id));
+  }
+
+  toggleAll(rows: { id: number }[], selection: Set<number>): void {
+    if (this.allSelected(rows, selection)) {
+      selection.clear();
+    } else {
+      rows.forEach(row => selection.add(row.id));
+    }
+  }
+
+  bulkBanUsers(): void {
+    this.confirmBulk('Ban Users', `Ban ${this.selectedUserIds.size} selected users? Admins are skipped.`, 'Ban', () =>
+      this.runBulk(this.adminService.bulkBanUsers([...this.selectedUserIds]), 'banned', () => this.loadUsers()));
+  }
+
+  bulkUnbanUsers(): void {
+    this.runBulk(this.adminService.bulkUnbanUsers([...this.selectedUserIds]), 'unbanned', () => this.loadUsers());
+  }
+
+  bulkHidePosts(): void {
+    this.confirmBulk('Hide Posts', `Hide ${this.selectedPostIds.size} selected posts?`, 'Hide', () =>
+      this.runBulk(this.adminService.bulkHidePosts([...this.selectedPostIds]), 'hidden', () => this.loadPosts()));
+  }
+
+  bulkUnhidePosts(): void {
+    this.runBulk(this.adminService.bulkUnhidePosts([...this.selectedPostIds]), 'unhidden', () => this.loadPosts());
+  }
+
+  bulkDeletePosts(): void {
+    this.confirmBulk('Delete Posts',
+      `Permanently delete ${this.selectedPostIds.size} selected posts? This action cannot be undone.`, 'Delete', () =>
+      this.runBulk(this.adminService.bulkDeletePosts([...this.selectedPostIds]), 'deleted', () => this.loadPosts()));
+  }
+
+  private confirmBulk(title: string, message: string, confirmText: string, action: () => void): void {
+    const dialogRef = this.dialog.open(ConfirmDialogComponent, {
+      width: '400px',
+      data: { title, message, confirmText, cancelText: 'Cancel' }
+    });
+
+    dialogRef.afterClosed().subscribe(result => {
+      if (result) {
+        action();
+      }
+    });
+  }
+
+  private runBulk(request: Observable<BulkActionResponse>, verb: string, reload: () => void): void {
+    this.isBulkRunning = true;
+    request.subscribe({
+      next: (response) => {
+        this.isBulkRunning = false;
+        this.snackBar.open(`${response.updated} of ${response.requested} ${verb}`, 'Close', {
+          duration: 3000,
+          panelClass: ['success-snackbar']
+        });
+        reload();
+      },
+      error: () => {
+        this.isBulkRunning = false;
+        this.snackBar.open('Bulk action failed', 'Close', {
+          duration: 5000,
+          panelClass: ['error-snackbar']
+        });
+      }
+    });
+  }
+
+  // Moderation queue
+  loadQueue(): void {
+    this.isLoadingQueue = true;
+    this.adminService.getReportQueue().subscribe({
+      next: (page) => {
+        this.reportCases = page.items;
+        this.queueCursor = page.nextCursor;
+        this.queueHasMore = page.hasMore;
+        this.isLoadingQueue = false;
+      },
+      error: () => {
+        this.isLoadingQueue = false;
+        this.snackBar.open('Failed to load the moderation queue', 'Close', {
+          duration: 5000,
+          panelClass: ['error-snackbar']
+        });
+      }
+    });
+  }
+
+  loadMoreQueue(): void {
+    if (!this.queueCursor || this.isLoadingMoreQueue) return;
+
+    this.isLoadingMoreQueue = true;
+    this.adminService.getReportQueue(this.queueCursor).subscribe({
+      next: (page) => {
+        this.reportCases = [...this.reportCases, ...page.items];
+        this.queueCursor = page.nextCursor;
+        this.queueHasMore = page.hasMore;
+        this.isLoadingMoreQueue = false;
+      },
+      error: () => {
+        this.isLoadingMoreQueue = false;
+        this.snackBar.open('Failed to load more of the queue', 'Close', {
+          duration: 5000,
+          panelClass: ['error-snackbar']
+        });
+      }
+    });
+  }
+
+  resolveReportCase(reportCase: ReportCase): void {
+    this.adminService.resolveReportCase(reportCase.id).subscribe({
+      next: () => {
+        this.reportCases = this.reportCases.filter(c => c.id !== reportCase.id);
+        this.snackBar.open(`Resolved ${reportCase.reportCount} reports`, 'Close', {
+          duration: 3000,
+          panelClass: ['success-snackbar']
+        });
+      },
+      error: () => {
+        this.snackBar.open('Failed to resolve reports', 'Close', {
+          duration: 5000,
+          panelClass: ['error-snackbar']
+        });
+      }
+    });
+  }
+
+  hideReportedPost(reportCase: ReportCase): void {
+    this.adminService.hidePost(reportCase.targetId).subscribe({
+      next: () => {
+        reportCase.postHidden = true;
+        this.snackBar.open('Post has been hidden', 'Close', {
+          duration: 3000,
+          panelClass: ['success-snackbar']
+        });
+      },
+      error: () => {
+        this.snackBar.open('Failed to hide post', 'Close', {
+          duration: 5000,
+          panelClass: ['error-snackbar']
+        });
+      }
+    });
+  }
+
   // Reports
   loadReports(): void {
     this.isLoadingReports = true;
-    this.adminService.getAllReports().subscribe({
-      next: (reports) => {
-        this.reports = reports;
+    this.adminService.getReports(this.reportQuery).subscribe({
+      next: (page) => {
+        this.reports = page.items;
+        this.reportsCursor = page.nextCursor;
+        this.reportsHasMore = page.hasMore;
         this.isLoadingReports = false;
       },
       error: () => {
@@ -253,6 +527,36 @@ export class DashboardComponent implements OnInit {
     });
   }
 
+  loadMoreReports(): void {
+    if (!this.reportsCursor || this.isLoadingMoreReports) return;
+
+    this.isLoadingMoreReports = true;
+    this.adminService.getReports(this.reportQuery, this.reportsCursor).subscribe({
+      next: (page) => {
+        this.reports = [...this.reports, ...page.items];
+        this.reportsCursor = page.nextCursor;
+        this.reportsHasMore = page.hasMore;
+        this.isLoadingMoreReports = false;
+      },
+      error: () => {
+        this.isLoadingMoreReports = false;
+        this.snackBar.open('Failed to load more reports', 'Close', {
+          duration: 5000,
+          panelClass: ['error-snackbar']
+        });
+      }
+    });
+  }
+
+  applyReportFilters(): void {
+    this.loadReports();
+  }
+
+  clearReportFilters(): void {
+    this.reportQuery = { resolved: false };
+    this.loadReports();
+  }
+
   dismissReport(report: Report): void {
     const dialogRef = this.dialog.open(ConfirmDialogComponent, {
       width: '400px',
@@ -5,6 +5,10 @@ import { MatSnackBar } from '@angular/material/snack-bar';
 import { Comment } from '../../../../core/models';
 import { PostService } from '../../../../core/services/post.service';
 import { AuthService } from '../../../../core/services/auth.service';
+import { FileService } from '../../../../core/services/file.service';
+
+// Matches the server-side nesting limit
+const MAX_REPLY_DEPTH = 8;
 
 @Component({
   selector: 'app-comments-section',
@@ -14,10 +18,17 @@ import { AuthService } from '../../../../core/services/auth.service';
 export class CommentsSectionComponent implements OnInit {
   @Input() postId!: number;
   @Output() commentAdded = new EventEmitter<Comment>();
+  // Emits how many comments went away, replies included
   @Output() commentDeleted = new EventEmitter<number>();
 
   comments: Comment[] = [];
+  nextCursor?: string;
+  hasMore = false;
   isLoading = true;
+  isLoadingMore = false;
+  // Comment being answered and the top-level thread it lives in
+  replyingTo: { comment: Comment; thread: Comment } | null = null;
+  loadingThreads = new Set<number>();
   isSubmitting = false;
   commentControl = new FormControl('', [Validators.required, Validators.maxLength(500)]);
 
@@ -26,6 +37,7 @@ export class CommentsSectionComponent implements OnInit {
   constructor(
     private postService: PostService,
     private authService: AuthService,
+    private fileService: FileService,
     private router: Router,
     private snackBar: MatSnackBar
   ) {
@@ -36,11 +48,18 @@ export class CommentsSectionComponent implements OnInit {
     this.loadComments();
   }
 
+  getAvatarUrl(comment: Comment): string {
+    if (!comment.userAvatarUrl) return '';
+    return this.fileService.getFullMediaUrl(comment.userAvatarUrl);
+  }
+
   loadComments(): void {
     this.isLoading = true;
     this.postService.getComments(this.postId).subscribe({
-      next: (comments) => {
-        this.comments = comments;
+      next: (page) => {
+        this.comments = page.items;
+        this.nextCursor = page.nextCursor;
+        this.hasMore = page.hasMore;
         this.isLoading = false;
       },
       error: () => {
@@ -53,15 +72,44 @@ export class CommentsSectionComponent implements OnInit {
     });
   }
 
+  loadMoreComments(): void {
+    if (!this.hasMore || this.isLoadingMore) return;
+
+    this.isLoadingMore = true;
+    this.postService.getComments(this.postId, this.nextCursor).subscribe({
+      next: (page) => {
+        // Skip anything already shown, e.g. a comment added here while paging
+        const shown = new Set(this.comments.map(c => c.id));
+        this.comments.push(...page.items.filter(c => !shown.has(c.id)));
+        this.nextCursor = page.nextCursor;
+        this.hasMore = page.hasMore;
+        this.isLoadingMore = false;
+      },
+      error: () => {
+        this.isLoadingMore = false;
+        this.snackBar.open('Failed to load comments', 'Close', {
+          duration: 3000,
+          panelClass: ['error-snackbar']
+        });
+      }
+    });
+  }
+
   submitComment(): void {
     if (this.commentControl.invalid || this.isSubmitting) return;
 
     this.isSubmitting = true;
     const content = this.commentControl.value!.trim();
+    const target = this.replyingTo;
 
-    this.postService.addComment(this.postId, { content }).subscribe({
+    this.postService.addComment(this.postId, { content, parentId: target?.comment.id }).subscribe({
       next: (comment) => {
-        this.comments.unshift(comment);
+        if (target) {
+          this.insertReply(target.thread, target.comment, comment);
+        } else {
+          this.comments.unshift({ ...comment, replies: [] });
+        }
+        this.replyingTo = null;
         this.commentControl.reset();
         this.isSubmitting = false;
         this.commentAdded.emit(comment);
@@ -76,11 +124,66 @@ export class CommentsSectionComponent implements OnInit {
     });
   }
 
-  deleteComment(commentId: number): void {
-    this.postService.deleteComment(commentId).subscribe({
+  canReplyTo(comment: Comment): boolean {
+    return comment.depth < MAX_REPLY_DEPTH;
+  }
+
+  indentOf(comment: Comment): number {
+    // Deep threads stop indenting so narrow cards stay readable
+    return Math.min(comment.depth, 4) * 24;
+  }
+
+  startReply(comment: Comment, thread: Comment): void {
+    this.replyingTo = { comment, thread };
+  }
+
+  cancelReply(): void {
+    this.replyingTo = null;
+  }
+
+  hasHiddenReplies(thread: Comment): boolean {
+    return thread.replyCount > (thread.replies?.length ?? 0);
+  }
+
+  loadThread(thread: Comment): void {
+    if (this.loadingThreads.has(thread.id)) return;
+
+    this.loadingThreads.add(thread.id);
+    const replies: Comment[] = [];
+    const loadPage = (cursor?: string) => {
+      this.postService.getReplies(thread.id, cursor).subscribe({
+        next: (page) => {
+          replies.push(...page.items);
+          if (page.hasMore && page.nextCursor) {
+            loadPage(page.nextCursor);
+            return;
+          }
+          thread.replies = replies;
+          this.loadingThreads.delete(thread.id);
+        },
+        error: () => {
+          this.loadingThreads.delete(thread.id);
+          this.snackBar.open('Failed to load replies', 'Close', {
+            duration: 3000,
+            panelClass: ['error-snackbar']
+          });
+        }
+      });
+    };
+    loadPage();
+  }
+
+  deleteComment(comment: Comment, thread?: Comment): void {
+    this.postService.deleteComment(comment.id).subscribe({
       next: () => {
-        this.comments = this.comments.filter(c => c.id !== commentId);
-        this.commentDeleted.emit(commentId);
+        // Replies below the comment are removed with it
+        const removed = 1 + comment.replyCount;
+        if (thread) {
+          this.removeReply(thread, comment);
+        } else {
+          this.comments = this.comments.filter(c => c.id !== comment.id);
+        }
+        this.commentDeleted.emit(removed);
         this.snackBar.open('Comment deleted', 'Close', {
           duration: 3000
         });
@@ -101,4 +204,26 @@ export class CommentsSectionComponent implements OnInit {
   isOwnComment(comment: Comment): boolean {
     return comment.userId === this.currentUserId;
   }
+
+  // Replies arrive in thread order, so a new reply goes after its parent's existing subtree
+  private insertReply(thread: Comment, parent: Comment, reply: Comment): void {
+    const replies = thread.replies ?? (thread.replies = []);
+    let index = replies.findIndex(r => r.id === parent.id) + 1;
+    while (index > 0 && index < replies.length && replies[index].depth > parent.depth) {
+      index++;
+    }
+    replies.splice(index, 0, reply);
+    thread.replyCount++;
+  }
+
+  private removeReply(thread: Comment, reply: Comment): void {
+    const replies = thread.replies ?? [];
+    const start = replies.findIndex(r => r.id === reply.id);
+    let end = start + 1;
+    while (end < replies.length && replies[end].depth > reply.depth) {
+      end++;
+    }
+    replies.splice(start, end - start);
+    thread.replyCount -= 1 + reply.replyCount;
+  }
 }
@@ -40,6 +40,19 @@ export class PostCardComponent {
     return this.fileService.getFullMediaUrl(this.post.mediaUrl);
   }
 
+  getAvatarUrl(): string {
+    if (!this.post.userAvatarUrl) return '';
+    return this.fileService.getFullMediaUrl(this.post.userAvatarUrl);
+  }
+
+  getMediaSrcset(): string | null {
+    const variants = this.post.mediaVariants;
+    if (!variants || Object.keys(variants).length === 0) return null;
+    return Object.entries(variants)
+      .map(([width, url]) => `${this.fileService.getFullMediaUrl(url)} ${width}w`)
+      .join(', ');
+  }
+
   get isOwnPost(): boolean {
     return this.post.userId === this.authService.getCurrentUserId();
   }
@@ -2,6 +2,8 @@ import { Component, Input, Output, EventEmitter, ElementRef, ViewChild } from '@
 
 export interface FileValidationConfig {
   maxSizeMB: number;
+  // Videos go through resumable chunked uploads, so they may be larger than maxSizeMB
+  maxVideoSizeMB?: number;
   allowedImageTypes: string[];
   allowedVideoTypes: string[];
 }
@@ -22,6 +24,7 @@ export class FileUploadComponent {
 
   @Input() config: FileValidationConfig = {
     maxSizeMB: 10,
+    maxVideoSizeMB: 2048,
     allowedImageTypes: ['image/jpeg', 'image/png', 'image/gif'],
     allowedVideoTypes: ['video/mp4', 'video/webm']
   };
@@ -80,6 +83,9 @@ export class FileUploadComponent {
   }
 
   removeFile(): void {
+    if (this.uploadedFile?.preview.startsWith('blob:')) {
+      URL.revokeObjectURL(this.uploadedFile.preview);
+    }
     this.uploadedFile = null;
     this.fileInput.nativeElement.value = '';
     this.fileRemoved.emit();
@@ -97,9 +103,16 @@ export class FileUploadComponent {
     }
 
     // Validate file size
-    const maxSizeBytes = this.config.maxSizeMB * 1024 * 1024;
-    if (file.size > maxSizeBytes) {
-      this.validationError.emit(`File size must be less than ${this.config.maxSizeMB}MB`);
+    const maxSizeMB = isVideo && this.config.maxVideoSizeMB ? this.config.maxVideoSizeMB : this.config.maxSizeMB;
+    if (file.size > maxSizeMB * 1024 * 1024) {
+      this.validationError.emit(`File size must be less than ${maxSizeMB}MB`);
+      return;
+    }
+
+    // Large videos are previewed from an object URL instead of being read into memory
+    if (isVideo) {
+      this.uploadedFile = { file, preview: URL.createObjectURL(file), type: 'VIDEO' };
+      this.fileSelected.emit(this.uploadedFile);
       return;
     }
 
@@ -23,6 +23,7 @@ import { MatTableModule } from '@angular/material/table';
 import { MatPaginatorModule } from '@angular/material/paginator';
 import { MatSortModule } from '@angular/material/sort';
 import { MatChipsModule } from '@angular/material/chips';
+import { MatCheckboxModule } from '@angular/material/checkbox';
 import { MatTooltipModule } from '@angular/material/tooltip';
 import { MatDividerModule } from '@angular/material/divider';
 import { TextFieldModule } from '@angular/cdk/text-field';
@@ -53,6 +54,7 @@ const MaterialModules = [
   MatPaginatorModule,
   MatSortModule,
   MatChipsModule,
+  MatCheckboxModule,
   MatTooltipModule,
   MatDividerModule
 ];